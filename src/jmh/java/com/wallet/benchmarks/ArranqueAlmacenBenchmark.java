@@ -0,0 +1,102 @@
+package com.wallet.benchmarks;
+
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.infrastructure.persistencia.AlmacenPersistente;
+import com.wallet.infrastructure.persistencia.ModoSincronizacion;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark del tiempo de arranque del almacén persistente según el
+ * tamaño de la historia.
+ * 
+ * Genera una historia de depósitos (cada uno escribe la cuenta y la
+ * transacción en el diario, y la transacción en el historial mapeado) y
+ * mide cuánto tarda abrir el almacén:
+ * - instantanea=false: se reproduce el diario completo
+ * - instantanea=true: se carga la instantánea y una cola fija de 10.000 depósitos
+ * 
+ * La instantánea solo tiene las cuentas y el historial se abre sin
+ * recorrer los registros cubiertos, así que con instantánea el arranque
+ * no debería crecer con la historia.
+ * 
+ * Uso:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="ArranqueAlmacen"
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ArranqueAlmacenBenchmark {
+    
+    private static final int CUENTAS = 10_000;
+    private static final int COLA = 10_000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final Dinero MONTO = Dinero.de("1.00");
+    
+    @Param({"250000", "1000000"})
+    private int historial;
+    
+    @Param({"false", "true"})
+    private boolean instantanea;
+    
+    private Path directorio;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path base = Path.of("target", "jmh-arranque");
+        Files.createDirectories(base);
+        directorio = Files.createTempDirectory(base, historial + "-" + instantanea + "-");
+        
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.DIFERIDO, 0)) {
+            Cuenta[] cuentas = new Cuenta[CUENTAS];
+            for (int i = 0; i < CUENTAS; i++) {
+                cuentas[i] = new Cuenta("cuenta-" + i, String.format("%010d", i), "usuario-" + i,
+                    Dinero.CERO, BASE, BASE, true);
+                almacen.getCuentaRepository().guardar(cuentas[i]);
+            }
+            for (int i = 0; i < historial; i++) {
+                depositar(almacen, cuentas[i % CUENTAS], i);
+            }
+            if (instantanea) {
+                almacen.tomarInstantanea();
+                for (int i = 0; i < COLA; i++) {
+                    depositar(almacen, cuentas[i % CUENTAS], historial + i);
+                }
+            }
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    public long abrir() throws IOException {
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO, 0)) {
+            return almacen.getRegistrosRecuperados();
+        }
+    }
+    
+    private static void depositar(AlmacenPersistente almacen, Cuenta cuenta, int secuencia) {
+        Dinero anterior = cuenta.getSaldo();
+        cuenta.depositar(MONTO);
+        almacen.getCuentaRepository().guardar(cuenta);
+        almacen.getTransaccionRepository().guardar(Transaccion.deposito(MONTO, cuenta.getId(),
+            "Depósito " + secuencia, anterior, cuenta.getSaldo()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.wallet.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.infrastructure.logging.Logger;
+import com.wallet.infrastructure.services.ConversorDivisasAPI;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de conversión de 1M de saldos a una moneda de reporte:
+ * conversión uno a uno con {@code convertir} frente a {@code convertirLote}.
+ * 
+ * Las tasas se sirven desde un servidor HTTP local, así que solo se mide
+ * la conversión (la matriz queda en caché tras la primera consulta).
+ * 
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="ConversionLoteBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ConversionLoteBenchmark {
+    
+    private static final String RESPUESTA =
+        "{\"result\":\"success\",\"base_code\":\"USD\",\"rates\":{\"USD\":1,\"PEN\":3.7512,"
+        + "\"EUR\":0.9213,\"CLP\":893.17,\"BRL\":4.9134,\"MXN\":17.0821,\"JPY\":149.52}}";
+    
+    @Param({"1000000"})
+    public int montos;
+    
+    private HttpServer servidor;
+    private ConversorDivisasAPI conversor;
+    private List<Dinero> saldos;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/", intercambio -> {
+            byte[] cuerpo = RESPUESTA.getBytes(StandardCharsets.UTF_8);
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream out = intercambio.getResponseBody()) {
+                out.write(cuerpo);
+            }
+        });
+        servidor.start();
+        conversor = new ConversorDivisasAPI("http://127.0.0.1:" + servidor.getAddress().getPort() + "/");
+        
+        String[] monedas = {"USD", "EUR", "CLP", "BRL", "MXN", "PEN"};
+        Random random = new Random(42);
+        saldos = new ArrayList<>(montos);
+        for (int i = 0; i < montos; i++) {
+            long centavos = (long) (Math.exp(random.nextGaussian() * 2 + 8));
+            saldos.add(new Dinero(BigDecimal.valueOf(centavos, 2), monedas[random.nextInt(monedas.length)]));
+        }
+        conversor.convertir(saldos.get(0), "PEN");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        conversor.cerrar();
+        servidor.stop(0);
+    }
+    
+    @Benchmark
+    public List<Dinero> convertirUnoAUno() {
+        List<Dinero> convertidos = new ArrayList<>(saldos.size());
+        for (Dinero saldo : saldos) {
+            convertidos.add(conversor.convertir(saldo, "PEN"));
+        }
+        return convertidos;
+    }
+    
+    @Benchmark
+    public List<Dinero> convertirLote() {
+        return conversor.convertirLote(saldos, "PEN");
+    }
+}
@@ -0,0 +1,132 @@
+package com.wallet.benchmarks;
+
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.repositories.ICuentaRepository;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.infrastructure.repositories.CuentaRepositoryInMemory;
+import com.wallet.infrastructure.repositories.CuentaRepositoryOffHeap;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del repositorio de cuentas fuera del heap frente al
+ * repositorio en memoria de objetos.
+ *
+ * Carga millones de cuentas (cuatro por usuario) e imprime el heap
+ * retenido por cuenta. Luego mide:
+ * - depositar: buscarPorId, depositar y guardar, el ciclo de los casos de
+ *   uso; con -prof gc se ven las pausas de las recolecciones jóvenes
+ * - pausaGcCompleta: una recolección completa (System.gc()), cuya pausa
+ *   crece con los objetos vivos que el recolector debe recorrer
+ * Al terminar imprime las recolecciones y el tiempo total en pausa.
+ *
+ * Con 3M cuentas el repositorio en memoria ya ocupa la mayor parte de
+ * -Xmx3g; para decenas de millones subir -Xmx y el parámetro:
+ *   -p numeroCuentas=30000000 -jvmArgs -Xmx24g
+ *
+ * Uso: mvn -Pbenchmark test-compile exec:exec -Djmh.args="CuentaOffHeap -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class CuentaOffHeapBenchmark {
+    
+    private static final int CLAVES = 4096;
+    
+    @Param({"memoria", "offheap"})
+    private String almacenamiento;
+    
+    @Param({"3000000"})
+    private int numeroCuentas;
+    
+    private ICuentaRepository repository;
+    private String[] idsConsultados;
+    private long recoleccionesIniciales;
+    private long pausaInicial;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        long heapInicial = heapUsado();
+        repository = "offheap".equals(almacenamiento) ? new CuentaRepositoryOffHeap() : new CuentaRepositoryInMemory();
+        
+        LocalDateTime ahora = LocalDateTime.now();
+        String usuario = null;
+        idsConsultados = new String[CLAVES];
+        int paso = Math.max(1, numeroCuentas / CLAVES);
+        for (int i = 0; i < numeroCuentas; i++) {
+            if ((i & 3) == 0) {
+                usuario = UUID.randomUUID().toString();
+            }
+            String id = UUID.randomUUID().toString();
+            repository.guardar(new Cuenta(id, String.format("%010d", i), usuario, Dinero.CERO, ahora, ahora, true));
+            if (i % paso == 0 && i / paso < CLAVES) {
+                idsConsultados[i / paso] = id;
+            }
+        }
+        
+        long heap = heapUsado() - heapInicial;
+        System.out.printf("%nHeap retenido (%s): %d MiB, %d bytes por cuenta%n",
+            almacenamiento, heap >> 20, heap / numeroCuentas);
+        recoleccionesIniciales = recolecciones();
+        pausaInicial = tiempoEnPausa();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nRecolecciones (%s): %d, tiempo total en pausa: %d ms%n",
+            almacenamiento, recolecciones() - recoleccionesIniciales, tiempoEnPausa() - pausaInicial);
+    }
+    
+    private static long heapUsado() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+    
+    private static long recolecciones() {
+        long total = 0;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += recolector.getCollectionCount();
+        }
+        return total;
+    }
+    
+    private static long tiempoEnPausa() {
+        long total = 0;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += recolector.getCollectionTime();
+        }
+        return total;
+    }
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        int posicion;
+        
+        int siguiente() {
+            posicion = (posicion + 1) & (CLAVES - 1);
+            return posicion;
+        }
+    }
+    
+    @Benchmark
+    public Cuenta depositar(Cursor cursor) {
+        Cuenta cuenta = repository.buscarPorId(idsConsultados[cursor.siguiente()]).orElseThrow();
+        cuenta.depositar(Dinero.de("1.00"));
+        return repository.guardar(cuenta);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void pausaGcCompleta() {
+        System.gc();
+    }
+}
@@ -0,0 +1,113 @@
+package com.wallet.benchmarks;
+
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.infrastructure.repositories.CuentaRepositoryInMemory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de latencia de búsqueda por número de cuenta.
+ * 
+ * Mide buscarPorId, buscarPorNumeroCuenta, existeNumeroCuenta y
+ * buscarPorUsuarioId sobre repositorios de 10k, 1M y 10M cuentas (cuatro
+ * cuentas por usuario). Con los índices secundarios el tiempo por
+ * búsqueda debe mantenerse constante al crecer el número de cuentas.
+ * 
+ * Uso: mvn -Pbenchmark test-compile exec:exec -Djmh.args="CuentaRepositoryBenchmark"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class CuentaRepositoryBenchmark {
+    
+    private static final int CLAVES = 4096;
+    
+    @Param({"10000", "1000000", "10000000"})
+    private int numeroCuentas;
+    
+    private CuentaRepositoryInMemory repository;
+    private String[] idsExistentes;
+    private String[] usuariosExistentes;
+    private String[] numerosExistentes;
+    private String[] numerosInexistentes;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new CuentaRepositoryInMemory();
+        LocalDateTime ahora = LocalDateTime.now();
+        String[] ids = new String[numeroCuentas];
+        
+        for (int i = 0; i < numeroCuentas; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            repository.guardar(new Cuenta(
+                ids[i], numero(i), usuario(i),
+                Dinero.CERO, ahora, ahora, true));
+        }
+        
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        idsExistentes = new String[CLAVES];
+        usuariosExistentes = new String[CLAVES];
+        numerosExistentes = new String[CLAVES];
+        numerosInexistentes = new String[CLAVES];
+        for (int i = 0; i < CLAVES; i++) {
+            int existente = random.nextInt(numeroCuentas);
+            idsExistentes[i] = ids[existente];
+            usuariosExistentes[i] = usuario(existente);
+            numerosExistentes[i] = numero(random.nextInt(numeroCuentas));
+            numerosInexistentes[i] = numero(numeroCuentas + random.nextInt(numeroCuentas));
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        int posicion;
+        
+        int siguiente() {
+            posicion = (posicion + 1) & (CLAVES - 1);
+            return posicion;
+        }
+    }
+    
+    @Benchmark
+    public Optional<Cuenta> buscarPorId(Cursor cursor) {
+        return repository.buscarPorId(idsExistentes[cursor.siguiente()]);
+    }
+    
+    @Benchmark
+    public List<Cuenta> buscarPorUsuarioId(Cursor cursor) {
+        return repository.buscarPorUsuarioId(usuariosExistentes[cursor.siguiente()]);
+    }
+    
+    @Benchmark
+    public Optional<Cuenta> buscarPorNumeroCuenta(Cursor cursor) {
+        return repository.buscarPorNumeroCuenta(numerosExistentes[cursor.siguiente()]);
+    }
+    
+    @Benchmark
+    public boolean existeNumeroCuenta(Cursor cursor) {
+        return repository.existeNumeroCuenta(numerosExistentes[cursor.siguiente()]);
+    }
+    
+    @Benchmark
+    public boolean existeNumeroCuentaInexistente(Cursor cursor) {
+        return repository.existeNumeroCuenta(numerosInexistentes[cursor.siguiente()]);
+    }
+    
+    private static String numero(int i) {
+        return String.format("%010d", i);
+    }
+    
+    private static String usuario(int i) {
+        return "usuario-" + (i / 4);
+    }
+}
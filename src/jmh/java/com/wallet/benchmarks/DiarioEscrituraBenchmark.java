@@ -0,0 +1,126 @@
+package com.wallet.benchmarks;
+
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
+import com.wallet.application.dtos.requests.TransferirDineroRequest;
+import com.wallet.application.usecases.TransferirDineroUseCase;
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.repositories.ICuentaRepository;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.infrastructure.logging.Logger;
+import com.wallet.infrastructure.persistencia.AlmacenPersistente;
+import com.wallet.infrastructure.persistencia.ModoSincronizacion;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark de transacciones de negocio durables por segundo en el almacén
+ * persistido en el diario de escritura anticipada.
+ * 
+ * Cada operación es una transferencia completa del caso de uso: las dos
+ * cuentas y sus dos transacciones van en una sola entrada del diario y la
+ * operación no retorna hasta que está en disco. Compara un fsync por
+ * operación con el group commit para 1, 8 y 64 hilos. El directorio de
+ * datos se crea bajo target/ porque /tmp suele ser un tmpfs donde fsync
+ * no cuesta nada.
+ * 
+ * Uso:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="DiarioEscritura"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class DiarioEscrituraBenchmark {
+    
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000.00");
+    private static final BigDecimal MONTO = new BigDecimal("1.00");
+    
+    @Param({"GRUPO", "POR_OPERACION"})
+    private ModoSincronizacion modo;
+    
+    @Param({"1024"})
+    private int numeroCuentas;
+    
+    private Path directorio;
+    private AlmacenPersistente almacen;
+    private TransferirDineroUseCase useCase;
+    private String[] cuentaIds;
+    private long entradasIniciales;
+    private long sincronizacionesIniciales;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Logger.setEnabled(false);
+        Path base = Path.of("target", "jmh-diario");
+        Files.createDirectories(base);
+        directorio = Files.createTempDirectory(base, modo.name());
+        almacen = AlmacenPersistente.abrir(directorio, modo);
+        ICuentaRepository cuentaRepository = almacen.getCuentaRepository();
+        useCase = new TransferirDineroUseCase(cuentaRepository, almacen.getUnidadTrabajo(),
+            new GestorBloqueosCuentas(1024));
+        
+        LocalDateTime ahora = LocalDateTime.now();
+        cuentaIds = new String[numeroCuentas];
+        for (int i = 0; i < numeroCuentas; i++) {
+            Cuenta cuenta = new Cuenta(UUID.randomUUID().toString(), String.format("%010d", i),
+                "usuario-" + i, Dinero.de(SALDO_INICIAL), ahora, ahora, true);
+            cuentaRepository.guardar(cuenta);
+            cuentaIds[i] = cuenta.getId();
+        }
+        entradasIniciales = almacen.getRegistrosEscritos();
+        sincronizacionesIniciales = almacen.getSincronizaciones();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        long transferencias = almacen.getRegistrosEscritos() - entradasIniciales;
+        long sincronizaciones = almacen.getSincronizaciones() - sincronizacionesIniciales;
+        almacen.close();
+        System.out.printf("%n%s: %d transferencias en %d fsync (%.1f por fsync)%n",
+            modo, transferencias, sincronizaciones, transferencias / (double) Math.max(1, sincronizaciones));
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public Object transferirUnHilo() {
+        return transferir();
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public Object transferirOchoHilos() {
+        return transferir();
+    }
+    
+    @Benchmark
+    @Threads(64)
+    public Object transferirSesentaYCuatroHilos() {
+        return transferir();
+    }
+    
+    private Object transferir() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int origen = random.nextInt(numeroCuentas);
+        int destino = random.nextInt(numeroCuentas - 1);
+        if (destino >= origen) {
+            destino++;
+        }
+        return useCase.ejecutar(new TransferirDineroRequest(
+            cuentaIds[origen], cuentaIds[destino], MONTO, "Benchmark"));
+    }
+}
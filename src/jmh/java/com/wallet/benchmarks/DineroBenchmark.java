@@ -0,0 +1,150 @@
+package com.wallet.benchmarks;
+
+import com.wallet.domain.valueobjects.Dinero;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de aritmética y construcción de Dinero: representación en
+ * centavos (long) frente a la implementación anterior basada en BigDecimal.
+ * 
+ * Para medir bytes asignados por operación, ejecutar con el perfilador GC:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="DineroBenchmark -prof gc"
+ * y comparar la métrica gc.alloc.rate.norm de cada par de benchmarks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DineroBenchmark {
+    
+    private Dinero saldo;
+    private Dinero monto;
+    private DineroBigDecimal saldoAnterior;
+    private DineroBigDecimal montoAnterior;
+    private BigDecimal cantidad;
+    
+    @Setup
+    public void setUp() {
+        saldo = Dinero.de("15230.45");
+        monto = Dinero.de("125.10");
+        saldoAnterior = new DineroBigDecimal(new BigDecimal("15230.45"), "PEN");
+        montoAnterior = new DineroBigDecimal(new BigDecimal("125.10"), "PEN");
+        cantidad = new BigDecimal("15230.45");
+    }
+    
+    @Benchmark
+    public Dinero crearDesdeBigDecimal() {
+        return new Dinero(cantidad, "USD");
+    }
+    
+    @Benchmark
+    public DineroBigDecimal crearDesdeBigDecimalAnterior() {
+        return new DineroBigDecimal(cantidad, "USD");
+    }
+    
+    @Benchmark
+    public Dinero crearDesdeTexto() {
+        return Dinero.de("15230.45");
+    }
+    
+    @Benchmark
+    public Dinero crearDesdeDouble() {
+        return Dinero.de(15230.45);
+    }
+    
+    @Benchmark
+    public Dinero sumar() {
+        return saldo.sumar(monto);
+    }
+    
+    @Benchmark
+    public DineroBigDecimal sumarAnterior() {
+        return saldoAnterior.sumar(montoAnterior);
+    }
+    
+    @Benchmark
+    public Dinero restar() {
+        return saldo.restar(monto);
+    }
+    
+    @Benchmark
+    public DineroBigDecimal restarAnterior() {
+        return saldoAnterior.restar(montoAnterior);
+    }
+    
+    @Benchmark
+    public boolean comparar() {
+        return saldo.esMayorOIgualQue(monto);
+    }
+    
+    @Benchmark
+    public boolean compararAnterior() {
+        return saldoAnterior.esMayorOIgualQue(montoAnterior);
+    }
+    
+    /**
+     * Secuencia típica de un retiro: verificar saldo, restar y crear el nuevo saldo.
+     */
+    @Benchmark
+    public Dinero retiro() {
+        if (!saldo.esMayorOIgualQue(monto)) {
+            throw new IllegalStateException();
+        }
+        return saldo.restar(monto).sumar(monto).restar(monto);
+    }
+    
+    @Benchmark
+    public DineroBigDecimal retiroAnterior() {
+        if (!saldoAnterior.esMayorOIgualQue(montoAnterior)) {
+            throw new IllegalStateException();
+        }
+        return saldoAnterior.restar(montoAnterior).sumar(montoAnterior).restar(montoAnterior);
+    }
+    
+    /**
+     * Copia de la aritmética anterior de Dinero (BigDecimal + setScale en
+     * cada operación), conservada solo como referencia de comparación.
+     */
+    public static final class DineroBigDecimal {
+        private final BigDecimal cantidad;
+        private final String moneda;
+        
+        DineroBigDecimal(BigDecimal cantidad, String moneda) {
+            if (cantidad == null) {
+                throw new IllegalArgumentException("La cantidad no puede ser nula");
+            }
+            if (moneda == null || moneda.trim().isEmpty() || moneda.length() != 3) {
+                throw new IllegalArgumentException("Moneda inválida");
+            }
+            this.cantidad = cantidad.setScale(2, RoundingMode.HALF_UP);
+            this.moneda = moneda.toUpperCase();
+        }
+        
+        DineroBigDecimal sumar(DineroBigDecimal otro) {
+            validarMismaMoneda(otro);
+            return new DineroBigDecimal(cantidad.add(otro.cantidad), moneda);
+        }
+        
+        DineroBigDecimal restar(DineroBigDecimal otro) {
+            validarMismaMoneda(otro);
+            return new DineroBigDecimal(cantidad.subtract(otro.cantidad), moneda);
+        }
+        
+        boolean esMayorOIgualQue(DineroBigDecimal otro) {
+            validarMismaMoneda(otro);
+            return cantidad.compareTo(otro.cantidad) >= 0;
+        }
+        
+        private void validarMismaMoneda(DineroBigDecimal otro) {
+            if (!moneda.equals(otro.moneda)) {
+                throw new IllegalArgumentException("Monedas diferentes");
+            }
+        }
+    }
+}
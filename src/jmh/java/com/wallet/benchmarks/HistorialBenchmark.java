@@ -0,0 +1,163 @@
+package com.wallet.benchmarks;
+
+import com.wallet.application.dtos.TransaccionDTO;
+import com.wallet.application.usecases.ConsultarHistorialUseCase;
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+import com.wallet.infrastructure.repositories.CuentaRepositoryInMemory;
+import com.wallet.domain.repositories.ITransaccionRepository;
+import com.wallet.infrastructure.persistencia.ModoSincronizacion;
+import com.wallet.infrastructure.persistencia.TransaccionRepositoryMapeado;
+import com.wallet.infrastructure.repositories.TransaccionRepositoryInMemory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark de consultas de historial sobre 1M y 10M transacciones
+ * repartidas entre 10k cuentas (≈100 y ≈1000 por cuenta).
+ * 
+ * Mide las consultas del repositorio (historial completo, últimas N, por
+ * tipo y por rango de fechas) y el caso de uso ConsultarHistorialUseCase,
+ * que además valida la cuenta y convierte a DTOs.
+ * 
+ * almacenamiento=memoria usa TransaccionRepositoryInMemory;
+ * almacenamiento=mapeado usa TransaccionRepositoryMapeado en target/ (el
+ * historial queda en el page cache). Tras cargar se imprime el heap
+ * retenido para comparar cuánto ocupa cada uno.
+ * 
+ * Uso: mvn -Pbenchmark test-compile exec:exec -Djmh.args="HistorialBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class HistorialBenchmark {
+    
+    private static final int CLAVES = 1024;
+    
+    @Param({"1000000", "10000000"})
+    private int numeroTransacciones;
+    
+    @Param({"10000"})
+    private int numeroCuentas;
+    
+    @Param({"memoria", "mapeado"})
+    private String almacenamiento;
+    
+    private ITransaccionRepository transaccionRepository;
+    private Path directorio;
+    private ConsultarHistorialUseCase consultarHistorial;
+    private String[] cuentasConsultadas;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        CuentaRepositoryInMemory cuentaRepository = new CuentaRepositoryInMemory();
+        if ("mapeado".equals(almacenamiento)) {
+            Path base = Path.of("target", "jmh-historial");
+            Files.createDirectories(base);
+            directorio = Files.createTempDirectory(base, numeroTransacciones + "-");
+            transaccionRepository = TransaccionRepositoryMapeado.abrir(directorio, ModoSincronizacion.DIFERIDO);
+        } else {
+            transaccionRepository = new TransaccionRepositoryInMemory();
+        }
+        consultarHistorial = new ConsultarHistorialUseCase(cuentaRepository, transaccionRepository);
+        
+        LocalDateTime ahora = LocalDateTime.now().withNano(0);
+        String[] cuentaIds = new String[numeroCuentas];
+        for (int i = 0; i < numeroCuentas; i++) {
+            Cuenta cuenta = new Cuenta(UUID.randomUUID().toString(), String.format("%010d", i),
+                UUID.randomUUID().toString(), Dinero.CERO, ahora, ahora, true);
+            cuentaRepository.guardar(cuenta);
+            cuentaIds[i] = cuenta.getId();
+        }
+        
+        // Un movimiento por minuto hacia atrás, con IDs UUID como los de
+        // producción; montos compartidos para que el heap lo ocupe el índice
+        // y no los value objects
+        Dinero monto = Dinero.de("25.00");
+        Dinero saldoAnterior = Dinero.de("1000.00");
+        Dinero saldoNuevo = Dinero.de("1025.00");
+        for (int i = 0; i < numeroTransacciones; i++) {
+            TipoTransaccion tipo = (i & 1) == 0 ? TipoTransaccion.DEPOSITO : TipoTransaccion.RETIRO;
+            transaccionRepository.guardar(new Transaccion(
+                UUID.randomUUID().toString(), tipo, monto, cuentaIds[i % numeroCuentas], null,
+                "Benchmark", ahora.minusMinutes(i), saldoAnterior, saldoNuevo));
+        }
+        
+        cuentasConsultadas = new String[CLAVES];
+        for (int i = 0; i < CLAVES; i++) {
+            cuentasConsultadas[i] = cuentaIds[(int) ((i * 2654435761L) % numeroCuentas)];
+        }
+        // Rango de un 10% del historial
+        fechaFin = ahora.minusMinutes(numeroTransacciones / 2);
+        fechaInicio = fechaFin.minusMinutes(numeroTransacciones / 10);
+        
+        System.gc();
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%nHeap retenido (%s, %d transacciones): %d MiB%n",
+            almacenamiento, numeroTransacciones, heap >> 20);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (transaccionRepository instanceof TransaccionRepositoryMapeado mapeado) {
+            mapeado.close();
+            try (Stream<Path> archivos = Files.walk(directorio)) {
+                archivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        int posicion;
+        
+        int siguiente() {
+            posicion = (posicion + 1) & (CLAVES - 1);
+            return posicion;
+        }
+    }
+    
+    @Benchmark
+    public List<Transaccion> buscarPorCuentaId(Cursor cursor) {
+        return transaccionRepository.buscarPorCuentaId(cuentasConsultadas[cursor.siguiente()]);
+    }
+    
+    @Benchmark
+    public List<Transaccion> obtenerUltimas20(Cursor cursor) {
+        return transaccionRepository.obtenerUltimasPorCuenta(cuentasConsultadas[cursor.siguiente()], 20);
+    }
+    
+    @Benchmark
+    public List<Transaccion> buscarPorTipo(Cursor cursor) {
+        return transaccionRepository.buscarPorCuentaIdYTipo(
+            cuentasConsultadas[cursor.siguiente()], TipoTransaccion.DEPOSITO);
+    }
+    
+    @Benchmark
+    public List<Transaccion> buscarPorFechas(Cursor cursor) {
+        return transaccionRepository.obtenerPorCuentaYFechas(
+            cuentasConsultadas[cursor.siguiente()], fechaInicio, fechaFin);
+    }
+    
+    @Benchmark
+    public List<TransaccionDTO> consultarHistorialUseCase(Cursor cursor) {
+        return consultarHistorial.ejecutar(cuentasConsultadas[cursor.siguiente()]);
+    }
+}
@@ -0,0 +1,119 @@
+package com.wallet.benchmarks;
+
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.infrastructure.services.LectorTasasJSON;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark del parseo de respuestas de tasas: lector incremental sobre el
+ * InputStream frente al parser anterior (lectura a StringBuilder + regex),
+ * con una respuesta de 170 monedas similar a la de open.er-api.com.
+ * 
+ * Para medir bytes asignados por parseo:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="LectorTasasJSONBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LectorTasasJSONBenchmark {
+    
+    private static final int MONEDAS_EN_RESPUESTA = 170;
+    
+    private byte[] respuesta;
+    private double[] tasas;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Moneda> monedas = Moneda.todas();
+        StringBuilder json = new StringBuilder()
+            .append("{\"result\":\"success\",\"provider\":\"https://www.exchangerate-api.com\",")
+            .append("\"documentation\":\"https://www.exchangerate-api.com/docs/free\",")
+            .append("\"time_last_update_unix\":1700000000,")
+            .append("\"time_last_update_utc\":\"Wed, 15 Nov 2023 00:02:31 +0000\",")
+            .append("\"base_code\":\"USD\",\"rates\":{");
+        for (int i = 0; i < MONEDAS_EN_RESPUESTA; i++) {
+            double tasa = Math.round(Math.exp(random.nextGaussian() * 3) * 1e6) / 1e6;
+            json.append(i == 0 ? "" : ",")
+                .append('"').append(monedas.get(i % monedas.size()).getCodigo()).append("\":")
+                .append(tasa);
+        }
+        json.append("}}");
+        respuesta = json.toString().getBytes(StandardCharsets.UTF_8);
+        tasas = new double[Moneda.cantidad()];
+    }
+    
+    @Benchmark
+    public double[] lectorIncremental() throws IOException {
+        Arrays.fill(tasas, Double.NaN);
+        LectorTasasJSON.leer(new ByteArrayInputStream(respuesta), tasas);
+        return tasas;
+    }
+    
+    @Benchmark
+    public Map<String, Double> parserRegexAnterior() throws IOException {
+        return ParserRegexAnterior.leer(new ByteArrayInputStream(respuesta));
+    }
+    
+    /**
+     * Copia del parseo anterior de ConversorDivisasAPI, conservada solo
+     * como referencia de comparación.
+     */
+    static final class ParserRegexAnterior {
+        
+        static Map<String, Double> leer(InputStream entrada) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(entrada));
+            StringBuilder response = new StringBuilder();
+            String inputLine;
+            while ((inputLine = in.readLine()) != null) {
+                response.append(inputLine);
+            }
+            in.close();
+            return parseJSON(response.toString());
+        }
+        
+        private static Map<String, Double> parseJSON(String json) {
+            Map<String, Double> rates = new HashMap<>();
+            
+            Pattern ratesPattern = Pattern.compile("\"rates\"\\s*:\\s*\\{([^}]+)\\}");
+            Matcher ratesMatcher = ratesPattern.matcher(json);
+            
+            if (!ratesMatcher.find()) {
+                throw new RuntimeException("Formato de respuesta JSON inválido");
+            }
+            
+            String ratesContent = ratesMatcher.group(1);
+            
+            Pattern pairPattern = Pattern.compile("\"([A-Z]{3})\"\\s*:\\s*([0-9.]+)");
+            Matcher pairMatcher = pairPattern.matcher(ratesContent);
+            
+            while (pairMatcher.find()) {
+                rates.put(pairMatcher.group(1), Double.parseDouble(pairMatcher.group(2)));
+            }
+            
+            if (rates.isEmpty()) {
+                throw new RuntimeException("No se pudieron extraer tasas de cambio");
+            }
+            
+            return rates;
+        }
+    }
+}
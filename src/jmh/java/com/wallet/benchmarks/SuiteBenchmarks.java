@@ -0,0 +1,41 @@
+package com.wallet.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ejecuta los benchmarks con el perfilador de GC siempre activo, de modo
+ * que cada resultado incluye la tasa de asignación (gc.alloc.rate y
+ * gc.alloc.rate.norm, bytes por operación), y guarda los resultados en
+ * JSON para comparar entre versiones.
+ * 
+ * Acepta los mismos argumentos que la línea de comandos de JMH (".*"
+ * ejecuta todos):
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.main=com.wallet.benchmarks.SuiteBenchmarks \
+ *       -Djmh.args=".*"
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.main=com.wallet.benchmarks.SuiteBenchmarks \
+ *       -Djmh.args="Historial -p numeroTransacciones=1000000"
+ */
+public final class SuiteBenchmarks {
+    
+    private static final String RESULTADOS = "target/jmh-resultados.json";
+    
+    private SuiteBenchmarks() {
+    }
+    
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options opciones = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(RESULTADOS)
+            .build();
+        new Runner(opciones).run();
+    }
+}
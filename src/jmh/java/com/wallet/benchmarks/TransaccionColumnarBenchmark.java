@@ -0,0 +1,138 @@
+package com.wallet.benchmarks;
+
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+import com.wallet.infrastructure.repositories.TransaccionRepositoryColumnar;
+import com.wallet.infrastructure.repositories.TransaccionRepositoryInMemory;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del repositorio de transacciones por columnas frente al
+ * repositorio en memoria de objetos.
+ *
+ * Carga 1M transacciones con IDs UUID, montos distintos y unas pocas
+ * descripciones repetidas entre 10k cuentas, e imprime el heap retenido
+ * por transacción. Luego mide:
+ * - sumarDepositos: recorrido completo sumando los depósitos de un rango
+ *   de fechas (columnas primitivas frente a recorrer las entidades)
+ * - buscarPorCuentaId / obtenerUltimas20: consultas por cuenta, que en el
+ *   repositorio por columnas crean las entidades al retornarlas
+ *
+ * Uso: mvn -Pbenchmark test-compile exec:exec -Djmh.args="TransaccionColumnar -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class TransaccionColumnarBenchmark {
+    
+    private static final int CLAVES = 1024;
+    private static final int CUENTAS = 10_000;
+    private static final String[] DESCRIPCIONES = {"Depósito", "Retiro", "Pago de servicios", "Transferencia"};
+    
+    @Param({"memoria", "columnar"})
+    private String almacenamiento;
+    
+    @Param({"1000000"})
+    private int numeroTransacciones;
+    
+    private TransaccionRepositoryInMemory enMemoria;
+    private TransaccionRepositoryColumnar columnar;
+    private String[] cuentasConsultadas;
+    private LocalDateTime fechaInicio;
+    private LocalDateTime fechaFin;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        long heapInicial = heapUsado();
+        if ("columnar".equals(almacenamiento)) {
+            columnar = new TransaccionRepositoryColumnar();
+        } else {
+            enMemoria = new TransaccionRepositoryInMemory();
+        }
+        
+        LocalDateTime ahora = LocalDateTime.of(2024, 6, 1, 12, 0);
+        for (int i = 0; i < numeroTransacciones; i++) {
+            TipoTransaccion tipo = (i & 1) == 0 ? TipoTransaccion.DEPOSITO : TipoTransaccion.RETIRO;
+            long centavos = 100 + (i % 50_000);
+            Dinero monto = new Dinero(BigDecimal.valueOf(centavos, 2), Moneda.PEN);
+            Dinero anterior = new Dinero(BigDecimal.valueOf(centavos * 10, 2), Moneda.PEN);
+            Transaccion transaccion = new Transaccion(UUID.randomUUID().toString(), tipo, monto,
+                "cuenta-" + (i % CUENTAS), null, DESCRIPCIONES[i & 3], ahora.minusSeconds(numeroTransacciones - i),
+                anterior, anterior.sumar(monto));
+            if (columnar != null) {
+                columnar.guardar(transaccion);
+            } else {
+                enMemoria.guardar(transaccion);
+            }
+        }
+        
+        cuentasConsultadas = new String[CLAVES];
+        for (int i = 0; i < CLAVES; i++) {
+            cuentasConsultadas[i] = "cuenta-" + (int) ((i * 2654435761L) % CUENTAS);
+        }
+        // La mitad más reciente del historial
+        fechaFin = ahora;
+        fechaInicio = ahora.minusSeconds(numeroTransacciones / 2);
+        
+        long heap = heapUsado() - heapInicial;
+        System.out.printf("%nHeap retenido (%s): %d MiB, %d bytes por transacción%n",
+            almacenamiento, heap >> 20, heap / numeroTransacciones);
+    }
+    
+    private static long heapUsado() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+    
+    @State(Scope.Thread)
+    public static class Cursor {
+        int posicion;
+        
+        int siguiente() {
+            posicion = (posicion + 1) & (CLAVES - 1);
+            return posicion;
+        }
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Dinero sumarDepositos() {
+        if (columnar != null) {
+            return columnar.sumarMontos(TipoTransaccion.DEPOSITO, Moneda.PEN, fechaInicio, fechaFin);
+        }
+        Dinero[] suma = {new Dinero(BigDecimal.ZERO, Moneda.PEN)};
+        enMemoria.recorrer(t -> {
+            if (t.getTipo() == TipoTransaccion.DEPOSITO && t.getMonto().getMonedaCanonica() == Moneda.PEN
+                    && !t.getFecha().isBefore(fechaInicio) && !t.getFecha().isAfter(fechaFin)) {
+                suma[0] = suma[0].sumar(t.getMonto());
+            }
+        });
+        return suma[0];
+    }
+    
+    @Benchmark
+    public List<Transaccion> buscarPorCuentaId(Cursor cursor) {
+        String cuenta = cuentasConsultadas[cursor.siguiente()];
+        return columnar != null ? columnar.buscarPorCuentaId(cuenta) : enMemoria.buscarPorCuentaId(cuenta);
+    }
+    
+    @Benchmark
+    public List<Transaccion> obtenerUltimas20(Cursor cursor) {
+        String cuenta = cuentasConsultadas[cursor.siguiente()];
+        return columnar != null
+            ? columnar.obtenerUltimasPorCuenta(cuenta, 20) : enMemoria.obtenerUltimasPorCuenta(cuenta, 20);
+    }
+}
@@ -0,0 +1,129 @@
+package com.wallet.benchmarks;
+
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
+import com.wallet.application.dtos.requests.TransferirDineroRequest;
+import com.wallet.application.usecases.TransferirDineroUseCase;
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.infrastructure.logging.Logger;
+import com.wallet.infrastructure.repositories.CuentaRepositoryInMemory;
+import com.wallet.infrastructure.repositories.TransaccionRepositoryInMemory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de estrés de transferencias concurrentes.
+ * 
+ * Mide transferencias/segundo con el gestor de bloqueos por franjas y, al
+ * finalizar cada prueba, verifica que el saldo total se conserva. Si la
+ * suma de saldos cambia, la prueba falla.
+ * 
+ * transferirUnHilo y transferirCuatroHilos fijan el número de hilos para
+ * comparar el camino completo del caso de uso con y sin contención.
+ * 
+ * Uso (barrido de 1 a 64 hilos):
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.args="TransferenciaConcurrente -t 8"
+ * o ejecutar main() para recorrer 1, 2, 4, 8, 16, 32 y 64 hilos.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferenciaConcurrenteBenchmark {
+    
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000.00");
+    private static final BigDecimal MONTO = new BigDecimal("1.00");
+    
+    @Param({"10000"})
+    private int numeroCuentas;
+    
+    @Param({"1024"})
+    private int franjas;
+    
+    private CuentaRepositoryInMemory cuentaRepository;
+    private TransferirDineroUseCase useCase;
+    private String[] cuentaIds;
+    private BigDecimal totalInicial;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        Logger.setEnabled(false);
+        cuentaRepository = new CuentaRepositoryInMemory();
+        TransaccionRepositoryInMemory transaccionRepository = new TransaccionRepositoryInMemory();
+        useCase = new TransferirDineroUseCase(cuentaRepository, transaccionRepository,
+            new GestorBloqueosCuentas(franjas));
+        
+        LocalDateTime ahora = LocalDateTime.now();
+        cuentaIds = new String[numeroCuentas];
+        for (int i = 0; i < numeroCuentas; i++) {
+            Cuenta cuenta = new Cuenta(UUID.randomUUID().toString(), String.format("%010d", i),
+                "usuario-" + i, Dinero.de(SALDO_INICIAL), ahora, ahora, true);
+            cuentaRepository.guardar(cuenta);
+            cuentaIds[i] = cuenta.getId();
+        }
+        totalInicial = totalSaldos();
+    }
+    
+    @TearDown(Level.Trial)
+    public void verificarConservacion() {
+        BigDecimal totalFinal = totalSaldos();
+        if (totalInicial.compareTo(totalFinal) != 0) {
+            throw new IllegalStateException(
+                "Saldo total no conservado: inicial=" + totalInicial + ", final=" + totalFinal);
+        }
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public Object transferirUnHilo() {
+        return transferir();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public Object transferirCuatroHilos() {
+        return transferir();
+    }
+    
+    @Benchmark
+    public Object transferir() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int origen = random.nextInt(numeroCuentas);
+        int destino = random.nextInt(numeroCuentas - 1);
+        if (destino >= origen) {
+            destino++;
+        }
+        return useCase.ejecutar(new TransferirDineroRequest(
+            cuentaIds[origen], cuentaIds[destino], MONTO, "Benchmark"));
+    }
+    
+    private BigDecimal totalSaldos() {
+        return cuentaRepository.obtenerTodas().stream()
+            .map(c -> c.getSaldo().getCantidad())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+    
+    /**
+     * Ejecuta el barrido de hilos 1..64 e imprime transferencias/segundo.
+     */
+    public static void main(String[] args) throws RunnerException {
+        for (int hilos = 1; hilos <= 64; hilos *= 2) {
+            Options opciones = new OptionsBuilder()
+                .include(TransferenciaConcurrenteBenchmark.class.getSimpleName() + ".transferir$")
+                .threads(hilos)
+                .build();
+            new Runner(opciones).run();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.wallet.benchmarks;
+
+import com.wallet.domain.valueobjects.DocumentoIdentidad;
+import com.wallet.domain.valueobjects.DocumentoIdentidad.TipoDocumento;
+import com.wallet.domain.valueobjects.Email;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de validación de los value objects de identidad: Email y
+ * DocumentoIdentidad, con entradas válidas y con entradas rechazadas
+ * (cuyo costo incluye crear la excepción).
+ * 
+ * Uso: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ValidacionBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacionBenchmark {
+    
+    private String emailValido;
+    private String emailInvalido;
+    private String dniValido;
+    private String pasaporteValido;
+    private String documentoInvalido;
+    
+    @Setup
+    public void setUp() {
+        // Campos no finales para que el JIT no pliegue las constantes
+        emailValido = "juan.perez+wallet@correo-ejemplo.com.pe";
+        emailInvalido = "juan.perez@correo";
+        dniValido = "12345678";
+        pasaporteValido = "AB1234567";
+        documentoInvalido = "1234-5678";
+    }
+    
+    @Benchmark
+    public Email emailValido() {
+        return new Email(emailValido);
+    }
+    
+    @Benchmark
+    public Object emailInvalido() {
+        try {
+            return new Email(emailInvalido);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+    
+    @Benchmark
+    public DocumentoIdentidad dniValido() {
+        return new DocumentoIdentidad(dniValido, TipoDocumento.DNI);
+    }
+    
+    @Benchmark
+    public DocumentoIdentidad pasaporteValido() {
+        return new DocumentoIdentidad(pasaporteValido, TipoDocumento.PASAPORTE);
+    }
+    
+    @Benchmark
+    public Object documentoInvalido() {
+        try {
+            return new DocumentoIdentidad(documentoInvalido, TipoDocumento.DNI);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.wallet;
 
+import com.wallet.presentation.carga.GeneradorCarga;
 import com.wallet.presentation.menus.MenuPrincipal;
 
+import java.util.Arrays;
+
 /**
  * Clase principal de la aplicación Wallet.
  * Punto de entrada del sistema de billetera digital.
@@ -14,9 +17,16 @@ public class Main {
     /**
      * Método principal que inicia la aplicación.
      * 
-     * @param args argumentos de línea de comandos (no utilizados actualmente)
+     * @param args sin argumentos inicia el menú interactivo; con "carga"
+     *             como primer argumento ejecuta el generador de carga con
+     *             el resto de argumentos
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && "carga".equals(args[0])) {
+            GeneradorCarga.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        
         // Iniciar interfaz de usuario interactiva
         MenuPrincipal menu = new MenuPrincipal();
         menu.iniciar();
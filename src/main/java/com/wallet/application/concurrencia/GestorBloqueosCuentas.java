@@ -0,0 +1,124 @@
+package com.wallet.application.concurrencia;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Gestor de bloqueos por cuenta con franjas (lock striping).
+ * 
+ * Cada cuenta se asigna a una de N franjas según el hash de su ID, de modo
+ * que operaciones sobre cuentas distintas rara vez compiten por el mismo
+ * bloqueo, sin necesitar un bloqueo por cuenta. Cuando una operación
+ * involucra dos cuentas, las franjas se adquieren siempre en orden de
+ * índice ascendente, lo que evita interbloqueos (deadlocks).
+ * 
+ * Principios aplicados:
+ * - SRP: Solo responsable de serializar operaciones sobre cuentas
+ * - Orden canónico: Adquisición ordenada para evitar deadlocks
+ */
+public class GestorBloqueosCuentas {
+    
+    public static final int FRANJAS_POR_DEFECTO = 1024;
+    private static final int MAX_FRANJAS = 1 << 20;
+    
+    private static final GestorBloqueosCuentas GLOBAL = new GestorBloqueosCuentas(
+        Integer.getInteger("wallet.bloqueos.franjas", FRANJAS_POR_DEFECTO)
+    );
+    
+    private final ReentrantLock[] franjas;
+    private final int mascara;
+    
+    /**
+     * Crea un gestor con el número de franjas indicado.
+     * El valor se redondea a la siguiente potencia de dos.
+     * 
+     * @param numeroFranjas número de franjas deseado
+     * @throws IllegalArgumentException si el número no es positivo o excede el máximo
+     */
+    public GestorBloqueosCuentas(int numeroFranjas) {
+        if (numeroFranjas <= 0 || numeroFranjas > MAX_FRANJAS) {
+            throw new IllegalArgumentException(
+                "El número de franjas debe estar entre 1 y " + MAX_FRANJAS);
+        }
+        int tamano = numeroFranjas == 1 ? 1 : Integer.highestOneBit(numeroFranjas - 1) << 1;
+        this.franjas = new ReentrantLock[tamano];
+        for (int i = 0; i < tamano; i++) {
+            franjas[i] = new ReentrantLock();
+        }
+        this.mascara = tamano - 1;
+    }
+    
+    /**
+     * Obtiene el gestor compartido por los casos de uso.
+     * El número de franjas se configura con la propiedad del sistema
+     * {@code wallet.bloqueos.franjas} (por defecto 1024).
+     * 
+     * @return el gestor global
+     */
+    public static GestorBloqueosCuentas global() {
+        return GLOBAL;
+    }
+    
+    /**
+     * Ejecuta una operación con la cuenta bloqueada.
+     * 
+     * @param cuentaId ID de la cuenta
+     * @param operacion la operación a ejecutar
+     * @return el resultado de la operación
+     */
+    public <T> T ejecutar(String cuentaId, Supplier<T> operacion) {
+        ReentrantLock bloqueo = franjas[indiceFranja(cuentaId)];
+        bloqueo.lock();
+        try {
+            return operacion.get();
+        } finally {
+            bloqueo.unlock();
+        }
+    }
+    
+    /**
+     * Ejecuta una operación con ambas cuentas bloqueadas.
+     * Las franjas se adquieren en orden ascendente de índice.
+     * 
+     * @param cuentaIdA ID de la primera cuenta
+     * @param cuentaIdB ID de la segunda cuenta
+     * @param operacion la operación a ejecutar
+     * @return el resultado de la operación
+     */
+    public <T> T ejecutar(String cuentaIdA, String cuentaIdB, Supplier<T> operacion) {
+        int indiceA = indiceFranja(cuentaIdA);
+        int indiceB = indiceFranja(cuentaIdB);
+        if (indiceA == indiceB) {
+            return ejecutar(cuentaIdA, operacion);
+        }
+        
+        ReentrantLock primero = franjas[Math.min(indiceA, indiceB)];
+        ReentrantLock segundo = franjas[Math.max(indiceA, indiceB)];
+        primero.lock();
+        try {
+            segundo.lock();
+            try {
+                return operacion.get();
+            } finally {
+                segundo.unlock();
+            }
+        } finally {
+            primero.unlock();
+        }
+    }
+    
+    /**
+     * Retorna el número efectivo de franjas (potencia de dos).
+     */
+    public int getNumeroFranjas() {
+        return franjas.length;
+    }
+    
+    int indiceFranja(String cuentaId) {
+        if (cuentaId == null) {
+            throw new IllegalArgumentException("El ID de la cuenta no puede ser nulo");
+        }
+        int h = cuentaId.hashCode();
+        return (h ^ (h >>> 16)) & mascara;
+    }
+}
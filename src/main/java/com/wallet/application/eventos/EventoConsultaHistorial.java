@@ -0,0 +1,64 @@
+package com.wallet.application.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una consulta del historial de transacciones.
+ */
+@Name("com.wallet.ConsultaHistorial")
+@Label("Consulta de historial")
+@Description("Consulta de las transacciones de una cuenta")
+@Category({"Wallet", "Consultas"})
+@StackTrace(false)
+public final class EventoConsultaHistorial extends Event {
+    
+    @Label("Cuenta")
+    String cuentaId;
+    
+    @Label("Tipo")
+    String tipo;
+    
+    @Label("Transacciones")
+    int transacciones;
+    
+    @Label("Éxito")
+    boolean exito;
+    
+    @Label("Error")
+    String error;
+    
+    /**
+     * Termina la medición y, si hay una grabación que acepte el evento,
+     * completa sus datos y lo confirma.
+     * 
+     * @see #completar
+     */
+    public void finalizar(String cuentaId, String tipo, int transacciones, Throwable error) {
+        end();
+        if (shouldCommit()) {
+            completar(cuentaId, tipo, transacciones, error);
+            commit();
+        }
+    }
+    
+    /**
+     * Completa los datos de la consulta.
+     * 
+     * @param cuentaId cuenta consultada
+     * @param tipo tipo de transacción filtrado, o null si es el historial completo
+     * @param transacciones cantidad de transacciones devueltas
+     * @param error excepción con la que terminó la consulta, o null si tuvo éxito
+     */
+    public void completar(String cuentaId, String tipo, int transacciones, Throwable error) {
+        this.cuentaId = cuentaId;
+        this.tipo = tipo;
+        this.transacciones = transacciones;
+        this.exito = error == null;
+        this.error = EventosJFR.describir(error);
+    }
+}
@@ -0,0 +1,62 @@
+package com.wallet.application.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de una consulta de tasas de cambio a la API externa.
+ * 
+ * La consulta es asíncrona: el evento empieza en el hilo que la inicia y
+ * se confirma en el hilo que recibe la respuesta.
+ */
+@Name("com.wallet.ConsultaTasas")
+@Label("Consulta de tasas")
+@Description("Obtención de la tabla de tasas de cambio desde la API")
+@Category({"Wallet", "Divisas"})
+@StackTrace(false)
+public final class EventoConsultaTasas extends Event {
+    
+    @Label("Moneda base")
+    String monedaBase;
+    
+    @Label("Tasas obtenidas")
+    int tasas;
+    
+    @Label("Éxito")
+    boolean exito;
+    
+    @Label("Error")
+    String error;
+    
+    /**
+     * Termina la medición y, si hay una grabación que acepte el evento,
+     * completa sus datos y lo confirma.
+     * 
+     * @see #completar
+     */
+    public void finalizar(String monedaBase, int tasas, Throwable error) {
+        end();
+        if (shouldCommit()) {
+            completar(monedaBase, tasas, error);
+            commit();
+        }
+    }
+    
+    /**
+     * Completa los datos de la consulta.
+     * 
+     * @param monedaBase moneda en la que se pidieron las tasas
+     * @param tasas cantidad de monedas cotizadas en la respuesta
+     * @param error excepción con la que terminó la consulta, o null si tuvo éxito
+     */
+    public void completar(String monedaBase, int tasas, Throwable error) {
+        this.monedaBase = monedaBase;
+        this.tasas = tasas;
+        this.exito = error == null;
+        this.error = EventosJFR.describir(error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.wallet.application.eventos;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de un depósito.
+ */
+@Name("com.wallet.Deposito")
+@Label("Depósito")
+@Description("Depósito de dinero en una cuenta")
+public final class EventoDeposito extends EventoMovimientoDinero {
+}
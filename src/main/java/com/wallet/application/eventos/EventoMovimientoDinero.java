@@ -0,0 +1,75 @@
+package com.wallet.application.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+
+/**
+ * Base de los eventos de Java Flight Recorder que registran un movimiento
+ * de dinero sobre una cuenta.
+ * 
+ * La duración la mide JFR entre {@code begin()} y {@code end()}. Los datos
+ * se completan solo si {@code shouldCommit()} es verdadero, de modo que
+ * sin una grabación activa el evento no hace trabajo (y el JIT elimina su
+ * asignación).
+ * 
+ * Uso:
+ * <pre>
+ *   EventoDeposito evento = new EventoDeposito();
+ *   evento.begin();
+ *   ...
+ *   evento.finalizar(cuentaId, monto, moneda, error);
+ * </pre>
+ */
+@Category({"Wallet", "Movimientos"})
+@StackTrace(false)
+public abstract class EventoMovimientoDinero extends Event {
+    
+    @Label("Cuenta")
+    String cuentaId;
+    
+    @Label("Monto")
+    double monto;
+    
+    @Label("Moneda")
+    String moneda;
+    
+    @Label("Éxito")
+    boolean exito;
+    
+    @Label("Error")
+    String error;
+    
+    /**
+     * Termina la medición y, si hay una grabación que acepte el evento,
+     * completa sus datos y lo confirma.
+     * 
+     * @see #completar
+     */
+    public void finalizar(String cuentaId, BigDecimal monto, String moneda, Throwable error) {
+        end();
+        if (shouldCommit()) {
+            completar(cuentaId, monto, moneda, error);
+            commit();
+        }
+    }
+    
+    /**
+     * Completa los datos del movimiento.
+     * 
+     * @param cuentaId cuenta afectada
+     * @param monto monto solicitado (puede ser null si la solicitud era inválida)
+     * @param moneda código de la moneda, o null si no llegó a determinarse
+     * @param error excepción con la que terminó la operación, o null si tuvo éxito
+     */
+    public void completar(String cuentaId, BigDecimal monto, String moneda, Throwable error) {
+        this.cuentaId = cuentaId;
+        this.monto = monto == null ? Double.NaN : monto.doubleValue();
+        this.moneda = moneda;
+        this.exito = error == null;
+        this.error = EventosJFR.describir(error);
+    }
+}
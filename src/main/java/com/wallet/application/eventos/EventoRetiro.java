@@ -0,0 +1,14 @@
+package com.wallet.application.eventos;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de un retiro.
+ */
+@Name("com.wallet.Retiro")
+@Label("Retiro")
+@Description("Retiro de dinero de una cuenta")
+public final class EventoRetiro extends EventoMovimientoDinero {
+}
@@ -0,0 +1,21 @@
+package com.wallet.application.eventos;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR de una transferencia. La cuenta heredada es la de origen.
+ */
+@Name("com.wallet.Transferencia")
+@Label("Transferencia")
+@Description("Transferencia de dinero entre dos cuentas")
+public final class EventoTransferencia extends EventoMovimientoDinero {
+    
+    @Label("Cuenta destino")
+    String cuentaDestinoId;
+    
+    public void setCuentaDestino(String cuentaDestinoId) {
+        this.cuentaDestinoId = cuentaDestinoId;
+    }
+}
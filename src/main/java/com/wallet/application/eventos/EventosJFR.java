@@ -0,0 +1,23 @@
+package com.wallet.application.eventos;
+
+/**
+ * Utilidades comunes a los eventos de Java Flight Recorder de la billetera.
+ */
+final class EventosJFR {
+    
+    private EventosJFR() {
+        throw new AssertionError("No se debe instanciar EventosJFR");
+    }
+    
+    /**
+     * Describe una excepción como "Tipo: mensaje", o null si no hay error.
+     */
+    static String describir(Throwable error) {
+        if (error == null) {
+            return null;
+        }
+        String mensaje = error.getMessage();
+        String tipo = error.getClass().getSimpleName();
+        return mensaje == null ? tipo : tipo + ": " + mensaje;
+    }
+}
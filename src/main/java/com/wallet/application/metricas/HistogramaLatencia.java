@@ -0,0 +1,162 @@
+package com.wallet.application.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas logarítmicas y memoria fija.
+ * 
+ * Cada potencia de dos se divide en 16 subcubetas, de modo que el error
+ * relativo de un percentil es como máximo 1/16 (≈6%) en todo el rango,
+ * desde 1 ns hasta 2^40 ns (≈18 minutos; los valores mayores se acumulan
+ * en la última cubeta). El arreglo de cuentas se reparte en franjas por
+ * hilo para que los registros concurrentes no compitan por la misma
+ * celda; la instantánea suma las franjas.
+ * 
+ * Registrar un valor son tres operaciones atómicas sin locks ni
+ * asignaciones de memoria.
+ * 
+ * Principios aplicados:
+ * - SRP: Solo responsable de acumular la distribución de latencias
+ * - Rendimiento: Memoria fija y registro sin asignaciones
+ */
+public final class HistogramaLatencia {
+    
+    private static final int BITS_SUBCUBETA = 4;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int MAX_EXPONENTE = 40;
+    static final long VALOR_MAXIMO = (1L << MAX_EXPONENTE) - 1;
+    static final int CUBETAS = SUBCUBETAS + (MAX_EXPONENTE - BITS_SUBCUBETA) * SUBCUBETAS;
+    private static final int MAX_FRANJAS = 8;
+    
+    private final AtomicLongArray cuentas;
+    private final int mascaraFranjas;
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0L);
+    
+    public HistogramaLatencia() {
+        int procesadores = Math.min(Runtime.getRuntime().availableProcessors(), MAX_FRANJAS);
+        int franjas = procesadores <= 1 ? 1 : Integer.highestOneBit(procesadores - 1) << 1;
+        this.cuentas = new AtomicLongArray(franjas * CUBETAS);
+        this.mascaraFranjas = franjas - 1;
+    }
+    
+    /**
+     * Registra una latencia.
+     * 
+     * @param nanos duración en nanosegundos (los negativos cuentan como 0)
+     */
+    public void registrar(long nanos) {
+        long valor = nanos < 0 ? 0 : Math.min(nanos, VALOR_MAXIMO);
+        int franja = (int) Thread.currentThread().threadId() & mascaraFranjas;
+        cuentas.getAndIncrement(franja * CUBETAS + indice(valor));
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+    
+    /**
+     * Índice de la cubeta que contiene el valor.
+     */
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int mantisa = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return (exponente - BITS_SUBCUBETA + 1) * SUBCUBETAS + mantisa;
+    }
+    
+    /**
+     * Mayor valor que cae en la cubeta indicada.
+     */
+    static long limiteSuperior(int indice) {
+        if (indice < SUBCUBETAS) {
+            return indice;
+        }
+        int desplazamiento = indice / SUBCUBETAS - 1;
+        long inferior = (long) (SUBCUBETAS + indice % SUBCUBETAS) << desplazamiento;
+        return inferior + (1L << desplazamiento) - 1;
+    }
+    
+    /**
+     * Toma una instantánea de la distribución. No es atómica respecto a
+     * registros concurrentes, pero cada cubeta se lee de forma consistente.
+     */
+    public Instantanea instantanea() {
+        long[] porCubeta = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < cuentas.length(); i++) {
+            long cuenta = cuentas.get(i);
+            porCubeta[i % CUBETAS] += cuenta;
+            total += cuenta;
+        }
+        return new Instantanea(porCubeta, total, suma.sum(), maximo.get());
+    }
+    
+    /**
+     * Vuelve el histograma a cero.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < cuentas.length(); i++) {
+            cuentas.set(i, 0);
+        }
+        suma.reset();
+        maximo.reset();
+    }
+    
+    /**
+     * Distribución acumulada en un momento dado.
+     */
+    public static final class Instantanea {
+        
+        private final long[] porCubeta;
+        private final long total;
+        private final long suma;
+        private final long maximo;
+        
+        private Instantanea(long[] porCubeta, long total, long suma, long maximo) {
+            this.porCubeta = porCubeta;
+            this.total = total;
+            this.suma = suma;
+            this.maximo = maximo;
+        }
+        
+        public long getTotal() {
+            return total;
+        }
+        
+        public long getMaximo() {
+            return maximo;
+        }
+        
+        public double getMedia() {
+            return total == 0 ? 0.0 : (double) suma / total;
+        }
+        
+        /**
+         * Valor por debajo del cual queda la fracción indicada de registros
+         * (límite superior de su cubeta, sin exceder el máximo observado).
+         * 
+         * @param fraccion entre 0 y 1 (ej: 0.99 para p99)
+         * @return el percentil en nanosegundos, o 0 si no hay registros
+         */
+        public long percentil(double fraccion) {
+            if (fraccion < 0 || fraccion > 1) {
+                throw new IllegalArgumentException("La fracción debe estar entre 0 y 1");
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rango = Math.max(1, (long) Math.ceil(fraccion * total));
+            long acumulado = 0;
+            for (int i = 0; i < porCubeta.length; i++) {
+                acumulado += porCubeta[i];
+                if (acumulado >= rango) {
+                    return Math.min(limiteSuperior(i), maximo);
+                }
+            }
+            return maximo;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.wallet.application.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas de una operación: distribución de latencias y cantidad de fallos.
+ * 
+ * Uso en el camino crítico (sin asignaciones):
+ * <pre>
+ *   long inicio = System.nanoTime();
+ *   boolean exito = false;
+ *   try {
+ *       ...
+ *       exito = true;
+ *   } finally {
+ *       metrica.registrar(System.nanoTime() - inicio, exito);
+ *   }
+ * </pre>
+ */
+public final class MetricaOperacion {
+    
+    private final String nombre;
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+    private final LongAdder fallos = new LongAdder();
+    
+    MetricaOperacion(String nombre) {
+        this.nombre = nombre;
+    }
+    
+    /**
+     * Registra una ejecución de la operación.
+     * 
+     * @param duracionNanos duración de la ejecución
+     * @param exito false si terminó con excepción
+     */
+    public void registrar(long duracionNanos, boolean exito) {
+        latencias.registrar(duracionNanos);
+        if (!exito) {
+            fallos.increment();
+        }
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    /**
+     * Resume las ejecuciones registradas hasta ahora.
+     */
+    public ResumenOperacion resumen() {
+        HistogramaLatencia.Instantanea instantanea = latencias.instantanea();
+        return new ResumenOperacion(
+            nombre,
+            instantanea.getTotal(),
+            fallos.sum(),
+            instantanea.getMedia(),
+            instantanea.percentil(0.50),
+            instantanea.percentil(0.99),
+            instantanea.percentil(0.999),
+            instantanea.getMaximo()
+        );
+    }
+    
+    void reiniciar() {
+        latencias.reiniciar();
+        fallos.reset();
+    }
+}
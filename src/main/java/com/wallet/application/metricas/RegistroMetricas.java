@@ -0,0 +1,95 @@
+package com.wallet.application.metricas;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro en proceso de métricas de operaciones y contadores.
+ * 
+ * Las métricas se crean por nombre una sola vez (típicamente al cargar la
+ * clase que las usa) y después se registran sin búsquedas ni asignaciones.
+ * Los contadores son {@link LongAdder}, que reparten los incrementos
+ * concurrentes en celdas separadas.
+ * 
+ * Principios aplicados:
+ * - SRP: Solo responsable de agrupar y exponer las métricas
+ * - Bajo costo: Registrar no bloquea ni asigna memoria
+ */
+public final class RegistroMetricas {
+    
+    private static final RegistroMetricas GLOBAL = new RegistroMetricas();
+    
+    private final Map<String, MetricaOperacion> operaciones = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> contadores = new ConcurrentHashMap<>();
+    
+    /**
+     * Obtiene el registro compartido por toda la aplicación.
+     * 
+     * @return el registro global
+     */
+    public static RegistroMetricas global() {
+        return GLOBAL;
+    }
+    
+    /**
+     * Obtiene (o crea) la métrica de una operación.
+     * 
+     * @param nombre nombre de la operación
+     * @return la métrica, siempre la misma instancia para el mismo nombre
+     */
+    public MetricaOperacion operacion(String nombre) {
+        validarNombre(nombre);
+        return operaciones.computeIfAbsent(nombre, MetricaOperacion::new);
+    }
+    
+    /**
+     * Obtiene (o crea) un contador.
+     * 
+     * @param nombre nombre del contador
+     * @return el contador, siempre la misma instancia para el mismo nombre
+     */
+    public LongAdder contador(String nombre) {
+        validarNombre(nombre);
+        return contadores.computeIfAbsent(nombre, n -> new LongAdder());
+    }
+    
+    /**
+     * Resume todas las operaciones registradas, ordenadas por nombre.
+     */
+    public List<ResumenOperacion> resumenOperaciones() {
+        List<ResumenOperacion> resumenes = new ArrayList<>(operaciones.size());
+        for (MetricaOperacion metrica : operaciones.values()) {
+            resumenes.add(metrica.resumen());
+        }
+        resumenes.sort(Comparator.comparing(ResumenOperacion::getNombre));
+        return resumenes;
+    }
+    
+    /**
+     * Valores actuales de todos los contadores, ordenados por nombre.
+     */
+    public Map<String, Long> valoresContadores() {
+        Map<String, Long> valores = new TreeMap<>();
+        contadores.forEach((nombre, contador) -> valores.put(nombre, contador.sum()));
+        return valores;
+    }
+    
+    /**
+     * Pone a cero todas las métricas y contadores (las instancias se conservan).
+     */
+    public void reiniciar() {
+        operaciones.values().forEach(MetricaOperacion::reiniciar);
+        contadores.values().forEach(LongAdder::reset);
+    }
+    
+    private static void validarNombre(String nombre) {
+        if (nombre == null || nombre.trim().isEmpty()) {
+            throw new IllegalArgumentException("El nombre de la métrica no puede estar vacío");
+        }
+    }
+}
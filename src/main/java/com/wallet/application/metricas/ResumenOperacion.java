@@ -0,0 +1,84 @@
+package com.wallet.application.metricas;
+
+/**
+ * Resumen inmutable de las latencias de una operación.
+ * Todos los tiempos están en nanosegundos.
+ */
+public final class ResumenOperacion {
+    
+    private final String nombre;
+    private final long ejecuciones;
+    private final long fallos;
+    private final double mediaNanos;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maximoNanos;
+    
+    public ResumenOperacion(String nombre, long ejecuciones, long fallos, double mediaNanos,
+                            long p50Nanos, long p99Nanos, long p999Nanos, long maximoNanos) {
+        this.nombre = nombre;
+        this.ejecuciones = ejecuciones;
+        this.fallos = fallos;
+        this.mediaNanos = mediaNanos;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maximoNanos = maximoNanos;
+    }
+    
+    public String getNombre() {
+        return nombre;
+    }
+    
+    public long getEjecuciones() {
+        return ejecuciones;
+    }
+    
+    public long getFallos() {
+        return fallos;
+    }
+    
+    public double getMediaNanos() {
+        return mediaNanos;
+    }
+    
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+    
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+    
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+    
+    public long getMaximoNanos() {
+        return maximoNanos;
+    }
+    
+    /**
+     * Formatea una duración con la unidad más legible (ns, us, ms o s),
+     * para mostrar los resúmenes en consola.
+     */
+    public static String formatearDuracion(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + " ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format("%.1f us", nanos / 1_000.0);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format("%.1f ms", nanos / 1_000_000.0);
+        }
+        return String.format("%.2f s", nanos / 1_000_000_000.0);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s: n=%d fallos=%d media=%.0fns p50=%dns p99=%dns p999=%dns max=%dns",
+            nombre, ejecuciones, fallos, mediaNanos, p50Nanos, p99Nanos, p999Nanos, maximoNanos);
+    }
+}
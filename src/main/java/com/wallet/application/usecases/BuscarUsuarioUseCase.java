@@ -2,6 +2,8 @@ package com.wallet.application.usecases;
 
 import com.wallet.application.dtos.UsuarioDTO;
 import com.wallet.application.mappers.UsuarioMapper;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
 import com.wallet.domain.entities.Usuario;
 import com.wallet.domain.exceptions.UsuarioNoEncontradoException;
 import com.wallet.domain.repositories.IUsuarioRepository;
@@ -15,6 +17,8 @@ import com.wallet.domain.valueobjects.Email;
  */
 public class BuscarUsuarioUseCase {
     
+    private static final MetricaOperacion METRICA = RegistroMetricas.global().operacion("BuscarUsuario");
+    
     private final IUsuarioRepository usuarioRepository;
     
     public BuscarUsuarioUseCase(IUsuarioRepository usuarioRepository) {
@@ -32,6 +36,18 @@ public class BuscarUsuarioUseCase {
      * @throws UsuarioNoEncontradoException si el usuario no existe
      */
     public UsuarioDTO ejecutarPorId(String usuarioId) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            UsuarioDTO resultado = buscarPorId(usuarioId);
+            exito = true;
+            return resultado;
+        } finally {
+            METRICA.registrar(System.nanoTime() - inicio, exito);
+        }
+    }
+    
+    private UsuarioDTO buscarPorId(String usuarioId) {
         if (usuarioId == null || usuarioId.trim().isEmpty()) {
             throw new IllegalArgumentException("El ID del usuario es requerido");
         }
@@ -50,6 +66,18 @@ public class BuscarUsuarioUseCase {
      * @throws UsuarioNoEncontradoException si el usuario no existe
      */
     public UsuarioDTO ejecutarPorEmail(String email) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            UsuarioDTO resultado = buscarPorEmail(email);
+            exito = true;
+            return resultado;
+        } finally {
+            METRICA.registrar(System.nanoTime() - inicio, exito);
+        }
+    }
+    
+    private UsuarioDTO buscarPorEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
             throw new IllegalArgumentException("El email es requerido");
         }
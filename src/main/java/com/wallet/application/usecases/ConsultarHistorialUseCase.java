@@ -1,7 +1,10 @@
 package com.wallet.application.usecases;
 
 import com.wallet.application.dtos.TransaccionDTO;
+import com.wallet.application.eventos.EventoConsultaHistorial;
 import com.wallet.application.mappers.TransaccionMapper;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
 import com.wallet.domain.entities.Transaccion;
 import com.wallet.domain.exceptions.CuentaNoEncontradaException;
 import com.wallet.domain.repositories.ICuentaRepository;
@@ -19,6 +22,8 @@ import java.util.stream.Collectors;
  */
 public class ConsultarHistorialUseCase {
     
+    private static final MetricaOperacion METRICA = RegistroMetricas.global().operacion("ConsultarHistorial");
+    
     private final ICuentaRepository cuentaRepository;
     private final ITransaccionRepository transaccionRepository;
     
@@ -42,6 +47,12 @@ public class ConsultarHistorialUseCase {
      * @throws CuentaNoEncontradaException si la cuenta no existe
      */
     public List<TransaccionDTO> ejecutar(String cuentaId) {
+        return Instrumentacion.medir(METRICA, new EventoConsultaHistorial(), () -> consultar(cuentaId),
+            (evento, resultado, error) ->
+                evento.finalizar(cuentaId, null, resultado != null ? resultado.size() : 0, error));
+    }
+    
+    private List<TransaccionDTO> consultar(String cuentaId) {
         if (cuentaId == null || cuentaId.trim().isEmpty()) {
             throw new IllegalArgumentException("El ID de la cuenta es requerido");
         }
@@ -69,6 +80,12 @@ public class ConsultarHistorialUseCase {
      * @throws CuentaNoEncontradaException si la cuenta no existe
      */
     public List<TransaccionDTO> ejecutarPorTipo(String cuentaId, String tipo) {
+        return Instrumentacion.medir(METRICA, new EventoConsultaHistorial(), () -> consultarPorTipo(cuentaId, tipo),
+            (evento, resultado, error) ->
+                evento.finalizar(cuentaId, tipo, resultado != null ? resultado.size() : 0, error));
+    }
+    
+    private List<TransaccionDTO> consultarPorTipo(String cuentaId, String tipo) {
         if (cuentaId == null || cuentaId.trim().isEmpty()) {
             throw new IllegalArgumentException("El ID de la cuenta es requerido");
         }
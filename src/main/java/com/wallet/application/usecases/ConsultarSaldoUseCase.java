@@ -2,6 +2,8 @@ package com.wallet.application.usecases;
 
 import com.wallet.application.dtos.CuentaDTO;
 import com.wallet.application.mappers.CuentaMapper;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
 import com.wallet.domain.entities.Cuenta;
 import com.wallet.domain.exceptions.CuentaNoEncontradaException;
 import com.wallet.domain.repositories.ICuentaRepository;
@@ -14,6 +16,8 @@ import com.wallet.domain.repositories.ICuentaRepository;
  */
 public class ConsultarSaldoUseCase {
     
+    private static final MetricaOperacion METRICA = RegistroMetricas.global().operacion("ConsultarSaldo");
+    
     private final ICuentaRepository cuentaRepository;
     
     public ConsultarSaldoUseCase(ICuentaRepository cuentaRepository) {
@@ -31,6 +35,18 @@ public class ConsultarSaldoUseCase {
      * @throws CuentaNoEncontradaException si la cuenta no existe
      */
     public CuentaDTO ejecutar(String cuentaId) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            CuentaDTO resultado = consultar(cuentaId);
+            exito = true;
+            return resultado;
+        } finally {
+            METRICA.registrar(System.nanoTime() - inicio, exito);
+        }
+    }
+    
+    private CuentaDTO consultar(String cuentaId) {
         if (cuentaId == null || cuentaId.trim().isEmpty()) {
             throw new IllegalArgumentException("El ID de la cuenta es requerido");
         }
@@ -49,6 +65,18 @@ public class ConsultarSaldoUseCase {
      * @throws CuentaNoEncontradaException si la cuenta no existe
      */
     public CuentaDTO ejecutarPorNumero(String numeroCuenta) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            CuentaDTO resultado = consultarPorNumero(numeroCuenta);
+            exito = true;
+            return resultado;
+        } finally {
+            METRICA.registrar(System.nanoTime() - inicio, exito);
+        }
+    }
+    
+    private CuentaDTO consultarPorNumero(String numeroCuenta) {
         if (numeroCuenta == null || numeroCuenta.trim().isEmpty()) {
             throw new IllegalArgumentException("El número de cuenta es requerido");
         }
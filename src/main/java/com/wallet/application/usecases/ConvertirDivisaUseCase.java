@@ -2,8 +2,18 @@ package com.wallet.application.usecases;
 
 import com.wallet.application.dtos.ConversionDivisaDTO;
 import com.wallet.application.dtos.requests.ConvertirDivisaRequest;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
 import com.wallet.domain.services.IConversorDivisas;
+import com.wallet.domain.valueobjects.ConversionLote;
 import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Caso de uso para convertir divisas.
@@ -14,6 +24,9 @@ import com.wallet.domain.valueobjects.Dinero;
  */
 public class ConvertirDivisaUseCase {
     
+    private static final MetricaOperacion METRICA = RegistroMetricas.global().operacion("ConvertirDivisa");
+    private static final MetricaOperacion METRICA_LOTE = RegistroMetricas.global().operacion("ConvertirDivisaLote");
+    
     private final IConversorDivisas conversorDivisas;
     
     /**
@@ -39,6 +52,10 @@ public class ConvertirDivisaUseCase {
      * @throws RuntimeException si no se puede realizar la conversión
      */
     public ConversionDivisaDTO ejecutar(ConvertirDivisaRequest request) {
+        return Instrumentacion.medir(METRICA, () -> convertir(request));
+    }
+    
+    private ConversionDivisaDTO convertir(ConvertirDivisaRequest request) {
         validarRequest(request);
         
         Dinero dineroOriginal = new Dinero(
@@ -65,6 +82,62 @@ public class ConvertirDivisaUseCase {
         );
     }
     
+    /**
+     * Ejecuta un lote de conversiones (ej: saldos a una moneda de reporte).
+     * 
+     * Los pedidos se agrupan por moneda destino y cada grupo se convierte
+     * con una sola llamada a {@link IConversorDivisas#convertirLoteConTasas};
+     * la tasa de cada par de monedas se resuelve una sola vez y es la misma
+     * que se informa en el DTO.
+     * 
+     * @param requests los datos de cada conversión
+     * @return un DTO por request, en el mismo orden
+     * @throws IllegalArgumentException si la lista o algún request es inválido
+     * @throws RuntimeException si no se puede realizar la conversión
+     */
+    public List<ConversionDivisaDTO> ejecutarLote(List<ConvertirDivisaRequest> requests) {
+        return Instrumentacion.medir(METRICA_LOTE, () -> convertirLote(requests));
+    }
+    
+    private List<ConversionDivisaDTO> convertirLote(List<ConvertirDivisaRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("La lista de requests no puede ser nula");
+        }
+        
+        Dinero[] originales = new Dinero[requests.size()];
+        Map<Moneda, List<Integer>> indicesPorDestino = new LinkedHashMap<>();
+        for (int i = 0; i < originales.length; i++) {
+            ConvertirDivisaRequest request = requests.get(i);
+            validarRequest(request);
+            originales[i] = new Dinero(request.getCantidad(), request.getMonedaOrigen());
+            indicesPorDestino.computeIfAbsent(Moneda.de(request.getMonedaDestino()), d -> new ArrayList<>()).add(i);
+        }
+        
+        // La tasa informada es la que el conversor aplicó a cada moneda origen
+        ConversionDivisaDTO[] conversiones = new ConversionDivisaDTO[originales.length];
+        for (Map.Entry<Moneda, List<Integer>> grupo : indicesPorDestino.entrySet()) {
+            List<Integer> indices = grupo.getValue();
+            List<Dinero> montos = new ArrayList<>(indices.size());
+            for (int indice : indices) {
+                montos.add(originales[indice]);
+            }
+            ConversionLote lote = conversorDivisas.convertirLoteConTasas(montos, grupo.getKey().getCodigo());
+            List<Dinero> convertidos = lote.getMontos();
+            for (int j = 0; j < indices.size(); j++) {
+                int indice = indices.get(j);
+                ConvertirDivisaRequest request = requests.get(indice);
+                conversiones[indice] = new ConversionDivisaDTO(
+                    originales[indice].getCantidad(),
+                    request.getMonedaOrigen(),
+                    convertidos.get(j).getCantidad(),
+                    request.getMonedaDestino(),
+                    lote.getValorTasa(originales[indice].getMonedaCanonica())
+                );
+            }
+        }
+        return Arrays.asList(conversiones);
+    }
+    
     /**
      * Verifica si el servicio de conversión está disponible.
      * 
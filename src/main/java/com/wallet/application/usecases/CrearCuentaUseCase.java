@@ -2,6 +2,8 @@ package com.wallet.application.usecases;
 
 import com.wallet.application.dtos.CuentaDTO;
 import com.wallet.application.mappers.CuentaMapper;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
 import com.wallet.domain.entities.Cuenta;
 import com.wallet.domain.exceptions.OperacionNoValidaException;
 import com.wallet.domain.exceptions.UsuarioNoEncontradoException;
@@ -16,6 +18,8 @@ import com.wallet.domain.repositories.IUsuarioRepository;
  */
 public class CrearCuentaUseCase {
     
+    private static final MetricaOperacion METRICA = RegistroMetricas.global().operacion("CrearCuenta");
+    
     private final ICuentaRepository cuentaRepository;
     private final IUsuarioRepository usuarioRepository;
     
@@ -40,6 +44,18 @@ public class CrearCuentaUseCase {
      * @throws OperacionNoValidaException si el usuario ya tiene una cuenta
      */
     public CuentaDTO ejecutar(String usuarioId) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            CuentaDTO resultado = crear(usuarioId);
+            exito = true;
+            return resultado;
+        } finally {
+            METRICA.registrar(System.nanoTime() - inicio, exito);
+        }
+    }
+    
+    private CuentaDTO crear(String usuarioId) {
         if (usuarioId == null || usuarioId.trim().isEmpty()) {
             throw new IllegalArgumentException("El ID del usuario es requerido");
         }
@@ -55,8 +71,12 @@ public class CrearCuentaUseCase {
                 "El usuario ya tiene una cuenta asociada");
         }
         
-        // Crear la cuenta
+        // Crear la cuenta. El número es único solo dentro del proceso: tras
+        // un reinicio puede coincidir con el de una cuenta ya persistida
         Cuenta cuenta = new Cuenta(usuarioId);
+        while (cuentaRepository.existeNumeroCuenta(cuenta.getNumeroCuenta())) {
+            cuenta = new Cuenta(usuarioId);
+        }
         
         // Guardar en el repositorio
         Cuenta cuentaGuardada = cuentaRepository.guardar(cuenta);
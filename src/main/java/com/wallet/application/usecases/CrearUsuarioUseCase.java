@@ -3,6 +3,8 @@ package com.wallet.application.usecases;
 import com.wallet.application.dtos.UsuarioDTO;
 import com.wallet.application.dtos.requests.CrearUsuarioRequest;
 import com.wallet.application.mappers.UsuarioMapper;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
 import com.wallet.domain.entities.Usuario;
 import com.wallet.domain.exceptions.OperacionNoValidaException;
 import com.wallet.domain.repositories.IUsuarioRepository;
@@ -20,6 +22,8 @@ import com.wallet.domain.valueobjects.Email;
  */
 public class CrearUsuarioUseCase {
     
+    private static final MetricaOperacion METRICA = RegistroMetricas.global().operacion("CrearUsuario");
+    
     private final IUsuarioRepository usuarioRepository;
     
     public CrearUsuarioUseCase(IUsuarioRepository usuarioRepository) {
@@ -37,6 +41,18 @@ public class CrearUsuarioUseCase {
      * @throws OperacionNoValidaException si ya existe un usuario con el mismo email o documento
      */
     public UsuarioDTO ejecutar(CrearUsuarioRequest request) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            UsuarioDTO resultado = crear(request);
+            exito = true;
+            return resultado;
+        } finally {
+            METRICA.registrar(System.nanoTime() - inicio, exito);
+        }
+    }
+    
+    private UsuarioDTO crear(CrearUsuarioRequest request) {
         validarRequest(request);
         
         // Crear value objects
@@ -0,0 +1,70 @@
+package com.wallet.application.usecases;
+
+import com.wallet.application.metricas.MetricaOperacion;
+import jdk.jfr.Event;
+
+import java.util.function.Supplier;
+
+/**
+ * Medición común de los casos de uso: registra la latencia y el resultado
+ * de la operación en su {@link MetricaOperacion} y, si tiene un evento JFR,
+ * lo cierra con el resultado o la excepción con que terminó.
+ *
+ * @author Wallet Team
+ * @version 1.0.0
+ */
+final class Instrumentacion {
+    
+    private Instrumentacion() {
+        throw new AssertionError("No se debe instanciar Instrumentacion");
+    }
+    
+    /**
+     * Completa y confirma el evento con lo que produjo la operación.
+     */
+    @FunctionalInterface
+    interface Cierre<E extends Event, T> {
+        /**
+         * @param resultado valor retornado, o null si la operación falló
+         * @param error excepción con la que terminó, o null si tuvo éxito
+         */
+        void finalizar(E evento, T resultado, Throwable error);
+    }
+    
+    /**
+     * Ejecuta la operación registrando su duración y si terminó con éxito.
+     */
+    static <T> T medir(MetricaOperacion metrica, Supplier<T> operacion) {
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            T resultado = operacion.get();
+            exito = true;
+            return resultado;
+        } finally {
+            metrica.registrar(System.nanoTime() - inicio, exito);
+        }
+    }
+    
+    /**
+     * Ejecuta la operación dentro del evento JFR (que JFR cronometra desde
+     * {@code begin()}), registra la métrica y cierra el evento.
+     */
+    static <E extends Event, T> T medir(MetricaOperacion metrica, E evento, Supplier<T> operacion,
+                                        Cierre<E, T> cierre) {
+        evento.begin();
+        long inicio = System.nanoTime();
+        T resultado = null;
+        Throwable error = null;
+        try {
+            resultado = operacion.get();
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            metrica.registrar(System.nanoTime() - inicio, error == null);
+            cierre.finalizar(evento, resultado, error);
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.wallet.application.usecases;
 
 import com.wallet.application.dtos.TransaccionDTO;
 import com.wallet.application.dtos.requests.RetirarDineroRequest;
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
+import com.wallet.application.eventos.EventoRetiro;
 import com.wallet.application.mappers.TransaccionMapper;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
 import com.wallet.domain.entities.Cuenta;
 import com.wallet.domain.entities.Transaccion;
 import com.wallet.domain.exceptions.CuentaNoEncontradaException;
 import com.wallet.domain.repositories.ICuentaRepository;
 import com.wallet.domain.repositories.ITransaccionRepository;
+import com.wallet.domain.repositories.IUnidadTrabajo;
 import com.wallet.domain.valueobjects.Dinero;
 
 /**
@@ -18,19 +23,38 @@ import com.wallet.domain.valueobjects.Dinero;
  */
 public class RetirarDineroUseCase {
     
+    private static final MetricaOperacion METRICA = RegistroMetricas.global().operacion("RetirarDinero");
+    
     private final ICuentaRepository cuentaRepository;
-    private final ITransaccionRepository transaccionRepository;
+    private final IUnidadTrabajo unidadTrabajo;
+    private final GestorBloqueosCuentas gestorBloqueos;
     
     public RetirarDineroUseCase(ICuentaRepository cuentaRepository,
                                 ITransaccionRepository transaccionRepository) {
+        this(cuentaRepository, transaccionRepository, GestorBloqueosCuentas.global());
+    }
+    
+    public RetirarDineroUseCase(ICuentaRepository cuentaRepository,
+                                ITransaccionRepository transaccionRepository,
+                                GestorBloqueosCuentas gestorBloqueos) {
+        this(cuentaRepository, IUnidadTrabajo.secuencial(cuentaRepository, transaccionRepository), gestorBloqueos);
+    }
+    
+    public RetirarDineroUseCase(ICuentaRepository cuentaRepository,
+                                IUnidadTrabajo unidadTrabajo,
+                                GestorBloqueosCuentas gestorBloqueos) {
         if (cuentaRepository == null) {
             throw new IllegalArgumentException("El repositorio de cuentas no puede ser nulo");
         }
-        if (transaccionRepository == null) {
-            throw new IllegalArgumentException("El repositorio de transacciones no puede ser nulo");
+        if (unidadTrabajo == null) {
+            throw new IllegalArgumentException("La unidad de trabajo no puede ser nula");
+        }
+        if (gestorBloqueos == null) {
+            throw new IllegalArgumentException("El gestor de bloqueos no puede ser nulo");
         }
         this.cuentaRepository = cuentaRepository;
-        this.transaccionRepository = transaccionRepository;
+        this.unidadTrabajo = unidadTrabajo;
+        this.gestorBloqueos = gestorBloqueos;
     }
     
     /**
@@ -41,8 +65,20 @@ public class RetirarDineroUseCase {
      * @throws CuentaNoEncontradaException si la cuenta no existe
      */
     public TransaccionDTO ejecutar(RetirarDineroRequest request) {
-        validarRequest(request);
-        
+        return Instrumentacion.medir(METRICA, new EventoRetiro(), () -> {
+            validarRequest(request);
+            
+            // Lectura, modificación y guardado de la cuenta bajo su bloqueo
+            return gestorBloqueos.ejecutar(request.getCuentaId(), () -> retirar(request));
+        }, (evento, transaccion, error) -> {
+            if (request != null) {
+                evento.finalizar(request.getCuentaId(), request.getMonto(),
+                    transaccion != null ? transaccion.getMoneda() : null, error);
+            }
+        });
+    }
+    
+    private TransaccionDTO retirar(RetirarDineroRequest request) {
         // Buscar la cuenta
         Cuenta cuenta = cuentaRepository.buscarPorId(request.getCuentaId())
             .orElseThrow(() -> CuentaNoEncontradaException.porId(request.getCuentaId()));
@@ -55,9 +91,6 @@ public class RetirarDineroUseCase {
         cuenta.retirar(monto);
         Dinero saldoNuevo = cuenta.getSaldo();
         
-        // Guardar la cuenta actualizada
-        cuentaRepository.guardar(cuenta);
-        
         // Crear la transacción
         Transaccion transaccion = Transaccion.retiro(
             monto,
@@ -67,11 +100,11 @@ public class RetirarDineroUseCase {
             saldoNuevo
         );
         
-        // Guardar la transacción
-        Transaccion transaccionGuardada = transaccionRepository.guardar(transaccion);
+        // Guardar la cuenta actualizada y la transacción juntas
+        unidadTrabajo.guardarMovimiento(cuenta, transaccion);
         
         // Convertir a DTO y retornar
-        return TransaccionMapper.toDTO(transaccionGuardada);
+        return TransaccionMapper.toDTO(transaccion);
     }
     
     private void validarRequest(RetirarDineroRequest request) {
@@ -2,13 +2,18 @@ package com.wallet.application.usecases;
 
 import com.wallet.application.dtos.TransaccionDTO;
 import com.wallet.application.dtos.requests.TransferirDineroRequest;
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
+import com.wallet.application.eventos.EventoTransferencia;
 import com.wallet.application.mappers.TransaccionMapper;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
 import com.wallet.domain.entities.Cuenta;
 import com.wallet.domain.entities.Transaccion;
 import com.wallet.domain.exceptions.CuentaNoEncontradaException;
 import com.wallet.domain.exceptions.OperacionNoValidaException;
 import com.wallet.domain.repositories.ICuentaRepository;
 import com.wallet.domain.repositories.ITransaccionRepository;
+import com.wallet.domain.repositories.IUnidadTrabajo;
 import com.wallet.domain.valueobjects.Dinero;
 
 import java.util.ArrayList;
@@ -22,19 +27,38 @@ import java.util.List;
  */
 public class TransferirDineroUseCase {
     
+    private static final MetricaOperacion METRICA = RegistroMetricas.global().operacion("TransferirDinero");
+    
     private final ICuentaRepository cuentaRepository;
-    private final ITransaccionRepository transaccionRepository;
+    private final IUnidadTrabajo unidadTrabajo;
+    private final GestorBloqueosCuentas gestorBloqueos;
     
     public TransferirDineroUseCase(ICuentaRepository cuentaRepository,
                                    ITransaccionRepository transaccionRepository) {
+        this(cuentaRepository, transaccionRepository, GestorBloqueosCuentas.global());
+    }
+    
+    public TransferirDineroUseCase(ICuentaRepository cuentaRepository,
+                                   ITransaccionRepository transaccionRepository,
+                                   GestorBloqueosCuentas gestorBloqueos) {
+        this(cuentaRepository, IUnidadTrabajo.secuencial(cuentaRepository, transaccionRepository), gestorBloqueos);
+    }
+    
+    public TransferirDineroUseCase(ICuentaRepository cuentaRepository,
+                                   IUnidadTrabajo unidadTrabajo,
+                                   GestorBloqueosCuentas gestorBloqueos) {
         if (cuentaRepository == null) {
             throw new IllegalArgumentException("El repositorio de cuentas no puede ser nulo");
         }
-        if (transaccionRepository == null) {
-            throw new IllegalArgumentException("El repositorio de transacciones no puede ser nulo");
+        if (unidadTrabajo == null) {
+            throw new IllegalArgumentException("La unidad de trabajo no puede ser nula");
+        }
+        if (gestorBloqueos == null) {
+            throw new IllegalArgumentException("El gestor de bloqueos no puede ser nulo");
         }
         this.cuentaRepository = cuentaRepository;
-        this.transaccionRepository = transaccionRepository;
+        this.unidadTrabajo = unidadTrabajo;
+        this.gestorBloqueos = gestorBloqueos;
     }
     
     /**
@@ -46,14 +70,31 @@ public class TransferirDineroUseCase {
      * @throws OperacionNoValidaException si las cuentas son iguales o diferentes monedas
      */
     public List<TransaccionDTO> ejecutar(TransferirDineroRequest request) {
-        validarRequest(request);
-        
-        // Validar que las cuentas no sean la misma
-        if (request.getCuentaOrigenId().equals(request.getCuentaDestinoId())) {
-            throw OperacionNoValidaException.porque(
-                "No se puede transferir a la misma cuenta");
-        }
-        
+        return Instrumentacion.medir(METRICA, new EventoTransferencia(), () -> {
+            validarRequest(request);
+            
+            // Validar que las cuentas no sean la misma
+            if (request.getCuentaOrigenId().equals(request.getCuentaDestinoId())) {
+                throw OperacionNoValidaException.porque(
+                    "No se puede transferir a la misma cuenta");
+            }
+            
+            // Ambas cuentas bloqueadas en orden canónico durante toda la operación
+            return gestorBloqueos.ejecutar(
+                request.getCuentaOrigenId(),
+                request.getCuentaDestinoId(),
+                () -> transferir(request)
+            );
+        }, (evento, transacciones, error) -> {
+            if (request != null) {
+                evento.setCuentaDestino(request.getCuentaDestinoId());
+                evento.finalizar(request.getCuentaOrigenId(), request.getMonto(),
+                    transacciones != null ? transacciones.get(0).getMoneda() : null, error);
+            }
+        });
+    }
+    
+    private List<TransaccionDTO> transferir(TransferirDineroRequest request) {
         // Buscar ambas cuentas
         Cuenta cuentaOrigen = cuentaRepository.buscarPorId(request.getCuentaOrigenId())
             .orElseThrow(() -> CuentaNoEncontradaException.porId(request.getCuentaOrigenId()));
@@ -62,7 +103,7 @@ public class TransferirDineroUseCase {
             .orElseThrow(() -> CuentaNoEncontradaException.porId(request.getCuentaDestinoId()));
         
         // Validar que ambas cuentas tengan la misma moneda
-        if (!cuentaOrigen.getSaldo().getMoneda().equals(cuentaDestino.getSaldo().getMoneda())) {
+        if (cuentaOrigen.getSaldo().getMonedaCanonica() != cuentaDestino.getSaldo().getMonedaCanonica()) {
             throw OperacionNoValidaException.porque(
                 "Las cuentas deben tener la misma moneda para realizar transferencias");
         }
@@ -82,10 +123,6 @@ public class TransferirDineroUseCase {
         Dinero saldoNuevoOrigen = cuentaOrigen.getSaldo();
         Dinero saldoNuevoDestino = cuentaDestino.getSaldo();
         
-        // Guardar las cuentas actualizadas
-        cuentaRepository.guardar(cuentaOrigen);
-        cuentaRepository.guardar(cuentaDestino);
-        
         // Crear las transacciones
         String descripcion = request.getDescripcion() != null ? 
             request.getDescripcion() : "Transferencia";
@@ -108,14 +145,13 @@ public class TransferirDineroUseCase {
             saldoNuevoDestino
         );
         
-        // Guardar las transacciones
-        Transaccion enviada = transaccionRepository.guardar(transaccionEnviada);
-        Transaccion recibida = transaccionRepository.guardar(transaccionRecibida);
+        // Guardar las cuentas actualizadas y las transacciones juntas
+        unidadTrabajo.guardarTransferencia(cuentaOrigen, cuentaDestino, transaccionEnviada, transaccionRecibida);
         
         // Convertir a DTOs y retornar
         List<TransaccionDTO> resultado = new ArrayList<>();
-        resultado.add(TransaccionMapper.toDTO(enviada));
-        resultado.add(TransaccionMapper.toDTO(recibida));
+        resultado.add(TransaccionMapper.toDTO(transaccionEnviada));
+        resultado.add(TransaccionMapper.toDTO(transaccionRecibida));
         
         return resultado;
     }
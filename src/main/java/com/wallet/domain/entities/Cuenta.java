@@ -5,6 +5,7 @@ import com.wallet.domain.valueobjects.Dinero;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Entidad que representa una Cuenta bancaria.
@@ -16,6 +17,9 @@ import java.util.UUID;
  */
 public class Cuenta {
     
+    private static final long MAX_NUMERO_CUENTA = 10000000000L;
+    private static final AtomicLong SECUENCIA_NUMERO = new AtomicLong(System.currentTimeMillis());
+    
     private final String id;
     private final String numeroCuenta;
     private final String usuarioId;
@@ -111,8 +115,9 @@ public class Cuenta {
     }
     
     private String generarNumeroCuenta() {
-        // Genera un número de cuenta de 10 dígitos
-        long numero = System.currentTimeMillis() % 10000000000L;
+        // Genera un número de cuenta de 10 dígitos, único dentro del proceso
+        // aunque se creen varias cuentas en el mismo milisegundo
+        long numero = SECUENCIA_NUMERO.getAndIncrement() % MAX_NUMERO_CUENTA;
         return String.format("%010d", numero);
     }
     
@@ -0,0 +1,73 @@
+package com.wallet.domain.repositories;
+
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.entities.Transaccion;
+
+/**
+ * Interfaz de la unidad de trabajo de un movimiento de dinero (Port).
+ * Guarda juntos los saldos nuevos y las transacciones que los explican.
+ * 
+ * Una implementación persistente los registra todos o ninguno, para que
+ * una caída no deje un saldo sin su transacción ni una transferencia a
+ * medias. {@link #secuencial} los guarda uno a uno en los repositorios,
+ * lo que basta cuando no hay nada que recuperar.
+ * 
+ * Principios aplicados:
+ * - DIP: Inversión de dependencias
+ * - ISP: Interfaz segregada
+ */
+public interface IUnidadTrabajo {
+    
+    /**
+     * Guarda una cuenta junto con la transacción que cambió su saldo
+     * (depósito o retiro).
+     * 
+     * @param cuenta la cuenta con el saldo nuevo
+     * @param transaccion la transacción del movimiento
+     */
+    void guardarMovimiento(Cuenta cuenta, Transaccion transaccion);
+    
+    /**
+     * Guarda las dos cuentas de una transferencia junto con sus dos
+     * transacciones.
+     * 
+     * @param origen la cuenta que envía, con el saldo nuevo
+     * @param destino la cuenta que recibe, con el saldo nuevo
+     * @param enviada la transacción de la cuenta origen
+     * @param recibida la transacción de la cuenta destino
+     */
+    void guardarTransferencia(Cuenta origen, Cuenta destino, Transaccion enviada, Transaccion recibida);
+    
+    /**
+     * Unidad que guarda cada entidad por separado en los repositorios.
+     * 
+     * @param cuentaRepository repositorio de cuentas
+     * @param transaccionRepository repositorio de transacciones
+     * @return la unidad de trabajo
+     */
+    static IUnidadTrabajo secuencial(ICuentaRepository cuentaRepository,
+                                     ITransaccionRepository transaccionRepository) {
+        if (cuentaRepository == null) {
+            throw new IllegalArgumentException("El repositorio de cuentas no puede ser nulo");
+        }
+        if (transaccionRepository == null) {
+            throw new IllegalArgumentException("El repositorio de transacciones no puede ser nulo");
+        }
+        return new IUnidadTrabajo() {
+            @Override
+            public void guardarMovimiento(Cuenta cuenta, Transaccion transaccion) {
+                cuentaRepository.guardar(cuenta);
+                transaccionRepository.guardar(transaccion);
+            }
+            
+            @Override
+            public void guardarTransferencia(Cuenta origen, Cuenta destino,
+                                             Transaccion enviada, Transaccion recibida) {
+                cuentaRepository.guardar(origen);
+                cuentaRepository.guardar(destino);
+                transaccionRepository.guardar(enviada);
+                transaccionRepository.guardar(recibida);
+            }
+        };
+    }
+}
@@ -1,6 +1,12 @@
 package com.wallet.domain.services;
 
+import com.wallet.domain.valueobjects.ConversionLote;
 import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TasaCambio;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interfaz para el servicio de conversión de divisas.
@@ -34,6 +40,62 @@ public interface IConversorDivisas {
      */
     Dinero convertir(Dinero dinero, String monedaDestino);
     
+    /**
+     * Convierte un lote de montos a una misma moneda destino.
+     * 
+     * Equivale a {@link #convertirLoteConTasas} sin las tasas aplicadas.
+     * 
+     * @param montos los montos a convertir (pueden tener monedas distintas)
+     * @param monedaDestino código ISO 4217 de la moneda destino
+     * @return los montos convertidos, en el mismo orden
+     * @throws IllegalArgumentException si la lista, algún monto o la moneda son inválidos
+     * @throws RuntimeException si no se puede realizar la conversión
+     */
+    default List<Dinero> convertirLote(List<Dinero> montos, String monedaDestino) {
+        return convertirLoteConTasas(montos, monedaDestino).getMontos();
+    }
+    
+    /**
+     * Convierte un lote de montos a una misma moneda destino y retorna,
+     * junto con los montos, la tasa aplicada a cada moneda origen.
+     * 
+     * La tasa de cada par de monedas se resuelve una sola vez por lote. La
+     * implementación por defecto la consulta con {@link #obtenerTasaCambio};
+     * las implementaciones pueden resolver todas las tasas de una sola
+     * lectura y convertir el lote sin repetir validaciones ni consultas.
+     * 
+     * @param montos los montos a convertir (pueden tener monedas distintas)
+     * @param monedaDestino código ISO 4217 de la moneda destino
+     * @return los montos convertidos, en el mismo orden, y las tasas aplicadas
+     * @throws IllegalArgumentException si la lista, algún monto o la moneda son inválidos
+     * @throws RuntimeException si no se puede realizar la conversión
+     */
+    default ConversionLote convertirLoteConTasas(List<Dinero> montos, String monedaDestino) {
+        if (montos == null) {
+            throw new IllegalArgumentException("La lista de montos no puede ser nula");
+        }
+        Moneda destino = Moneda.de(monedaDestino);
+        TasaCambio[] tasas = new TasaCambio[Moneda.cantidad()];
+        List<Dinero> convertidos = new ArrayList<>(montos.size());
+        for (Dinero monto : montos) {
+            if (monto == null) {
+                throw new IllegalArgumentException("El dinero no puede ser nulo");
+            }
+            Moneda origen = monto.getMonedaCanonica();
+            if (origen == destino) {
+                convertidos.add(monto);
+                continue;
+            }
+            TasaCambio tasa = tasas[origen.ordinal()];
+            if (tasa == null) {
+                tasa = TasaCambio.de(origen, destino, obtenerTasaCambio(origen.getCodigo(), destino.getCodigo()));
+                tasas[origen.ordinal()] = tasa;
+            }
+            convertidos.add(tasa.aplicar(monto));
+        }
+        return new ConversionLote(destino, convertidos, tasas);
+    }
+    
     /**
      * Verifica si el servicio está disponible.
      * 
@@ -0,0 +1,87 @@
+package com.wallet.domain.valueobjects;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Value Object con el resultado de convertir un lote de montos a una
+ * moneda destino: los montos convertidos y la tasa que se aplicó a cada
+ * moneda origen, indexada por su ordinal.
+ *
+ * Permite reportar la tasa de cada conversión sin volver a consultarla,
+ * por lo que la tasa informada es siempre la que se aplicó aunque la
+ * caché de tasas se refresque entretanto.
+ *
+ * Principios aplicados:
+ * - Inmutabilidad: Lista no modificable y tasas fijadas al crear
+ * - Consistencia: Montos y tasas provienen de la misma resolución
+ */
+public final class ConversionLote {
+
+    private final Moneda destino;
+    private final List<Dinero> montos;
+    /** Tasa por ordinal de moneda origen; null = misma moneda que el destino o ausente. */
+    private final TasaCambio[] tasasPorOrigen;
+
+    /**
+     * Crea el resultado de un lote.
+     *
+     * @param destino moneda destino del lote
+     * @param montos montos convertidos, en el orden de entrada (no se copian)
+     * @param tasasPorOrigen tasa aplicada por ordinal de moneda origen
+     *        ({@link Moneda#cantidad()} posiciones; null donde no hubo conversión)
+     * @throws IllegalArgumentException si algún argumento es nulo o el arreglo no cubre todas las monedas
+     */
+    public ConversionLote(Moneda destino, List<Dinero> montos, TasaCambio[] tasasPorOrigen) {
+        if (destino == null || montos == null || tasasPorOrigen == null) {
+            throw new IllegalArgumentException("El destino, los montos y las tasas no pueden ser nulos");
+        }
+        if (tasasPorOrigen.length != Moneda.cantidad()) {
+            throw new IllegalArgumentException("Debe haber una posición de tasa por moneda registrada");
+        }
+        this.destino = destino;
+        this.montos = Collections.unmodifiableList(montos);
+        this.tasasPorOrigen = tasasPorOrigen.clone();
+    }
+
+    public Moneda getDestino() {
+        return destino;
+    }
+
+    /**
+     * @return los montos convertidos, en el mismo orden que los originales
+     */
+    public List<Dinero> getMontos() {
+        return montos;
+    }
+
+    /**
+     * Obtiene la tasa aplicada a los montos de una moneda origen.
+     *
+     * @param origen la moneda de los montos originales
+     * @return la tasa, o null si el origen es la moneda destino
+     * @throws IllegalArgumentException si el lote no tenía montos en esa moneda
+     */
+    public TasaCambio getTasa(Moneda origen) {
+        if (origen == destino) {
+            return null;
+        }
+        TasaCambio tasa = tasasPorOrigen[origen.ordinal()];
+        if (tasa == null) {
+            throw new IllegalArgumentException("El lote no convirtió montos en " + origen);
+        }
+        return tasa;
+    }
+
+    /**
+     * Valor de la tasa aplicada a una moneda origen (1.0 si es la moneda destino).
+     *
+     * @param origen la moneda de los montos originales
+     * @return unidades de destino por unidad de origen
+     * @throws IllegalArgumentException si el lote no tenía montos en esa moneda
+     */
+    public double getValorTasa(Moneda origen) {
+        TasaCambio tasa = getTasa(origen);
+        return tasa == null ? 1.0 : tasa.getValor();
+    }
+}
@@ -2,26 +2,46 @@ package com.wallet.domain.valueobjects;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Objects;
 
 /**
  * Value Object que representa una cantidad de dinero.
- * Inmutable y con aritmética segura usando BigDecimal.
+ * Inmutable y con aritmética exacta a dos decimales.
+ * 
+ * Internamente guarda la cantidad como un {@code long} de unidades menores
+ * (centavos), de modo que sumas, restas y comparaciones no crean objetos
+ * BigDecimal. Solo cuando el valor no cabe en un {@code long}, o en
+ * operaciones que cambian la escala (multiplicar), se recurre a BigDecimal.
+ * La moneda es una instancia canónica de {@link Moneda}, por lo que
+ * verificar que dos montos tienen la misma moneda es una comparación de identidad.
  * 
  * Principios aplicados:
  * - SRP: Solo responsable de operaciones monetarias
  * - Inmutabilidad: Operaciones retornan nuevas instancias
- * - Precisión: Usa BigDecimal para evitar errores de redondeo
+ * - Precisión: Aritmética entera en centavos, BigDecimal como respaldo
  */
 public final class Dinero {
     
     private static final int ESCALA_DECIMAL = 2;
     private static final RoundingMode MODO_REDONDEO = RoundingMode.HALF_UP;
     
-    public static final Dinero CERO = new Dinero(BigDecimal.ZERO);
+    public static final Dinero CERO = new Dinero(0L, null, Moneda.PEN);
+    
+    private static final long[] POTENCIAS_10 = new long[19];
+    
+    static {
+        POTENCIAS_10[0] = 1L;
+        for (int i = 1; i < POTENCIAS_10.length; i++) {
+            POTENCIAS_10[i] = POTENCIAS_10[i - 1] * 10;
+        }
+    }
     
-    private final BigDecimal cantidad;
-    private final String moneda;
+    /** Cantidad en centavos; válida solo si cantidadGrande es null. */
+    private final long centavos;
+    /** Cantidad a escala 2 cuando no cabe en un long; null en caso contrario. */
+    private final BigDecimal cantidadGrande;
+    private final Moneda moneda;
+    /** BigDecimal materializado bajo demanda por getCantidad(). */
+    private BigDecimal cantidad;
     
     /**
      * Crea un nuevo objeto Dinero con la moneda por defecto (PEN).
@@ -29,7 +49,7 @@ public final class Dinero {
      * @param cantidad la cantidad de dinero
      */
     public Dinero(BigDecimal cantidad) {
-        this(cantidad, "PEN");
+        this(cantidad, Moneda.PEN);
     }
     
     /**
@@ -37,12 +57,51 @@ public final class Dinero {
      * 
      * @param cantidad la cantidad de dinero
      * @param moneda el código de la moneda (ISO 4217)
-     * @throws IllegalArgumentException si los datos son inválidos
+     * @throws IllegalArgumentException si los datos son inválidos o la moneda no está registrada
      */
     public Dinero(BigDecimal cantidad, String moneda) {
+        this(cantidad, Moneda.de(moneda));
+    }
+    
+    /**
+     * Crea un nuevo objeto Dinero.
+     * 
+     * @param cantidad la cantidad de dinero
+     * @param moneda la moneda
+     * @throws IllegalArgumentException si los datos son inválidos
+     */
+    public Dinero(BigDecimal cantidad, Moneda moneda) {
         validar(cantidad, moneda);
-        this.cantidad = cantidad.setScale(ESCALA_DECIMAL, MODO_REDONDEO);
-        this.moneda = moneda.toUpperCase();
+        BigDecimal escalada = cantidad.setScale(ESCALA_DECIMAL, MODO_REDONDEO);
+        if (escalada.unscaledValue().bitLength() < Long.SIZE) {
+            this.centavos = escalada.unscaledValue().longValue();
+            this.cantidadGrande = null;
+        } else {
+            this.centavos = 0L;
+            this.cantidadGrande = escalada;
+        }
+        this.cantidad = escalada;
+        this.moneda = moneda;
+    }
+    
+    /**
+     * Constructor interno sin validación; la moneda ya es canónica.
+     */
+    private Dinero(long centavos, BigDecimal cantidadGrande, Moneda moneda) {
+        this.centavos = centavos;
+        this.cantidadGrande = cantidadGrande;
+        this.moneda = moneda;
+    }
+    
+    /**
+     * Crea un Dinero desde un BigDecimal a escala 2, volviendo a la
+     * representación en centavos si el valor cabe en un long.
+     */
+    private static Dinero desdeEscalada(BigDecimal escalada, Moneda moneda) {
+        if (escalada.unscaledValue().bitLength() < Long.SIZE) {
+            return new Dinero(escalada.unscaledValue().longValue(), null, moneda);
+        }
+        return new Dinero(0L, escalada, moneda);
     }
     
     /**
@@ -75,18 +134,14 @@ public final class Dinero {
         return new Dinero(cantidad);
     }
     
-    private void validar(BigDecimal cantidad, String moneda) {
+    private void validar(BigDecimal cantidad, Moneda moneda) {
         if (cantidad == null) {
             throw new IllegalArgumentException("La cantidad no puede ser nula");
         }
         
-        if (moneda == null || moneda.trim().isEmpty()) {
+        if (moneda == null) {
             throw new IllegalArgumentException("La moneda no puede estar vacía");
         }
-        
-        if (moneda.length() != 3) {
-            throw new IllegalArgumentException("El código de moneda debe tener 3 caracteres (ISO 4217)");
-        }
     }
     
     /**
@@ -98,7 +153,16 @@ public final class Dinero {
      */
     public Dinero sumar(Dinero otro) {
         validarMismaMoneda(otro);
-        return new Dinero(this.cantidad.add(otro.cantidad), this.moneda);
+        if (esCompacto() && otro.esCompacto()) {
+            long a = this.centavos;
+            long b = otro.centavos;
+            long resultado = a + b;
+            // Sin desbordamiento si el signo del resultado coincide con algún operando
+            if (((a ^ resultado) & (b ^ resultado)) >= 0) {
+                return new Dinero(resultado, null, this.moneda);
+            }
+        }
+        return desdeEscalada(this.getCantidad().add(otro.getCantidad()), this.moneda);
     }
     
     /**
@@ -110,7 +174,17 @@ public final class Dinero {
      */
     public Dinero restar(Dinero otro) {
         validarMismaMoneda(otro);
-        return new Dinero(this.cantidad.subtract(otro.cantidad), this.moneda);
+        if (esCompacto() && otro.esCompacto()) {
+            long a = this.centavos;
+            long b = otro.centavos;
+            long resultado = a - b;
+            // Sin desbordamiento si los operandos tienen el mismo signo
+            // o el resultado conserva el signo del minuendo
+            if (((a ^ b) & (a ^ resultado)) >= 0) {
+                return new Dinero(resultado, null, this.moneda);
+            }
+        }
+        return desdeEscalada(this.getCantidad().subtract(otro.getCantidad()), this.moneda);
     }
     
     /**
@@ -120,7 +194,31 @@ public final class Dinero {
      * @return nuevo Dinero multiplicado
      */
     public Dinero multiplicar(double factor) {
-        return new Dinero(this.cantidad.multiply(BigDecimal.valueOf(factor)), this.moneda);
+        BigDecimal producto = this.getCantidad().multiply(BigDecimal.valueOf(factor));
+        return desdeEscalada(producto.setScale(ESCALA_DECIMAL, MODO_REDONDEO), this.moneda);
+    }
+    
+    /**
+     * Aplica una tasa de cambio ya validada por {@link TasaCambio#aplicar}.
+     * Con centavos y tasa compactos el producto se calcula en 128 bits y se
+     * redondea con división entera; si no cabe, se recurre a BigDecimal.
+     */
+    Dinero aplicarTasa(TasaCambio tasa) {
+        if (esCompacto() && tasa.compacta) {
+            long alto = Math.multiplyHigh(centavos, tasa.valorEscalado);
+            long producto = centavos * tasa.valorEscalado;
+            if (alto == (producto >> 63)) {
+                long divisor = POTENCIAS_10[tasa.escala];
+                long cociente = producto / divisor;
+                long resto = producto % divisor;
+                if (Math.abs(resto) * 2 >= divisor) {
+                    cociente += Long.signum(producto);
+                }
+                return new Dinero(cociente, null, tasa.getDestino());
+            }
+        }
+        BigDecimal producto = this.getCantidad().multiply(tasa.getValorDecimal());
+        return desdeEscalada(producto.setScale(ESCALA_DECIMAL, MODO_REDONDEO), tasa.getDestino());
     }
     
     /**
@@ -131,7 +229,7 @@ public final class Dinero {
      */
     public boolean esMayorQue(Dinero otro) {
         validarMismaMoneda(otro);
-        return this.cantidad.compareTo(otro.cantidad) > 0;
+        return comparar(otro) > 0;
     }
     
     /**
@@ -142,7 +240,7 @@ public final class Dinero {
      */
     public boolean esMayorOIgualQue(Dinero otro) {
         validarMismaMoneda(otro);
-        return this.cantidad.compareTo(otro.cantidad) >= 0;
+        return comparar(otro) >= 0;
     }
     
     /**
@@ -153,7 +251,7 @@ public final class Dinero {
      */
     public boolean esMenorQue(Dinero otro) {
         validarMismaMoneda(otro);
-        return this.cantidad.compareTo(otro.cantidad) < 0;
+        return comparar(otro) < 0;
     }
     
     /**
@@ -162,7 +260,7 @@ public final class Dinero {
      * @return true si es positivo
      */
     public boolean esPositivo() {
-        return this.cantidad.compareTo(BigDecimal.ZERO) > 0;
+        return signo() > 0;
     }
     
     /**
@@ -171,7 +269,7 @@ public final class Dinero {
      * @return true si es negativo
      */
     public boolean esNegativo() {
-        return this.cantidad.compareTo(BigDecimal.ZERO) < 0;
+        return signo() < 0;
     }
     
     /**
@@ -180,11 +278,26 @@ public final class Dinero {
      * @return true si es cero
      */
     public boolean esCero() {
-        return this.cantidad.compareTo(BigDecimal.ZERO) == 0;
+        return signo() == 0;
+    }
+    
+    private boolean esCompacto() {
+        return cantidadGrande == null;
+    }
+    
+    private int signo() {
+        return esCompacto() ? Long.signum(centavos) : cantidadGrande.signum();
+    }
+    
+    private int comparar(Dinero otro) {
+        if (esCompacto() && otro.esCompacto()) {
+            return Long.compare(this.centavos, otro.centavos);
+        }
+        return this.getCantidad().compareTo(otro.getCantidad());
     }
     
     private void validarMismaMoneda(Dinero otro) {
-        if (!this.moneda.equals(otro.moneda)) {
+        if (this.moneda != otro.moneda) {
             throw new IllegalArgumentException(
                 String.format("No se pueden operar monedas diferentes: %s y %s", 
                     this.moneda, otro.moneda)
@@ -193,10 +306,23 @@ public final class Dinero {
     }
     
     public BigDecimal getCantidad() {
-        return cantidad;
+        BigDecimal valor = cantidad;
+        if (valor == null) {
+            // Carrera benigna: BigDecimal es inmutable y el cálculo es idempotente
+            valor = esCompacto() ? BigDecimal.valueOf(centavos, ESCALA_DECIMAL) : cantidadGrande;
+            cantidad = valor;
+        }
+        return valor;
     }
     
     public String getMoneda() {
+        return moneda.getCodigo();
+    }
+    
+    /**
+     * Obtiene la moneda como instancia canónica del registro.
+     */
+    public Moneda getMonedaCanonica() {
         return moneda;
     }
     
@@ -205,16 +331,19 @@ public final class Dinero {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Dinero dinero = (Dinero) o;
-        return cantidad.compareTo(dinero.cantidad) == 0 && Objects.equals(moneda, dinero.moneda);
+        return moneda == dinero.moneda && comparar(dinero) == 0;
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(cantidad, moneda);
+        // La representación es canónica (centavos si cabe en un long),
+        // así que valores iguales comparten representación y hash
+        int hashCantidad = esCompacto() ? Long.hashCode(centavos) : cantidadGrande.hashCode();
+        return 31 * hashCantidad + moneda.ordinal();
     }
     
     @Override
     public String toString() {
-        return String.format("%s %.2f", moneda, cantidad);
+        return String.format("%s %.2f", moneda, getCantidad());
     }
 }
@@ -0,0 +1,187 @@
+package com.wallet.domain.valueobjects;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value Object que representa una moneda ISO 4217.
+ * 
+ * Las instancias se obtienen de un registro canónico cargado una sola vez,
+ * por lo que cada código tiene exactamente una instancia: comparar monedas
+ * es una comparación de identidad y validar un código es una búsqueda en
+ * tabla, sin expresiones regulares ni conversiones de texto.
+ * 
+ * Principios aplicados:
+ * - Inmutabilidad: Instancias compartidas y sin estado mutable
+ * - Flyweight: Una única instancia por código de moneda
+ */
+public final class Moneda {
+    
+    /**
+     * Tabla de monedas: código ISO 4217 y número de decimales (unidades menores).
+     * Incluye además códigos no ISO que publican los proveedores de tasas
+     * (FOK, GGP, IMP, JEP, KID, TVD), con dos decimales.
+     */
+    private static final String TABLA =
+        "AED:2 AFN:2 ALL:2 AMD:2 ANG:2 AOA:2 ARS:2 AUD:2 AWG:2 AZN:2 BAM:2 BBD:2 BDT:2 " +
+        "BGN:2 BHD:3 BIF:0 BMD:2 BND:2 BOB:2 BOV:2 BRL:2 BSD:2 BTN:2 BWP:2 BYN:2 BZD:2 " +
+        "CAD:2 CDF:2 CHE:2 CHF:2 CHW:2 CLF:4 CLP:0 CNY:2 COP:2 COU:2 CRC:2 CUC:2 CUP:2 " +
+        "CVE:2 CZK:2 DJF:0 DKK:2 DOP:2 DZD:2 EGP:2 ERN:2 ETB:2 EUR:2 FJD:2 FKP:2 GBP:2 " +
+        "GEL:2 GHS:2 GIP:2 GMD:2 GNF:0 GTQ:2 GYD:2 HKD:2 HNL:2 HTG:2 HUF:2 IDR:2 ILS:2 " +
+        "INR:2 IQD:3 IRR:2 ISK:0 JMD:2 JOD:3 JPY:0 KES:2 KGS:2 KHR:2 KMF:0 KPW:2 KRW:0 " +
+        "KWD:3 KYD:2 KZT:2 LAK:2 LBP:2 LKR:2 LRD:2 LSL:2 LYD:3 MAD:2 MDL:2 MGA:2 MKD:2 " +
+        "MMK:2 MNT:2 MOP:2 MRU:2 MUR:2 MVR:2 MWK:2 MXN:2 MXV:2 MYR:2 MZN:2 NAD:2 NGN:2 " +
+        "NIO:2 NOK:2 NPR:2 NZD:2 OMR:3 PAB:2 PEN:2 PGK:2 PHP:2 PKR:2 PLN:2 PYG:0 QAR:2 " +
+        "RON:2 RSD:2 RUB:2 RWF:0 SAR:2 SBD:2 SCR:2 SDG:2 SEK:2 SGD:2 SHP:2 SLE:2 SLL:2 " +
+        "SOS:2 SRD:2 SSP:2 STN:2 SVC:2 SYP:2 SZL:2 THB:2 TJS:2 TMT:2 TND:3 TOP:2 TRY:2 " +
+        "TTD:2 TWD:2 TZS:2 UAH:2 UGX:0 USD:2 USN:2 UYI:0 UYU:2 UYW:4 UZS:2 VED:2 VES:2 " +
+        "VND:0 VUV:0 WST:2 XAF:0 XCD:2 XDR:2 XOF:0 XPF:0 YER:2 ZAR:2 ZMW:2 ZWL:2 " +
+        "FOK:2 GGP:2 IMP:2 JEP:2 KID:2 TVD:2";
+    
+    private static final Moneda[] MONEDAS;
+    private static final Map<String, Moneda> POR_CODIGO;
+    /** Ordinal + 1 por código empaquetado (A-Z en base 26); 0 si no existe. */
+    private static final short[] POR_LETRAS = new short[26 * 26 * 26];
+    
+    static {
+        String[] entradas = TABLA.split(" ");
+        MONEDAS = new Moneda[entradas.length];
+        POR_CODIGO = new HashMap<>(entradas.length * 2);
+        for (int i = 0; i < entradas.length; i++) {
+            String codigo = entradas[i].substring(0, 3);
+            int decimales = entradas[i].charAt(4) - '0';
+            MONEDAS[i] = new Moneda(codigo, decimales, i);
+            POR_CODIGO.put(codigo, MONEDAS[i]);
+            POR_LETRAS[empaquetar(codigo.charAt(0), codigo.charAt(1), codigo.charAt(2))] = (short) (i + 1);
+        }
+    }
+    
+    public static final Moneda PEN = POR_CODIGO.get("PEN");
+    public static final Moneda USD = POR_CODIGO.get("USD");
+    public static final Moneda EUR = POR_CODIGO.get("EUR");
+    
+    private final String codigo;
+    private final int decimales;
+    private final int ordinal;
+    
+    private Moneda(String codigo, int decimales, int ordinal) {
+        this.codigo = codigo;
+        this.decimales = decimales;
+        this.ordinal = ordinal;
+    }
+    
+    /**
+     * Obtiene la moneda registrada para un código (sin distinguir mayúsculas).
+     * 
+     * @param codigo el código ISO 4217
+     * @return la instancia canónica de la moneda
+     * @throws IllegalArgumentException si el código es inválido o no está registrado
+     */
+    public static Moneda de(String codigo) {
+        Moneda moneda = buscar(codigo);
+        if (moneda == null && codigo != null && codigo.length() == 3) {
+            moneda = POR_CODIGO.get(codigo.toUpperCase());
+        }
+        if (moneda == null) {
+            throw new IllegalArgumentException(mensajeInvalido(codigo));
+        }
+        return moneda;
+    }
+    
+    /**
+     * Busca una moneda por su código exacto en mayúsculas.
+     * 
+     * @param codigo el código ISO 4217
+     * @return la moneda, o null si el código no está registrado
+     */
+    public static Moneda buscar(String codigo) {
+        if (codigo == null) {
+            return null;
+        }
+        return POR_CODIGO.get(codigo);
+    }
+    
+    /**
+     * Busca una moneda por las tres letras de su código, sin construir un
+     * String. Pensado para lectores que recorren bytes de una respuesta.
+     * 
+     * @return la moneda, o null si no son tres mayúsculas de un código registrado
+     */
+    public static Moneda buscar(char primera, char segunda, char tercera) {
+        if (!esMayuscula(primera) || !esMayuscula(segunda) || !esMayuscula(tercera)) {
+            return null;
+        }
+        int ordinal = POR_LETRAS[empaquetar(primera, segunda, tercera)] - 1;
+        return ordinal < 0 ? null : MONEDAS[ordinal];
+    }
+    
+    /**
+     * Obtiene la moneda por su posición en el registro.
+     * 
+     * @param ordinal posición entre 0 y {@link #cantidad()} - 1
+     * @return la moneda
+     */
+    public static Moneda porOrdinal(int ordinal) {
+        return MONEDAS[ordinal];
+    }
+    
+    /**
+     * Retorna el número de monedas registradas.
+     */
+    public static int cantidad() {
+        return MONEDAS.length;
+    }
+    
+    /**
+     * Retorna todas las monedas registradas, en orden de ordinal.
+     */
+    public static List<Moneda> todas() {
+        return Collections.unmodifiableList(Arrays.asList(MONEDAS));
+    }
+    
+    private static boolean esMayuscula(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+    
+    private static int empaquetar(char primera, char segunda, char tercera) {
+        return ((primera - 'A') * 26 + (segunda - 'A')) * 26 + (tercera - 'A');
+    }
+    
+    private static String mensajeInvalido(String codigo) {
+        if (codigo == null || codigo.trim().isEmpty()) {
+            return "La moneda no puede estar vacía";
+        }
+        if (codigo.length() != 3) {
+            return "El código de moneda debe tener 3 caracteres (ISO 4217)";
+        }
+        return "Moneda no soportada (ISO 4217): " + codigo;
+    }
+    
+    public String getCodigo() {
+        return codigo;
+    }
+    
+    /**
+     * Número de decimales de la unidad menor (ej: 2 para PEN, 0 para JPY).
+     */
+    public int getDecimales() {
+        return decimales;
+    }
+    
+    /**
+     * Posición de la moneda en el registro, útil como índice de arreglos.
+     */
+    public int ordinal() {
+        return ordinal;
+    }
+    
+    // equals/hashCode por identidad: hay una sola instancia por código
+    
+    @Override
+    public String toString() {
+        return codigo;
+    }
+}
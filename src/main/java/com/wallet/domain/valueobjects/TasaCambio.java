@@ -0,0 +1,102 @@
+package com.wallet.domain.valueobjects;
+
+import java.math.BigDecimal;
+
+/**
+ * Value Object que representa la tasa de cambio de una moneda a otra.
+ *
+ * La tasa se fija como decimal exacto ({@code BigDecimal.valueOf} del
+ * double recibido) y, cuando cabe, también como entero escalado, de modo
+ * que aplicarla a un {@link Dinero} en centavos es aritmética entera sin
+ * objetos intermedios. Pensada para resolverse una vez y aplicarse a
+ * muchos montos (conversiones en lote).
+ *
+ * Principios aplicados:
+ * - Inmutabilidad: Segura para compartir entre hilos
+ * - Precisión: Mismo redondeo que la conversión individual (HALF_UP a 2 decimales)
+ */
+public final class TasaCambio {
+
+    /** Mayor escala con la que 10^escala cabe en un long. */
+    private static final int MAX_ESCALA_COMPACTA = 18;
+
+    private final Moneda origen;
+    private final Moneda destino;
+    private final double valor;
+    private final BigDecimal valorDecimal;
+    /** Valor × 10^escala; válido solo si compacta. */
+    final long valorEscalado;
+    final int escala;
+    final boolean compacta;
+
+    private TasaCambio(Moneda origen, Moneda destino, double valor) {
+        this.origen = origen;
+        this.destino = destino;
+        this.valor = valor;
+        this.valorDecimal = BigDecimal.valueOf(valor);
+        int escalaDecimal = valorDecimal.scale();
+        this.compacta = escalaDecimal >= 0 && escalaDecimal <= MAX_ESCALA_COMPACTA
+            && valorDecimal.unscaledValue().bitLength() < Long.SIZE;
+        this.valorEscalado = compacta ? valorDecimal.unscaledValue().longValue() : 0L;
+        this.escala = compacta ? escalaDecimal : 0;
+    }
+
+    /**
+     * Crea una tasa de cambio.
+     *
+     * @param origen moneda de los montos a convertir
+     * @param destino moneda resultante
+     * @param valor unidades de destino por unidad de origen
+     * @return la tasa
+     * @throws IllegalArgumentException si las monedas son nulas o el valor no es positivo y finito
+     */
+    public static TasaCambio de(Moneda origen, Moneda destino, double valor) {
+        if (origen == null || destino == null) {
+            throw new IllegalArgumentException("Las monedas de la tasa no pueden ser nulas");
+        }
+        if (!(valor > 0) || Double.isInfinite(valor)) {
+            throw new IllegalArgumentException("La tasa de cambio debe ser positiva: " + valor);
+        }
+        return new TasaCambio(origen, destino, valor);
+    }
+
+    /**
+     * Convierte un monto de la moneda origen a la moneda destino.
+     *
+     * @param monto el dinero a convertir
+     * @return nuevo Dinero en la moneda destino, redondeado a dos decimales
+     * @throws IllegalArgumentException si el monto es nulo o no está en la moneda origen
+     */
+    public Dinero aplicar(Dinero monto) {
+        if (monto == null) {
+            throw new IllegalArgumentException("El dinero no puede ser nulo");
+        }
+        if (monto.getMonedaCanonica() != origen) {
+            throw new IllegalArgumentException(
+                String.format("La tasa %s→%s no aplica a un monto en %s", origen, destino, monto.getMoneda())
+            );
+        }
+        return monto.aplicarTasa(this);
+    }
+
+    public Moneda getOrigen() {
+        return origen;
+    }
+
+    public Moneda getDestino() {
+        return destino;
+    }
+
+    public double getValor() {
+        return valor;
+    }
+
+    public BigDecimal getValorDecimal() {
+        return valorDecimal;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s→%s %s", origen, destino, valorDecimal.toPlainString());
+    }
+}
@@ -3,10 +3,18 @@ package com.wallet.infrastructure.factories;
 import com.wallet.domain.repositories.IUsuarioRepository;
 import com.wallet.domain.repositories.ICuentaRepository;
 import com.wallet.domain.repositories.ITransaccionRepository;
+import com.wallet.domain.repositories.IUnidadTrabajo;
+import com.wallet.infrastructure.persistencia.AlmacenPersistente;
+import com.wallet.infrastructure.persistencia.ModoSincronizacion;
 import com.wallet.infrastructure.repositories.UsuarioRepositoryInMemory;
 import com.wallet.infrastructure.repositories.CuentaRepositoryInMemory;
+import com.wallet.infrastructure.repositories.CuentaRepositoryOffHeap;
 import com.wallet.infrastructure.repositories.TransaccionRepositoryInMemory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
 /**
  * Fábrica de Repositorios (Factory Pattern).
  * 
@@ -17,19 +25,58 @@ import com.wallet.infrastructure.repositories.TransaccionRepositoryInMemory;
  * - Desacoplamiento: Los clientes no conocen las implementaciones concretas
  * - Reutilización: Una única instancia compartida (memoria)
  * - Flexibilidad: Fácil cambio de implementaciones
+ * 
+ * Por defecto los repositorios son en memoria. Si se define la propiedad
+ * del sistema {@code wallet.persistencia.directorio}, se usan repositorios
+ * persistidos en un diario de escritura anticipada en ese directorio; la
+ * propiedad {@code wallet.persistencia.sincronizacion} elige entre GRUPO
+ * (por defecto), POR_OPERACION y DIFERIDO, y
+ * {@code wallet.persistencia.instantanea.registros} cada cuántos registros
+ * se toma una instantánea (0 = nunca). Las transacciones se consultan
+ * desde segmentos mapeados en memoria (subdirectorio historial), así que
+ * el historial no ocupa heap ni alarga el arranque.
+ * Sin persistencia, {@code wallet.cuentas.almacenamiento=offheap} guarda
+ * las cuentas fuera del heap ({@link CuentaRepositoryOffHeap}).
  */
 public class RepositoryFactory {
     
     // Instancias únicas (Singleton)
-    private static final IUsuarioRepository usuarioRepository = new UsuarioRepositoryInMemory();
-    private static final ICuentaRepository cuentaRepository = new CuentaRepositoryInMemory();
-    private static final ITransaccionRepository transaccionRepository = new TransaccionRepositoryInMemory();
+    private static final AlmacenPersistente almacen = abrirAlmacen();
+    private static final IUsuarioRepository usuarioRepository = almacen != null
+        ? almacen.getUsuarioRepository() : new UsuarioRepositoryInMemory();
+    private static final ICuentaRepository cuentaRepository = almacen != null
+        ? almacen.getCuentaRepository() : crearCuentaRepositoryEnMemoria();
+    private static final ITransaccionRepository transaccionRepository = almacen != null
+        ? almacen.getTransaccionRepository() : new TransaccionRepositoryInMemory();
+    private static final IUnidadTrabajo unidadTrabajo = almacen != null
+        ? almacen.getUnidadTrabajo() : IUnidadTrabajo.secuencial(cuentaRepository, transaccionRepository);
     
     // Constructor privado para evitar instanciación
     private RepositoryFactory() {
         throw new AssertionError("No se debe instanciar RepositoryFactory");
     }
     
+    private static AlmacenPersistente abrirAlmacen() {
+        String directorio = System.getProperty("wallet.persistencia.directorio");
+        if (directorio == null || directorio.trim().isEmpty()) {
+            return null;
+        }
+        ModoSincronizacion modo = ModoSincronizacion.valueOf(
+            System.getProperty("wallet.persistencia.sincronizacion", ModoSincronizacion.GRUPO.name()));
+        try {
+            long registrosPorInstantanea = Long.getLong("wallet.persistencia.instantanea.registros",
+                AlmacenPersistente.REGISTROS_POR_INSTANTANEA_POR_DEFECTO);
+            return AlmacenPersistente.abrir(Path.of(directorio.trim()), modo, registrosPorInstantanea);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el almacén en " + directorio, e);
+        }
+    }
+    
+    private static ICuentaRepository crearCuentaRepositoryEnMemoria() {
+        return "offheap".equalsIgnoreCase(System.getProperty("wallet.cuentas.almacenamiento"))
+            ? new CuentaRepositoryOffHeap() : new CuentaRepositoryInMemory();
+    }
+    
     /**
      * Obtiene la instancia del repositorio de usuarios.
      */
@@ -51,15 +98,29 @@ public class RepositoryFactory {
         return transaccionRepository;
     }
     
+    /**
+     * Obtiene la unidad de trabajo con que los movimientos de dinero
+     * guardan juntas sus cuentas y transacciones.
+     */
+    public static IUnidadTrabajo getUnidadTrabajo() {
+        return unidadTrabajo;
+    }
+    
     /**
      * Limpia todos los repositorios (útil para testing).
      */
     public static void limpiarTodos() {
+        if (almacen != null) {
+            almacen.limpiar();
+            return;
+        }
         if (usuarioRepository instanceof UsuarioRepositoryInMemory) {
             ((UsuarioRepositoryInMemory) usuarioRepository).limpiar();
         }
         if (cuentaRepository instanceof CuentaRepositoryInMemory) {
             ((CuentaRepositoryInMemory) cuentaRepository).limpiar();
+        } else if (cuentaRepository instanceof CuentaRepositoryOffHeap) {
+            ((CuentaRepositoryOffHeap) cuentaRepository).limpiar();
         }
         if (transaccionRepository instanceof TransaccionRepositoryInMemory) {
             ((TransaccionRepositoryInMemory) transaccionRepository).limpiar();
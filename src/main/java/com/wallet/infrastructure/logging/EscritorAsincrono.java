@@ -0,0 +1,270 @@
+package com.wallet.infrastructure.logging;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritor de logs asíncrono sobre un buffer circular acotado y sin locks.
+ *
+ * Los productores (cualquier hilo que registra un mensaje) reservan una
+ * posición con un CAS y copian nivel, instante y mensaje en arreglos
+ * preasignados; no formatean fechas ni hacen I/O. Un único hilo consumidor
+ * daemon vacía el buffer por lotes, formatea las líneas y las escribe en
+ * la consola con una sola llamada por lote.
+ *
+ * Buffer: cola acotada de múltiples productores (esquema de Vyukov), donde
+ * cada celda lleva un número de secuencia que indica si está libre o
+ * publicada para la vuelta actual.
+ *
+ * Principios aplicados:
+ * - SRP: Solo responsable de sacar la escritura de logs del hilo que registra
+ * - Rendimiento: Sin locks ni asignaciones por evento en el productor
+ */
+final class EscritorAsincrono {
+
+    private static final int TAMANO_LOTE = 256;
+    private static final long ESPERA_INACTIVO_NANOS = 50_000_000L; // 50 ms
+    private static final long ESPERA_LLENO_NANOS = 50_000L; // 50 µs
+
+    private final int capacidad;
+    private final int mascara;
+    private final Logger.PoliticaDesborde politica;
+    /** Ocupación a partir de la cual se descartan mensajes DEBUG. */
+    private final int umbralDebug;
+
+    private final AtomicLongArray secuencias;
+    private final Logger.Nivel[] niveles;
+    private final long[] instantes;
+    private final String[] mensajes;
+
+    /** Siguiente posición a reservar por los productores. */
+    private final AtomicLong cola = new AtomicLong();
+    /** Siguiente posición a leer; solo la modifica el consumidor. */
+    private volatile long cabeza;
+    /** Posiciones ya escritas en la salida (para vaciar()). */
+    private volatile long procesados;
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong descartadosTotal = new AtomicLong();
+
+    private final Thread consumidor;
+    private volatile boolean activo = true;
+    /**
+     * Productores dentro de publicar(). Se incrementa antes de comprobar
+     * activo, así que tras detener el consumidor sabe cuándo ya no puede
+     * llegar ningún mensaje aceptado.
+     */
+    private final AtomicInteger productoresEnCurso = new AtomicInteger();
+    private volatile boolean esperando;
+
+    // Estado exclusivo del consumidor
+    private final StringBuilder lote = new StringBuilder(TAMANO_LOTE * 96);
+    private long segundoEnCache = Long.MIN_VALUE;
+    private String instanteEnCache;
+
+    EscritorAsincrono(int capacidadSolicitada, Logger.PoliticaDesborde politica) {
+        if (capacidadSolicitada < 2) {
+            throw new IllegalArgumentException("La capacidad del buffer de logs debe ser al menos 2");
+        }
+        if (politica == null) {
+            throw new IllegalArgumentException("La política de desborde no puede ser nula");
+        }
+        int capacidadPotencia = Integer.highestOneBit(Math.min(capacidadSolicitada, 1 << 24) - 1) << 1;
+        this.capacidad = capacidadPotencia;
+        this.mascara = capacidadPotencia - 1;
+        this.politica = politica;
+        this.umbralDebug = capacidadPotencia - capacidadPotencia / 4;
+
+        this.secuencias = new AtomicLongArray(capacidadPotencia);
+        for (int i = 0; i < capacidadPotencia; i++) {
+            secuencias.set(i, i);
+        }
+        this.niveles = new Logger.Nivel[capacidadPotencia];
+        this.instantes = new long[capacidadPotencia];
+        this.mensajes = new String[capacidadPotencia];
+
+        this.consumidor = new Thread(this::consumir, "wallet-logger");
+        this.consumidor.setDaemon(true);
+        this.consumidor.start();
+    }
+
+    /**
+     * Publica un mensaje aplicando la política de desborde si el buffer
+     * está lleno.
+     *
+     * @return false si el escritor ya se detuvo y el mensaje no se publicó
+     */
+    boolean publicar(Logger.Nivel nivel, long instante, String mensaje) {
+        productoresEnCurso.incrementAndGet();
+        try {
+            return publicarRegistrado(nivel, instante, mensaje);
+        } finally {
+            productoresEnCurso.decrementAndGet();
+        }
+    }
+
+    private boolean publicarRegistrado(Logger.Nivel nivel, long instante, String mensaje) {
+        if (!activo) {
+            return false;
+        }
+        if (nivel == Logger.Nivel.DEBUG
+                && politica == Logger.PoliticaDesborde.DESCARTAR_DEBUG_PRIMERO
+                && cola.get() - cabeza >= umbralDebug) {
+            descartar();
+            return true;
+        }
+
+        while (!ofrecer(nivel, instante, mensaje)) {
+            if (!activo) {
+                return false;
+            }
+            if (politica == Logger.PoliticaDesborde.DESCARTAR) {
+                descartar();
+                return true;
+            }
+            // BLOQUEAR, o DESCARTAR_DEBUG_PRIMERO con un nivel que no se descarta
+            LockSupport.unpark(consumidor);
+            LockSupport.parkNanos(this, ESPERA_LLENO_NANOS);
+        }
+
+        if (esperando) {
+            LockSupport.unpark(consumidor);
+        }
+        return true;
+    }
+
+    private boolean ofrecer(Logger.Nivel nivel, long instante, String mensaje) {
+        long posicion = cola.get();
+        while (true) {
+            int indice = (int) (posicion & mascara);
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                if (cola.compareAndSet(posicion, posicion + 1)) {
+                    niveles[indice] = nivel;
+                    instantes[indice] = instante;
+                    mensajes[indice] = mensaje;
+                    secuencias.set(indice, posicion + 1);
+                    return true;
+                }
+                posicion = cola.get();
+            } else if (diferencia < 0) {
+                return false; // Lleno: la celda aún no se liberó de la vuelta anterior
+            } else {
+                posicion = cola.get();
+            }
+        }
+    }
+
+    private void descartar() {
+        descartados.incrementAndGet();
+        descartadosTotal.incrementAndGet();
+    }
+
+    private void consumir() {
+        while (true) {
+            if (drenarLote() > 0) {
+                continue;
+            }
+            if (!activo) {
+                // Última pasada: un productor que pasó la comprobación de
+                // activo aún puede publicar; se termina cuando no queda
+                // ninguno en curso y lo publicado ya está escrito
+                if (productoresEnCurso.get() > 0) {
+                    LockSupport.parkNanos(this, ESPERA_LLENO_NANOS);
+                } else if (drenarLote() == 0) {
+                    return;
+                }
+                continue;
+            }
+            esperando = true;
+            if (!hayPublicado()) {
+                LockSupport.parkNanos(this, ESPERA_INACTIVO_NANOS);
+            }
+            esperando = false;
+        }
+    }
+
+    private boolean hayPublicado() {
+        long posicion = cabeza;
+        return secuencias.get((int) (posicion & mascara)) == posicion + 1;
+    }
+
+    /**
+     * Lee hasta TAMANO_LOTE mensajes publicados y los escribe de una vez.
+     */
+    private int drenarLote() {
+        lote.setLength(0);
+        long perdidos = descartados.getAndSet(0);
+        if (perdidos > 0) {
+            Logger.formatear(lote, formatearInstante(System.currentTimeMillis()), Logger.Nivel.WARNING,
+                perdidos + " mensajes de log descartados por buffer lleno");
+        }
+
+        long posicion = cabeza;
+        int leidos = 0;
+        while (leidos < TAMANO_LOTE) {
+            int indice = (int) (posicion & mascara);
+            if (secuencias.get(indice) != posicion + 1) {
+                break;
+            }
+            Logger.formatear(lote, formatearInstante(instantes[indice]), niveles[indice], mensajes[indice]);
+            mensajes[indice] = null;
+            secuencias.set(indice, posicion + capacidad);
+            posicion++;
+            leidos++;
+        }
+        cabeza = posicion;
+
+        if (lote.length() > 0) {
+            PrintStream salida = System.out;
+            salida.print(lote);
+            salida.flush();
+        }
+        procesados = posicion;
+        return leidos + (perdidos > 0 ? 1 : 0);
+    }
+
+    private String formatearInstante(long instante) {
+        long segundo = Math.floorDiv(instante, 1000L);
+        if (segundo != segundoEnCache) {
+            segundoEnCache = segundo;
+            instanteEnCache = Logger.formatearInstante(instante);
+        }
+        return instanteEnCache;
+    }
+
+    /**
+     * Espera a que se escriba todo lo publicado hasta este momento.
+     */
+    void vaciar() {
+        long objetivo = cola.get();
+        while (procesados < objetivo && consumidor.isAlive()) {
+            LockSupport.unpark(consumidor);
+            LockSupport.parkNanos(this, ESPERA_LLENO_NANOS);
+        }
+    }
+
+    /**
+     * Deja de aceptar mensajes, escribe los pendientes y termina el hilo consumidor.
+     */
+    void detener() {
+        vaciar();
+        activo = false;
+        LockSupport.unpark(consumidor);
+        try {
+            consumidor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long getDescartados() {
+        return descartadosTotal.get();
+    }
+
+    int getCapacidad() {
+        return capacidad;
+    }
+}
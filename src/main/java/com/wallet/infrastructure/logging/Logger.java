@@ -1,78 +1,421 @@
 package com.wallet.infrastructure.logging;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
 
 /**
  * Sistema de Logging simple para auditoría.
- * 
+ *
  * Registra las operaciones importantes del sistema en consola.
  * En una implementación real, podría escribir a archivos o bases de datos.
+ *
+ * Modo asíncrono: los mensajes se encolan en un buffer circular sin locks
+ * y un hilo dedicado los escribe por lotes, de modo que la E/S de consola
+ * sale del camino crítico de depósitos, retiros y transferencias. Se activa
+ * con {@link #activarAsincrono} o con las propiedades del sistema
+ * {@code wallet.log.asincrono=true}, {@code wallet.log.capacidad} y
+ * {@code wallet.log.desborde}. Al terminar la JVM se escriben los pendientes.
+ *
+ * Nivel mínimo: los mensajes por debajo de {@link #setNivelMinimo} (por
+ * defecto INFO, configurable con {@code wallet.log.nivel}) se descartan con
+ * una sola comparación. Para que un mensaje descartado no cueste nada más,
+ * usar las variantes con {@link Supplier} o con plantilla "{}" en lugar de
+ * concatenar: el texto solo se construye si el nivel está habilitado.
  */
 public class Logger {
-    
+
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int CAPACIDAD_POR_DEFECTO = 8192;
+    private static final Nivel NIVEL_POR_DEFECTO = Nivel.INFO;
     private static boolean enabled = true;
-    
+    private static Nivel nivelMinimo = NIVEL_POR_DEFECTO;
+    /** Severidad mínima que se registra; combina enabled y nivelMinimo. */
+    private static volatile int umbral = NIVEL_POR_DEFECTO.severidad;
+    private static volatile EscritorAsincrono asincrono;
+    private static boolean ganchoRegistrado;
+
     public enum Nivel {
-        INFO, WARNING, ERROR, DEBUG
+        INFO(1), WARNING(2), ERROR(3), DEBUG(0);
+
+        private final int severidad;
+        private final String etiqueta = String.format("[%-7s]", name());
+
+        Nivel(int severidad) {
+            this.severidad = severidad;
+        }
+    }
+
+    /**
+     * Qué hacer cuando el buffer asíncrono está lleno.
+     */
+    public enum PoliticaDesborde {
+        /** El hilo que registra espera a que haya espacio; no se pierde nada. */
+        BLOQUEAR,
+        /** El mensaje se descarta y se contabiliza. */
+        DESCARTAR,
+        /**
+         * Los DEBUG se descartan en cuanto el buffer supera el 75% de
+         * ocupación; el resto de niveles usa todo el buffer y, si se llena,
+         * espera como en BLOQUEAR.
+         */
+        DESCARTAR_DEBUG_PRIMERO
     }
-    
+
+    static {
+        setNivelMinimo(leerPropiedad("wallet.log.nivel", Nivel.class, NIVEL_POR_DEFECTO));
+        if (Boolean.getBoolean("wallet.log.asincrono")) {
+            activarAsincrono(
+                Integer.getInteger("wallet.log.capacidad", CAPACIDAD_POR_DEFECTO),
+                leerPropiedad("wallet.log.desborde", PoliticaDesborde.class,
+                    PoliticaDesborde.DESCARTAR_DEBUG_PRIMERO)
+            );
+        }
+    }
+
+    /**
+     * Lee una propiedad del sistema con el nombre de una constante. Un
+     * valor inválido no debe impedir que la clase se inicialice (dejaría
+     * sin logging a toda la aplicación): se avisa por stderr y se usa el
+     * valor por defecto.
+     */
+    static <E extends Enum<E>> E leerPropiedad(String propiedad, Class<E> tipo, E porDefecto) {
+        String valor = System.getProperty(propiedad);
+        if (valor == null) {
+            return porDefecto;
+        }
+        try {
+            return Enum.valueOf(tipo, valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Valor inválido para " + propiedad + ": '" + valor
+                + "'; se usa " + porDefecto.name());
+            return porDefecto;
+        }
+    }
+
     private Logger() {
         throw new AssertionError("No se debe instanciar Logger");
     }
-    
+
     /**
      * Habilita o deshabilita el logging.
      */
-    public static void setEnabled(boolean enabled) {
+    public static synchronized void setEnabled(boolean enabled) {
         Logger.enabled = enabled;
+        actualizarUmbral();
+    }
+
+    /**
+     * Fija el nivel mínimo que se registra (DEBUG &lt; INFO &lt; WARNING &lt; ERROR).
+     */
+    public static synchronized void setNivelMinimo(Nivel nivel) {
+        if (nivel == null) {
+            throw new IllegalArgumentException("El nivel mínimo no puede ser nulo");
+        }
+        nivelMinimo = nivel;
+        actualizarUmbral();
+    }
+
+    public static synchronized Nivel getNivelMinimo() {
+        return nivelMinimo;
+    }
+
+    /**
+     * Indica si un mensaje de este nivel se registraría. Útil para proteger
+     * mensajes cuyos argumentos son caros de calcular o son primitivos.
+     */
+    public static boolean isEnabled(Nivel nivel) {
+        return nivel.severidad >= umbral;
+    }
+
+    private static void actualizarUmbral() {
+        umbral = enabled ? nivelMinimo.severidad : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Activa el modo asíncrono (si ya estaba activo, se reemplaza tras
+     * escribir lo pendiente).
+     *
+     * @param capacidad mensajes que caben en el buffer (se redondea a potencia de 2)
+     * @param politica qué hacer cuando el buffer está lleno
+     */
+    public static synchronized void activarAsincrono(int capacidad, PoliticaDesborde politica) {
+        EscritorAsincrono nuevo = new EscritorAsincrono(capacidad, politica);
+        EscritorAsincrono anterior = asincrono;
+        asincrono = nuevo;
+        if (anterior != null) {
+            anterior.detener();
+        }
+        if (!ganchoRegistrado) {
+            Runtime.getRuntime().addShutdownHook(new Thread(Logger::desactivarAsincrono, "wallet-logger-cierre"));
+            ganchoRegistrado = true;
+        }
+    }
+
+    /**
+     * Vuelve al modo síncrono escribiendo antes todos los mensajes pendientes.
+     */
+    public static synchronized void desactivarAsincrono() {
+        EscritorAsincrono actual = asincrono;
+        asincrono = null;
+        if (actual != null) {
+            actual.detener();
+        }
+    }
+
+    /**
+     * Espera a que se escriban los mensajes registrados hasta ahora.
+     * No hace nada en modo síncrono.
+     */
+    public static void vaciar() {
+        EscritorAsincrono actual = asincrono;
+        if (actual != null) {
+            actual.vaciar();
+        }
+    }
+
+    public static boolean isAsincrono() {
+        return asincrono != null;
+    }
+
+    /**
+     * Mensajes descartados por el buffer asíncrono actual desde su activación.
+     */
+    public static long getMensajesDescartados() {
+        EscritorAsincrono actual = asincrono;
+        return actual == null ? 0 : actual.getDescartados();
     }
-    
+
     /**
      * Registra un mensaje de información.
      */
     public static void info(String mensaje) {
         log(Nivel.INFO, mensaje);
     }
-    
+
+    /**
+     * Registra un mensaje de información construido solo si el nivel está habilitado.
+     */
+    public static void info(Supplier<String> mensaje) {
+        if (Nivel.INFO.severidad >= umbral) {
+            log(Nivel.INFO, mensaje.get());
+        }
+    }
+
+    /**
+     * Registra un mensaje de información sustituyendo "{}" por los argumentos.
+     */
+    public static void info(String plantilla, Object arg) {
+        if (Nivel.INFO.severidad >= umbral) {
+            log(Nivel.INFO, sustituir(plantilla, arg));
+        }
+    }
+
+    public static void info(String plantilla, Object arg1, Object arg2) {
+        if (Nivel.INFO.severidad >= umbral) {
+            log(Nivel.INFO, sustituir(plantilla, arg1, arg2));
+        }
+    }
+
+    public static void info(String plantilla, Object arg1, Object arg2, Object arg3) {
+        if (Nivel.INFO.severidad >= umbral) {
+            log(Nivel.INFO, sustituir(plantilla, arg1, arg2, arg3));
+        }
+    }
+
+    public static void info(String plantilla, Object... args) {
+        if (Nivel.INFO.severidad >= umbral) {
+            log(Nivel.INFO, sustituir(plantilla, args));
+        }
+    }
+
     /**
      * Registra una advertencia.
      */
     public static void warning(String mensaje) {
         log(Nivel.WARNING, mensaje);
     }
-    
+
+    /**
+     * Registra una advertencia construida solo si el nivel está habilitado.
+     */
+    public static void warning(Supplier<String> mensaje) {
+        if (Nivel.WARNING.severidad >= umbral) {
+            log(Nivel.WARNING, mensaje.get());
+        }
+    }
+
+    /**
+     * Registra una advertencia sustituyendo "{}" por los argumentos.
+     */
+    public static void warning(String plantilla, Object arg) {
+        if (Nivel.WARNING.severidad >= umbral) {
+            log(Nivel.WARNING, sustituir(plantilla, arg));
+        }
+    }
+
+    public static void warning(String plantilla, Object arg1, Object arg2) {
+        if (Nivel.WARNING.severidad >= umbral) {
+            log(Nivel.WARNING, sustituir(plantilla, arg1, arg2));
+        }
+    }
+
+    public static void warning(String plantilla, Object arg1, Object arg2, Object arg3) {
+        if (Nivel.WARNING.severidad >= umbral) {
+            log(Nivel.WARNING, sustituir(plantilla, arg1, arg2, arg3));
+        }
+    }
+
+    public static void warning(String plantilla, Object... args) {
+        if (Nivel.WARNING.severidad >= umbral) {
+            log(Nivel.WARNING, sustituir(plantilla, args));
+        }
+    }
+
     /**
      * Registra un error.
      */
     public static void error(String mensaje) {
         log(Nivel.ERROR, mensaje);
     }
-    
+
     /**
      * Registra un error con excepción.
      */
     public static void error(String mensaje, Exception e) {
+        if (Nivel.ERROR.severidad < umbral) return;
         log(Nivel.ERROR, mensaje + " - " + e.getClass().getSimpleName() + ": " + e.getMessage());
     }
-    
+
+    /**
+     * Registra un error construido solo si el nivel está habilitado.
+     */
+    public static void error(Supplier<String> mensaje) {
+        if (Nivel.ERROR.severidad >= umbral) {
+            log(Nivel.ERROR, mensaje.get());
+        }
+    }
+
+    /**
+     * Registra un error sustituyendo "{}" por los argumentos.
+     */
+    public static void error(String plantilla, Object arg) {
+        if (Nivel.ERROR.severidad >= umbral) {
+            log(Nivel.ERROR, sustituir(plantilla, arg));
+        }
+    }
+
+    public static void error(String plantilla, Object arg1, Object arg2) {
+        if (Nivel.ERROR.severidad >= umbral) {
+            log(Nivel.ERROR, sustituir(plantilla, arg1, arg2));
+        }
+    }
+
+    public static void error(String plantilla, Object arg1, Object arg2, Object arg3) {
+        if (Nivel.ERROR.severidad >= umbral) {
+            log(Nivel.ERROR, sustituir(plantilla, arg1, arg2, arg3));
+        }
+    }
+
+    public static void error(String plantilla, Object... args) {
+        if (Nivel.ERROR.severidad >= umbral) {
+            log(Nivel.ERROR, sustituir(plantilla, args));
+        }
+    }
+
     /**
      * Registra un mensaje de depuración.
      */
     public static void debug(String mensaje) {
         log(Nivel.DEBUG, mensaje);
     }
-    
+
+    /**
+     * Registra un mensaje de depuración construido solo si el nivel está habilitado.
+     */
+    public static void debug(Supplier<String> mensaje) {
+        if (Nivel.DEBUG.severidad >= umbral) {
+            log(Nivel.DEBUG, mensaje.get());
+        }
+    }
+
+    /**
+     * Registra un mensaje de depuración sustituyendo "{}" por los argumentos.
+     */
+    public static void debug(String plantilla, Object arg) {
+        if (Nivel.DEBUG.severidad >= umbral) {
+            log(Nivel.DEBUG, sustituir(plantilla, arg));
+        }
+    }
+
+    public static void debug(String plantilla, Object arg1, Object arg2) {
+        if (Nivel.DEBUG.severidad >= umbral) {
+            log(Nivel.DEBUG, sustituir(plantilla, arg1, arg2));
+        }
+    }
+
+    public static void debug(String plantilla, Object arg1, Object arg2, Object arg3) {
+        if (Nivel.DEBUG.severidad >= umbral) {
+            log(Nivel.DEBUG, sustituir(plantilla, arg1, arg2, arg3));
+        }
+    }
+
+    public static void debug(String plantilla, Object... args) {
+        if (Nivel.DEBUG.severidad >= umbral) {
+            log(Nivel.DEBUG, sustituir(plantilla, args));
+        }
+    }
+
     /**
      * Método interno para formatear y escribir logs.
      */
     private static void log(Nivel nivel, String mensaje) {
-        if (!enabled) return;
-        
-        String timestamp = LocalDateTime.now().format(FORMATTER);
-        String nivelStr = String.format("[%-7s]", nivel.name());
-        
-        System.out.println(timestamp + " " + nivelStr + " " + mensaje);
+        if (nivel.severidad < umbral) return;
+
+        long instante = System.currentTimeMillis();
+        EscritorAsincrono actual = asincrono;
+        if (actual != null && actual.publicar(nivel, instante, mensaje)) {
+            return;
+        }
+
+        StringBuilder linea = new StringBuilder(mensaje == null ? 40 : mensaje.length() + 40);
+        formatear(linea, formatearInstante(instante), nivel, mensaje);
+        System.out.print(linea);
+    }
+
+    /**
+     * Reemplaza cada "{}" de la plantilla por el siguiente argumento; los
+     * "{}" sin argumento quedan tal cual y los argumentos sobrantes se ignoran.
+     */
+    static String sustituir(String plantilla, Object... args) {
+        if (plantilla == null || args == null || args.length == 0) {
+            return plantilla;
+        }
+        StringBuilder resultado = new StringBuilder(plantilla.length() + 16 * args.length);
+        int desde = 0;
+        int usados = 0;
+        while (usados < args.length) {
+            int marcador = plantilla.indexOf("{}", desde);
+            if (marcador < 0) {
+                break;
+            }
+            resultado.append(plantilla, desde, marcador).append(args[usados++]);
+            desde = marcador + 2;
+        }
+        return resultado.append(plantilla, desde, plantilla.length()).toString();
+    }
+
+    static String formatearInstante(long instante) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(instante), ZoneId.systemDefault()).format(FORMATTER);
+    }
+
+    /**
+     * Añade una línea de log con el formato "fecha [NIVEL  ] mensaje".
+     */
+    static void formatear(StringBuilder destino, String instante, Nivel nivel, String mensaje) {
+        destino.append(instante).append(' ').append(nivel.etiqueta).append(' ')
+            .append(mensaje).append(System.lineSeparator());
     }
 }
@@ -0,0 +1,486 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.exceptions.OperacionNoValidaException;
+import com.wallet.infrastructure.logging.Logger;
+import com.wallet.infrastructure.repositories.CuentaRepositoryInMemory;
+import com.wallet.infrastructure.repositories.UsuarioRepositoryInMemory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Almacén en disco de usuarios, cuentas y transacciones.
+ * 
+ * Los tres repositorios comparten un único diario de escritura anticipada,
+ * de modo que las escrituras concurrentes de cualquiera de ellos se
+ * agrupan en el mismo fsync y el orden de reproducción es el orden global
+ * en que se aceptaron. Los movimientos de dinero pasan por
+ * {@link UnidadTrabajoPersistente}, que registra sus cuentas y
+ * transacciones en una sola entrada atómica. El diario se divide en segmentos numerados
+ * (wallet-N.wal) y cada cierto número de registros se toma una
+ * instantánea (wallet-N.snap) con el estado completo. Al abrir se carga la
+ * última instantánea y solo se reproducen los segmentos desde N, así que
+ * el arranque depende del estado vigente y no de toda la historia.
+ * 
+ * Usuarios y cuentas se leen desde repositorios en memoria; las
+ * transacciones, que crecen sin límite, desde un historial mapeado
+ * (subdirectorio historial) que no ocupa heap ni se reconstruye al abrir.
+ * La instantánea no copia transacciones: guarda cuántas del historial
+ * cubre, tras forzarlas a disco. Al abrir, las transacciones de la cola
+ * del diario que el historial ya tenía se omiten y las que le faltan (el
+ * historial no fuerza cada escritura) se le agregan.
+ * 
+ * La instantánea se toma sin detener los casos de uso: se rota el diario
+ * (una pausa del orden de un fsync, esperando a que lo escrito en el
+ * segmento anterior se aplique en memoria) y luego se recorren los
+ * repositorios en memoria en segundo plano mientras las escrituras
+ * siguen en el segmento nuevo. El recorrido puede ver cambios posteriores
+ * a la rotación; como cada registro guarda el estado completo de la
+ * entidad, reproducir el segmento N encima deja el mismo estado final.
+ * 
+ * Principios aplicados:
+ * - SRP: Solo responsable de abrir, recuperar y compactar el almacenamiento
+ * - DIP: Los casos de uso siguen dependiendo de las interfaces de repositorio
+ */
+public final class AlmacenPersistente implements AutoCloseable {
+    
+    /** Registros escritos tras los que se toma una instantánea automática. */
+    public static final long REGISTROS_POR_INSTANTANEA_POR_DEFECTO = 1_000_000L;
+    
+    private static final String PREFIJO = "wallet-";
+    private static final String EXTENSION_DIARIO = ".wal";
+    private static final String EXTENSION_INSTANTANEA = ".snap";
+    private static final String DIRECTORIO_HISTORIAL = "historial";
+    private static final long REVISION_MS = 1_000L;
+    private static final int FRANJAS_CUENTAS = 256;
+    
+    private final Path directorio;
+    private final long registrosPorInstantanea;
+    private final UsuarioRepositoryInMemory usuariosEnMemoria;
+    private final CuentaRepositoryInMemory cuentasEnMemoria;
+    private final TransaccionRepositoryMapeado historial;
+    private final DiarioEscritura diario;
+    private final UsuarioRepositoryPersistente usuarioRepository;
+    private final CuentaRepositoryPersistente cuentaRepository;
+    private final TransaccionRepositoryPersistente transaccionRepository;
+    private final UnidadTrabajoPersistente unidadTrabajo;
+    
+    /**
+     * Las escrituras toman la lectura (compartida); la rotación toma la
+     * escritura para esperar a que terminen las que están en curso.
+     */
+    private final ReentrantReadWriteLock puerta = new ReentrantReadWriteLock();
+    /** Serializa instantáneas y limpieza. */
+    private final ReentrantLock compactacion = new ReentrantLock();
+    private final ScheduledExecutorService programador;
+    
+    private long segmentoActual;
+    /** Registros del diario (contados desde que se abrió) ya cubiertos por una instantánea. */
+    private volatile long registrosCubiertos;
+    
+    private long registrosRecuperados;
+    private long registrosCola;
+    private long nanosRecuperacion;
+    private boolean finInstantanea;
+    /** Transacciones del historial que cubre la instantánea cargada. */
+    private long transaccionesCubiertas;
+    /**
+     * Al abrir, IDs (con repeticiones) de las transacciones que el historial
+     * tiene después de lo cubierto y que la cola del diario aún no reprodujo.
+     */
+    private Map<String, Integer> transaccionesSinReproducir;
+    
+    private AlmacenPersistente(Path directorio, ModoSincronizacion modo, long registrosPorInstantanea)
+            throws IOException {
+        long inicio = System.nanoTime();
+        this.directorio = directorio;
+        this.registrosPorInstantanea = registrosPorInstantanea;
+        this.usuariosEnMemoria = new UsuarioRepositoryInMemory();
+        this.cuentasEnMemoria = new CuentaRepositoryInMemory();
+        Files.createDirectories(directorio);
+        // El diario es el registro durable; el historial se fuerza al tomar instantáneas
+        this.historial = TransaccionRepositoryMapeado.abrir(directorio.resolve(DIRECTORIO_HISTORIAL),
+            ModoSincronizacion.DIFERIDO);
+        this.transaccionesSinReproducir = new HashMap<>();
+        try {
+            List<Long> instantaneas = numerosDe(EXTENSION_INSTANTANEA);
+            long base = instantaneas.isEmpty() ? -1 : instantaneas.get(instantaneas.size() - 1);
+            if (base >= 0) {
+                DiarioEscritura.reproducirSegmento(archivo(base, EXTENSION_INSTANTANEA), this::aplicarInstantanea);
+                if (!finInstantanea) {
+                    throw new IOException("Instantánea incompleta: " + archivo(base, EXTENSION_INSTANTANEA));
+                }
+            }
+            if (historial.contar() < transaccionesCubiertas) {
+                throw new IOException("El historial tiene " + historial.contar()
+                    + " transacciones y la instantánea cubre " + transaccionesCubiertas);
+            }
+            historial.recorrerDesde(transaccionesCubiertas,
+                transaccion -> transaccionesSinReproducir.merge(transaccion.getId(), 1, Integer::sum));
+            
+            List<Long> segmentos = new ArrayList<>();
+            for (long numero : numerosDe(EXTENSION_DIARIO)) {
+                if (numero >= base) {
+                    segmentos.add(numero);
+                }
+            }
+            Consumer<ByteBuffer> cola = registro -> {
+                registrosCola++;
+                aplicar(registro);
+            };
+            for (int i = 0; i < segmentos.size() - 1; i++) {
+                DiarioEscritura.reproducirSegmento(archivo(segmentos.get(i), EXTENSION_DIARIO), cola);
+            }
+            this.segmentoActual = segmentos.isEmpty() ? Math.max(base, 0) : segmentos.get(segmentos.size() - 1);
+            this.diario = DiarioEscritura.abrir(archivo(segmentoActual, EXTENSION_DIARIO), modo, cola);
+        } catch (IOException | RuntimeException e) {
+            historial.close();
+            throw e;
+        }
+        if (!transaccionesSinReproducir.isEmpty()) {
+            // Solo en modo DIFERIDO: el diario perdió lo que el historial sí alcanzó a guardar
+            Logger.warning("El historial tiene {} transacciones que no están en el diario",
+                transaccionesSinReproducir.size());
+        }
+        transaccionesSinReproducir = null;
+        // La cola reproducida cuenta para la próxima instantánea
+        this.registrosCubiertos = -registrosCola;
+        this.nanosRecuperacion = System.nanoTime() - inicio;
+        
+        this.usuarioRepository = new UsuarioRepositoryPersistente(usuariosEnMemoria, diario, puerta.readLock());
+        GestorBloqueosCuentas bloqueosCuentas = new GestorBloqueosCuentas(FRANJAS_CUENTAS);
+        this.cuentaRepository = new CuentaRepositoryPersistente(cuentasEnMemoria, diario, puerta.readLock(),
+            bloqueosCuentas);
+        this.transaccionRepository = new TransaccionRepositoryPersistente(historial, diario, puerta.readLock());
+        this.unidadTrabajo = new UnidadTrabajoPersistente(cuentaRepository, transaccionRepository, diario,
+            puerta.readLock(), bloqueosCuentas);
+        
+        if (registrosPorInstantanea > 0) {
+            this.programador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "wallet-instantanea");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            programador.scheduleWithFixedDelay(this::revisarInstantanea, REVISION_MS, REVISION_MS,
+                TimeUnit.MILLISECONDS);
+        } else {
+            this.programador = null;
+        }
+    }
+    
+    /**
+     * Abre (o crea) el almacén con instantáneas automáticas cada
+     * {@value #REGISTROS_POR_INSTANTANEA_POR_DEFECTO} registros.
+     * 
+     * @see #abrir(Path, ModoSincronizacion, long)
+     */
+    public static AlmacenPersistente abrir(Path directorio, ModoSincronizacion modo) throws IOException {
+        return abrir(directorio, modo, REGISTROS_POR_INSTANTANEA_POR_DEFECTO);
+    }
+    
+    /**
+     * Abre el almacén del directorio indicado, creándolo si no existe, y
+     * recupera su contenido desde la última instantánea y el diario.
+     * 
+     * @param directorio directorio de datos
+     * @param modo política de sincronización del diario
+     * @param registrosPorInstantanea registros escritos tras los que se toma
+     *                                una instantánea en segundo plano (0 = solo manual)
+     * @return el almacén listo para usar
+     * @throws IOException si el diario o la instantánea no se pueden leer o no son válidos
+     */
+    public static AlmacenPersistente abrir(Path directorio, ModoSincronizacion modo, long registrosPorInstantanea)
+            throws IOException {
+        if (directorio == null) {
+            throw new IllegalArgumentException("El directorio de datos no puede ser nulo");
+        }
+        if (registrosPorInstantanea < 0) {
+            throw new IllegalArgumentException("El umbral de instantáneas no puede ser negativo");
+        }
+        return new AlmacenPersistente(directorio, modo, registrosPorInstantanea);
+    }
+    
+    private void aplicarInstantanea(ByteBuffer registro) {
+        if (registro.get(registro.position()) == CodificadorRegistros.FIN_INSTANTANEA) {
+            registro.get();
+            CodificadorRegistros.leerVarint(registro); // usuarios
+            CodificadorRegistros.leerVarint(registro); // cuentas
+            transaccionesCubiertas = CodificadorRegistros.leerVarint(registro);
+            finInstantanea = true;
+            return;
+        }
+        aplicar(registro);
+    }
+    
+    /**
+     * Aplica un registro recuperado sobre los repositorios en memoria o el
+     * historial.
+     */
+    private void aplicar(ByteBuffer registro) {
+        registrosRecuperados++;
+        aplicarContenido(registro);
+    }
+    
+    private void aplicarContenido(ByteBuffer registro) {
+        byte tipo = registro.get();
+        switch (tipo) {
+            case CodificadorRegistros.USUARIO_GUARDADO:
+                try {
+                    usuariosEnMemoria.guardar(CodificadorRegistros.leerUsuario(registro));
+                } catch (OperacionNoValidaException e) {
+                    // Estado intermedio que choca con uno posterior ya incluido en la
+                    // instantánea; un registro más adelante deja el estado final
+                }
+                break;
+            case CodificadorRegistros.USUARIO_ELIMINADO:
+                usuariosEnMemoria.eliminar(CodificadorRegistros.leerCadena(registro));
+                break;
+            case CodificadorRegistros.CUENTA_GUARDADA:
+                cuentasEnMemoria.guardar(CodificadorRegistros.leerCuenta(registro));
+                break;
+            case CodificadorRegistros.CUENTA_ELIMINADA:
+                cuentasEnMemoria.eliminar(CodificadorRegistros.leerCadena(registro));
+                break;
+            case CodificadorRegistros.TRANSACCION_GUARDADA:
+                recuperarTransaccion(CodificadorRegistros.leerTransaccion(registro));
+                break;
+            case CodificadorRegistros.UNIDAD:
+                CodificadorRegistros.leerUnidad(registro, this::aplicarContenido);
+                break;
+            default:
+                throw new IllegalStateException("Tipo de registro desconocido en el diario: " + tipo);
+        }
+    }
+    
+    /**
+     * Agrega al historial una transacción de la cola del diario, salvo que
+     * ya la tuviera de antes de la caída.
+     */
+    private void recuperarTransaccion(Transaccion transaccion) {
+        Integer pendientes = transaccionesSinReproducir.get(transaccion.getId());
+        if (pendientes == null) {
+            historial.guardar(transaccion);
+        } else if (pendientes == 1) {
+            transaccionesSinReproducir.remove(transaccion.getId());
+        } else {
+            transaccionesSinReproducir.put(transaccion.getId(), pendientes - 1);
+        }
+    }
+    
+    /**
+     * Toma una instantánea del estado actual y descarta los segmentos y
+     * las instantáneas que cubre. Las escrituras solo se detienen mientras
+     * se rota el diario.
+     * 
+     * @throws IOException si no se puede escribir la instantánea; el
+     *                     almacén sigue funcionando con el diario completo
+     */
+    public void tomarInstantanea() throws IOException {
+        compactacion.lock();
+        try {
+            long numero;
+            long registrosAlRotar;
+            long transaccionesAlRotar;
+            puerta.writeLock().lock();
+            try {
+                numero = segmentoActual + 1;
+                diario.rotar(archivo(numero, EXTENSION_DIARIO));
+                segmentoActual = numero;
+                registrosAlRotar = diario.getRegistrosEscritos();
+                // Cada escritura agrega al historial antes de soltar la puerta: estas
+                // son exactamente las transacciones de los segmentos anteriores
+                transaccionesAlRotar = historial.contar();
+            } finally {
+                puerta.writeLock().unlock();
+            }
+            // Los segmentos que se borran después son la única otra copia
+            historial.sincronizar();
+            
+            DiarioEscritura.escribirArchivo(archivo(numero, EXTENSION_INSTANTANEA), salida -> {
+                long[] usuarios = {0};
+                long[] cuentas = {0};
+                usuariosEnMemoria.obtenerTodos().forEach(usuario -> {
+                    salida.accept(CodificadorRegistros.usuarioGuardado(usuario));
+                    usuarios[0]++;
+                });
+                cuentasEnMemoria.obtenerTodas().forEach(cuenta -> {
+                    salida.accept(CodificadorRegistros.cuentaGuardada(cuenta));
+                    cuentas[0]++;
+                });
+                salida.accept(CodificadorRegistros.finInstantanea(usuarios[0], cuentas[0], transaccionesAlRotar));
+            });
+            registrosCubiertos = registrosAlRotar;
+            
+            for (long anterior : numerosDe(EXTENSION_DIARIO)) {
+                if (anterior < numero) {
+                    Files.deleteIfExists(archivo(anterior, EXTENSION_DIARIO));
+                }
+            }
+            for (long anterior : numerosDe(EXTENSION_INSTANTANEA)) {
+                if (anterior < numero) {
+                    Files.deleteIfExists(archivo(anterior, EXTENSION_INSTANTANEA));
+                }
+            }
+        } finally {
+            compactacion.unlock();
+        }
+    }
+    
+    private void revisarInstantanea() {
+        if (getRegistrosDesdeInstantanea() < registrosPorInstantanea) {
+            return;
+        }
+        try {
+            tomarInstantanea();
+        } catch (IOException | UncheckedIOException | IllegalStateException e) {
+            Logger.error("No se pudo tomar la instantánea del almacén: {}", e.getMessage());
+        }
+    }
+    
+    private Path archivo(long numero, String extension) {
+        return directorio.resolve(String.format("%s%019d%s", PREFIJO, numero, extension));
+    }
+    
+    /**
+     * Números de los archivos con la extensión indicada, en orden ascendente.
+     */
+    private List<Long> numerosDe(String extension) throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, PREFIJO + "*" + extension)) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                String numero = nombre.substring(PREFIJO.length(), nombre.length() - extension.length());
+                try {
+                    numeros.add(Long.parseLong(numero));
+                } catch (NumberFormatException e) {
+                    // No es un archivo del almacén
+                }
+            }
+        }
+        Collections.sort(numeros);
+        return numeros;
+    }
+    
+    public UsuarioRepositoryPersistente getUsuarioRepository() {
+        return usuarioRepository;
+    }
+    
+    public CuentaRepositoryPersistente getCuentaRepository() {
+        return cuentaRepository;
+    }
+    
+    public TransaccionRepositoryPersistente getTransaccionRepository() {
+        return transaccionRepository;
+    }
+    
+    public UnidadTrabajoPersistente getUnidadTrabajo() {
+        return unidadTrabajo;
+    }
+    
+    public ModoSincronizacion getModo() {
+        return diario.getModo();
+    }
+    
+    /**
+     * Número de fsync del diario desde que se abrió el almacén.
+     */
+    public long getSincronizaciones() {
+        return diario.getSincronizaciones();
+    }
+    
+    /**
+     * Número de registros hechos durables desde que se abrió el almacén.
+     */
+    public long getRegistrosEscritos() {
+        return diario.getRegistrosEscritos();
+    }
+    
+    /**
+     * Registros del diario que la próxima instantánea dejaría de reproducir.
+     */
+    public long getRegistrosDesdeInstantanea() {
+        return diario.getRegistrosEscritos() - registrosCubiertos;
+    }
+    
+    /**
+     * Registros aplicados al abrir (instantánea más cola del diario).
+     */
+    public long getRegistrosRecuperados() {
+        return registrosRecuperados;
+    }
+    
+    /**
+     * Registros del diario reproducidos al abrir después de la instantánea.
+     */
+    public long getRegistrosCola() {
+        return registrosCola;
+    }
+    
+    /**
+     * Tiempo que tomó recuperar el estado al abrir, en nanosegundos.
+     */
+    public long getNanosRecuperacion() {
+        return nanosRecuperacion;
+    }
+    
+    /**
+     * Borra todos los datos, en disco y en memoria (útil para testing).
+     */
+    public void limpiar() {
+        compactacion.lock();
+        puerta.writeLock().lock();
+        try {
+            diario.vaciar();
+            for (String extension : new String[] {EXTENSION_DIARIO, EXTENSION_INSTANTANEA}) {
+                for (long numero : numerosDe(extension)) {
+                    if (numero != segmentoActual || !extension.equals(EXTENSION_DIARIO)) {
+                        Files.deleteIfExists(archivo(numero, extension));
+                    }
+                }
+            }
+            usuariosEnMemoria.limpiar();
+            cuentasEnMemoria.limpiar();
+            historial.limpiar();
+            registrosCubiertos = diario.getRegistrosEscritos();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            puerta.writeLock().unlock();
+            compactacion.unlock();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (programador != null) {
+            programador.shutdown();
+        }
+        compactacion.lock();
+        try {
+            diario.close();
+        } finally {
+            try {
+                historial.close();
+            } finally {
+                compactacion.unlock();
+            }
+        }
+    }
+}
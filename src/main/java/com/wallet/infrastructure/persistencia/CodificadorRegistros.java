@@ -0,0 +1,332 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.entities.Usuario;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.DocumentoIdentidad;
+import com.wallet.domain.valueobjects.Email;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Codificación binaria compacta de los registros del diario.
+ *
+ * Cada registro empieza con un byte de tipo. Las cadenas se escriben como
+ * longitud variable (varint) más UTF-8, las fechas como segundos y
+ * nanosegundos, y los montos como centavos en varint cuando caben en un
+ * long. Los valores opcionales llevan la longitud desplazada en uno (0 =
+ * nulo). Los enums se guardan por ordinal: agregar constantes al final es
+ * compatible, reordenarlas no.
+ *
+ * Principios aplicados:
+ * - SRP: Solo responsable de traducir entidades a bytes y de vuelta
+ * - Compacidad: Sin nombres de campo ni texto redundante por registro
+ */
+final class CodificadorRegistros {
+    
+    static final byte USUARIO_GUARDADO = 1;
+    static final byte USUARIO_ELIMINADO = 2;
+    static final byte CUENTA_GUARDADA = 3;
+    static final byte CUENTA_ELIMINADA = 4;
+    static final byte TRANSACCION_GUARDADA = 5;
+    /** Cierre de una instantánea: usuarios, cuentas y transacciones del historial que cubre. */
+    static final byte FIN_INSTANTANEA = 6;
+    /** Varios registros que se aplican juntos: una transferencia, un depósito. */
+    static final byte UNIDAD = 7;
+    
+    private static final byte MONTO_CENTAVOS = 0;
+    private static final byte MONTO_DECIMAL = 1;
+    
+    private CodificadorRegistros() {
+        throw new AssertionError("No se debe instanciar CodificadorRegistros");
+    }
+    
+    static byte[] usuarioGuardado(Usuario usuario) {
+        Salida salida = new Salida(128);
+        salida.byte_(USUARIO_GUARDADO);
+        salida.cadena(usuario.getId());
+        salida.cadena(usuario.getNombre());
+        salida.cadena(usuario.getApellido());
+        salida.cadena(usuario.getEmail().getValor());
+        salida.byte_((byte) usuario.getDocumentoIdentidad().getTipo().ordinal());
+        salida.cadena(usuario.getDocumentoIdentidad().getNumero());
+        salida.fecha(usuario.getFechaCreacion());
+        salida.fecha(usuario.getFechaActualizacion());
+        salida.booleano(usuario.isActivo());
+        return salida.bytes();
+    }
+    
+    static byte[] cuentaGuardada(Cuenta cuenta) {
+        Salida salida = new Salida(96);
+        salida.byte_(CUENTA_GUARDADA);
+        salida.cadena(cuenta.getId());
+        salida.cadena(cuenta.getNumeroCuenta());
+        salida.cadena(cuenta.getUsuarioId());
+        salida.dinero(cuenta.getSaldo());
+        salida.fecha(cuenta.getFechaCreacion());
+        salida.fecha(cuenta.getFechaActualizacion());
+        salida.booleano(cuenta.isActiva());
+        return salida.bytes();
+    }
+    
+    static byte[] transaccionGuardada(Transaccion transaccion) {
+        Salida salida = new Salida(160);
+        salida.byte_(TRANSACCION_GUARDADA);
+        salida.cadena(transaccion.getId());
+        salida.byte_((byte) transaccion.getTipo().ordinal());
+        salida.dinero(transaccion.getMonto());
+        salida.cadena(transaccion.getCuentaOrigenId());
+        salida.cadena(transaccion.getCuentaDestinoId());
+        salida.cadena(transaccion.getDescripcion());
+        salida.fecha(transaccion.getFecha());
+        salida.dinero(transaccion.getSaldoAnterior());
+        salida.dinero(transaccion.getSaldoNuevo());
+        return salida.bytes();
+    }
+    
+    static byte[] eliminacion(byte tipo, String id) {
+        Salida salida = new Salida(48);
+        salida.byte_(tipo);
+        salida.cadena(id);
+        return salida.bytes();
+    }
+    
+    static byte[] finInstantanea(long usuarios, long cuentas, long transacciones) {
+        Salida salida = new Salida(32);
+        salida.byte_(FIN_INSTANTANEA);
+        salida.varint(usuarios);
+        salida.varint(cuentas);
+        salida.varint(transacciones);
+        return salida.bytes();
+    }
+    
+    /**
+     * Agrupa registros en uno solo. El diario verifica cada registro con su
+     * propio CRC, así que tras una caída la unidad se reproduce completa o
+     * se descarta completa.
+     */
+    static byte[] unidad(byte[]... registros) {
+        int tamano = 6;
+        for (byte[] registro : registros) {
+            tamano += 5 + registro.length;
+        }
+        Salida salida = new Salida(tamano);
+        salida.byte_(UNIDAD);
+        salida.varint(registros.length);
+        for (byte[] registro : registros) {
+            salida.varint(registro.length);
+            salida.crudo(registro);
+        }
+        return salida.bytes();
+    }
+    
+    /**
+     * Entrega en orden los registros de una unidad (leído ya el tipo), cada
+     * uno como una vista de la entrada.
+     */
+    static void leerUnidad(ByteBuffer entrada, Consumer<ByteBuffer> consumidor) {
+        long cantidad = leerVarint(entrada);
+        for (long i = 0; i < cantidad; i++) {
+            int longitud = (int) leerVarint(entrada);
+            ByteBuffer registro = entrada.slice(entrada.position(), longitud).order(entrada.order());
+            entrada.position(entrada.position() + longitud);
+            consumidor.accept(registro);
+        }
+    }
+    
+    static Usuario leerUsuario(ByteBuffer entrada) {
+        String id = leerCadena(entrada);
+        String nombre = leerCadena(entrada);
+        String apellido = leerCadena(entrada);
+        Email email = new Email(leerCadena(entrada));
+        DocumentoIdentidad.TipoDocumento tipoDocumento = DocumentoIdentidad.TipoDocumento.values()[entrada.get()];
+        DocumentoIdentidad documento = new DocumentoIdentidad(leerCadena(entrada), tipoDocumento);
+        LocalDateTime creacion = leerFecha(entrada);
+        LocalDateTime actualizacion = leerFecha(entrada);
+        boolean activo = entrada.get() != 0;
+        return new Usuario(id, nombre, apellido, email, documento, creacion, actualizacion, activo);
+    }
+    
+    static Cuenta leerCuenta(ByteBuffer entrada) {
+        String id = leerCadena(entrada);
+        String numero = leerCadena(entrada);
+        String usuarioId = leerCadena(entrada);
+        Dinero saldo = leerDinero(entrada);
+        LocalDateTime creacion = leerFecha(entrada);
+        LocalDateTime actualizacion = leerFecha(entrada);
+        boolean activa = entrada.get() != 0;
+        return new Cuenta(id, numero, usuarioId, saldo, creacion, actualizacion, activa);
+    }
+    
+    static Transaccion leerTransaccion(ByteBuffer entrada) {
+        String id = leerCadena(entrada);
+        TipoTransaccion tipo = TipoTransaccion.values()[entrada.get()];
+        Dinero monto = leerDinero(entrada);
+        String origen = leerCadena(entrada);
+        String destino = leerCadena(entrada);
+        String descripcion = leerCadena(entrada);
+        LocalDateTime fecha = leerFecha(entrada);
+        Dinero saldoAnterior = leerDinero(entrada);
+        Dinero saldoNuevo = leerDinero(entrada);
+        return new Transaccion(id, tipo, monto, origen, destino, descripcion, fecha, saldoAnterior, saldoNuevo);
+    }
+    
+    static String leerCadena(ByteBuffer entrada) {
+        int longitud = (int) leerVarint(entrada) - 1;
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[longitud];
+        entrada.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+    
+    private static LocalDateTime leerFecha(ByteBuffer entrada) {
+        if (entrada.get() == 0) {
+            return null;
+        }
+        long segundos = entrada.getLong();
+        int nanos = entrada.getInt();
+        return LocalDateTime.ofEpochSecond(segundos, nanos, ZoneOffset.UTC);
+    }
+    
+    private static Dinero leerDinero(ByteBuffer entrada) {
+        String codigo = leerCadena(entrada);
+        if (codigo == null) {
+            return null;
+        }
+        Moneda moneda = Moneda.de(codigo);
+        BigDecimal cantidad;
+        if (entrada.get() == MONTO_CENTAVOS) {
+            cantidad = BigDecimal.valueOf(decodificarZigZag(leerVarint(entrada)), 2);
+        } else {
+            cantidad = new BigDecimal(leerCadena(entrada));
+        }
+        return new Dinero(cantidad, moneda);
+    }
+    
+    static long leerVarint(ByteBuffer entrada) {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            byte b = entrada.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Varint mal formado en el diario");
+    }
+    
+    private static long decodificarZigZag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+    
+    /**
+     * Buffer de salida que crece según se necesita.
+     */
+    private static final class Salida {
+        
+        private byte[] datos;
+        private int posicion;
+        
+        Salida(int capacidad) {
+            this.datos = new byte[capacidad];
+        }
+        
+        void byte_(byte valor) {
+            asegurar(1);
+            datos[posicion++] = valor;
+        }
+        
+        void booleano(boolean valor) {
+            byte_(valor ? (byte) 1 : (byte) 0);
+        }
+        
+        void varint(long valor) {
+            asegurar(10);
+            while ((valor & ~0x7FL) != 0) {
+                datos[posicion++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            datos[posicion++] = (byte) valor;
+        }
+        
+        void largo(long valor) {
+            asegurar(8);
+            for (int i = 0; i < 8; i++) {
+                datos[posicion++] = (byte) (valor >>> (8 * i));
+            }
+        }
+        
+        void entero(int valor) {
+            asegurar(4);
+            for (int i = 0; i < 4; i++) {
+                datos[posicion++] = (byte) (valor >>> (8 * i));
+            }
+        }
+        
+        void cadena(String valor) {
+            if (valor == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1L);
+            crudo(utf8);
+        }
+        
+        void crudo(byte[] valor) {
+            asegurar(valor.length);
+            System.arraycopy(valor, 0, datos, posicion, valor.length);
+            posicion += valor.length;
+        }
+        
+        void fecha(LocalDateTime fecha) {
+            if (fecha == null) {
+                byte_((byte) 0);
+                return;
+            }
+            byte_((byte) 1);
+            largo(fecha.toEpochSecond(ZoneOffset.UTC));
+            entero(fecha.getNano());
+        }
+        
+        void dinero(Dinero dinero) {
+            if (dinero == null) {
+                cadena(null);
+                return;
+            }
+            cadena(dinero.getMonedaCanonica().getCodigo());
+            BigDecimal cantidad = dinero.getCantidad();
+            BigInteger sinEscala = cantidad.unscaledValue();
+            if (cantidad.scale() == 2 && sinEscala.bitLength() < Long.SIZE) {
+                long centavos = sinEscala.longValue();
+                byte_(MONTO_CENTAVOS);
+                varint((centavos << 1) ^ (centavos >> 63));
+            } else {
+                byte_(MONTO_DECIMAL);
+                cadena(cantidad.toPlainString());
+            }
+        }
+        
+        private void asegurar(int adicional) {
+            if (posicion + adicional > datos.length) {
+                datos = Arrays.copyOf(datos, Math.max(datos.length * 2, posicion + adicional));
+            }
+        }
+        
+        byte[] bytes() {
+            return Arrays.copyOf(datos, posicion);
+        }
+    }
+}
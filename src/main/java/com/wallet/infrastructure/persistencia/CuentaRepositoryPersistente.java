@@ -0,0 +1,140 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.repositories.ICuentaRepository;
+import com.wallet.infrastructure.repositories.CuentaRepositoryInMemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Repositorio de cuentas persistido en el diario de escritura anticipada.
+ * 
+ * Las lecturas se atienden desde un {@link CuentaRepositoryInMemory} que
+ * se reconstruye reproduciendo el diario al abrir. Cada escritura se
+ * registra en el diario y solo se aplica en memoria cuando ya es durable.
+ * La memoria guarda copias propias y las lecturas entregan copias, igual
+ * que {@code CuentaRepositoryOffHeap}: los casos de uso modifican la
+ * cuenta leída antes de guardarla, y si el diario falla ese cambio no
+ * debe quedar visible para otros lectores ni para una instantánea.
+ * Las escrituras sobre una misma cuenta se serializan por franjas
+ * (compartidas con {@link UnidadTrabajoPersistente}) para que el orden del
+ * diario coincida con el orden en memoria, y todas pasan por
+ * la puerta compartida del almacén para que una instantánea sepa cuándo
+ * lo escrito en el segmento anterior ya está aplicado.
+ * 
+ * @author Wallet Team
+ * @version 1.0.0
+ */
+public class CuentaRepositoryPersistente implements ICuentaRepository {
+    
+    private final CuentaRepositoryInMemory memoria;
+    private final DiarioEscritura diario;
+    private final Lock puerta;
+    private final GestorBloqueosCuentas bloqueos;
+    
+    CuentaRepositoryPersistente(CuentaRepositoryInMemory memoria, DiarioEscritura diario, Lock puerta,
+                                GestorBloqueosCuentas bloqueos) {
+        this.memoria = memoria;
+        this.diario = diario;
+        this.puerta = puerta;
+        this.bloqueos = bloqueos;
+    }
+    
+    @Override
+    public Cuenta guardar(Cuenta cuenta) {
+        if (cuenta == null) {
+            throw new IllegalArgumentException("La cuenta no puede ser nula");
+        }
+        puerta.lock();
+        try {
+            return bloqueos.ejecutar(cuenta.getId(), () -> {
+                diario.escribir(CodificadorRegistros.cuentaGuardada(cuenta));
+                aplicar(cuenta);
+                return cuenta;
+            });
+        } finally {
+            puerta.unlock();
+        }
+    }
+    
+    @Override
+    public Optional<Cuenta> buscarPorId(String id) {
+        return memoria.buscarPorId(id).map(CuentaRepositoryPersistente::copiar);
+    }
+    
+    @Override
+    public Optional<Cuenta> buscarPorNumeroCuenta(String numeroCuenta) {
+        return memoria.buscarPorNumeroCuenta(numeroCuenta).map(CuentaRepositoryPersistente::copiar);
+    }
+    
+    @Override
+    public List<Cuenta> buscarPorUsuarioId(String usuarioId) {
+        return copiar(memoria.buscarPorUsuarioId(usuarioId));
+    }
+    
+    @Override
+    public List<Cuenta> obtenerActivasPorUsuario(String usuarioId) {
+        return copiar(memoria.obtenerActivasPorUsuario(usuarioId));
+    }
+    
+    @Override
+    public List<Cuenta> obtenerTodas() {
+        return copiar(memoria.obtenerTodas());
+    }
+    
+    @Override
+    public boolean eliminar(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return false;
+        }
+        puerta.lock();
+        try {
+            return bloqueos.ejecutar(id, () -> {
+                if (memoria.buscarPorId(id).isEmpty()) {
+                    return false;
+                }
+                diario.escribir(CodificadorRegistros.eliminacion(CodificadorRegistros.CUENTA_ELIMINADA, id));
+                return memoria.eliminar(id);
+            });
+        } finally {
+            puerta.unlock();
+        }
+    }
+    
+    @Override
+    public boolean existeNumeroCuenta(String numeroCuenta) {
+        return memoria.existeNumeroCuenta(numeroCuenta);
+    }
+    
+    /**
+     * Publica en memoria una cuenta ya registrada en el diario. Se llama con
+     * la franja de la cuenta tomada.
+     */
+    void aplicar(Cuenta cuenta) {
+        memoria.guardar(copiar(cuenta));
+    }
+    
+    /**
+     * Retorna el número de cuentas almacenadas.
+     */
+    public int contar() {
+        return memoria.contar();
+    }
+    
+    private static Cuenta copiar(Cuenta cuenta) {
+        return new Cuenta(cuenta.getId(), cuenta.getNumeroCuenta(), cuenta.getUsuarioId(), cuenta.getSaldo(),
+            cuenta.getFechaCreacion(), cuenta.getFechaActualizacion(), cuenta.isActiva());
+    }
+    
+    private static List<Cuenta> copiar(List<Cuenta> cuentas) {
+        List<Cuenta> copias = new ArrayList<>(cuentas.size());
+        for (Cuenta cuenta : cuentas) {
+            copias.add(copiar(cuenta));
+        }
+        return copias;
+    }
+}
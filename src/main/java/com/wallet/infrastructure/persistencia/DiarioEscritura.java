@@ -0,0 +1,606 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario de escritura anticipada (write-ahead log) de solo agregado.
+ *
+ * Formato (little-endian):
+ * <pre>
+ *   int    magia "WWAL"
+ *   short  versión
+ *   n × (int longitud, int crc32c del contenido, byte[longitud] contenido)
+ * </pre>
+ * {@link #escribir(byte[])} no retorna hasta que el registro es durable;
+ * {@link #agregar(byte[])} y {@link #esperarDurable(long)} separan ambos
+ * pasos para quien debe ordenar el registro bajo su propio bloqueo.
+ * En modo {@link ModoSincronizacion#GRUPO} no hay hilo dedicado: el primer
+ * escritor que encuentra el disco libre se convierte en líder, escribe
+ * todo lo acumulado con un único fsync y despierta a los demás; mientras
+ * tanto los registros que llegan se acumulan para el siguiente lote. Con
+ * un escritor el costo es el mismo que un fsync por operación; con muchos,
+ * el fsync se reparte entre todos los del lote.
+ *
+ * Al abrir se reproducen los registros válidos y se trunca la cola que no
+ * pase la verificación (un registro a medio escribir por una caída), así
+ * que cada registro se reproduce completo o no se reproduce;
+ * {@link #agregarUnidad(byte[]...)} aprovecha eso para que varios cambios
+ * sean atómicos. La lectura avanza por bloques grandes, no por registro. {@link #rotar(Path)}
+ * cierra el archivo actual y sigue agregando en uno nuevo, lo que permite
+ * descartar los segmentos ya cubiertos por una instantánea. Tras
+ * un error de E/S el diario queda inutilizable: no se sabe qué llegó al
+ * disco y seguir escribiendo podría dejar huecos.
+ *
+ * Principios aplicados:
+ * - SRP: Solo responsable de agregar registros y hacerlos durables
+ * - Rendimiento: Un fsync por lote de escritores concurrentes
+ */
+final class DiarioEscritura implements AutoCloseable {
+    
+    private static final int MAGIA = 0x4C415757; // "WWAL" en little-endian
+    private static final short VERSION = 1;
+    private static final int TAMANO_CABECERA = 4 + 2;
+    private static final int TAMANO_MARCO = 4 + 4;
+    /** Límite de un registro; protege la recuperación de longitudes corruptas. */
+    static final int TAMANO_MAXIMO_REGISTRO = 16 * 1024 * 1024;
+    private static final int CAPACIDAD_INICIAL = 64 * 1024;
+    private static final int TAMANO_LECTURA = 1024 * 1024;
+    
+    private static final MetricaOperacion METRICA_FSYNC = RegistroMetricas.global().operacion("DiarioFsync");
+    
+    private final ModoSincronizacion modo;
+    // Solo cambian en rotar(), con el lock tomado y sin lote en curso
+    private Path archivo;
+    private FileChannel canal;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition sincronizado = lock.newCondition();
+    /** Registros agregados que aún no se escribieron. */
+    private ByteBuffer pendiente = nuevoBuffer(CAPACIDAD_INICIAL);
+    /** Buffer de repuesto que el líder usa mientras escribe fuera del lock. */
+    private ByteBuffer repuesto = nuevoBuffer(CAPACIDAD_INICIAL);
+    private long secuenciaAsignada;
+    private long secuenciaDurable;
+    private boolean sincronizando;
+    private IOException error;
+    private boolean cerrado;
+    
+    private long sincronizaciones;
+    private final CRC32C crc = new CRC32C();
+    
+    private DiarioEscritura(Path archivo, ModoSincronizacion modo, FileChannel canal) {
+        this.archivo = archivo;
+        this.modo = modo;
+        this.canal = canal;
+    }
+    
+    /**
+     * Abre (o crea) el diario y reproduce sus registros válidos.
+     *
+     * @param archivo ruta del diario
+     * @param modo política de sincronización
+     * @param consumidor recibe el contenido de cada registro, en orden
+     * @return el diario, posicionado al final para seguir agregando
+     * @throws IOException si no se puede abrir o no es un diario válido
+     */
+    static DiarioEscritura abrir(Path archivo, ModoSincronizacion modo, Consumer<ByteBuffer> consumidor)
+            throws IOException {
+        if (modo == null) {
+            throw new IllegalArgumentException("El modo de sincronización no puede ser nulo");
+        }
+        FileChannel canal = abrirCanal(archivo);
+        try {
+            long fin = reproducir(canal, archivo, consumidor);
+            if (fin < canal.size()) {
+                canal.truncate(fin);
+                canal.force(true);
+            }
+            canal.position(fin);
+            return new DiarioEscritura(archivo, modo, canal);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Reproduce un segmento cerrado sin abrirlo para escritura.
+     *
+     * @param archivo ruta del segmento
+     * @param consumidor recibe el contenido de cada registro, en orden
+     * @throws IOException si no se puede leer o algún registro no es válido
+     */
+    static void reproducirSegmento(Path archivo, Consumer<ByteBuffer> consumidor) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long fin = reproducir(canal, archivo, consumidor);
+            if (fin != canal.size()) {
+                // Solo el último segmento puede terminar en un registro a medio escribir
+                throw new IOException("Segmento de diario corrupto en la posición " + fin + ": " + archivo);
+            }
+        }
+    }
+    
+    /**
+     * Escribe de una vez un archivo con el formato del diario (para
+     * instantáneas). El contenido va a un temporal que reemplaza al
+     * destino solo cuando ya está en disco, así que nunca se lee un
+     * archivo a medio escribir.
+     *
+     * @param archivo ruta de destino
+     * @param productor entrega los registros, en orden
+     * @throws IOException si no se puede escribir
+     */
+    static void escribirArchivo(Path archivo, Productor productor) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        Path temporal = Files.createTempFile(directorio, archivo.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = nuevoBuffer(TAMANO_LECTURA);
+                buffer.putInt(MAGIA).putShort(VERSION);
+                CRC32C calculador = new CRC32C();
+                try {
+                    productor.producir(registro -> {
+                        try {
+                            int necesario = TAMANO_MARCO + registro.length;
+                            if (buffer.remaining() < necesario) {
+                                escribirTodo(canal, buffer.flip(), canal.position());
+                                buffer.clear();
+                            }
+                            calculador.reset();
+                            calculador.update(registro);
+                            if (buffer.remaining() < necesario) {
+                                ByteBuffer grande = nuevoBuffer(necesario);
+                                grande.putInt(registro.length).putInt((int) calculador.getValue()).put(registro);
+                                escribirTodo(canal, grande.flip(), canal.position());
+                            } else {
+                                buffer.putInt(registro.length).putInt((int) calculador.getValue()).put(registro);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                escribirTodo(canal, buffer.flip(), canal.position());
+                canal.force(true);
+            }
+            try {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+            sincronizarDirectorio(directorio);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+    
+    /**
+     * Fuerza a disco la entrada de directorio de un archivo recién movido.
+     * No todas las plataformas permiten abrir un directorio; ahí se omite.
+     */
+    static void sincronizarDirectorio(Path directorio) {
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Sin soporte para sincronizar directorios en esta plataforma
+        }
+    }
+    
+    /**
+     * Fuente de registros para {@link #escribirArchivo(Path, Productor)}.
+     */
+    @FunctionalInterface
+    interface Productor {
+        void producir(Consumer<byte[]> salida) throws IOException;
+    }
+    
+    private static FileChannel abrirCanal(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (canal.size() == 0) {
+                ByteBuffer cabecera = nuevoBuffer(TAMANO_CABECERA).putInt(MAGIA).putShort(VERSION).flip();
+                escribirTodo(canal, cabecera, 0);
+                canal.force(true);
+            }
+            return canal;
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Lee los registros desde el inicio. El buffer entregado al consumidor
+     * solo es válido durante la llamada.
+     *
+     * @return posición siguiente al último registro válido
+     */
+    private static long reproducir(FileChannel canal, Path archivo, Consumer<ByteBuffer> consumidor)
+            throws IOException {
+        ByteBuffer cabecera = nuevoBuffer(TAMANO_CABECERA);
+        if (leerCompleto(canal, cabecera, 0) < TAMANO_CABECERA || cabecera.getInt(0) != MAGIA) {
+            throw new IOException("El archivo no es un diario de escritura: " + archivo);
+        }
+        short version = cabecera.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Versión de diario no soportada: " + version);
+        }
+        
+        long posicion = TAMANO_CABECERA;
+        ByteBuffer buffer = nuevoBuffer(TAMANO_LECTURA).limit(0);
+        CRC32C verificador = new CRC32C();
+        while (true) {
+            if (buffer.remaining() < TAMANO_MARCO) {
+                buffer = rellenar(canal, buffer, posicion, TAMANO_MARCO);
+                if (buffer.remaining() < TAMANO_MARCO) {
+                    break;
+                }
+            }
+            int longitud = buffer.getInt(buffer.position());
+            int esperado = buffer.getInt(buffer.position() + 4);
+            if (longitud <= 0 || longitud > TAMANO_MAXIMO_REGISTRO) {
+                break;
+            }
+            int total = TAMANO_MARCO + longitud;
+            if (buffer.remaining() < total) {
+                buffer = rellenar(canal, buffer, posicion, total);
+                if (buffer.remaining() < total) {
+                    break;
+                }
+            }
+            ByteBuffer contenido = buffer.slice(buffer.position() + TAMANO_MARCO, longitud);
+            verificador.reset();
+            verificador.update(contenido.duplicate());
+            if ((int) verificador.getValue() != esperado) {
+                break;
+            }
+            consumidor.accept(contenido.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN));
+            buffer.position(buffer.position() + total);
+            posicion += total;
+        }
+        return posicion;
+    }
+    
+    /**
+     * Conserva lo no consumido del buffer (que empieza en la posición
+     * indicada del archivo), lo agranda si no cabe un marco del tamaño
+     * necesario y completa con lo que siga en el archivo.
+     */
+    private static ByteBuffer rellenar(FileChannel canal, ByteBuffer buffer, long posicion, int necesario)
+            throws IOException {
+        int pendientes = buffer.remaining();
+        ByteBuffer destino;
+        if (buffer.capacity() < necesario) {
+            destino = nuevoBuffer(Integer.highestOneBit(necesario - 1) << 1);
+            destino.put(buffer);
+        } else {
+            destino = buffer.compact();
+        }
+        leerCompleto(canal, destino, posicion + pendientes);
+        return destino.flip();
+    }
+    
+    /**
+     * Agrega un registro y espera a que sea durable.
+     *
+     * @param registro contenido del registro
+     * @throws UncheckedIOException si no se pudo escribir o el diario falló antes
+     * @throws IllegalStateException si el diario está cerrado
+     */
+    void escribir(byte[] registro) {
+        esperarDurable(agregar(registro));
+    }
+    
+    /**
+     * Agrega un registro sin esperar a que sea durable. Fija la posición
+     * del registro en el diario, así que quien necesita que el orden del
+     * diario coincida con otro orden solo debe sostener su bloqueo durante
+     * esta llamada y esperar con {@link #esperarDurable(long)} después de
+     * soltarlo, para que otros escritores entren en el mismo lote.
+     *
+     * @param registro contenido del registro
+     * @return número de secuencia del registro
+     * @throws UncheckedIOException si el diario falló antes
+     * @throws IllegalStateException si el diario está cerrado
+     */
+    long agregar(byte[] registro) {
+        if (registro == null || registro.length == 0 || registro.length > TAMANO_MAXIMO_REGISTRO) {
+            throw new IllegalArgumentException("Tamaño de registro inválido");
+        }
+        lock.lock();
+        try {
+            verificarDisponible();
+            encolar(registro);
+            return ++secuenciaAsignada;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Agrega varios registros como una sola entrada, con un solo CRC: tras
+     * una caída se reproducen todos o ninguno, y basta una espera con
+     * {@link #esperarDurable(long)} para todos.
+     *
+     * @param registros contenido de cada registro, en el orden en que se aplican
+     * @return número de secuencia de la entrada
+     * @throws UncheckedIOException si el diario falló antes
+     * @throws IllegalStateException si el diario está cerrado
+     */
+    long agregarUnidad(byte[]... registros) {
+        return agregar(CodificadorRegistros.unidad(registros));
+    }
+    
+    /**
+     * Espera a que el registro con la secuencia indicada sea durable; si
+     * nadie está escribiendo, quien espera se convierte en líder del lote.
+     *
+     * @param secuencia número retornado por {@link #agregar(byte[])}
+     * @throws UncheckedIOException si no se pudo escribir o el diario falló antes
+     * @throws IllegalStateException si el diario está cerrado
+     */
+    void esperarDurable(long secuencia) {
+        lock.lock();
+        try {
+            while (secuenciaDurable < secuencia) {
+                verificarDisponible();
+                if (sincronizando) {
+                    sincronizado.awaitUninterruptibly();
+                } else {
+                    sincronizarLote();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void encolar(byte[] registro) {
+        int necesario = TAMANO_MARCO + registro.length;
+        if (pendiente.remaining() < necesario) {
+            ByteBuffer mayor = nuevoBuffer(Math.max(pendiente.capacity() * 2, pendiente.position() + necesario));
+            pendiente.flip();
+            mayor.put(pendiente);
+            pendiente = mayor;
+        }
+        crc.reset();
+        crc.update(registro);
+        pendiente.putInt(registro.length).putInt((int) crc.getValue()).put(registro);
+    }
+    
+    /**
+     * Escribe y sincroniza todo lo pendiente. Se llama con el lock tomado;
+     * en modo grupo lo suelta durante la E/S para que otros sigan agregando.
+     */
+    private void sincronizarLote() {
+        sincronizando = true;
+        ByteBuffer lote = pendiente;
+        pendiente = repuesto;
+        long hasta = secuenciaAsignada;
+        boolean soltar = modo != ModoSincronizacion.POR_OPERACION;
+        boolean forzar = modo != ModoSincronizacion.DIFERIDO;
+        
+        IOException fallo = null;
+        if (soltar) {
+            lock.unlock();
+        }
+        try {
+            lote.flip();
+            long inicio = System.nanoTime();
+            escribirTodo(canal, lote, canal.position());
+            if (forzar) {
+                canal.force(false);
+                METRICA_FSYNC.registrar(System.nanoTime() - inicio, true);
+            }
+        } catch (IOException e) {
+            fallo = e;
+        } finally {
+            if (soltar) {
+                lock.lock();
+            }
+        }
+        
+        lote.clear();
+        repuesto = lote;
+        sincronizando = false;
+        if (fallo != null) {
+            error = fallo;
+        } else {
+            secuenciaDurable = hasta;
+            sincronizaciones++;
+        }
+        sincronizado.signalAll();
+    }
+    
+    private void verificarDisponible() {
+        if (error != null) {
+            throw new UncheckedIOException("El diario " + archivo + " falló y no admite más escrituras", error);
+        }
+        if (cerrado) {
+            throw new IllegalStateException("El diario está cerrado");
+        }
+    }
+    
+    /**
+     * Termina de escribir lo pendiente en el archivo actual y continúa en
+     * uno nuevo. Quien llama debe evitar que lleguen escrituras mientras
+     * tanto; si no, la espera se prolonga hasta que se vacíe lo pendiente.
+     *
+     * @param nuevoArchivo ruta del nuevo segmento
+     * @throws IOException si no se puede crear el nuevo segmento
+     */
+    void rotar(Path nuevoArchivo) throws IOException {
+        lock.lock();
+        try {
+            while (sincronizando || pendiente.position() > 0) {
+                verificarDisponible();
+                if (sincronizando) {
+                    sincronizado.awaitUninterruptibly();
+                } else {
+                    sincronizarLote();
+                }
+            }
+            verificarDisponible();
+            FileChannel nuevo = abrirCanal(nuevoArchivo);
+            FileChannel anterior = canal;
+            canal = nuevo;
+            archivo = nuevoArchivo;
+            anterior.force(true);
+            anterior.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Escribe lo pendiente y fuerza el archivo a disco aunque el modo sea
+     * DIFERIDO; sirve para fijar un punto durable antes de depender de él.
+     *
+     * @throws UncheckedIOException si no se pudo escribir o el diario falló antes
+     * @throws IllegalStateException si el diario está cerrado
+     */
+    void forzar() {
+        lock.lock();
+        try {
+            while (sincronizando || pendiente.position() > 0) {
+                verificarDisponible();
+                if (sincronizando) {
+                    sincronizado.awaitUninterruptibly();
+                } else {
+                    sincronizarLote();
+                }
+            }
+            verificarDisponible();
+            canal.force(false);
+        } catch (IOException e) {
+            error = e;
+            throw new UncheckedIOException("No se pudo forzar el diario " + archivo, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Ruta del segmento en el que se está escribiendo.
+     */
+    Path getArchivo() {
+        lock.lock();
+        try {
+            return archivo;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Descarta todos los registros (útil para testing).
+     */
+    void vaciar() {
+        lock.lock();
+        try {
+            verificarDisponible();
+            while (sincronizando) {
+                sincronizado.awaitUninterruptibly();
+            }
+            pendiente.clear();
+            canal.truncate(TAMANO_CABECERA);
+            canal.position(TAMANO_CABECERA);
+            canal.force(true);
+            secuenciaDurable = secuenciaAsignada;
+        } catch (IOException e) {
+            error = e;
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Número de fsync realizados desde que se abrió el diario.
+     */
+    long getSincronizaciones() {
+        lock.lock();
+        try {
+            return sincronizaciones;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Número de registros escritos desde que se abrió el diario.
+     */
+    long getRegistrosEscritos() {
+        lock.lock();
+        try {
+            return secuenciaDurable;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    ModoSincronizacion getModo() {
+        return modo;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            while (sincronizando) {
+                sincronizado.awaitUninterruptibly();
+            }
+            if (!cerrado) {
+                cerrado = true;
+                if (modo == ModoSincronizacion.DIFERIDO && error == null) {
+                    canal.force(false);
+                }
+                canal.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private static ByteBuffer nuevoBuffer(int capacidad) {
+        return ByteBuffer.allocate(capacidad).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    private static void escribirTodo(FileChannel canal, ByteBuffer datos, long posicion) throws IOException {
+        while (datos.hasRemaining()) {
+            posicion += canal.write(datos, posicion);
+        }
+        canal.position(posicion);
+    }
+    
+    private static int leerCompleto(FileChannel canal, ByteBuffer destino, long posicion) throws IOException {
+        int total = 0;
+        while (destino.hasRemaining()) {
+            int leidos = canal.read(destino, posicion + total);
+            if (leidos < 0) {
+                break;
+            }
+            total += leidos;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,26 @@
+package com.wallet.infrastructure.persistencia;
+
+/**
+ * Cuándo se fuerza a disco lo escrito en el diario.
+ */
+public enum ModoSincronizacion {
+    
+    /**
+     * Los escritores concurrentes se agrupan en lotes y cada lote se hace
+     * durable con un único fsync (group commit).
+     */
+    GRUPO,
+    
+    /**
+     * Un fsync por registro, en serie. Sirve de referencia para medir la
+     * ganancia del group commit.
+     */
+    POR_OPERACION,
+    
+    /**
+     * Se escribe en el sistema operativo sin fsync. Sobrevive a una caída
+     * del proceso pero no a una del equipo; pensado para cargas masivas y
+     * pruebas.
+     */
+    DIFERIDO
+}
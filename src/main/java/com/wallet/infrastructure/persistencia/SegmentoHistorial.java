@@ -0,0 +1,622 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+import com.wallet.infrastructure.repositories.FormatoCompacto;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmento del historial de transacciones mapeado en memoria.
+ *
+ * Un archivo de tamaño fijo con una cabecera, una zona de registros de
+ * {@value #TAMANO_REGISTRO} bytes y una zona de texto. Formato
+ * (little-endian):
+ * <pre>
+ *   cabecera (64): int magia "WHIS", short versión, short 0,
+ *                  int capacidad de registros, int capacidad de texto
+ *   registro (96): long×2 id (UUID, o posición/longitud en la zona de texto)
+ *                  int cuenta origen, int cuenta destino (-1 si no hay)
+ *                  int registro previo de la cuenta origen, ídem destino
+ *                  long segundos, int nanos (fecha en UTC)
+ *                  byte tipo, byte banderas, byte[3]×3 monedas, byte 0
+ *                  long×3 centavos de monto, saldo anterior y saldo nuevo
+ *                  int posición y longitud de la descripción
+ *                  int crc32c (registro + su texto), int fin de su texto
+ * </pre>
+ * Las cuentas se guardan como ordinales del diccionario del repositorio.
+ * Cada registro apunta al registro anterior de la misma cuenta dentro del
+ * segmento, así que el índice del segmento es disperso: solo guarda el
+ * último registro de cada cuenta presente, y el historial de una cuenta se
+ * recorre hacia atrás leyendo enteros, sin decodificar nada. Los textos
+ * (descripciones, IDs que no son UUID y montos que no caben en un long)
+ * van a la zona de texto.
+ *
+ * Mientras es el segmento activo, el índice vive en el heap y se
+ * reconstruye al abrir leyendo los registros válidos; al sellarlo se
+ * guarda en un archivo .idx y el segmento ya no se recorre al arrancar.
+ * Quien usa el segmento serializa las escrituras y las publica antes de
+ * que se lean.
+ *
+ * Principios aplicados:
+ * - SRP: Solo responsable del formato y el índice de un segmento
+ * - Rendimiento: Los datos viven en el page cache; el heap solo guarda el índice
+ */
+final class SegmentoHistorial {
+    
+    static final int TAMANO_REGISTRO = 96;
+    static final int TAMANO_CABECERA = 64;
+    static final int SIN_REGISTRO = -1;
+    
+    private static final int MAGIA = 0x53494857; // "WHIS" en little-endian
+    private static final short VERSION = 1;
+    
+    // Desplazamientos dentro de un registro
+    private static final int ID_ALTO = 0;
+    private static final int ID_BAJO = 8;
+    private static final int ORIGEN = 16;
+    private static final int DESTINO = 20;
+    private static final int PREVIO_ORIGEN = 24;
+    private static final int PREVIO_DESTINO = 28;
+    private static final int SEGUNDOS = 32;
+    private static final int NANOS = 40;
+    private static final int TIPO = 44;
+    private static final int BANDERAS = 45;
+    private static final int MONEDAS = 46;
+    private static final int MONTOS = 56;
+    private static final int DESCRIPCION = 80;
+    private static final int CRC = 88;
+    private static final int FIN_TEXTO = 92;
+    
+    // Banderas
+    private static final int ID_TEXTO = 1;
+    private static final int DINERO_TEXTO = 1 << 1; // desplazado por el índice del monto (0..2)
+    private static final int DINERO_NULO = 1 << 4;  // ídem
+    private static final int DESCRIPCION_NULA = 1 << 7;
+    
+    private static final TipoTransaccion[] TIPOS = TipoTransaccion.values();
+    
+    private final long numero;
+    private final Path archivo;
+    private final int capacidad;
+    private final int capacidadTexto;
+    private final int inicioTexto;
+    private final MappedByteBuffer datos;
+    private final IndiceDisperso ultimoPorCuenta;
+    private final CRC32C crc = new CRC32C();
+    
+    /** Registros publicados; los lectores solo leen por debajo de este valor. */
+    private volatile int registros;
+    private int textoUsado;
+    private int durables;
+    private int textoDurable;
+    private boolean sellado;
+    
+    private SegmentoHistorial(long numero, Path archivo, int capacidad, int capacidadTexto,
+                              MappedByteBuffer datos, IndiceDisperso ultimoPorCuenta) {
+        this.numero = numero;
+        this.archivo = archivo;
+        this.capacidad = capacidad;
+        this.capacidadTexto = capacidadTexto;
+        this.inicioTexto = TAMANO_CABECERA + capacidad * TAMANO_REGISTRO;
+        this.datos = datos;
+        this.ultimoPorCuenta = ultimoPorCuenta;
+    }
+    
+    /**
+     * Crea un segmento vacío. El archivo se reserva completo (disperso en
+     * la mayoría de los sistemas de archivos) y se mapea de una vez.
+     */
+    static SegmentoHistorial crear(Path archivo, long numero, int capacidad, int capacidadTexto)
+            throws IOException {
+        long tamano = (long) TAMANO_CABECERA + (long) capacidad * TAMANO_REGISTRO + capacidadTexto;
+        if (tamano > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El segmento de historial no puede superar 2 GiB");
+        }
+        MappedByteBuffer datos;
+        try (FileChannel canal = FileChannel.open(archivo,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            datos = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+        }
+        datos.order(ByteOrder.LITTLE_ENDIAN);
+        datos.putInt(0, MAGIA).putShort(4, VERSION)
+            .putInt(8, capacidad).putInt(12, capacidadTexto);
+        datos.force(0, TAMANO_CABECERA);
+        DiarioEscritura.sincronizarDirectorio(archivo.toAbsolutePath().getParent());
+        return new SegmentoHistorial(numero, archivo, capacidad, capacidadTexto, datos, new IndiceDisperso(16));
+    }
+    
+    /**
+     * Abre un segmento existente. Si tiene índice se carga tal cual y el
+     * segmento queda sellado; si no, se recorren los registros hasta el
+     * primero que no pase la verificación (una escritura interrumpida) y se
+     * descarta lo que haya después.
+     *
+     * @param archivo ruta del segmento
+     * @param indice ruta de su índice, exista o no
+     */
+    static SegmentoHistorial abrir(Path archivo, long numero, Path indice) throws IOException {
+        MappedByteBuffer datos;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (canal.size() < TAMANO_CABECERA) {
+                throw new IOException("Segmento de historial truncado: " + archivo);
+            }
+            datos = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+        }
+        datos.order(ByteOrder.LITTLE_ENDIAN);
+        if (datos.getInt(0) != MAGIA) {
+            throw new IOException("El archivo no es un segmento de historial: " + archivo);
+        }
+        if (datos.getShort(4) != VERSION) {
+            throw new IOException("Versión de segmento no soportada: " + datos.getShort(4));
+        }
+        int capacidad = datos.getInt(8);
+        int capacidadTexto = datos.getInt(12);
+        if (capacidad <= 0 || capacidadTexto < 0
+                || datos.capacity() != (long) TAMANO_CABECERA + (long) capacidad * TAMANO_REGISTRO + capacidadTexto) {
+            throw new IOException("Cabecera de segmento de historial corrupta: " + archivo);
+        }
+        
+        if (Files.isRegularFile(indice)) {
+            SegmentoHistorial segmento = cargarIndice(archivo, numero, indice, capacidad, capacidadTexto, datos);
+            segmento.sellado = true;
+            return segmento;
+        }
+        SegmentoHistorial segmento = new SegmentoHistorial(numero, archivo, capacidad, capacidadTexto,
+            datos, new IndiceDisperso(16));
+        segmento.recuperar();
+        return segmento;
+    }
+    
+    private static SegmentoHistorial cargarIndice(Path archivo, long numero, Path indice, int capacidad,
+                                                  int capacidadTexto, MappedByteBuffer datos)
+            throws IOException {
+        SegmentoHistorial[] cargado = new SegmentoHistorial[1];
+        DiarioEscritura.reproducirSegmento(indice, contenido -> {
+            int registros = contenido.getInt();
+            int textoUsado = contenido.getInt();
+            int entradas = contenido.getInt();
+            IndiceDisperso ultimos = new IndiceDisperso(entradas);
+            for (int i = 0; i < entradas; i++) {
+                ultimos.poner(contenido.getInt(), contenido.getInt());
+            }
+            SegmentoHistorial segmento = new SegmentoHistorial(numero, archivo, capacidad, capacidadTexto,
+                datos, ultimos);
+            segmento.registros = registros;
+            segmento.textoUsado = textoUsado;
+            segmento.durables = registros;
+            segmento.textoDurable = textoUsado;
+            cargado[0] = segmento;
+        });
+        if (cargado[0] == null || cargado[0].registros > capacidad || cargado[0].textoUsado > capacidadTexto) {
+            throw new IOException("Índice de segmento de historial corrupto: " + indice);
+        }
+        return cargado[0];
+    }
+    
+    private void recuperar() {
+        int slot = 0;
+        int finTexto = 0;
+        while (slot < capacidad) {
+            int base = posicion(slot);
+            int fin = datos.getInt(base + FIN_TEXTO);
+            if (fin < finTexto || fin > capacidadTexto || datos.getInt(base + CRC) != calcularCrc(base, finTexto, fin)) {
+                break;
+            }
+            indexar(slot, datos.getInt(base + ORIGEN), datos.getInt(base + DESTINO));
+            finTexto = fin;
+            slot++;
+        }
+        registros = slot;
+        textoUsado = finTexto;
+        durables = slot;
+        textoDurable = finTexto;
+        // Restos de escrituras que no llegaron a publicarse: las páginas se
+        // escriben en cualquier orden, así que puede haber registros válidos
+        // más allá del primero roto. Se borran para no confundirlos luego.
+        boolean limpiado = false;
+        for (int resto = slot; resto < capacidad; resto++) {
+            int base = posicion(resto);
+            if (datos.getLong(base + CRC) != 0L || datos.getLong(base + SEGUNDOS) != 0L) {
+                for (int i = 0; i < TAMANO_REGISTRO; i += Long.BYTES) {
+                    datos.putLong(base + i, 0L);
+                }
+                limpiado = true;
+            }
+        }
+        if (limpiado) {
+            datos.force();
+        }
+    }
+    
+    /**
+     * Agrega una transacción.
+     *
+     * @param origen ordinal de la cuenta origen
+     * @param destino ordinal de la cuenta destino, o -1
+     * @return el número de registro, o -1 si no cabe en este segmento
+     * @throws IllegalArgumentException si no cabe ni en un segmento vacío
+     */
+    int agregar(Transaccion transaccion, int origen, int destino) {
+        if (registros == capacidad) {
+            return SIN_REGISTRO;
+        }
+        int banderas = 0;
+        byte[] idTexto = null;
+        long idAlto = 0L;
+        long idBajo = 0L;
+        UUID uuid = FormatoCompacto.comoUuid(transaccion.getId());
+        if (uuid != null) {
+            idAlto = uuid.getMostSignificantBits();
+            idBajo = uuid.getLeastSignificantBits();
+        } else {
+            banderas |= ID_TEXTO;
+            idTexto = transaccion.getId().getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] descripcion = null;
+        if (transaccion.getDescripcion() == null) {
+            banderas |= DESCRIPCION_NULA;
+        } else {
+            descripcion = transaccion.getDescripcion().getBytes(StandardCharsets.UTF_8);
+        }
+        Dinero[] montos = {transaccion.getMonto(), transaccion.getSaldoAnterior(), transaccion.getSaldoNuevo()};
+        byte[][] montosTexto = new byte[3][];
+        long[] centavos = new long[3];
+        for (int i = 0; i < 3; i++) {
+            if (montos[i] == null) {
+                banderas |= DINERO_NULO << i;
+                continue;
+            }
+            BigDecimal cantidad = montos[i].getCantidad();
+            BigInteger sinEscala = cantidad.unscaledValue();
+            if (cantidad.scale() == 2 && sinEscala.bitLength() < Long.SIZE) {
+                centavos[i] = sinEscala.longValue();
+            } else {
+                banderas |= DINERO_TEXTO << i;
+                montosTexto[i] = cantidad.toPlainString().getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+        
+        int bytesTexto = (idTexto != null ? idTexto.length : 0) + (descripcion != null ? descripcion.length : 0);
+        for (byte[] texto : montosTexto) {
+            bytesTexto += texto != null ? texto.length : 0;
+        }
+        if (bytesTexto > capacidadTexto) {
+            throw new IllegalArgumentException(
+                "La transacción ocupa " + bytesTexto + " bytes de texto y el segmento admite " + capacidadTexto);
+        }
+        if (textoUsado + bytesTexto > capacidadTexto) {
+            return SIN_REGISTRO;
+        }
+        
+        int slot = registros;
+        int base = posicion(slot);
+        int inicio = textoUsado;
+        int cursor = inicio;
+        if (idTexto != null) {
+            idAlto = cursor;
+            idBajo = idTexto.length;
+            cursor = escribirTexto(cursor, idTexto);
+        }
+        for (int i = 0; i < 3; i++) {
+            if (montosTexto[i] != null) {
+                centavos[i] = ((long) cursor << 32) | montosTexto[i].length;
+                cursor = escribirTexto(cursor, montosTexto[i]);
+            }
+        }
+        int posicionDescripcion = cursor;
+        if (descripcion != null) {
+            cursor = escribirTexto(cursor, descripcion);
+        }
+        
+        LocalDateTime fecha = transaccion.getFecha();
+        datos.putLong(base + ID_ALTO, idAlto)
+            .putLong(base + ID_BAJO, idBajo)
+            .putInt(base + ORIGEN, origen)
+            .putInt(base + DESTINO, destino)
+            .putInt(base + PREVIO_ORIGEN, ultimoPorCuenta.obtener(origen))
+            .putInt(base + PREVIO_DESTINO, destino >= 0 && destino != origen
+                ? ultimoPorCuenta.obtener(destino) : SIN_REGISTRO)
+            .putLong(base + SEGUNDOS, fecha.toEpochSecond(ZoneOffset.UTC))
+            .putInt(base + NANOS, fecha.getNano())
+            .put(base + TIPO, (byte) transaccion.getTipo().ordinal())
+            .put(base + BANDERAS, (byte) banderas);
+        for (int i = 0; i < 3; i++) {
+            int monedaBase = base + MONEDAS + i * 3;
+            String codigo = montos[i] != null ? montos[i].getMonedaCanonica().getCodigo() : null;
+            for (int c = 0; c < 3; c++) {
+                datos.put(monedaBase + c, codigo != null ? (byte) codigo.charAt(c) : 0);
+            }
+            datos.putLong(base + MONTOS + i * Long.BYTES, centavos[i]);
+        }
+        datos.putInt(base + DESCRIPCION, posicionDescripcion)
+            .putInt(base + DESCRIPCION + 4, descripcion != null ? descripcion.length : 0)
+            .putInt(base + FIN_TEXTO, cursor)
+            .putInt(base + CRC, calcularCrc(base, inicio, cursor));
+        
+        indexar(slot, origen, destino);
+        textoUsado = cursor;
+        registros = slot + 1;
+        return slot;
+    }
+    
+    private int escribirTexto(int cursor, byte[] texto) {
+        datos.put(inicioTexto + cursor, texto);
+        return cursor + texto.length;
+    }
+    
+    private void indexar(int slot, int origen, int destino) {
+        ultimoPorCuenta.poner(origen, slot);
+        if (destino >= 0 && destino != origen) {
+            ultimoPorCuenta.poner(destino, slot);
+        }
+    }
+    
+    private int calcularCrc(int base, int inicioTexto, int finTexto) {
+        crc.reset();
+        crc.update(datos.slice(base, CRC));
+        crc.update(datos.slice(this.inicioTexto + inicioTexto, finTexto - inicioTexto));
+        return (int) crc.getValue();
+    }
+    
+    private static int posicion(int slot) {
+        return TAMANO_CABECERA + slot * TAMANO_REGISTRO;
+    }
+    
+    // ------------------------------------------------------------------
+    // Lectura sin decodificar
+    // ------------------------------------------------------------------
+    
+    /**
+     * Último registro de la cuenta en este segmento, o -1.
+     */
+    int ultimo(int cuenta) {
+        return ultimoPorCuenta.obtener(cuenta);
+    }
+    
+    /**
+     * Registro anterior de la misma cuenta en este segmento, o -1.
+     */
+    int previo(int slot, int cuenta) {
+        int base = posicion(slot);
+        return datos.getInt(base + ORIGEN) == cuenta
+            ? datos.getInt(base + PREVIO_ORIGEN) : datos.getInt(base + PREVIO_DESTINO);
+    }
+    
+    long segundos(int slot) {
+        return datos.getLong(posicion(slot) + SEGUNDOS);
+    }
+    
+    int nanos(int slot) {
+        return datos.getInt(posicion(slot) + NANOS);
+    }
+    
+    int tipo(int slot) {
+        return datos.get(posicion(slot) + TIPO);
+    }
+    
+    /**
+     * Compara el ID del registro sin construir ningún String.
+     */
+    boolean tieneId(int slot, UUID uuid, byte[] idTexto) {
+        int base = posicion(slot);
+        boolean texto = (datos.get(base + BANDERAS) & ID_TEXTO) != 0;
+        if (uuid != null) {
+            return !texto && datos.getLong(base + ID_ALTO) == uuid.getMostSignificantBits()
+                && datos.getLong(base + ID_BAJO) == uuid.getLeastSignificantBits();
+        }
+        if (!texto || datos.getLong(base + ID_BAJO) != idTexto.length) {
+            return false;
+        }
+        int inicio = inicioTexto + (int) datos.getLong(base + ID_ALTO);
+        for (int i = 0; i < idTexto.length; i++) {
+            if (datos.get(inicio + i) != idTexto[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Decodifica un registro.
+     *
+     * @param cuentas IDs de cuenta indexados por ordinal
+     */
+    Transaccion leer(int slot, String[] cuentas) {
+        int base = posicion(slot);
+        int banderas = datos.get(base + BANDERAS) & 0xFF;
+        String id = (banderas & ID_TEXTO) != 0
+            ? texto((int) datos.getLong(base + ID_ALTO), (int) datos.getLong(base + ID_BAJO))
+            : new UUID(datos.getLong(base + ID_ALTO), datos.getLong(base + ID_BAJO)).toString();
+        int destino = datos.getInt(base + DESTINO);
+        String descripcion = (banderas & DESCRIPCION_NULA) != 0 ? null
+            : texto(datos.getInt(base + DESCRIPCION), datos.getInt(base + DESCRIPCION + 4));
+        LocalDateTime fecha = LocalDateTime.ofEpochSecond(datos.getLong(base + SEGUNDOS),
+            datos.getInt(base + NANOS), ZoneOffset.UTC);
+        return new Transaccion(id, TIPOS[datos.get(base + TIPO)], leerDinero(base, banderas, 0),
+            cuentas[datos.getInt(base + ORIGEN)], destino >= 0 ? cuentas[destino] : null,
+            descripcion, fecha, leerDinero(base, banderas, 1), leerDinero(base, banderas, 2));
+    }
+    
+    private Dinero leerDinero(int base, int banderas, int indice) {
+        if ((banderas & (DINERO_NULO << indice)) != 0) {
+            return null;
+        }
+        int monedaBase = base + MONEDAS + indice * 3;
+        Moneda moneda = Moneda.buscar((char) datos.get(monedaBase), (char) datos.get(monedaBase + 1),
+            (char) datos.get(monedaBase + 2));
+        if (moneda == null) {
+            throw new IllegalStateException("Moneda desconocida en el segmento de historial " + archivo);
+        }
+        long valor = datos.getLong(base + MONTOS + indice * Long.BYTES);
+        if ((banderas & (DINERO_TEXTO << indice)) != 0) {
+            return new Dinero(new BigDecimal(texto((int) (valor >>> 32), (int) valor)), moneda);
+        }
+        return new Dinero(BigDecimal.valueOf(valor, 2), moneda);
+    }
+    
+    private String texto(int posicion, int longitud) {
+        byte[] bytes = new byte[longitud];
+        datos.get(inicioTexto + posicion, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    // ------------------------------------------------------------------
+    // Durabilidad y sellado
+    // ------------------------------------------------------------------
+    
+    /**
+     * Fuerza a disco los registros publicados que aún no lo estaban.
+     *
+     * @return número de registros publicados al momento de forzar
+     */
+    synchronized int forzar() {
+        int hasta = registros;
+        if (hasta > durables) {
+            int finTexto = datos.getInt(posicion(hasta - 1) + FIN_TEXTO);
+            if (finTexto > textoDurable) {
+                datos.force(inicioTexto + textoDurable, finTexto - textoDurable);
+            }
+            int desde = posicion(durables);
+            datos.force(desde, posicion(hasta) - desde);
+            durables = hasta;
+            textoDurable = finTexto;
+        }
+        return hasta;
+    }
+    
+    /**
+     * Fuerza el segmento completo y guarda su índice; a partir de aquí el
+     * segmento es de solo lectura.
+     */
+    synchronized void sellar(Path indice) throws IOException {
+        datos.force();
+        durables = registros;
+        textoDurable = textoUsado;
+        ByteBuffer contenido = ByteBuffer.allocate(12 + ultimoPorCuenta.tamano() * 8).order(ByteOrder.LITTLE_ENDIAN);
+        contenido.putInt(registros).putInt(textoUsado).putInt(ultimoPorCuenta.tamano());
+        ultimoPorCuenta.recorrer((cuenta, slot) -> contenido.putInt(cuenta).putInt(slot));
+        DiarioEscritura.escribirArchivo(indice, salida -> salida.accept(contenido.array()));
+        sellado = true;
+    }
+    
+    long getNumero() {
+        return numero;
+    }
+    
+    Path getArchivo() {
+        return archivo;
+    }
+    
+    int getRegistros() {
+        return registros;
+    }
+    
+    boolean isSellado() {
+        return sellado;
+    }
+    
+    /**
+     * Tabla hash de direccionamiento abierto de ordinal de cuenta a
+     * registro, sin objetos por entrada.
+     */
+    static final class IndiceDisperso {
+        
+        private int[] claves;
+        private int[] valores;
+        private int tamano;
+        
+        IndiceDisperso(int esperadas) {
+            int capacidad = Integer.highestOneBit(Math.max(16, esperadas * 2) - 1) << 1;
+            claves = new int[capacidad];
+            valores = new int[capacidad];
+            Arrays.fill(claves, SIN_REGISTRO);
+        }
+        
+        int obtener(int clave) {
+            int mascara = claves.length - 1;
+            for (int i = mezclar(clave) & mascara; ; i = (i + 1) & mascara) {
+                int actual = claves[i];
+                if (actual == clave) {
+                    return valores[i];
+                }
+                if (actual == SIN_REGISTRO) {
+                    return SIN_REGISTRO;
+                }
+            }
+        }
+        
+        void poner(int clave, int valor) {
+            if ((tamano + 1) * 4 > claves.length * 3) {
+                crecer();
+            }
+            int mascara = claves.length - 1;
+            for (int i = mezclar(clave) & mascara; ; i = (i + 1) & mascara) {
+                int actual = claves[i];
+                if (actual == clave) {
+                    valores[i] = valor;
+                    return;
+                }
+                if (actual == SIN_REGISTRO) {
+                    claves[i] = clave;
+                    valores[i] = valor;
+                    tamano++;
+                    return;
+                }
+            }
+        }
+        
+        private void crecer() {
+            int[] clavesAnteriores = claves;
+            int[] valoresAnteriores = valores;
+            claves = new int[clavesAnteriores.length * 2];
+            valores = new int[clavesAnteriores.length * 2];
+            Arrays.fill(claves, SIN_REGISTRO);
+            tamano = 0;
+            for (int i = 0; i < clavesAnteriores.length; i++) {
+                if (clavesAnteriores[i] != SIN_REGISTRO) {
+                    poner(clavesAnteriores[i], valoresAnteriores[i]);
+                }
+            }
+        }
+        
+        int tamano() {
+            return tamano;
+        }
+        
+        void recorrer(Visitante visitante) {
+            for (int i = 0; i < claves.length; i++) {
+                if (claves[i] != SIN_REGISTRO) {
+                    visitante.visitar(claves[i], valores[i]);
+                }
+            }
+        }
+        
+        private static int mezclar(int clave) {
+            int h = clave * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+        
+        @FunctionalInterface
+        interface Visitante {
+            void visitar(int clave, int valor);
+        }
+    }
+}
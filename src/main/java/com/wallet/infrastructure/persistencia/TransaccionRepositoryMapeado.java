@@ -0,0 +1,729 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.repositories.ITransaccionRepository;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+import com.wallet.infrastructure.repositories.FormatoCompacto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Repositorio de transacciones en segmentos de archivo mapeados en memoria.
+ *
+ * Cada transacción se agrega como un registro de tamaño fijo al segmento
+ * activo (historial-N.seg); cuando se llena, se sella con su índice y se
+ * continúa en uno nuevo. Los IDs de cuenta se guardan como ordinales de un
+ * diccionario (cuentas.wal), que es lo único, junto con los índices
+ * dispersos de cada segmento, que vive en el heap. El historial antiguo
+ * queda en el page cache del sistema operativo: no cuenta para el heap ni
+ * para las pausas del recolector, y el arranque no depende de su tamaño.
+ *
+ * Las consultas por cuenta recorren la cadena de registros de la cuenta
+ * de segmento en segmento, filtran por fecha o tipo leyendo solo esos
+ * campos y decodifican únicamente las transacciones que retornan. El
+ * resultado se ordena como en {@code TransaccionRepositoryInMemory}: fecha
+ * descendente y, a igual fecha, por ID. {@link #buscarPorId(String)} no
+ * tiene índice y recorre los segmentos comparando IDs sin decodificar; es
+ * una consulta de soporte, no del camino de los casos de uso.
+ *
+ * Las transacciones son inmutables y se agregan una sola vez; guardar dos
+ * veces el mismo ID deja dos registros. La durabilidad sigue el
+ * {@link ModoSincronizacion}: en GRUPO el primer escritor que encuentra el
+ * disco libre fuerza todo lo agregado hasta ese momento para los demás.
+ * Como el {@link DiarioEscritura}, tras un error de E/S al forzar o
+ * sellar el historial queda inutilizable para escribir: no se sabe qué
+ * llegó al disco.
+ *
+ * @author Wallet Team
+ * @version 1.0.0
+ */
+public class TransaccionRepositoryMapeado implements ITransaccionRepository, AutoCloseable {
+    
+    /** Registros por segmento por defecto (96 MiB de registros). */
+    public static final int REGISTROS_POR_SEGMENTO_POR_DEFECTO = 1 << 20;
+    /** Límite para que el segmento, con su zona de texto, se pueda mapear de una vez. */
+    private static final int REGISTROS_POR_SEGMENTO_MAXIMO = 8 << 20;
+    private static final int TEXTO_POR_REGISTRO = 64;
+    private static final int TEXTO_MINIMO = 64 * 1024;
+    
+    private static final String PREFIJO = "historial-";
+    private static final String EXTENSION_SEGMENTO = ".seg";
+    private static final String EXTENSION_INDICE = ".idx";
+    private static final String DICCIONARIO = "cuentas.wal";
+    
+    /** Orden del historial, igual al del repositorio en memoria. */
+    private static final Comparator<Transaccion> ORDEN_HISTORIAL = Comparator
+        .comparing(Transaccion::getFecha, Comparator.reverseOrder())
+        .thenComparing(Transaccion::getId);
+    
+    private static final MetricaOperacion METRICA_FORZADO = RegistroMetricas.global().operacion("HistorialForzado");
+    
+    private final Path directorio;
+    private final ModoSincronizacion modo;
+    private final int registrosPorSegmento;
+    
+    /**
+     * Las escrituras toman la escritura; las consultas toman la lectura
+     * solo para fijar dónde empieza cada cadena y luego leen sin lock (lo
+     * publicado no cambia).
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<SegmentoHistorial> segmentos = new ArrayList<>();
+    private final Map<String, Integer> ordinales = new HashMap<>();
+    /** IDs de cuenta por ordinal; solo crece, así que lo fijado por una consulta no cambia. */
+    private String[] cuentas = new String[1024];
+    private int cantidadCuentas;
+    private DiarioEscritura diccionario;
+    private long registros;
+    private boolean cerrado;
+    
+    // Group commit del forzado a disco
+    private final ReentrantLock durabilidad = new ReentrantLock();
+    private final Condition forzado = durabilidad.newCondition();
+    private long secuenciaDurable;
+    private boolean forzando;
+    /** Error de E/S que dejó inutilizable el historial; null si no hubo. */
+    private volatile IOException error;
+    /** Fuerza un segmento a disco; los tests lo reemplazan para simular fallos. */
+    private Consumer<SegmentoHistorial> forzador = SegmentoHistorial::forzar;
+    
+    private TransaccionRepositoryMapeado(Path directorio, ModoSincronizacion modo, int registrosPorSegmento) {
+        this.directorio = directorio;
+        this.modo = modo;
+        this.registrosPorSegmento = registrosPorSegmento;
+    }
+    
+    /**
+     * Abre (o crea) el historial con el tamaño de segmento por defecto.
+     *
+     * @param directorio directorio de los segmentos
+     * @param modo política de sincronización
+     * @return el repositorio listo para usarse
+     * @throws IOException si no se puede abrir o recuperar
+     */
+    public static TransaccionRepositoryMapeado abrir(Path directorio, ModoSincronizacion modo) throws IOException {
+        return abrir(directorio, modo, REGISTROS_POR_SEGMENTO_POR_DEFECTO);
+    }
+    
+    /**
+     * Abre (o crea) el historial.
+     *
+     * @param directorio directorio de los segmentos
+     * @param modo política de sincronización
+     * @param registrosPorSegmento capacidad de los segmentos nuevos
+     * @return el repositorio listo para usarse
+     * @throws IOException si no se puede abrir o recuperar
+     */
+    public static TransaccionRepositoryMapeado abrir(Path directorio, ModoSincronizacion modo,
+                                                     int registrosPorSegmento) throws IOException {
+        if (directorio == null) {
+            throw new IllegalArgumentException("El directorio no puede ser nulo");
+        }
+        if (modo == null) {
+            throw new IllegalArgumentException("El modo de sincronización no puede ser nulo");
+        }
+        if (registrosPorSegmento <= 0 || registrosPorSegmento > REGISTROS_POR_SEGMENTO_MAXIMO) {
+            throw new IllegalArgumentException(
+                "Los registros por segmento deben estar entre 1 y " + REGISTROS_POR_SEGMENTO_MAXIMO);
+        }
+        Files.createDirectories(directorio);
+        TransaccionRepositoryMapeado repositorio = new TransaccionRepositoryMapeado(directorio, modo,
+            registrosPorSegmento);
+        repositorio.recuperar();
+        return repositorio;
+    }
+    
+    private void recuperar() throws IOException {
+        diccionario = DiarioEscritura.abrir(directorio.resolve(DICCIONARIO), modo, contenido -> {
+            byte[] bytes = new byte[contenido.remaining()];
+            contenido.get(bytes);
+            registrarCuenta(new String(bytes, StandardCharsets.UTF_8));
+        });
+        try {
+            List<Long> numeros = listarSegmentos();
+            for (int i = 0; i < numeros.size(); i++) {
+                long numero = numeros.get(i);
+                SegmentoHistorial segmento = SegmentoHistorial.abrir(archivoSegmento(numero), numero,
+                    archivoIndice(numero));
+                boolean ultimo = i == numeros.size() - 1;
+                if (!ultimo && !segmento.isSellado()) {
+                    // Caída entre llenar el segmento y guardar su índice
+                    segmento.sellar(archivoIndice(numero));
+                }
+                segmentos.add(segmento);
+                registros += segmento.getRegistros();
+            }
+            if (segmentos.isEmpty() || activo().isSellado()) {
+                segmentos.add(nuevoSegmento(segmentos.isEmpty() ? 0 : activo().getNumero() + 1));
+            }
+            secuenciaDurable = registros;
+        } catch (IOException | RuntimeException e) {
+            diccionario.close();
+            throw e;
+        }
+    }
+    
+    private List<Long> listarSegmentos() throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio,
+                PREFIJO + "*" + EXTENSION_SEGMENTO)) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                try {
+                    numeros.add(Long.parseLong(
+                        nombre.substring(PREFIJO.length(), nombre.length() - EXTENSION_SEGMENTO.length())));
+                } catch (NumberFormatException e) {
+                    // No es un segmento de este historial
+                }
+            }
+        }
+        Collections.sort(numeros);
+        return numeros;
+    }
+    
+    private SegmentoHistorial nuevoSegmento(long numero) throws IOException {
+        int capacidadTexto = Math.max(TEXTO_MINIMO, registrosPorSegmento * TEXTO_POR_REGISTRO);
+        return SegmentoHistorial.crear(archivoSegmento(numero), numero, registrosPorSegmento, capacidadTexto);
+    }
+    
+    private Path archivoSegmento(long numero) {
+        return directorio.resolve(String.format("%s%019d%s", PREFIJO, numero, EXTENSION_SEGMENTO));
+    }
+    
+    private Path archivoIndice(long numero) {
+        return directorio.resolve(String.format("%s%019d%s", PREFIJO, numero, EXTENSION_INDICE));
+    }
+    
+    private SegmentoHistorial activo() {
+        return segmentos.get(segmentos.size() - 1);
+    }
+    
+    @Override
+    public Transaccion guardar(Transaccion transaccion) {
+        validar(transaccion);
+        long secuencia;
+        lock.writeLock().lock();
+        try {
+            verificarDisponible();
+            int origen = ordinal(transaccion.getCuentaOrigenId());
+            int destino = transaccion.getCuentaDestinoId() != null
+                ? ordinal(transaccion.getCuentaDestinoId()) : SegmentoHistorial.SIN_REGISTRO;
+            if (activo().agregar(transaccion, origen, destino) == SegmentoHistorial.SIN_REGISTRO) {
+                rotar();
+                activo().agregar(transaccion, origen, destino);
+            }
+            secuencia = ++registros;
+            if (modo == ModoSincronizacion.POR_OPERACION) {
+                forzar(activo());
+                return transaccion;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (modo == ModoSincronizacion.GRUPO) {
+            esperarDurable(secuencia);
+        }
+        return transaccion;
+    }
+    
+    /**
+     * Verifica que la transacción tenga los campos que el registro no
+     * puede omitir.
+     */
+    static void validar(Transaccion transaccion) {
+        if (transaccion == null) {
+            throw new IllegalArgumentException("La transacción no puede ser nula");
+        }
+        if (transaccion.getId() == null || transaccion.getTipo() == null
+                || transaccion.getCuentaOrigenId() == null || transaccion.getFecha() == null) {
+            throw new IllegalArgumentException("La transacción debe tener ID, tipo, cuenta origen y fecha");
+        }
+    }
+    
+    /**
+     * Ordinal de la cuenta, registrándola en el diccionario si es nueva.
+     * Se llama con el lock de escritura tomado; el diccionario es durable
+     * antes que cualquier registro que use el ordinal.
+     */
+    private int ordinal(String cuentaId) {
+        Integer ordinal = ordinales.get(cuentaId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        diccionario.escribir(cuentaId.getBytes(StandardCharsets.UTF_8));
+        return registrarCuenta(cuentaId);
+    }
+    
+    private int registrarCuenta(String cuentaId) {
+        if (cantidadCuentas == cuentas.length) {
+            // Copia nueva: las consultas en curso conservan la anterior
+            cuentas = Arrays.copyOf(cuentas, cantidadCuentas * 2);
+        }
+        cuentas[cantidadCuentas] = cuentaId;
+        ordinales.put(cuentaId, cantidadCuentas);
+        return cantidadCuentas++;
+    }
+    
+    private void rotar() {
+        SegmentoHistorial lleno = activo();
+        try {
+            lleno.sellar(archivoIndice(lleno.getNumero()));
+            segmentos.add(nuevoSegmento(lleno.getNumero() + 1));
+        } catch (IOException e) {
+            error = e;
+            throw new UncheckedIOException("No se pudo rotar el segmento de historial " + lleno.getArchivo(), e);
+        }
+    }
+    
+    /**
+     * Fuerza el segmento; si falla, el historial deja de admitir escrituras.
+     */
+    private void forzar(SegmentoHistorial segmento) {
+        long inicio = System.nanoTime();
+        try {
+            forzador.accept(segmento);
+        } catch (UncheckedIOException e) {
+            error = e.getCause();
+            METRICA_FORZADO.registrar(System.nanoTime() - inicio, false);
+            throw e;
+        }
+        METRICA_FORZADO.registrar(System.nanoTime() - inicio, true);
+    }
+    
+    private void verificarDisponible() {
+        if (error != null) {
+            throw new UncheckedIOException("El historial en " + directorio + " falló y no admite más escrituras",
+                error);
+        }
+        if (cerrado) {
+            throw new IllegalStateException("El historial está cerrado");
+        }
+    }
+    
+    void setForzador(Consumer<SegmentoHistorial> forzador) {
+        this.forzador = forzador;
+    }
+    
+    /**
+     * Espera a que el registro con la secuencia indicada esté en disco. El
+     * primer hilo que llega con el disco libre fuerza lo agregado hasta ese
+     * momento; los que llegan mientras tanto esperan y, si su registro quedó
+     * cubierto, vuelven sin forzar. Los segmentos anteriores se forzaron al
+     * sellarlos, así que basta con el activo (si rota durante el forzado,
+     * el sellado ya cubre lo que faltaba). La secuencia durable solo avanza
+     * si el forzado terminó bien; si falla, los que esperaban fallan también.
+     */
+    private void esperarDurable(long secuencia) {
+        durabilidad.lock();
+        try {
+            while (secuenciaDurable < secuencia) {
+                if (error != null) {
+                    throw new UncheckedIOException("El historial en " + directorio
+                        + " falló y no se puede garantizar que la transacción sea durable", error);
+                }
+                if (forzando) {
+                    forzado.awaitUninterruptibly();
+                    continue;
+                }
+                forzando = true;
+                long hasta = secuenciaDurable;
+                boolean forzadoCompleto = false;
+                durabilidad.unlock();
+                try {
+                    SegmentoHistorial segmento;
+                    lock.readLock().lock();
+                    try {
+                        segmento = activo();
+                        hasta = registros;
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                    // Sin lock: los escritores siguen agregando mientras se fuerza
+                    forzar(segmento);
+                    forzadoCompleto = true;
+                } finally {
+                    durabilidad.lock();
+                    forzando = false;
+                    if (forzadoCompleto) {
+                        secuenciaDurable = Math.max(secuenciaDurable, hasta);
+                    }
+                    forzado.signalAll();
+                }
+            }
+        } finally {
+            durabilidad.unlock();
+        }
+    }
+    
+    @Override
+    public Optional<Transaccion> buscarPorId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        UUID uuid = FormatoCompacto.comoUuid(id);
+        byte[] idTexto = uuid == null ? id.getBytes(StandardCharsets.UTF_8) : null;
+        Cadenas cadenas = fijar(null);
+        for (int s = cadenas.segmentos.length - 1; s >= 0; s--) {
+            SegmentoHistorial segmento = cadenas.segmentos[s];
+            for (int slot = cadenas.registros[s] - 1; slot >= 0; slot--) {
+                if (segmento.tieneId(slot, uuid, idTexto)) {
+                    return Optional.of(segmento.leer(slot, cadenas.cuentas));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    @Override
+    public List<Transaccion> buscarPorCuentaId(String cuentaId) {
+        if (cuentaId == null || cuentaId.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return recorrerCuenta(cuentaId, (segmento, slot) -> true);
+    }
+    
+    @Override
+    public List<Transaccion> buscarPorCuentaIdYTipo(String cuentaId, TipoTransaccion tipo) {
+        if (cuentaId == null || cuentaId.trim().isEmpty() || tipo == null) {
+            return Collections.emptyList();
+        }
+        int ordinalTipo = tipo.ordinal();
+        return recorrerCuenta(cuentaId, (segmento, slot) -> segmento.tipo(slot) == ordinalTipo);
+    }
+    
+    @Override
+    public List<Transaccion> obtenerPorCuentaYFechas(String cuentaId,
+                                                      LocalDateTime fechaInicio,
+                                                      LocalDateTime fechaFin) {
+        if (cuentaId == null || cuentaId.trim().isEmpty() ||
+            fechaInicio == null || fechaFin == null || fechaInicio.isAfter(fechaFin)) {
+            return Collections.emptyList();
+        }
+        long segundosInicio = fechaInicio.toEpochSecond(ZoneOffset.UTC);
+        int nanosInicio = fechaInicio.getNano();
+        long segundosFin = fechaFin.toEpochSecond(ZoneOffset.UTC);
+        int nanosFin = fechaFin.getNano();
+        return recorrerCuenta(cuentaId, (segmento, slot) -> {
+            long segundos = segmento.segundos(slot);
+            int nanos = segmento.nanos(slot);
+            return comparar(segundos, nanos, segundosInicio, nanosInicio) >= 0
+                && comparar(segundos, nanos, segundosFin, nanosFin) <= 0;
+        });
+    }
+    
+    @Override
+    public List<Transaccion> obtenerTodas() {
+        Cadenas cadenas = fijar(null);
+        List<Transaccion> resultado = new ArrayList<>();
+        for (int s = 0; s < cadenas.segmentos.length; s++) {
+            for (int slot = 0; slot < cadenas.registros[s]; slot++) {
+                resultado.add(cadenas.segmentos[s].leer(slot, cadenas.cuentas));
+            }
+        }
+        resultado.sort(Comparator.comparing(Transaccion::getFecha).reversed());
+        return resultado;
+    }
+    
+    /**
+     * Obtiene las últimas N transacciones de una cuenta. Una primera pasada
+     * por la cadena halla la fecha de la N-ésima más reciente con un heap
+     * de primitivos; la segunda decodifica solo las que no son anteriores a
+     * esa fecha (las empatadas se desempatan luego por ID).
+     */
+    @Override
+    public List<Transaccion> obtenerUltimasPorCuenta(String cuentaId, int limite) {
+        if (cuentaId == null || cuentaId.trim().isEmpty() || limite <= 0) {
+            return Collections.emptyList();
+        }
+        Cadenas cadenas = fijar(cuentaId);
+        if (cadenas == null) {
+            return Collections.emptyList();
+        }
+        
+        MasRecientes masRecientes = new MasRecientes(limite);
+        for (int s = cadenas.segmentos.length - 1; s >= 0; s--) {
+            SegmentoHistorial segmento = cadenas.segmentos[s];
+            for (int slot = cadenas.inicios[s]; slot >= 0; slot = segmento.previo(slot, cadenas.ordinal)) {
+                masRecientes.ofrecer(segmento.segundos(slot), segmento.nanos(slot));
+            }
+        }
+        long segundosCorte = masRecientes.segundosCorte();
+        int nanosCorte = masRecientes.nanosCorte();
+        List<Transaccion> resultado = recorrerCuenta(cadenas, (segmento, slot) ->
+            comparar(segmento.segundos(slot), segmento.nanos(slot), segundosCorte, nanosCorte) >= 0);
+        return resultado.size() > limite ? new ArrayList<>(resultado.subList(0, limite)) : resultado;
+    }
+    
+    /**
+     * Recorre la cadena de una cuenta y decodifica los registros que pasan
+     * el filtro.
+     */
+    private List<Transaccion> recorrerCuenta(String cuentaId, Filtro filtro) {
+        Cadenas cadenas = fijar(cuentaId);
+        if (cadenas == null) {
+            return Collections.emptyList();
+        }
+        return recorrerCuenta(cadenas, filtro);
+    }
+    
+    private List<Transaccion> recorrerCuenta(Cadenas cadenas, Filtro filtro) {
+        List<Transaccion> resultado = new ArrayList<>();
+        for (int s = cadenas.segmentos.length - 1; s >= 0; s--) {
+            SegmentoHistorial segmento = cadenas.segmentos[s];
+            for (int slot = cadenas.inicios[s]; slot >= 0; slot = segmento.previo(slot, cadenas.ordinal)) {
+                if (filtro.acepta(segmento, slot)) {
+                    resultado.add(segmento.leer(slot, cadenas.cuentas));
+                }
+            }
+        }
+        resultado.sort(ORDEN_HISTORIAL);
+        return resultado;
+    }
+    
+    /**
+     * Fija con el lock de lectura el estado publicado: los segmentos, cuántos
+     * registros tiene cada uno y, si se indica una cuenta, dónde empieza su
+     * cadena en cada segmento. Lo fijado se lee después sin lock.
+     *
+     * @return el estado, o null si la cuenta no tiene transacciones
+     */
+    private Cadenas fijar(String cuentaId) {
+        lock.readLock().lock();
+        try {
+            int ordinal = SegmentoHistorial.SIN_REGISTRO;
+            if (cuentaId != null) {
+                Integer encontrado = ordinales.get(cuentaId);
+                if (encontrado == null) {
+                    return null;
+                }
+                ordinal = encontrado;
+            }
+            int cantidad = segmentos.size();
+            SegmentoHistorial[] fijados = segmentos.toArray(new SegmentoHistorial[cantidad]);
+            int[] registrosFijados = new int[cantidad];
+            int[] inicios = new int[cantidad];
+            for (int s = 0; s < cantidad; s++) {
+                registrosFijados[s] = fijados[s].getRegistros();
+                inicios[s] = cuentaId != null ? fijados[s].ultimo(ordinal) : SegmentoHistorial.SIN_REGISTRO;
+            }
+            return new Cadenas(fijados, registrosFijados, inicios, ordinal, cuentas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static int comparar(long segundos, int nanos, long otrosSegundos, int otrosNanos) {
+        int porSegundos = Long.compare(segundos, otrosSegundos);
+        return porSegundos != 0 ? porSegundos : Integer.compare(nanos, otrosNanos);
+    }
+    
+    private record Cadenas(SegmentoHistorial[] segmentos, int[] registros, int[] inicios, int ordinal,
+                           String[] cuentas) {
+    }
+    
+    /**
+     * Heap mínimo de tamaño fijo con las N fechas más recientes vistas; su
+     * raíz es la fecha de corte.
+     */
+    private static final class MasRecientes {
+        
+        private final int limite;
+        private long[] segundos;
+        private int[] nanos;
+        private int tamano;
+        
+        MasRecientes(int limite) {
+            this.limite = limite;
+            int capacidad = Math.min(limite, 64);
+            segundos = new long[capacidad];
+            nanos = new int[capacidad];
+        }
+        
+        void ofrecer(long segundosFecha, int nanosFecha) {
+            if (tamano < limite) {
+                if (tamano == segundos.length) {
+                    int capacidad = (int) Math.min(limite, 2L * tamano);
+                    segundos = Arrays.copyOf(segundos, capacidad);
+                    nanos = Arrays.copyOf(nanos, capacidad);
+                }
+                int i = tamano++;
+                segundos[i] = segundosFecha;
+                nanos[i] = nanosFecha;
+                while (i > 0) {
+                    int padre = (i - 1) >>> 1;
+                    if (comparar(segundos[padre], nanos[padre], segundos[i], nanos[i]) <= 0) {
+                        break;
+                    }
+                    intercambiar(i, padre);
+                    i = padre;
+                }
+                return;
+            }
+            if (comparar(segundosFecha, nanosFecha, segundos[0], nanos[0]) <= 0) {
+                return;
+            }
+            segundos[0] = segundosFecha;
+            nanos[0] = nanosFecha;
+            int i = 0;
+            while (true) {
+                int menor = i;
+                for (int hijo = 2 * i + 1; hijo <= 2 * i + 2 && hijo < tamano; hijo++) {
+                    if (comparar(segundos[hijo], nanos[hijo], segundos[menor], nanos[menor]) < 0) {
+                        menor = hijo;
+                    }
+                }
+                if (menor == i) {
+                    return;
+                }
+                intercambiar(i, menor);
+                i = menor;
+            }
+        }
+        
+        private void intercambiar(int a, int b) {
+            long s = segundos[a];
+            segundos[a] = segundos[b];
+            segundos[b] = s;
+            int n = nanos[a];
+            nanos[a] = nanos[b];
+            nanos[b] = n;
+        }
+        
+        /** Fecha de corte; si hay menos de N, cualquier fecha la supera. */
+        long segundosCorte() {
+            return tamano < limite ? Long.MIN_VALUE : segundos[0];
+        }
+        
+        int nanosCorte() {
+            return tamano < limite ? 0 : nanos[0];
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Filtro {
+        boolean acepta(SegmentoHistorial segmento, int slot);
+    }
+    
+    /**
+     * Recorre en orden de escritura las transacciones agregadas a partir de
+     * la posición indicada (0 = la primera).
+     */
+    void recorrerDesde(long posicion, Consumer<Transaccion> visitante) {
+        Cadenas cadenas = fijar(null);
+        long inicioSegmento = 0;
+        for (int s = 0; s < cadenas.segmentos.length; s++) {
+            int registrosSegmento = cadenas.registros[s];
+            for (long slot = Math.max(0, posicion - inicioSegmento); slot < registrosSegmento; slot++) {
+                visitante.accept(cadenas.segmentos[s].leer((int) slot, cadenas.cuentas));
+            }
+            inicioSegmento += registrosSegmento;
+        }
+    }
+    
+    /**
+     * Fuerza a disco todo lo agregado, incluido el diccionario de cuentas
+     * (útil en modo DIFERIDO).
+     */
+    public void sincronizar() {
+        lock.readLock().lock();
+        try {
+            verificarDisponible();
+            diccionario.forzar();
+            forzar(activo());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Borra todo el historial y empieza de cero (útil para testing).
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            diccionario.vaciar();
+            ordinales.clear();
+            cuentas = new String[cuentas.length];
+            cantidadCuentas = 0;
+            long siguiente = activo().getNumero() + 1;
+            for (SegmentoHistorial segmento : segmentos) {
+                Files.deleteIfExists(archivoIndice(segmento.getNumero()));
+                Files.deleteIfExists(segmento.getArchivo());
+            }
+            segmentos.clear();
+            segmentos.add(nuevoSegmento(siguiente));
+            registros = 0;
+            durabilidad.lock();
+            try {
+                secuenciaDurable = 0;
+            } finally {
+                durabilidad.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo limpiar el historial en " + directorio, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Retorna el número de transacciones almacenadas.
+     */
+    public long contar() {
+        lock.readLock().lock();
+        try {
+            return registros;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Número de segmentos, incluido el activo.
+     */
+    public int getSegmentos() {
+        lock.readLock().lock();
+        try {
+            return segmentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            activo().forzar();
+            diccionario.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
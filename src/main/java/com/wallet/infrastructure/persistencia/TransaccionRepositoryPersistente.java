@@ -0,0 +1,95 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.repositories.ITransaccionRepository;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Repositorio de transacciones persistido en el diario de escritura anticipada.
+ * 
+ * Las transacciones son inmutables, así que no hace falta ordenar las
+ * escrituras: cada una se registra en el diario (agrupada con las de otros
+ * hilos en el mismo fsync) y luego se agrega al historial mapeado, que
+ * atiende las consultas sin ocupar heap. El historial no fuerza cada
+ * escritura: lo que se pierda en una caída se recupera del diario.
+ * 
+ * @author Wallet Team
+ * @version 1.0.0
+ */
+public class TransaccionRepositoryPersistente implements ITransaccionRepository {
+    
+    private final TransaccionRepositoryMapeado historial;
+    private final DiarioEscritura diario;
+    private final Lock puerta;
+    
+    TransaccionRepositoryPersistente(TransaccionRepositoryMapeado historial, DiarioEscritura diario, Lock puerta) {
+        this.historial = historial;
+        this.diario = diario;
+        this.puerta = puerta;
+    }
+    
+    @Override
+    public Transaccion guardar(Transaccion transaccion) {
+        // Lo que el historial rechazaría no debe llegar al diario
+        TransaccionRepositoryMapeado.validar(transaccion);
+        puerta.lock();
+        try {
+            diario.escribir(CodificadorRegistros.transaccionGuardada(transaccion));
+            aplicar(transaccion);
+            return transaccion;
+        } finally {
+            puerta.unlock();
+        }
+    }
+    
+    @Override
+    public Optional<Transaccion> buscarPorId(String id) {
+        return historial.buscarPorId(id);
+    }
+    
+    @Override
+    public List<Transaccion> buscarPorCuentaId(String cuentaId) {
+        return historial.buscarPorCuentaId(cuentaId);
+    }
+    
+    @Override
+    public List<Transaccion> buscarPorCuentaIdYTipo(String cuentaId, TipoTransaccion tipo) {
+        return historial.buscarPorCuentaIdYTipo(cuentaId, tipo);
+    }
+    
+    @Override
+    public List<Transaccion> obtenerPorCuentaYFechas(String cuentaId,
+                                                      LocalDateTime fechaInicio,
+                                                      LocalDateTime fechaFin) {
+        return historial.obtenerPorCuentaYFechas(cuentaId, fechaInicio, fechaFin);
+    }
+    
+    @Override
+    public List<Transaccion> obtenerTodas() {
+        return historial.obtenerTodas();
+    }
+    
+    @Override
+    public List<Transaccion> obtenerUltimasPorCuenta(String cuentaId, int limite) {
+        return historial.obtenerUltimasPorCuenta(cuentaId, limite);
+    }
+    
+    /**
+     * Agrega al historial una transacción ya registrada en el diario.
+     */
+    void aplicar(Transaccion transaccion) {
+        historial.guardar(transaccion);
+    }
+    
+    /**
+     * Retorna el número de transacciones almacenadas.
+     */
+    public long contar() {
+        return historial.contar();
+    }
+}
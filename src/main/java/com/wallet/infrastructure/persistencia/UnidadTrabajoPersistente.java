@@ -0,0 +1,93 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.repositories.IUnidadTrabajo;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Unidad de trabajo persistida en el diario de escritura anticipada.
+ * 
+ * Las cuentas y transacciones de un movimiento van en una sola entrada del
+ * diario ({@link DiarioEscritura#agregarUnidad(byte[]...)}): al reproducir
+ * se aplican todas o ninguna, así que una caída entre la cuenta origen y
+ * la destino ya no puede crear ni destruir dinero. Además se espera un
+ * solo fsync por movimiento en lugar de uno por entidad.
+ * 
+ * La entrada se agrega y se espera con las franjas de las cuentas tomadas
+ * (las mismas que usa {@link CuentaRepositoryPersistente}), para que el
+ * orden del diario coincida con el de memoria, y solo cuando es durable
+ * se publican las cuentas y se agregan las transacciones al historial.
+ * 
+ * @author Wallet Team
+ * @version 1.0.0
+ */
+public class UnidadTrabajoPersistente implements IUnidadTrabajo {
+    
+    private final CuentaRepositoryPersistente cuentas;
+    private final TransaccionRepositoryPersistente transacciones;
+    private final DiarioEscritura diario;
+    private final Lock puerta;
+    private final GestorBloqueosCuentas bloqueos;
+    
+    UnidadTrabajoPersistente(CuentaRepositoryPersistente cuentas, TransaccionRepositoryPersistente transacciones,
+                             DiarioEscritura diario, Lock puerta, GestorBloqueosCuentas bloqueos) {
+        this.cuentas = cuentas;
+        this.transacciones = transacciones;
+        this.diario = diario;
+        this.puerta = puerta;
+        this.bloqueos = bloqueos;
+    }
+    
+    @Override
+    public void guardarMovimiento(Cuenta cuenta, Transaccion transaccion) {
+        validar(cuenta);
+        TransaccionRepositoryMapeado.validar(transaccion);
+        puerta.lock();
+        try {
+            bloqueos.ejecutar(cuenta.getId(), () -> {
+                diario.esperarDurable(diario.agregarUnidad(
+                    CodificadorRegistros.cuentaGuardada(cuenta),
+                    CodificadorRegistros.transaccionGuardada(transaccion)));
+                cuentas.aplicar(cuenta);
+                transacciones.aplicar(transaccion);
+                return null;
+            });
+        } finally {
+            puerta.unlock();
+        }
+    }
+    
+    @Override
+    public void guardarTransferencia(Cuenta origen, Cuenta destino, Transaccion enviada, Transaccion recibida) {
+        validar(origen);
+        validar(destino);
+        TransaccionRepositoryMapeado.validar(enviada);
+        TransaccionRepositoryMapeado.validar(recibida);
+        puerta.lock();
+        try {
+            bloqueos.ejecutar(origen.getId(), destino.getId(), () -> {
+                diario.esperarDurable(diario.agregarUnidad(
+                    CodificadorRegistros.cuentaGuardada(origen),
+                    CodificadorRegistros.cuentaGuardada(destino),
+                    CodificadorRegistros.transaccionGuardada(enviada),
+                    CodificadorRegistros.transaccionGuardada(recibida)));
+                cuentas.aplicar(origen);
+                cuentas.aplicar(destino);
+                transacciones.aplicar(enviada);
+                transacciones.aplicar(recibida);
+                return null;
+            });
+        } finally {
+            puerta.unlock();
+        }
+    }
+    
+    private static void validar(Cuenta cuenta) {
+        if (cuenta == null) {
+            throw new IllegalArgumentException("La cuenta no puede ser nula");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.domain.entities.Usuario;
+import com.wallet.domain.exceptions.OperacionNoValidaException;
+import com.wallet.domain.repositories.IUsuarioRepository;
+import com.wallet.domain.valueobjects.DocumentoIdentidad;
+import com.wallet.domain.valueobjects.Email;
+import com.wallet.infrastructure.repositories.UsuarioRepositoryInMemory;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Repositorio de usuarios persistido en el diario de escritura anticipada.
+ * 
+ * A diferencia de cuentas y transacciones, guardar un usuario puede
+ * rechazarse por email o documento duplicado. Por eso la escritura se
+ * aplica primero en memoria (que valida la unicidad y deshace sus índices
+ * si falla) y solo se agrega al diario si fue aceptada; un único bloqueo
+ * mantiene el mismo orden en memoria y en el diario, de modo que la
+ * reproducción llega a los mismos dueños de cada email y documento. La
+ * espera del fsync ocurre fuera de ese bloqueo, así que los escritores
+ * concurrentes comparten lote. Si el diario falla se restaura en memoria
+ * la entrada anterior. El método no retorna hasta que el registro es durable.
+ * 
+ * @author Wallet Team
+ * @version 1.0.0
+ */
+public class UsuarioRepositoryPersistente implements IUsuarioRepository {
+    
+    private final UsuarioRepositoryInMemory memoria;
+    private final DiarioEscritura diario;
+    private final Lock puerta;
+    private final ReentrantLock escritura = new ReentrantLock();
+    
+    UsuarioRepositoryPersistente(UsuarioRepositoryInMemory memoria, DiarioEscritura diario, Lock puerta) {
+        this.memoria = memoria;
+        this.diario = diario;
+        this.puerta = puerta;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws OperacionNoValidaException si otro usuario ya tiene el mismo email o documento
+     */
+    @Override
+    public Usuario guardar(Usuario usuario) {
+        if (usuario == null) {
+            throw new IllegalArgumentException("El usuario no puede ser nulo");
+        }
+        puerta.lock();
+        try {
+            Optional<Usuario> anterior;
+            long secuencia;
+            escritura.lock();
+            try {
+                anterior = memoria.buscarPorId(usuario.getId());
+                memoria.guardar(usuario);
+                try {
+                    secuencia = diario.agregar(CodificadorRegistros.usuarioGuardado(usuario));
+                } catch (RuntimeException e) {
+                    restaurar(usuario.getId(), anterior);
+                    throw e;
+                }
+            } finally {
+                escritura.unlock();
+            }
+            esperarDurable(secuencia, usuario.getId(), anterior);
+            return usuario;
+        } finally {
+            puerta.unlock();
+        }
+    }
+    
+    @Override
+    public Optional<Usuario> buscarPorId(String id) {
+        return memoria.buscarPorId(id);
+    }
+    
+    @Override
+    public Optional<Usuario> buscarPorEmail(Email email) {
+        return memoria.buscarPorEmail(email);
+    }
+    
+    @Override
+    public Optional<Usuario> buscarPorDocumento(String numeroDocumento) {
+        return memoria.buscarPorDocumento(numeroDocumento);
+    }
+    
+    @Override
+    public List<Usuario> obtenerTodos() {
+        return memoria.obtenerTodos();
+    }
+    
+    @Override
+    public List<Usuario> obtenerActivos() {
+        return memoria.obtenerActivos();
+    }
+    
+    @Override
+    public boolean eliminar(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return false;
+        }
+        puerta.lock();
+        try {
+            Optional<Usuario> anterior;
+            long secuencia;
+            escritura.lock();
+            try {
+                anterior = memoria.buscarPorId(id);
+                if (anterior.isEmpty() || !memoria.eliminar(id)) {
+                    return false;
+                }
+                try {
+                    secuencia = diario.agregar(
+                        CodificadorRegistros.eliminacion(CodificadorRegistros.USUARIO_ELIMINADO, id));
+                } catch (RuntimeException e) {
+                    restaurar(id, anterior);
+                    throw e;
+                }
+            } finally {
+                escritura.unlock();
+            }
+            esperarDurable(secuencia, id, anterior);
+            return true;
+        } finally {
+            puerta.unlock();
+        }
+    }
+    
+    @Override
+    public boolean existePorEmail(Email email) {
+        return memoria.existePorEmail(email);
+    }
+    
+    @Override
+    public boolean existePorDocumento(DocumentoIdentidad documento) {
+        return memoria.existePorDocumento(documento);
+    }
+    
+    private void esperarDurable(long secuencia, String id, Optional<Usuario> anterior) {
+        try {
+            diario.esperarDurable(secuencia);
+        } catch (RuntimeException e) {
+            escritura.lock();
+            try {
+                restaurar(id, anterior);
+            } finally {
+                escritura.unlock();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Deja en memoria la entrada que había antes de una escritura que el
+     * diario no pudo registrar. Se llama con el bloqueo de escritura tomado.
+     */
+    private void restaurar(String id, Optional<Usuario> anterior) {
+        if (anterior.isPresent()) {
+            memoria.guardar(anterior.get());
+        } else {
+            memoria.eliminar(id);
+        }
+    }
+}
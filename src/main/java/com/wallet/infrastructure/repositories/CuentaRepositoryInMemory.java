@@ -9,6 +9,12 @@ import java.util.stream.Collectors;
 
 /**
  * Implementación en memoria del repositorio de cuentas.
+ * Mantiene un índice secundario por número de cuenta para que las
+ * búsquedas por número sean O(1) en lugar de recorrer todas las cuentas,
+ * y un índice por usuario propietario para que listar las cuentas de un
+ * usuario cueste en proporción a sus cuentas y no al total del banco.
+ * El filtro de cuentas activas se evalúa sobre el estado vigente de cada
+ * cuenta, por lo que refleja activar/desactivar de inmediato.
  * 
  * @author Wallet Team
  * @version 1.0.0
@@ -16,9 +22,13 @@ import java.util.stream.Collectors;
 public class CuentaRepositoryInMemory implements ICuentaRepository {
     
     private final Map<String, Cuenta> cuentas;
+    private final Map<String, Cuenta> cuentasPorNumero;
+    private final Map<String, Map<String, Cuenta>> cuentasPorUsuario;
     
     public CuentaRepositoryInMemory() {
         this.cuentas = new ConcurrentHashMap<>();
+        this.cuentasPorNumero = new ConcurrentHashMap<>();
+        this.cuentasPorUsuario = new ConcurrentHashMap<>();
     }
     
     @Override
@@ -26,7 +36,25 @@ public class CuentaRepositoryInMemory implements ICuentaRepository {
         if (cuenta == null) {
             throw new IllegalArgumentException("La cuenta no puede ser nula");
         }
-        cuentas.put(cuenta.getId(), cuenta);
+        // compute serializa las escrituras sobre el mismo ID, manteniendo
+        // los índices secundarios consistentes con el mapa principal
+        cuentas.compute(cuenta.getId(), (id, anterior) -> {
+            if (anterior != null) {
+                if (!anterior.getNumeroCuenta().equals(cuenta.getNumeroCuenta())) {
+                    cuentasPorNumero.remove(anterior.getNumeroCuenta(), anterior);
+                }
+                if (!anterior.getUsuarioId().equals(cuenta.getUsuarioId())) {
+                    quitarDeUsuario(anterior);
+                }
+            }
+            cuentasPorNumero.put(cuenta.getNumeroCuenta(), cuenta);
+            cuentasPorUsuario.compute(cuenta.getUsuarioId(), (usuarioId, delUsuario) -> {
+                Map<String, Cuenta> grupo = delUsuario != null ? delUsuario : new ConcurrentHashMap<>();
+                grupo.put(id, cuenta);
+                return grupo;
+            });
+            return cuenta;
+        });
         return cuenta;
     }
     
@@ -43,9 +71,7 @@ public class CuentaRepositoryInMemory implements ICuentaRepository {
         if (numeroCuenta == null || numeroCuenta.trim().isEmpty()) {
             return Optional.empty();
         }
-        return cuentas.values().stream()
-            .filter(c -> c.getNumeroCuenta().equals(numeroCuenta))
-            .findFirst();
+        return Optional.ofNullable(cuentasPorNumero.get(numeroCuenta));
     }
     
     @Override
@@ -53,9 +79,11 @@ public class CuentaRepositoryInMemory implements ICuentaRepository {
         if (usuarioId == null || usuarioId.trim().isEmpty()) {
             return Collections.emptyList();
         }
-        return cuentas.values().stream()
-            .filter(c -> c.getUsuarioId().equals(usuarioId))
-            .collect(Collectors.toList());
+        Map<String, Cuenta> delUsuario = cuentasPorUsuario.get(usuarioId);
+        if (delUsuario == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(delUsuario.values());
     }
     
     @Override
@@ -63,8 +91,12 @@ public class CuentaRepositoryInMemory implements ICuentaRepository {
         if (usuarioId == null || usuarioId.trim().isEmpty()) {
             return Collections.emptyList();
         }
-        return cuentas.values().stream()
-            .filter(c -> c.getUsuarioId().equals(usuarioId) && c.isActiva())
+        Map<String, Cuenta> delUsuario = cuentasPorUsuario.get(usuarioId);
+        if (delUsuario == null) {
+            return Collections.emptyList();
+        }
+        return delUsuario.values().stream()
+            .filter(Cuenta::isActiva)
             .collect(Collectors.toList());
     }
     
@@ -78,7 +110,21 @@ public class CuentaRepositoryInMemory implements ICuentaRepository {
         if (id == null || id.trim().isEmpty()) {
             return false;
         }
-        return cuentas.remove(id) != null;
+        Cuenta eliminada = cuentas.remove(id);
+        if (eliminada == null) {
+            return false;
+        }
+        cuentasPorNumero.remove(eliminada.getNumeroCuenta(), eliminada);
+        quitarDeUsuario(eliminada);
+        return true;
+    }
+    
+    private void quitarDeUsuario(Cuenta cuenta) {
+        // Elimina el grupo del usuario cuando queda vacío
+        cuentasPorUsuario.computeIfPresent(cuenta.getUsuarioId(), (usuarioId, delUsuario) -> {
+            delUsuario.remove(cuenta.getId());
+            return delUsuario.isEmpty() ? null : delUsuario;
+        });
     }
     
     @Override
@@ -86,8 +132,7 @@ public class CuentaRepositoryInMemory implements ICuentaRepository {
         if (numeroCuenta == null || numeroCuenta.trim().isEmpty()) {
             return false;
         }
-        return cuentas.values().stream()
-            .anyMatch(c -> c.getNumeroCuenta().equals(numeroCuenta));
+        return cuentasPorNumero.containsKey(numeroCuenta);
     }
     
     /**
@@ -95,6 +140,8 @@ public class CuentaRepositoryInMemory implements ICuentaRepository {
      */
     public void limpiar() {
         cuentas.clear();
+        cuentasPorNumero.clear();
+        cuentasPorUsuario.clear();
     }
     
     /**
@@ -0,0 +1,566 @@
+package com.wallet.infrastructure.repositories;
+
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.repositories.ICuentaRepository;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementación del repositorio de cuentas que guarda el estado fuera del
+ * heap, pensada para decenas de millones de cuentas.
+ *
+ * Cada cuenta ocupa una ranura de {@value #TAMANO_RANURA} bytes en bloques
+ * de memoria directa ({@link ByteBuffer#allocateDirect}), direccionada por
+ * un ordinal denso: ID y usuario (UUID en dos long), número de cuenta
+ * (dígitos en un long), saldo en centavos, moneda, fechas de creación y
+ * actualización (nanosegundos desde la época, UTC), estado activa y el
+ * enlace a la siguiente cuenta del mismo usuario. Los índices por ID, por
+ * número y por usuario son tablas abiertas de ordinales en arreglos
+ * {@code int[]} que comparan contra la clave guardada en la ranura. Así el
+ * heap contiene unos pocos objetos sin referencias en lugar de varios
+ * objetos por cuenta, y las pausas del recolector no crecen con el número
+ * de cuentas. Las ranuras de cuentas eliminadas se reutilizan.
+ *
+ * Las búsquedas retornan una Cuenta nueva construida desde la ranura, que
+ * se descarta al terminar la operación: modificarla no cambia lo guardado
+ * hasta llamar a {@link #guardar}, igual que en un repositorio persistente.
+ * Las cuentas que no caben en una ranura (IDs o usuarios que no son UUID,
+ * números que no son solo dígitos, saldos fuera de rango o fechas nulas)
+ * se guardan en un {@link CuentaRepositoryInMemory} aparte.
+ *
+ * Las escrituras se serializan con un lock de escritura; las lecturas
+ * toman el lock de lectura mientras copian las ranuras.
+ *
+ * @author Wallet Team
+ * @version 1.0.0
+ */
+public class CuentaRepositoryOffHeap implements ICuentaRepository {
+    
+    static final int TAMANO_RANURA = 72;
+    static final int RANURAS_POR_BLOQUE = 1 << 16;
+    private static final int DESPLAZAMIENTO = 16;
+    private static final int MASCARA = RANURAS_POR_BLOQUE - 1;
+    private static final int SIN_RANURA = -1;
+    
+    // Desplazamientos dentro de la ranura
+    private static final int ID_ALTO = 0;
+    private static final int ID_BAJO = 8;
+    private static final int USUARIO_ALTO = 16;
+    private static final int USUARIO_BAJO = 24;
+    private static final int SALDO = 32;
+    private static final int CREACION = 40;
+    private static final int ACTUALIZACION = 48;
+    private static final int NUMERO = 56;
+    private static final int SIGUIENTE_DEL_USUARIO = 64;
+    private static final int MONEDA = 68;
+    private static final int ESTADO = 70;
+    
+    private static final byte OCUPADA = 1;
+    private static final byte ACTIVA = 2;
+    
+    /** Dígitos máximos del número de cuenta: 10^17 cabe en 57 bits. */
+    private static final int MAX_DIGITOS = 17;
+    private static final int BITS_VALOR_NUMERO = 57;
+    private static final long NUMERO_INVALIDO = -1L;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Modificados solo con el lock de escritura
+    private ByteBuffer[] bloques = new ByteBuffer[16];
+    private int ranurasUsadas;
+    private int[] libres = new int[64];
+    private int cantidadLibres;
+    private final Indice porId = new Indice(ID_ALTO, ID_BAJO);
+    private final Indice porNumero = new Indice(NUMERO, NUMERO);
+    /** Primera ranura de cada usuario; el resto se enlaza desde la ranura. */
+    private final Indice porUsuario = new Indice(USUARIO_ALTO, USUARIO_BAJO);
+    private final CuentaRepositoryInMemory excepciones = new CuentaRepositoryInMemory();
+    
+    @Override
+    public Cuenta guardar(Cuenta cuenta) {
+        if (cuenta == null) {
+            throw new IllegalArgumentException("La cuenta no puede ser nula");
+        }
+        if (cuenta.getId() == null || cuenta.getNumeroCuenta() == null || cuenta.getUsuarioId() == null) {
+            throw new IllegalArgumentException("La cuenta debe tener ID, número y usuario");
+        }
+        UUID id = FormatoCompacto.comoUuid(cuenta.getId());
+        UUID usuario = FormatoCompacto.comoUuid(cuenta.getUsuarioId());
+        long numero = codificarNumero(cuenta.getNumeroCuenta());
+        boolean cabe = id != null && usuario != null && numero != NUMERO_INVALIDO && cabeEnRanura(cuenta);
+        
+        lock.writeLock().lock();
+        try {
+            int ranura = id != null
+                ? porId.buscar(id.getMostSignificantBits(), id.getLeastSignificantBits()) : SIN_RANURA;
+            if (!cabe) {
+                if (ranura != SIN_RANURA) {
+                    liberar(ranura);
+                }
+                return excepciones.guardar(cuenta);
+            }
+            excepciones.eliminar(cuenta.getId());
+            
+            if (ranura == SIN_RANURA) {
+                ranura = asignarRanura();
+                ByteBuffer bloque = bloque(ranura);
+                int base = base(ranura);
+                bloque.putLong(base + ID_ALTO, id.getMostSignificantBits());
+                bloque.putLong(base + ID_BAJO, id.getLeastSignificantBits());
+                bloque.putLong(base + NUMERO, numero);
+                bloque.putLong(base + USUARIO_ALTO, usuario.getMostSignificantBits());
+                bloque.putLong(base + USUARIO_BAJO, usuario.getLeastSignificantBits());
+                porId.poner(ranura);
+                porNumero.poner(ranura);
+                enlazarAUsuario(ranura);
+            } else {
+                ByteBuffer bloque = bloque(ranura);
+                int base = base(ranura);
+                if (bloque.getLong(base + NUMERO) != numero) {
+                    porNumero.quitar(ranura);
+                    bloque.putLong(base + NUMERO, numero);
+                    porNumero.poner(ranura);
+                }
+                long usuarioAlto = usuario.getMostSignificantBits();
+                long usuarioBajo = usuario.getLeastSignificantBits();
+                if (bloque.getLong(base + USUARIO_ALTO) != usuarioAlto
+                        || bloque.getLong(base + USUARIO_BAJO) != usuarioBajo) {
+                    desenlazarDeUsuario(ranura);
+                    bloque.putLong(base + USUARIO_ALTO, usuarioAlto);
+                    bloque.putLong(base + USUARIO_BAJO, usuarioBajo);
+                    enlazarAUsuario(ranura);
+                }
+            }
+            escribirEstado(ranura, cuenta);
+            return cuenta;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Saldo en centavos que cabe en un long y fechas representables en
+     * nanosegundos (de 1677 a 2262).
+     */
+    private static boolean cabeEnRanura(Cuenta cuenta) {
+        Dinero saldo = cuenta.getSaldo();
+        if (saldo == null || cuenta.getFechaCreacion() == null || cuenta.getFechaActualizacion() == null) {
+            return false;
+        }
+        BigDecimal cantidad = saldo.getCantidad();
+        return cantidad.scale() == 2 && cantidad.unscaledValue().bitLength() < Long.SIZE
+            && FormatoCompacto.aInstante(cuenta.getFechaCreacion()) != Long.MIN_VALUE
+            && FormatoCompacto.aInstante(cuenta.getFechaActualizacion()) != Long.MIN_VALUE;
+    }
+    
+    private void escribirEstado(int ranura, Cuenta cuenta) {
+        ByteBuffer bloque = bloque(ranura);
+        int base = base(ranura);
+        Dinero saldo = cuenta.getSaldo();
+        bloque.putLong(base + SALDO, saldo.getCantidad().unscaledValue().longValue());
+        bloque.putShort(base + MONEDA, (short) saldo.getMonedaCanonica().ordinal());
+        bloque.putLong(base + CREACION, FormatoCompacto.aInstante(cuenta.getFechaCreacion()));
+        bloque.putLong(base + ACTUALIZACION, FormatoCompacto.aInstante(cuenta.getFechaActualizacion()));
+        bloque.put(base + ESTADO, (byte) (OCUPADA | (cuenta.isActiva() ? ACTIVA : 0)));
+    }
+    
+    private int asignarRanura() {
+        if (cantidadLibres > 0) {
+            return libres[--cantidadLibres];
+        }
+        int ranura = ranurasUsadas;
+        int numeroBloque = ranura >>> DESPLAZAMIENTO;
+        if (numeroBloque == bloques.length) {
+            bloques = Arrays.copyOf(bloques, bloques.length * 2);
+        }
+        if (bloques[numeroBloque] == null) {
+            bloques[numeroBloque] = ByteBuffer.allocateDirect(RANURAS_POR_BLOQUE * TAMANO_RANURA)
+                .order(ByteOrder.nativeOrder());
+        }
+        ranurasUsadas = ranura + 1;
+        return ranura;
+    }
+    
+    private void liberar(int ranura) {
+        porId.quitar(ranura);
+        porNumero.quitar(ranura);
+        desenlazarDeUsuario(ranura);
+        bloque(ranura).put(base(ranura) + ESTADO, (byte) 0);
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, cantidadLibres * 2);
+        }
+        libres[cantidadLibres++] = ranura;
+    }
+    
+    private void enlazarAUsuario(int ranura) {
+        ByteBuffer bloque = bloque(ranura);
+        int base = base(ranura);
+        int primera = porUsuario.buscar(bloque.getLong(base + USUARIO_ALTO), bloque.getLong(base + USUARIO_BAJO));
+        bloque.putInt(base + SIGUIENTE_DEL_USUARIO, primera);
+        porUsuario.poner(ranura);
+    }
+    
+    private void desenlazarDeUsuario(int ranura) {
+        ByteBuffer bloque = bloque(ranura);
+        int base = base(ranura);
+        int siguiente = bloque.getInt(base + SIGUIENTE_DEL_USUARIO);
+        int primera = porUsuario.buscar(bloque.getLong(base + USUARIO_ALTO), bloque.getLong(base + USUARIO_BAJO));
+        if (primera == ranura) {
+            if (siguiente == SIN_RANURA) {
+                porUsuario.quitar(ranura);
+            } else {
+                porUsuario.reemplazar(ranura, siguiente);
+            }
+            return;
+        }
+        // Las cuentas de un usuario son pocas: se recorre su lista
+        for (int anterior = primera; anterior != SIN_RANURA; anterior = siguienteDelUsuario(anterior)) {
+            if (siguienteDelUsuario(anterior) == ranura) {
+                bloque(anterior).putInt(base(anterior) + SIGUIENTE_DEL_USUARIO, siguiente);
+                return;
+            }
+        }
+    }
+    
+    private int siguienteDelUsuario(int ranura) {
+        return bloque(ranura).getInt(base(ranura) + SIGUIENTE_DEL_USUARIO);
+    }
+    
+    @Override
+    public Optional<Cuenta> buscarPorId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        UUID uuid = FormatoCompacto.comoUuid(id);
+        lock.readLock().lock();
+        try {
+            int ranura = uuid != null
+                ? porId.buscar(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) : SIN_RANURA;
+            return ranura != SIN_RANURA ? Optional.of(materializar(ranura)) : excepciones.buscarPorId(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public Optional<Cuenta> buscarPorNumeroCuenta(String numeroCuenta) {
+        if (numeroCuenta == null || numeroCuenta.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        long numero = codificarNumero(numeroCuenta);
+        lock.readLock().lock();
+        try {
+            int ranura = numero != NUMERO_INVALIDO ? porNumero.buscar(numero, numero) : SIN_RANURA;
+            return ranura != SIN_RANURA
+                ? Optional.of(materializar(ranura)) : excepciones.buscarPorNumeroCuenta(numeroCuenta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Cuenta> buscarPorUsuarioId(String usuarioId) {
+        return delUsuario(usuarioId, false);
+    }
+    
+    @Override
+    public List<Cuenta> obtenerActivasPorUsuario(String usuarioId) {
+        return delUsuario(usuarioId, true);
+    }
+    
+    private List<Cuenta> delUsuario(String usuarioId, boolean soloActivas) {
+        if (usuarioId == null || usuarioId.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        UUID uuid = FormatoCompacto.comoUuid(usuarioId);
+        lock.readLock().lock();
+        try {
+            List<Cuenta> resultado = new ArrayList<>(soloActivas
+                ? excepciones.obtenerActivasPorUsuario(usuarioId) : excepciones.buscarPorUsuarioId(usuarioId));
+            int ranura = uuid != null
+                ? porUsuario.buscar(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) : SIN_RANURA;
+            for (; ranura != SIN_RANURA; ranura = siguienteDelUsuario(ranura)) {
+                // El estado se lee en la ranura: las inactivas no se materializan
+                if (!soloActivas || (bloque(ranura).get(base(ranura) + ESTADO) & ACTIVA) != 0) {
+                    resultado.add(materializar(ranura));
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Cuenta> obtenerTodas() {
+        lock.readLock().lock();
+        try {
+            List<Cuenta> todas = excepciones.obtenerTodas();
+            for (int ranura = 0; ranura < ranurasUsadas; ranura++) {
+                if ((bloque(ranura).get(base(ranura) + ESTADO) & OCUPADA) != 0) {
+                    todas.add(materializar(ranura));
+                }
+            }
+            return todas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean eliminar(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return false;
+        }
+        UUID uuid = FormatoCompacto.comoUuid(id);
+        lock.writeLock().lock();
+        try {
+            int ranura = uuid != null
+                ? porId.buscar(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) : SIN_RANURA;
+            if (ranura == SIN_RANURA) {
+                return excepciones.eliminar(id);
+            }
+            liberar(ranura);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public boolean existeNumeroCuenta(String numeroCuenta) {
+        if (numeroCuenta == null || numeroCuenta.trim().isEmpty()) {
+            return false;
+        }
+        long numero = codificarNumero(numeroCuenta);
+        lock.readLock().lock();
+        try {
+            return (numero != NUMERO_INVALIDO && porNumero.buscar(numero, numero) != SIN_RANURA)
+                || excepciones.existeNumeroCuenta(numeroCuenta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Cuenta materializar(int ranura) {
+        ByteBuffer bloque = bloque(ranura);
+        int base = base(ranura);
+        Moneda moneda = Moneda.porOrdinal(bloque.getShort(base + MONEDA));
+        return new Cuenta(
+            new UUID(bloque.getLong(base + ID_ALTO), bloque.getLong(base + ID_BAJO)).toString(),
+            decodificarNumero(bloque.getLong(base + NUMERO)),
+            new UUID(bloque.getLong(base + USUARIO_ALTO), bloque.getLong(base + USUARIO_BAJO)).toString(),
+            new Dinero(BigDecimal.valueOf(bloque.getLong(base + SALDO), 2), moneda),
+            FormatoCompacto.aFecha(bloque.getLong(base + CREACION)),
+            FormatoCompacto.aFecha(bloque.getLong(base + ACTUALIZACION)),
+            (bloque.get(base + ESTADO) & ACTIVA) != 0);
+    }
+    
+    private ByteBuffer bloque(int ranura) {
+        return bloques[ranura >>> DESPLAZAMIENTO];
+    }
+    
+    private static int base(int ranura) {
+        return (ranura & MASCARA) * TAMANO_RANURA;
+    }
+    
+    /**
+     * Tabla abierta (sondeo lineal) de ranuras + 1 (0 = libre). La clave son
+     * dos long leídos de la ranura, por lo que la tabla no guarda objetos.
+     */
+    private final class Indice {
+        private final int desplazamientoAlto;
+        private final int desplazamientoBajo;
+        private int[] tabla = new int[1 << 10];
+        private int ocupadas;
+        
+        Indice(int desplazamientoAlto, int desplazamientoBajo) {
+            this.desplazamientoAlto = desplazamientoAlto;
+            this.desplazamientoBajo = desplazamientoBajo;
+        }
+        
+        int buscar(long alto, long bajo) {
+            int mascara = tabla.length - 1;
+            for (int p = hash(alto, bajo) & mascara; tabla[p] != 0; p = (p + 1) & mascara) {
+                int ranura = tabla[p] - 1;
+                if (alto(ranura) == alto && bajo(ranura) == bajo) {
+                    return ranura;
+                }
+            }
+            return SIN_RANURA;
+        }
+        
+        /**
+         * Indexa la ranura por su clave; si otra ranura tenía la misma clave
+         * queda reemplazada, como en un mapa.
+         */
+        void poner(int ranura) {
+            if ((ocupadas + 1) * 2 > tabla.length) {
+                crecer();
+            }
+            long alto = alto(ranura);
+            long bajo = bajo(ranura);
+            int mascara = tabla.length - 1;
+            int p = hash(alto, bajo) & mascara;
+            for (; tabla[p] != 0; p = (p + 1) & mascara) {
+                int otra = tabla[p] - 1;
+                if (alto(otra) == alto && bajo(otra) == bajo) {
+                    tabla[p] = ranura + 1;
+                    return;
+                }
+            }
+            tabla[p] = ranura + 1;
+            ocupadas++;
+        }
+        
+        /**
+         * Cambia la ranura indexada por otra con la misma clave.
+         */
+        void reemplazar(int ranura, int nueva) {
+            int p = posicion(ranura);
+            if (p != SIN_RANURA) {
+                tabla[p] = nueva + 1;
+            }
+        }
+        
+        /**
+         * Quita la ranura si es la indexada para su clave, desplazando hacia
+         * atrás las entradas siguientes para no dejar huecos en el sondeo.
+         */
+        void quitar(int ranura) {
+            int hueco = posicion(ranura);
+            if (hueco == SIN_RANURA) {
+                return;
+            }
+            int mascara = tabla.length - 1;
+            for (int p = (hueco + 1) & mascara; tabla[p] != 0; p = (p + 1) & mascara) {
+                int otra = tabla[p] - 1;
+                int inicial = hash(alto(otra), bajo(otra)) & mascara;
+                // La entrada puede ocupar el hueco si su posición inicial no
+                // queda entre el hueco (exclusive) y su posición actual
+                if (((p - inicial) & mascara) >= ((p - hueco) & mascara)) {
+                    tabla[hueco] = tabla[p];
+                    hueco = p;
+                }
+            }
+            tabla[hueco] = 0;
+            ocupadas--;
+        }
+        
+        private int posicion(int ranura) {
+            int mascara = tabla.length - 1;
+            for (int p = hash(alto(ranura), bajo(ranura)) & mascara; tabla[p] != 0; p = (p + 1) & mascara) {
+                if (tabla[p] == ranura + 1) {
+                    return p;
+                }
+            }
+            return SIN_RANURA;
+        }
+        
+        private void crecer() {
+            int[] anterior = tabla;
+            tabla = new int[anterior.length * 2];
+            int mascara = tabla.length - 1;
+            for (int valor : anterior) {
+                if (valor != 0) {
+                    int p = hash(alto(valor - 1), bajo(valor - 1)) & mascara;
+                    while (tabla[p] != 0) {
+                        p = (p + 1) & mascara;
+                    }
+                    tabla[p] = valor;
+                }
+            }
+        }
+        
+        private long alto(int ranura) {
+            return bloque(ranura).getLong(base(ranura) + desplazamientoAlto);
+        }
+        
+        private long bajo(int ranura) {
+            return bloque(ranura).getLong(base(ranura) + desplazamientoBajo);
+        }
+        
+        void limpiar() {
+            tabla = new int[1 << 10];
+            ocupadas = 0;
+        }
+    }
+    
+    private static int hash(long alto, long bajo) {
+        long h = (alto * 0x9E3779B97F4A7C15L) ^ (bajo + 0x632BE59BD9B4E019L) * 0xC2B2AE3D27D4EB4FL;
+        return (int) (h ^ (h >>> 32));
+    }
+    
+    // ------------------------------------------------------------------
+    // Conversiones
+    // ------------------------------------------------------------------
+    
+    /**
+     * Número de cuenta de hasta {@value #MAX_DIGITOS} dígitos como un long:
+     * la cantidad de dígitos en los bits altos conserva los ceros a la
+     * izquierda. Retorna -1 si el número no es solo dígitos.
+     */
+    private static long codificarNumero(String numeroCuenta) {
+        int digitos = numeroCuenta.length();
+        if (digitos == 0 || digitos > MAX_DIGITOS) {
+            return NUMERO_INVALIDO;
+        }
+        long valor = 0;
+        for (int i = 0; i < digitos; i++) {
+            char c = numeroCuenta.charAt(i);
+            if (c < '0' || c > '9') {
+                return NUMERO_INVALIDO;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return ((long) digitos << BITS_VALOR_NUMERO) | valor;
+    }
+    
+    private static String decodificarNumero(long numero) {
+        char[] digitos = new char[(int) (numero >>> BITS_VALOR_NUMERO)];
+        long valor = numero & ((1L << BITS_VALOR_NUMERO) - 1);
+        for (int i = digitos.length - 1; i >= 0; i--) {
+            digitos[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return new String(digitos);
+    }
+    
+    /**
+     * Limpia todas las cuentas (útil para testing). La memoria directa se
+     * libera cuando el recolector descarta los bloques.
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            bloques = new ByteBuffer[16];
+            ranurasUsadas = 0;
+            libres = new int[64];
+            cantidadLibres = 0;
+            porId.limpiar();
+            porNumero.limpiar();
+            porUsuario.limpiar();
+            excepciones.limpiar();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Retorna el número de cuentas almacenadas.
+     */
+    public int contar() {
+        lock.readLock().lock();
+        try {
+            return ranurasUsadas - cantidadLibres + excepciones.contar();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.wallet.infrastructure.repositories;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Reglas compartidas por los almacenes que guardan entidades en campos
+ * primitivos ({@link CuentaRepositoryOffHeap},
+ * {@link TransaccionRepositoryColumnar} y el historial mapeado): qué IDs
+ * caben en dos long y cómo se representa una fecha en un long.
+ *
+ * Mantenerlas en un solo lugar evita que los almacenes difieran sobre qué
+ * IDs van por la vía compacta y cuáles como texto.
+ */
+public final class FormatoCompacto {
+    
+    public static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+    
+    private FormatoCompacto() {
+        throw new AssertionError("No se debe instanciar FormatoCompacto");
+    }
+    
+    /**
+     * El ID como UUID si tiene la forma canónica (la que generan las
+     * entidades), que es la única que se reconstruye igual desde los dos
+     * long; para cualquier otro ID retorna null y se guarda como texto.
+     */
+    public static UUID comoUuid(String id) {
+        if (id.length() != 36 || id.charAt(8) != '-' || id.charAt(13) != '-'
+                || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Instante en nanosegundos desde la época (UTC), o Long.MIN_VALUE si la
+     * fecha no cabe en un long (un long cubre de 1677 a 2262).
+     */
+    public static long aInstante(LocalDateTime fecha) {
+        try {
+            return Math.addExact(Math.multiplyExact(fecha.toEpochSecond(ZoneOffset.UTC), NANOS_POR_SEGUNDO),
+                fecha.getNano());
+        } catch (ArithmeticException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+    
+    /**
+     * Fecha (UTC) de un instante obtenido con {@link #aInstante}.
+     */
+    public static LocalDateTime aFecha(long instante) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(instante, NANOS_POR_SEGUNDO),
+            (int) Math.floorMod(instante, NANOS_POR_SEGUNDO), ZoneOffset.UTC);
+    }
+}
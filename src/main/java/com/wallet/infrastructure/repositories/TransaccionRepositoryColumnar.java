@@ -0,0 +1,566 @@
+package com.wallet.infrastructure.repositories;
+
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.repositories.ITransaccionRepository;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementación en memoria del repositorio de transacciones organizada
+ * por columnas (struct of arrays) en lugar de un mapa de objetos.
+ *
+ * Cada transacción es una fila repartida en arreglos primitivos: ID (UUID
+ * en dos long), instante (nanosegundos desde la época, UTC), montos en
+ * centavos, moneda, tipo, ordinal de la cuenta y de la contraparte, y
+ * ordinal de la descripción en un diccionario. Las columnas crecen por
+ * bloques de {@value #FILAS_POR_BLOQUE} filas, sin copiar lo ya escrito.
+ * Las filas que no caben en las columnas (IDs que no son UUID, montos
+ * nulos o fuera de rango, saldos en otra moneda) guardan además la
+ * entidad original aparte.
+ *
+ * Cada fila enlaza con la fila anterior de la misma cuenta, así que el
+ * historial, los filtros por tipo y los rangos de fechas recorren solo las
+ * filas de la cuenta leyendo primitivos, y se crean entidades únicamente
+ * para las filas que se retornan. Las consultas analíticas (por ejemplo
+ * {@link #sumarMontos}) recorren las columnas completas de forma
+ * secuencial, sin crear objetos.
+ *
+ * Las escrituras se serializan con un lock; las consultas lo toman solo
+ * para fijar las filas publicadas y luego leen sin lock, porque una fila
+ * publicada no cambia. Las transacciones son inmutables y se agregan una
+ * vez: guardar dos veces el mismo ID agrega otra fila, y buscarPorId
+ * retorna la última.
+ *
+ * @author Wallet Team
+ * @version 1.0.0
+ */
+public class TransaccionRepositoryColumnar implements ITransaccionRepository {
+    
+    static final int FILAS_POR_BLOQUE = 1 << 14;
+    private static final int DESPLAZAMIENTO = 14;
+    private static final int MASCARA = FILAS_POR_BLOQUE - 1;
+    private static final int SIN_FILA = -1;
+    /** Marca en la columna de moneda: la fila tiene su entidad en excepciones. */
+    private static final short EXCEPCION = -1;
+    
+    private static final TipoTransaccion[] TIPOS = TipoTransaccion.values();
+    
+    /** Orden del historial, igual al de TransaccionRepositoryInMemory. */
+    private static final Comparator<Transaccion> ORDEN_HISTORIAL = Comparator
+        .comparing(Transaccion::getFecha, Comparator.reverseOrder())
+        .thenComparing(Transaccion::getId);
+    
+    /**
+     * Un bloque de filas, con una columna por campo.
+     */
+    private static final class Bloque {
+        final long[] idAlto = new long[FILAS_POR_BLOQUE];
+        final long[] idBajo = new long[FILAS_POR_BLOQUE];
+        final long[] instante = new long[FILAS_POR_BLOQUE];
+        final long[] monto = new long[FILAS_POR_BLOQUE];
+        final long[] saldoAnterior = new long[FILAS_POR_BLOQUE];
+        final long[] saldoNuevo = new long[FILAS_POR_BLOQUE];
+        final int[] cuenta = new int[FILAS_POR_BLOQUE];
+        final int[] contraparte = new int[FILAS_POR_BLOQUE];
+        final int[] previoCuenta = new int[FILAS_POR_BLOQUE];
+        final int[] previoContraparte = new int[FILAS_POR_BLOQUE];
+        final int[] descripcion = new int[FILAS_POR_BLOQUE];
+        final byte[] tipo = new byte[FILAS_POR_BLOQUE];
+        final short[] moneda = new short[FILAS_POR_BLOQUE];
+    }
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Modificados solo con el lock de escritura
+    private Bloque[] bloques = new Bloque[16];
+    private int filas;
+    private final Map<String, Integer> ordinalesCuenta = new HashMap<>();
+    private String[] cuentas = new String[1024];
+    private int[] ultimaFilaPorCuenta = new int[1024];
+    private int cantidadCuentas;
+    private final Map<String, Integer> ordinalesDescripcion = new HashMap<>();
+    private String[] descripciones = new String[1024];
+    private int cantidadDescripciones;
+    /** Tabla abierta de filas + 1 (0 = libre) por hash del UUID. */
+    private int[] filasPorUuid = new int[1 << 10];
+    private final Map<String, Integer> filasPorIdTexto = new HashMap<>();
+    private final Map<Integer, Transaccion> excepciones = new ConcurrentHashMap<>();
+    
+    /**
+     * Filas publicadas y los arreglos con los que leerlas. Los arreglos solo
+     * crecen (se reemplazan por copias), así que lo fijado sigue siendo
+     * válido para esas filas.
+     */
+    private record Vista(Bloque[] bloques, int filas, String[] cuentas, String[] descripciones) {
+    }
+    
+    @Override
+    public Transaccion guardar(Transaccion transaccion) {
+        if (transaccion == null) {
+            throw new IllegalArgumentException("La transacción no puede ser nula");
+        }
+        if (transaccion.getId() == null || transaccion.getTipo() == null
+                || transaccion.getCuentaOrigenId() == null || transaccion.getFecha() == null) {
+            throw new IllegalArgumentException("La transacción debe tener ID, tipo, cuenta origen y fecha");
+        }
+        long instante = aInstante(transaccion.getFecha());
+        
+        lock.writeLock().lock();
+        try {
+            int fila = filas;
+            int numeroBloque = fila >>> DESPLAZAMIENTO;
+            if (numeroBloque == bloques.length) {
+                bloques = Arrays.copyOf(bloques, bloques.length * 2);
+            }
+            if (bloques[numeroBloque] == null) {
+                bloques[numeroBloque] = new Bloque();
+            }
+            Bloque bloque = bloques[numeroBloque];
+            int i = fila & MASCARA;
+            
+            int cuenta = ordinalCuenta(transaccion.getCuentaOrigenId());
+            int contraparte = transaccion.getCuentaDestinoId() != null
+                ? ordinalCuenta(transaccion.getCuentaDestinoId()) : SIN_FILA;
+            bloque.cuenta[i] = cuenta;
+            bloque.contraparte[i] = contraparte;
+            bloque.previoCuenta[i] = ultimaFilaPorCuenta[cuenta];
+            ultimaFilaPorCuenta[cuenta] = fila;
+            if (contraparte != SIN_FILA && contraparte != cuenta) {
+                bloque.previoContraparte[i] = ultimaFilaPorCuenta[contraparte];
+                ultimaFilaPorCuenta[contraparte] = fila;
+            } else {
+                bloque.previoContraparte[i] = SIN_FILA;
+            }
+            bloque.instante[i] = instante;
+            bloque.tipo[i] = (byte) transaccion.getTipo().ordinal();
+            bloque.descripcion[i] = ordinalDescripcion(transaccion.getDescripcion());
+            
+            UUID uuid = FormatoCompacto.comoUuid(transaccion.getId());
+            if (uuid != null) {
+                bloque.idAlto[i] = uuid.getMostSignificantBits();
+                bloque.idBajo[i] = uuid.getLeastSignificantBits();
+            }
+            if (uuid == null || !llenarMontos(bloque, i, transaccion)) {
+                bloque.moneda[i] = EXCEPCION;
+                excepciones.put(fila, transaccion);
+            }
+            filas = fila + 1;
+            
+            if (uuid != null) {
+                indexarUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), fila);
+            } else {
+                filasPorIdTexto.put(transaccion.getId(), fila);
+            }
+            return transaccion;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Escribe los montos en centavos si los tres existen, caben en un long y
+     * están en la misma moneda.
+     */
+    private static boolean llenarMontos(Bloque bloque, int i, Transaccion transaccion) {
+        Dinero monto = transaccion.getMonto();
+        Dinero anterior = transaccion.getSaldoAnterior();
+        Dinero nuevo = transaccion.getSaldoNuevo();
+        if (monto == null || anterior == null || nuevo == null) {
+            return false;
+        }
+        Moneda moneda = monto.getMonedaCanonica();
+        if (anterior.getMonedaCanonica() != moneda || nuevo.getMonedaCanonica() != moneda
+                || !esCompacto(monto) || !esCompacto(anterior) || !esCompacto(nuevo)) {
+            return false;
+        }
+        bloque.monto[i] = centavos(monto);
+        bloque.saldoAnterior[i] = centavos(anterior);
+        bloque.saldoNuevo[i] = centavos(nuevo);
+        bloque.moneda[i] = (short) moneda.ordinal();
+        return true;
+    }
+    
+    private static boolean esCompacto(Dinero dinero) {
+        BigDecimal cantidad = dinero.getCantidad();
+        return cantidad.scale() == 2 && cantidad.unscaledValue().bitLength() < Long.SIZE;
+    }
+    
+    private static long centavos(Dinero dinero) {
+        BigInteger sinEscala = dinero.getCantidad().unscaledValue();
+        return sinEscala.longValue();
+    }
+    
+    private int ordinalCuenta(String cuentaId) {
+        Integer ordinal = ordinalesCuenta.get(cuentaId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        if (cantidadCuentas == cuentas.length) {
+            // Copias nuevas: las consultas en curso conservan las anteriores
+            cuentas = Arrays.copyOf(cuentas, cantidadCuentas * 2);
+            ultimaFilaPorCuenta = Arrays.copyOf(ultimaFilaPorCuenta, cantidadCuentas * 2);
+        }
+        cuentas[cantidadCuentas] = cuentaId;
+        ultimaFilaPorCuenta[cantidadCuentas] = SIN_FILA;
+        ordinalesCuenta.put(cuentaId, cantidadCuentas);
+        return cantidadCuentas++;
+    }
+    
+    private int ordinalDescripcion(String descripcion) {
+        if (descripcion == null) {
+            return SIN_FILA;
+        }
+        Integer ordinal = ordinalesDescripcion.get(descripcion);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        if (cantidadDescripciones == descripciones.length) {
+            descripciones = Arrays.copyOf(descripciones, cantidadDescripciones * 2);
+        }
+        descripciones[cantidadDescripciones] = descripcion;
+        ordinalesDescripcion.put(descripcion, cantidadDescripciones);
+        return cantidadDescripciones++;
+    }
+    
+    private void indexarUuid(long alto, long bajo, int fila) {
+        if ((filas - filasPorIdTexto.size()) * 2 > filasPorUuid.length) {
+            int[] anterior = filasPorUuid;
+            filasPorUuid = new int[anterior.length * 2];
+            for (int valor : anterior) {
+                if (valor != 0) {
+                    Bloque bloque = bloques[(valor - 1) >>> DESPLAZAMIENTO];
+                    int i = (valor - 1) & MASCARA;
+                    insertarUuid(bloque.idAlto[i], bloque.idBajo[i], valor);
+                }
+            }
+        }
+        insertarUuid(alto, bajo, fila + 1);
+    }
+    
+    private void insertarUuid(long alto, long bajo, int valor) {
+        int mascara = filasPorUuid.length - 1;
+        int posicion = hashUuid(alto, bajo) & mascara;
+        while (filasPorUuid[posicion] != 0) {
+            posicion = (posicion + 1) & mascara;
+        }
+        filasPorUuid[posicion] = valor;
+    }
+    
+    private static int hashUuid(long alto, long bajo) {
+        long h = (alto ^ bajo) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+    
+    @Override
+    public Optional<Transaccion> buscarPorId(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Vista vista = vista();
+            UUID uuid = FormatoCompacto.comoUuid(id);
+            if (uuid == null) {
+                Integer fila = filasPorIdTexto.get(id);
+                return fila == null ? Optional.empty() : Optional.of(materializar(vista, fila));
+            }
+            long alto = uuid.getMostSignificantBits();
+            long bajo = uuid.getLeastSignificantBits();
+            int mascara = filasPorUuid.length - 1;
+            // Se devuelve la última guardada con ese ID, como el mapa en memoria
+            int encontrada = SIN_FILA;
+            for (int p = hashUuid(alto, bajo) & mascara; filasPorUuid[p] != 0; p = (p + 1) & mascara) {
+                int fila = filasPorUuid[p] - 1;
+                Bloque bloque = vista.bloques[fila >>> DESPLAZAMIENTO];
+                int i = fila & MASCARA;
+                if (bloque.idAlto[i] == alto && bloque.idBajo[i] == bajo && fila > encontrada) {
+                    encontrada = fila;
+                }
+            }
+            return encontrada == SIN_FILA ? Optional.empty() : Optional.of(materializar(vista, encontrada));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    @Override
+    public List<Transaccion> buscarPorCuentaId(String cuentaId) {
+        if (cuentaId == null || cuentaId.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return recorrerCuenta(cuentaId, (bloque, i) -> true);
+    }
+    
+    @Override
+    public List<Transaccion> buscarPorCuentaIdYTipo(String cuentaId, TipoTransaccion tipo) {
+        if (cuentaId == null || cuentaId.trim().isEmpty() || tipo == null) {
+            return Collections.emptyList();
+        }
+        byte ordinalTipo = (byte) tipo.ordinal();
+        return recorrerCuenta(cuentaId, (bloque, i) -> bloque.tipo[i] == ordinalTipo);
+    }
+    
+    @Override
+    public List<Transaccion> obtenerPorCuentaYFechas(String cuentaId,
+                                                      LocalDateTime fechaInicio,
+                                                      LocalDateTime fechaFin) {
+        if (cuentaId == null || cuentaId.trim().isEmpty() ||
+            fechaInicio == null || fechaFin == null || fechaInicio.isAfter(fechaFin)) {
+            return Collections.emptyList();
+        }
+        long desde = aInstanteAcotado(fechaInicio);
+        long hasta = aInstanteAcotado(fechaFin);
+        return recorrerCuenta(cuentaId, (bloque, i) -> bloque.instante[i] >= desde && bloque.instante[i] <= hasta);
+    }
+    
+    @Override
+    public List<Transaccion> obtenerTodas() {
+        Vista vista = vistaBloqueada();
+        List<Transaccion> resultado = new ArrayList<>(vista.filas);
+        for (int fila = 0; fila < vista.filas; fila++) {
+            resultado.add(materializar(vista, fila));
+        }
+        resultado.sort(Comparator.comparing(Transaccion::getFecha).reversed());
+        return resultado;
+    }
+    
+    /**
+     * Obtiene las últimas N transacciones de una cuenta. Primero se halla el
+     * instante de la N-ésima más reciente sobre la columna de instantes y
+     * luego se materializan solo las que no son anteriores.
+     */
+    @Override
+    public List<Transaccion> obtenerUltimasPorCuenta(String cuentaId, int limite) {
+        if (cuentaId == null || cuentaId.trim().isEmpty() || limite <= 0) {
+            return Collections.emptyList();
+        }
+        Cadena cadena = fijarCadena(cuentaId);
+        if (cadena == null) {
+            return Collections.emptyList();
+        }
+        long[] instantes = new long[64];
+        int total = 0;
+        for (int fila = cadena.inicio; fila != SIN_FILA; fila = previo(cadena.vista, fila, cadena.cuenta)) {
+            if (total == instantes.length) {
+                instantes = Arrays.copyOf(instantes, total * 2);
+            }
+            instantes[total++] = cadena.vista.bloques[fila >>> DESPLAZAMIENTO].instante[fila & MASCARA];
+        }
+        long corte = Long.MIN_VALUE;
+        if (total > limite) {
+            Arrays.sort(instantes, 0, total);
+            corte = instantes[total - limite];
+        }
+        long desde = corte;
+        List<Transaccion> resultado = recorrerCadena(cadena, (bloque, i) -> bloque.instante[i] >= desde);
+        return resultado.size() > limite ? new ArrayList<>(resultado.subList(0, limite)) : resultado;
+    }
+    
+    /**
+     * Suma los montos de un tipo y una moneda en un rango de fechas
+     * recorriendo las columnas completas, sin crear entidades.
+     *
+     * @param tipo el tipo de transacción
+     * @param moneda la moneda de los montos a sumar
+     * @param fechaInicio fecha de inicio (incluida)
+     * @param fechaFin fecha de fin (incluida)
+     * @return la suma, o cero en la moneda indicada si no hay movimientos
+     */
+    public Dinero sumarMontos(TipoTransaccion tipo, Moneda moneda,
+                              LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+        if (tipo == null || moneda == null || fechaInicio == null || fechaFin == null) {
+            throw new IllegalArgumentException("El tipo, la moneda y las fechas son obligatorios");
+        }
+        Vista vista = vistaBloqueada();
+        byte ordinalTipo = (byte) tipo.ordinal();
+        short ordinalMoneda = (short) moneda.ordinal();
+        long desde = aInstanteAcotado(fechaInicio);
+        long hasta = aInstanteAcotado(fechaFin);
+        
+        long suma = 0L;
+        BigDecimal desborde = BigDecimal.ZERO;
+        for (int inicio = 0; inicio < vista.filas; inicio += FILAS_POR_BLOQUE) {
+            Bloque bloque = vista.bloques[inicio >>> DESPLAZAMIENTO];
+            int fin = Math.min(FILAS_POR_BLOQUE, vista.filas - inicio);
+            for (int i = 0; i < fin; i++) {
+                if (bloque.tipo[i] != ordinalTipo || bloque.instante[i] < desde || bloque.instante[i] > hasta) {
+                    continue;
+                }
+                if (bloque.moneda[i] == ordinalMoneda) {
+                    long siguiente = suma + bloque.monto[i];
+                    if (((suma ^ siguiente) & (bloque.monto[i] ^ siguiente)) < 0) {
+                        desborde = desborde.add(BigDecimal.valueOf(suma, 2));
+                        siguiente = bloque.monto[i];
+                    }
+                    suma = siguiente;
+                } else if (bloque.moneda[i] == EXCEPCION) {
+                    Dinero monto = excepciones.get(inicio + i).getMonto();
+                    if (monto != null && monto.getMonedaCanonica() == moneda) {
+                        desborde = desborde.add(monto.getCantidad());
+                    }
+                }
+            }
+        }
+        return new Dinero(desborde.add(BigDecimal.valueOf(suma, 2)), moneda);
+    }
+    
+    // ------------------------------------------------------------------
+    // Recorridos
+    // ------------------------------------------------------------------
+    
+    @FunctionalInterface
+    private interface Filtro {
+        boolean acepta(Bloque bloque, int i);
+    }
+    
+    private record Cadena(Vista vista, int cuenta, int inicio) {
+    }
+    
+    private List<Transaccion> recorrerCuenta(String cuentaId, Filtro filtro) {
+        Cadena cadena = fijarCadena(cuentaId);
+        if (cadena == null) {
+            return Collections.emptyList();
+        }
+        return recorrerCadena(cadena, filtro);
+    }
+    
+    private List<Transaccion> recorrerCadena(Cadena cadena, Filtro filtro) {
+        List<Transaccion> resultado = new ArrayList<>();
+        for (int fila = cadena.inicio; fila != SIN_FILA; fila = previo(cadena.vista, fila, cadena.cuenta)) {
+            if (filtro.acepta(cadena.vista.bloques[fila >>> DESPLAZAMIENTO], fila & MASCARA)) {
+                resultado.add(materializar(cadena.vista, fila));
+            }
+        }
+        resultado.sort(ORDEN_HISTORIAL);
+        return resultado;
+    }
+    
+    private static int previo(Vista vista, int fila, int cuenta) {
+        Bloque bloque = vista.bloques[fila >>> DESPLAZAMIENTO];
+        int i = fila & MASCARA;
+        return bloque.cuenta[i] == cuenta ? bloque.previoCuenta[i] : bloque.previoContraparte[i];
+    }
+    
+    private Cadena fijarCadena(String cuentaId) {
+        lock.readLock().lock();
+        try {
+            Integer cuenta = ordinalesCuenta.get(cuentaId);
+            if (cuenta == null) {
+                return null;
+            }
+            return new Cadena(vista(), cuenta, ultimaFilaPorCuenta[cuenta]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Vista vistaBloqueada() {
+        lock.readLock().lock();
+        try {
+            return vista();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Vista vista() {
+        return new Vista(bloques, filas, cuentas, descripciones);
+    }
+    
+    private Transaccion materializar(Vista vista, int fila) {
+        Bloque bloque = vista.bloques[fila >>> DESPLAZAMIENTO];
+        int i = fila & MASCARA;
+        if (bloque.moneda[i] == EXCEPCION) {
+            return excepciones.get(fila);
+        }
+        Moneda moneda = Moneda.porOrdinal(bloque.moneda[i]);
+        int contraparte = bloque.contraparte[i];
+        int descripcion = bloque.descripcion[i];
+        long instante = bloque.instante[i];
+        return new Transaccion(
+            new UUID(bloque.idAlto[i], bloque.idBajo[i]).toString(),
+            TIPOS[bloque.tipo[i]],
+            new Dinero(BigDecimal.valueOf(bloque.monto[i], 2), moneda),
+            vista.cuentas[bloque.cuenta[i]],
+            contraparte != SIN_FILA ? vista.cuentas[contraparte] : null,
+            descripcion != SIN_FILA ? vista.descripciones[descripcion] : null,
+            FormatoCompacto.aFecha(instante),
+            new Dinero(BigDecimal.valueOf(bloque.saldoAnterior[i], 2), moneda),
+            new Dinero(BigDecimal.valueOf(bloque.saldoNuevo[i], 2), moneda));
+    }
+    
+    // ------------------------------------------------------------------
+    // Conversiones
+    // ------------------------------------------------------------------
+    
+    /**
+     * Instante en nanosegundos desde la época (UTC). Un long cubre de 1677
+     * a 2262; fuera de ese rango no se admite la transacción.
+     */
+    private static long aInstante(LocalDateTime fecha) {
+        long instante = FormatoCompacto.aInstante(fecha);
+        if (instante == Long.MIN_VALUE) {
+            throw new IllegalArgumentException("Fecha de transacción fuera de rango: " + fecha);
+        }
+        return instante;
+    }
+    
+    /**
+     * Como {@link #aInstante} pero satura en los extremos, para usar fechas
+     * arbitrarias como cotas de un rango.
+     */
+    private static long aInstanteAcotado(LocalDateTime fecha) {
+        long segundos = fecha.toEpochSecond(ZoneOffset.UTC);
+        if (segundos >= Long.MAX_VALUE / FormatoCompacto.NANOS_POR_SEGUNDO) {
+            return Long.MAX_VALUE;
+        }
+        if (segundos <= Long.MIN_VALUE / FormatoCompacto.NANOS_POR_SEGUNDO) {
+            return Long.MIN_VALUE;
+        }
+        return segundos * FormatoCompacto.NANOS_POR_SEGUNDO + fecha.getNano();
+    }
+    
+    /**
+     * Limpia todas las transacciones (útil para testing).
+     */
+    public void limpiar() {
+        lock.writeLock().lock();
+        try {
+            bloques = new Bloque[16];
+            filas = 0;
+            ordinalesCuenta.clear();
+            cuentas = new String[1024];
+            ultimaFilaPorCuenta = new int[1024];
+            cantidadCuentas = 0;
+            ordinalesDescripcion.clear();
+            descripciones = new String[1024];
+            cantidadDescripciones = 0;
+            filasPorUuid = new int[1 << 10];
+            filasPorIdTexto.clear();
+            excepciones.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Retorna el número de transacciones almacenadas.
+     */
+    public int contar() {
+        lock.readLock().lock();
+        try {
+            return filas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
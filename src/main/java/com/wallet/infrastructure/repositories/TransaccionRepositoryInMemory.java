@@ -7,20 +7,40 @@ import com.wallet.domain.valueobjects.TipoTransaccion;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Implementación en memoria del repositorio de transacciones.
+ * Mantiene un índice por cuenta ordenado por fecha (más recientes primero),
+ * de modo que el historial, los rangos de fechas y las últimas N
+ * transacciones se leen directamente del índice sin recorrer ni ordenar
+ * todas las transacciones.
  * 
  * @author Wallet Team
  * @version 1.0.0
  */
 public class TransaccionRepositoryInMemory implements ITransaccionRepository {
     
+    /**
+     * Orden del historial: fecha descendente y, a igual fecha, por ID.
+     * Un ID nulo se ordena primero dentro de su fecha y sirve como cota de rango.
+     */
+    private static final Comparator<ClaveHistorial> ORDEN_HISTORIAL = Comparator
+        .comparing(ClaveHistorial::fecha, Comparator.reverseOrder())
+        .thenComparing(ClaveHistorial::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+    
     private final Map<String, Transaccion> transacciones;
+    private final Map<String, ConcurrentNavigableMap<ClaveHistorial, Transaccion>> historialPorCuenta;
+    
+    private record ClaveHistorial(LocalDateTime fecha, String id) {
+    }
     
     public TransaccionRepositoryInMemory() {
         this.transacciones = new ConcurrentHashMap<>();
+        this.historialPorCuenta = new ConcurrentHashMap<>();
     }
     
     @Override
@@ -29,6 +49,14 @@ public class TransaccionRepositoryInMemory implements ITransaccionRepository {
             throw new IllegalArgumentException("La transacción no puede ser nula");
         }
         transacciones.put(transaccion.getId(), transaccion);
+        
+        // Indexar ambos lados: origen y destino (si existe)
+        ClaveHistorial clave = new ClaveHistorial(transaccion.getFecha(), transaccion.getId());
+        historialDe(transaccion.getCuentaOrigenId()).put(clave, transaccion);
+        String destinoId = transaccion.getCuentaDestinoId();
+        if (destinoId != null && !destinoId.equals(transaccion.getCuentaOrigenId())) {
+            historialDe(destinoId).put(clave, transaccion);
+        }
         return transaccion;
     }
     
@@ -45,11 +73,11 @@ public class TransaccionRepositoryInMemory implements ITransaccionRepository {
         if (cuentaId == null || cuentaId.trim().isEmpty()) {
             return Collections.emptyList();
         }
-        return transacciones.values().stream()
-            .filter(t -> t.getCuentaOrigenId().equals(cuentaId) || 
-                        (t.getCuentaDestinoId() != null && t.getCuentaDestinoId().equals(cuentaId)))
-            .sorted(Comparator.comparing(Transaccion::getFecha).reversed())
-            .collect(Collectors.toList());
+        ConcurrentNavigableMap<ClaveHistorial, Transaccion> historial = historialPorCuenta.get(cuentaId);
+        if (historial == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(historial.values());
     }
     
     @Override
@@ -57,12 +85,17 @@ public class TransaccionRepositoryInMemory implements ITransaccionRepository {
         if (cuentaId == null || cuentaId.trim().isEmpty() || tipo == null) {
             return Collections.emptyList();
         }
-        return transacciones.values().stream()
-            .filter(t -> (t.getCuentaOrigenId().equals(cuentaId) || 
-                         (t.getCuentaDestinoId() != null && t.getCuentaDestinoId().equals(cuentaId)))
-                         && t.getTipo() == tipo)
-            .sorted(Comparator.comparing(Transaccion::getFecha).reversed())
-            .collect(Collectors.toList());
+        ConcurrentNavigableMap<ClaveHistorial, Transaccion> historial = historialPorCuenta.get(cuentaId);
+        if (historial == null) {
+            return Collections.emptyList();
+        }
+        List<Transaccion> resultado = new ArrayList<>();
+        for (Transaccion t : historial.values()) {
+            if (t.getTipo() == tipo) {
+                resultado.add(t);
+            }
+        }
+        return resultado;
     }
     
     @Override
@@ -70,16 +103,18 @@ public class TransaccionRepositoryInMemory implements ITransaccionRepository {
                                                       LocalDateTime fechaInicio, 
                                                       LocalDateTime fechaFin) {
         if (cuentaId == null || cuentaId.trim().isEmpty() || 
-            fechaInicio == null || fechaFin == null) {
+            fechaInicio == null || fechaFin == null || fechaInicio.isAfter(fechaFin)) {
             return Collections.emptyList();
         }
-        return transacciones.values().stream()
-            .filter(t -> (t.getCuentaOrigenId().equals(cuentaId) || 
-                         (t.getCuentaDestinoId() != null && t.getCuentaDestinoId().equals(cuentaId)))
-                         && !t.getFecha().isBefore(fechaInicio)
-                         && !t.getFecha().isAfter(fechaFin))
-            .sorted(Comparator.comparing(Transaccion::getFecha).reversed())
-            .collect(Collectors.toList());
+        ConcurrentNavigableMap<ClaveHistorial, Transaccion> historial = historialPorCuenta.get(cuentaId);
+        if (historial == null) {
+            return Collections.emptyList();
+        }
+        // Rango [fechaFin, fechaInicio] en orden descendente: desde la primera
+        // clave de fechaFin hasta la primera clave anterior a fechaInicio (excluida)
+        ClaveHistorial desde = new ClaveHistorial(fechaFin, null);
+        ClaveHistorial hasta = new ClaveHistorial(fechaInicio.minusNanos(1), null);
+        return new ArrayList<>(historial.subMap(desde, true, hasta, false).values());
     }
     
     @Override
@@ -97,9 +132,39 @@ public class TransaccionRepositoryInMemory implements ITransaccionRepository {
         if (cuentaId == null || cuentaId.trim().isEmpty() || limite <= 0) {
             return Collections.emptyList();
         }
-        return buscarPorCuentaId(cuentaId).stream()
-            .limit(limite)
-            .collect(Collectors.toList());
+        ConcurrentNavigableMap<ClaveHistorial, Transaccion> historial = historialPorCuenta.get(cuentaId);
+        if (historial == null) {
+            return Collections.emptyList();
+        }
+        List<Transaccion> resultado = new ArrayList<>(Math.min(limite, 64));
+        for (Transaccion t : historial.values()) {
+            if (resultado.size() == limite) {
+                break;
+            }
+            resultado.add(t);
+        }
+        return resultado;
+    }
+    
+    private ConcurrentNavigableMap<ClaveHistorial, Transaccion> historialDe(String cuentaId) {
+        return historialPorCuenta.computeIfAbsent(cuentaId,
+            id -> new ConcurrentSkipListMap<>(ORDEN_HISTORIAL));
+    }
+    
+    /**
+     * Recorre todas las transacciones una vez, sin copiarlas, agrupadas por
+     * cuenta de origen y de la más antigua a la más reciente. Volver a
+     * guardarlas en ese orden inserta cada una al inicio del historial de
+     * su cuenta, que además sigue en caché (útil para recargar en bloque).
+     */
+    public void recorrer(Consumer<Transaccion> accion) {
+        historialPorCuenta.forEach((cuentaId, historial) -> {
+            for (Transaccion t : historial.descendingMap().values()) {
+                if (cuentaId.equals(t.getCuentaOrigenId())) {
+                    accion.accept(t);
+                }
+            }
+        });
     }
     
     /**
@@ -107,6 +172,7 @@ public class TransaccionRepositoryInMemory implements ITransaccionRepository {
      */
     public void limpiar() {
         transacciones.clear();
+        historialPorCuenta.clear();
     }
     
     /**
@@ -1,8 +1,10 @@
 package com.wallet.infrastructure.repositories;
 
 import com.wallet.domain.entities.Usuario;
+import com.wallet.domain.exceptions.OperacionNoValidaException;
 import com.wallet.domain.repositories.IUsuarioRepository;
 import com.wallet.domain.valueobjects.DocumentoIdentidad;
+import com.wallet.domain.valueobjects.DocumentoIdentidad.TipoDocumento;
 import com.wallet.domain.valueobjects.Email;
 
 import java.util.*;
@@ -13,26 +15,99 @@ import java.util.stream.Collectors;
  * Implementación en memoria del repositorio de usuarios.
  * Utiliza ConcurrentHashMap para ser thread-safe.
  * 
+ * Mantiene índices únicos por email y por documento de identidad, de modo
+ * que las búsquedas y verificaciones de existencia son O(1). Los índices
+ * se actualizan en {@link #guardar(Usuario)}: si un usuario cambia su email
+ * con {@link Usuario#actualizar}, debe volver a guardarse para reindexarlo.
+ * 
  * @author Wallet Team
  * @version 1.0.0
  */
 public class UsuarioRepositoryInMemory implements IUsuarioRepository {
     
     private final Map<String, Usuario> usuarios;
+    private final Map<Email, Usuario> usuariosPorEmail;
+    private final Map<TipoDocumento, Map<String, Usuario>> usuariosPorDocumento;
+    private final Map<String, ClavesIndexadas> clavesPorId;
+    
+    /**
+     * Claves con las que un usuario quedó indexado la última vez que se guardó.
+     * Permite retirar las entradas antiguas aunque la entidad ya haya cambiado.
+     */
+    private record ClavesIndexadas(Email email, DocumentoIdentidad documento) {
+    }
     
     public UsuarioRepositoryInMemory() {
         this.usuarios = new ConcurrentHashMap<>();
+        this.usuariosPorEmail = new ConcurrentHashMap<>();
+        this.usuariosPorDocumento = new EnumMap<>(TipoDocumento.class);
+        for (TipoDocumento tipo : TipoDocumento.values()) {
+            usuariosPorDocumento.put(tipo, new ConcurrentHashMap<>());
+        }
+        this.clavesPorId = new ConcurrentHashMap<>();
     }
     
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws OperacionNoValidaException si otro usuario ya tiene el mismo email o documento
+     */
     @Override
     public Usuario guardar(Usuario usuario) {
         if (usuario == null) {
             throw new IllegalArgumentException("El usuario no puede ser nulo");
         }
-        usuarios.put(usuario.getId(), usuario);
+        // compute serializa las escrituras sobre el mismo ID; putIfAbsent
+        // en los índices garantiza la unicidad entre usuarios distintos
+        usuarios.compute(usuario.getId(), (id, anterior) -> {
+            indexar(usuario);
+            return usuario;
+        });
         return usuario;
     }
     
+    private void indexar(Usuario usuario) {
+        String id = usuario.getId();
+        Email email = usuario.getEmail();
+        DocumentoIdentidad documento = usuario.getDocumentoIdentidad();
+        Map<String, Usuario> documentos = usuariosPorDocumento.get(documento.getTipo());
+        
+        Usuario duenoEmail = usuariosPorEmail.putIfAbsent(email, usuario);
+        if (duenoEmail != null && !duenoEmail.getId().equals(id)) {
+            throw OperacionNoValidaException.porque(
+                "Ya existe un usuario con el email: " + email.getValor());
+        }
+        
+        Usuario duenoDocumento = documentos.putIfAbsent(documento.getNumero(), usuario);
+        if (duenoDocumento != null && !duenoDocumento.getId().equals(id)) {
+            if (duenoEmail == null) {
+                usuariosPorEmail.remove(email, usuario);
+            }
+            throw OperacionNoValidaException.porque(
+                "Ya existe un usuario con el documento: " + documento.getNumero());
+        }
+        
+        // Reemplazar por la instancia actual y retirar claves antiguas
+        usuariosPorEmail.put(email, usuario);
+        documentos.put(documento.getNumero(), usuario);
+        
+        ClavesIndexadas previas = clavesPorId.put(id, new ClavesIndexadas(email, documento));
+        if (previas != null) {
+            desindexar(usuario, previas, email, documento);
+        }
+    }
+    
+    private void desindexar(Usuario usuario, ClavesIndexadas claves,
+                            Email emailVigente, DocumentoIdentidad documentoVigente) {
+        if (!claves.email().equals(emailVigente)) {
+            usuariosPorEmail.remove(claves.email(), usuario);
+        }
+        if (!claves.documento().equals(documentoVigente)) {
+            usuariosPorDocumento.get(claves.documento().getTipo())
+                .remove(claves.documento().getNumero(), usuario);
+        }
+    }
+    
     @Override
     public Optional<Usuario> buscarPorId(String id) {
         if (id == null || id.trim().isEmpty()) {
@@ -46,9 +121,12 @@ public class UsuarioRepositoryInMemory implements IUsuarioRepository {
         if (email == null) {
             return Optional.empty();
         }
-        return usuarios.values().stream()
-            .filter(u -> u.getEmail().equals(email))
-            .findFirst();
+        Usuario usuario = usuariosPorEmail.get(email);
+        // Descarta entradas de usuarios modificados y aún no guardados
+        if (usuario == null || !usuario.getEmail().equals(email)) {
+            return Optional.empty();
+        }
+        return Optional.of(usuario);
     }
     
     @Override
@@ -56,9 +134,13 @@ public class UsuarioRepositoryInMemory implements IUsuarioRepository {
         if (numeroDocumento == null || numeroDocumento.trim().isEmpty()) {
             return Optional.empty();
         }
-        return usuarios.values().stream()
-            .filter(u -> u.getDocumentoIdentidad().getNumero().equals(numeroDocumento))
-            .findFirst();
+        for (Map<String, Usuario> documentos : usuariosPorDocumento.values()) {
+            Usuario usuario = documentos.get(numeroDocumento);
+            if (usuario != null) {
+                return Optional.of(usuario);
+            }
+        }
+        return Optional.empty();
     }
     
     @Override
@@ -78,16 +160,22 @@ public class UsuarioRepositoryInMemory implements IUsuarioRepository {
         if (id == null || id.trim().isEmpty()) {
             return false;
         }
-        return usuarios.remove(id) != null;
+        Usuario eliminado = usuarios.remove(id);
+        if (eliminado == null) {
+            return false;
+        }
+        ClavesIndexadas claves = clavesPorId.remove(id);
+        if (claves != null) {
+            usuariosPorEmail.remove(claves.email(), eliminado);
+            usuariosPorDocumento.get(claves.documento().getTipo())
+                .remove(claves.documento().getNumero(), eliminado);
+        }
+        return true;
     }
     
     @Override
     public boolean existePorEmail(Email email) {
-        if (email == null) {
-            return false;
-        }
-        return usuarios.values().stream()
-            .anyMatch(u -> u.getEmail().equals(email));
+        return buscarPorEmail(email).isPresent();
     }
     
     @Override
@@ -95,8 +183,7 @@ public class UsuarioRepositoryInMemory implements IUsuarioRepository {
         if (documento == null) {
             return false;
         }
-        return usuarios.values().stream()
-            .anyMatch(u -> u.getDocumentoIdentidad().equals(documento));
+        return usuariosPorDocumento.get(documento.getTipo()).containsKey(documento.getNumero());
     }
     
     /**
@@ -104,6 +191,9 @@ public class UsuarioRepositoryInMemory implements IUsuarioRepository {
      */
     public void limpiar() {
         usuarios.clear();
+        usuariosPorEmail.clear();
+        usuariosPorDocumento.values().forEach(Map::clear);
+        clavesPorId.clear();
     }
     
     /**
@@ -0,0 +1,112 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.domain.valueobjects.Moneda;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Transporte HTTP para obtener tablas de tasas de cambio.
+ *
+ * Usa un único {@link HttpClient} compartido por todas las instancias, de
+ * modo que las conexiones (y sus handshakes TLS) se reutilizan entre
+ * consultas. Las peticiones son asíncronas: quien consulta recibe un
+ * {@link CompletableFuture} y ningún hilo de plataforma queda bloqueado
+ * esperando la red. La respuesta se lee con {@link LectorTasasJSON} en un
+ * hilo virtual a medida que llega.
+ *
+ * Principios aplicados:
+ * - SRP: Solo responsable del transporte HTTP de las tasas
+ * - Reutilización: Un cliente y un pool de conexiones compartidos
+ */
+public final class ClienteTasasHttp {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static final HttpClient CLIENTE_COMPARTIDO = HttpClient.newBuilder()
+        .connectTimeout(TIMEOUT)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    private final String urlBase;
+    private final HttpClient cliente;
+
+    /**
+     * @param urlBase URL a la que se concatena el código de la moneda base
+     *                (ej: "https://open.er-api.com/v6/latest/")
+     */
+    public ClienteTasasHttp(String urlBase) {
+        this(urlBase, CLIENTE_COMPARTIDO);
+    }
+
+    ClienteTasasHttp(String urlBase, HttpClient cliente) {
+        if (urlBase == null || urlBase.trim().isEmpty()) {
+            throw new IllegalArgumentException("La URL de la API no puede estar vacía");
+        }
+        this.urlBase = urlBase;
+        this.cliente = cliente;
+    }
+
+    /**
+     * Solicita la tabla de tasas respecto a una moneda base.
+     *
+     * @param monedaBase moneda en la que se expresan las tasas
+     * @return futuro con las tasas indexadas por ordinal (NaN si no hay
+     *         cotización); se completa con error si la API falla o la
+     *         respuesta no contiene tasas
+     */
+    public CompletableFuture<double[]> obtenerTasas(Moneda monedaBase) {
+        HttpRequest peticion;
+        try {
+            peticion = HttpRequest.newBuilder(URI.create(urlBase + monedaBase.getCodigo()))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return cliente.sendAsync(peticion, HttpResponse.BodyHandlers.ofInputStream())
+            .thenApply(ClienteTasasHttp::leerRespuesta);
+    }
+
+    public String getUrlBase() {
+        return urlBase;
+    }
+
+    private static double[] leerRespuesta(HttpResponse<InputStream> respuesta) {
+        try (InputStream cuerpo = respuesta.body()) {
+            if (respuesta.statusCode() != 200) {
+                cuerpo.transferTo(OutputStream.nullOutputStream());
+                throw new RuntimeException(
+                    "Error en la API: código de respuesta " + respuesta.statusCode()
+                );
+            }
+
+            double[] tasas = new double[Moneda.cantidad()];
+            Arrays.fill(tasas, Double.NaN);
+            int extraidas = LectorTasasJSON.leer(cuerpo, tasas);
+            // Cerrar el cuerpo sin llegar al final descarta la conexión en
+            // lugar de devolverla al pool
+            cuerpo.transferTo(OutputStream.nullOutputStream());
+            if (extraidas == 0) {
+                throw new RuntimeException("No se pudieron extraer tasas de cambio");
+            }
+            return tasas;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
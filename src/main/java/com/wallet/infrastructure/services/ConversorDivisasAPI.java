@@ -1,19 +1,31 @@
 package com.wallet.infrastructure.services;
 
+import com.wallet.application.eventos.EventoConsultaTasas;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
 import com.wallet.domain.services.IConversorDivisas;
+import com.wallet.domain.valueobjects.ConversionLote;
 import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TasaCambio;
 import com.wallet.infrastructure.logging.Logger;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
 
 /**
  * Implementación del conversor de divisas usando API pública.
@@ -22,6 +34,31 @@ import java.util.regex.Pattern;
  * API: https://open.er-api.com/v6/latest/{currency}
  * Gratis, sin API key requerida, 1500 requests/mes
  * 
+ * Se consulta una sola moneda base (USD) y a partir de ella se deriva una
+ * matriz primitiva de tasas cruzadas ({@link MatrizTasasCambio}), por lo
+ * que cualquier par se resuelve con una lectura de arreglo y el tráfico
+ * hacia la API es de una petición por refresco.
+ * 
+ * La caché es segura para uso concurrente y agrupa las consultas
+ * simultáneas (single-flight): si varias conversiones encuentran expirada
+ * la matriz, solo una realiza la petición HTTP y las demás esperan y
+ * comparten su resultado.
+ * 
+ * Refresco anticipado (refresh-ahead / stale-while-revalidate): un hilo
+ * daemon renueva en segundo plano la matriz, si se consultó durante su
+ * vigencia, antes de que expire. Si el refresco falla, se
+ * siguen sirviendo las últimas tasas válidas durante una ventana acotada;
+ * solo pasada esa ventana una conversión vuelve a esperar a la red.
+ * 
+ * Las peticiones se hacen de forma asíncrona con {@link ClienteTasasHttp}
+ * (HttpClient compartido con reutilización de conexiones): el refresco en
+ * segundo plano no bloquea ningún hilo mientras espera la respuesta.
+ * 
+ * Instantánea persistente: cada tabla obtenida se guarda en un archivo
+ * binario local ({@link InstantaneaTasas}) que se mapea en memoria al
+ * iniciar. Así la primera conversión se sirve al instante mientras se
+ * refresca en segundo plano, y sigue funcionando sin conexión.
+ * 
  * Principios aplicados:
  * - SRP: Solo responsable de conversión de divisas
  * - DIP: Implementa interfaz del dominio
@@ -29,54 +66,166 @@ import java.util.regex.Pattern;
 public class ConversorDivisasAPI implements IConversorDivisas {
     
     private static final String API_URL = "https://open.er-api.com/v6/latest/";
-    private static final int TIMEOUT_MS = 5000;
+    private static final Moneda MONEDA_BASE = Moneda.USD;
     private static final int CACHE_DURATION_MS = 3600000; // 1 hora
+    private static final long VENTANA_OBSOLETA_MS = 6 * 3600000L; // 6 horas
+    private static final String PROPIEDAD_INSTANTANEA = "wallet.tasas.instantanea";
+    /** A partir de este tamaño un lote se convierte en paralelo. */
+    private static final int UMBRAL_LOTE_PARALELO = 16384;
+    
+    // Métricas de la obtención de tasas
+    private static final MetricaOperacion METRICA_CONSULTA =
+        RegistroMetricas.global().operacion("ConsultaTasasAPI");
+    private static final LongAdder ACIERTOS_CACHE =
+        RegistroMetricas.global().contador("tasas.cache.aciertos");
+    private static final LongAdder OBSOLETAS_CACHE =
+        RegistroMetricas.global().contador("tasas.cache.obsoletas");
+    private static final LongAdder FALLOS_CACHE =
+        RegistroMetricas.global().contador("tasas.cache.fallos");
+    
+    private final ClienteTasasHttp clienteTasas;
+    private final long duracionCacheMs;
+    private final long ventanaObsoletaMs;
+    private final Path archivoInstantanea;
+    private final ScheduledExecutorService refrescador;
+    private final AtomicReference<CachedRate> cache = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<CachedRate>> consultaEnCurso =
+        new AtomicReference<>();
+    
+    /**
+     * Crea el conversor de producción, con instantánea en la ruta de la
+     * propiedad {@code wallet.tasas.instantanea} o, por defecto, en
+     * {@code ~/.wallet/tasas-cambio.bin}.
+     */
+    public ConversorDivisasAPI() {
+        this(new ClienteTasasHttp(API_URL), CACHE_DURATION_MS, VENTANA_OBSOLETA_MS,
+            archivoInstantaneaPorDefecto());
+    }
+    
+    /**
+     * Crea el conversor apuntando a otra URL base (ej: un servidor local en tests).
+     * 
+     * @param apiUrl URL base a la que se concatena el código de la moneda
+     */
+    public ConversorDivisasAPI(String apiUrl) {
+        this(apiUrl, CACHE_DURATION_MS, VENTANA_OBSOLETA_MS);
+    }
     
-    private final Map<String, CachedRate> cache = new HashMap<>();
+    /**
+     * Crea el conversor con tiempos de caché propios.
+     * 
+     * @param apiUrl URL base a la que se concatena el código de la moneda
+     * @param duracionCacheMs vigencia de las tasas obtenidas
+     * @param ventanaObsoletaMs tiempo adicional durante el que se sirven
+     *                          tasas vencidas si el refresco falla
+     */
+    public ConversorDivisasAPI(String apiUrl, long duracionCacheMs, long ventanaObsoletaMs) {
+        this(new ClienteTasasHttp(apiUrl), duracionCacheMs, ventanaObsoletaMs);
+    }
+    
+    /**
+     * Crea el conversor sobre un transporte de tasas ya configurado.
+     * 
+     * @param clienteTasas transporte HTTP para obtener las tasas
+     * @param duracionCacheMs vigencia de las tasas obtenidas
+     * @param ventanaObsoletaMs tiempo adicional durante el que se sirven
+     *                          tasas vencidas si el refresco falla
+     */
+    public ConversorDivisasAPI(ClienteTasasHttp clienteTasas, long duracionCacheMs, long ventanaObsoletaMs) {
+        this(clienteTasas, duracionCacheMs, ventanaObsoletaMs, null);
+    }
+    
+    /**
+     * Crea el conversor con una instantánea persistente de tasas.
+     * 
+     * @param clienteTasas transporte HTTP para obtener las tasas
+     * @param duracionCacheMs vigencia de las tasas obtenidas
+     * @param ventanaObsoletaMs tiempo adicional durante el que se sirven
+     *                          tasas vencidas si el refresco falla
+     * @param archivoInstantanea archivo donde se guarda la última tabla
+     *                           válida (null para no persistir)
+     */
+    public ConversorDivisasAPI(ClienteTasasHttp clienteTasas, long duracionCacheMs, long ventanaObsoletaMs,
+                               Path archivoInstantanea) {
+        if (clienteTasas == null) {
+            throw new IllegalArgumentException("El cliente de tasas no puede ser nulo");
+        }
+        if (duracionCacheMs <= 0) {
+            throw new IllegalArgumentException("La duración de la caché debe ser positiva");
+        }
+        if (ventanaObsoletaMs < 0) {
+            throw new IllegalArgumentException("La ventana de tasas obsoletas no puede ser negativa");
+        }
+        this.clienteTasas = clienteTasas;
+        this.duracionCacheMs = duracionCacheMs;
+        this.ventanaObsoletaMs = ventanaObsoletaMs;
+        this.archivoInstantanea = archivoInstantanea;
+        this.refrescador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "conversor-divisas-refresco");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(1, duracionCacheMs / 10);
+        refrescador.scheduleWithFixedDelay(this::refrescarSiEsPopular, periodo, periodo, TimeUnit.MILLISECONDS);
+        cargarInstantanea();
+    }
+    
+    private static Path archivoInstantaneaPorDefecto() {
+        String ruta = System.getProperty(PROPIEDAD_INSTANTANEA);
+        if (ruta != null && !ruta.trim().isEmpty()) {
+            return Paths.get(ruta);
+        }
+        return Paths.get(System.getProperty("user.home"), ".wallet", "tasas-cambio.bin");
+    }
     
     /**
-     * Clase interna para cachear tasas de cambio.
+     * Clase interna para cachear la matriz de tasas cruzadas.
      */
-    private static class CachedRate {
-        final Map<String, Double> rates;
+    private class CachedRate {
+        final MatrizTasasCambio matriz;
         final long timestamp;
+        final AtomicInteger accesos = new AtomicInteger();
+        final AtomicBoolean refrescoSolicitado = new AtomicBoolean();
+        /** Cargada de la instantánea: se sirve sin límite de antigüedad hasta refrescarla. */
+        final boolean respaldo;
+        
+        CachedRate(MatrizTasasCambio matriz, long timestamp, boolean respaldo) {
+            this.matriz = matriz;
+            this.timestamp = timestamp;
+            this.respaldo = respaldo;
+        }
         
-        CachedRate(Map<String, Double> rates) {
-            this.rates = rates;
-            this.timestamp = System.currentTimeMillis();
+        long edad() {
+            return System.currentTimeMillis() - timestamp;
         }
         
         boolean isExpired() {
-            return System.currentTimeMillis() - timestamp > CACHE_DURATION_MS;
+            return edad() > duracionCacheMs;
+        }
+        
+        /** Pasado el 80% de la vigencia conviene renovarla antes de que expire. */
+        boolean debeRefrescarse() {
+            return edad() > duracionCacheMs - duracionCacheMs / 5;
+        }
+        
+        boolean puedeServirseObsoleta() {
+            return respaldo || edad() <= duracionCacheMs + ventanaObsoletaMs;
         }
     }
     
     @Override
     public double obtenerTasaCambio(String monedaOrigen, String monedaDestino) {
-        validarMoneda(monedaOrigen);
-        validarMoneda(monedaDestino);
+        Moneda origen = validarMoneda(monedaOrigen);
+        Moneda destino = validarMoneda(monedaDestino);
         
-        if (monedaOrigen.equals(monedaDestino)) {
+        if (origen == destino) {
             return 1.0;
         }
         
         try {
-            Map<String, Double> rates = obtenerTasas(monedaOrigen);
-            
-            if (!rates.containsKey(monedaDestino)) {
-                throw new IllegalArgumentException(
-                    "Moneda destino no soportada: " + monedaDestino
-                );
-            }
-            
-            return rates.get(monedaDestino);
-            
+            return tasaEntre(obtenerTasas(), origen, destino);
         } catch (Exception e) {
-            Logger.error("Error obteniendo tasa de cambio: " + e.getMessage());
-            throw new RuntimeException(
-                "No se pudo obtener la tasa de cambio. Verifique su conexión a internet.", 
-                e
-            );
+            throw errorDeTasa(e);
         }
     }
     
@@ -86,32 +235,80 @@ public class ConversorDivisasAPI implements IConversorDivisas {
             throw new IllegalArgumentException("El dinero no puede ser nulo");
         }
         
-        validarMoneda(monedaDestino);
+        Moneda destino = validarMoneda(monedaDestino);
         
-        if (dinero.getMoneda().equals(monedaDestino)) {
+        if (dinero.getMonedaCanonica() == destino) {
             return dinero;
         }
         
         double tasaCambio = obtenerTasaCambio(dinero.getMoneda(), monedaDestino);
+        Dinero convertido = TasaCambio.de(dinero.getMonedaCanonica(), destino, tasaCambio).aplicar(dinero);
         
-        BigDecimal cantidadConvertida = dinero.getCantidad()
-            .multiply(BigDecimal.valueOf(tasaCambio))
-            .setScale(2, RoundingMode.HALF_UP);
+        if (Logger.isEnabled(Logger.Nivel.INFO)) {
+            Logger.info(String.format(
+                "Conversión: %s %s → %s %s (Tasa: %.4f)",
+                dinero.getCantidad(), dinero.getMoneda(),
+                convertido.getCantidad(), monedaDestino,
+                tasaCambio
+            ));
+        }
         
-        Logger.info(String.format(
-            "Conversión: %s %s → %s %s (Tasa: %.4f)",
-            dinero.getCantidad(), dinero.getMoneda(),
-            cantidadConvertida, monedaDestino,
-            tasaCambio
-        ));
+        return convertido;
+    }
+    
+    /**
+     * Convierte el lote con una sola lectura de la matriz de tasas: cada
+     * moneda origen se resuelve una vez y los montos se convierten en un
+     * bucle sin validaciones ni logs por elemento (en paralelo si el lote
+     * es grande). Las tasas resueltas se retornan con los montos.
+     */
+    @Override
+    public ConversionLote convertirLoteConTasas(List<Dinero> montos, String monedaDestino) {
+        if (montos == null) {
+            throw new IllegalArgumentException("La lista de montos no puede ser nula");
+        }
+        Moneda destino = validarMoneda(monedaDestino);
+        Dinero[] originales = montos.toArray(new Dinero[0]);
         
-        return new Dinero(cantidadConvertida, monedaDestino);
+        // Tasa por ordinal de moneda origen; null = misma moneda que el destino
+        TasaCambio[] tasas = new TasaCambio[Moneda.cantidad()];
+        MatrizTasasCambio matriz = null;
+        for (Dinero dinero : originales) {
+            if (dinero == null) {
+                throw new IllegalArgumentException("El dinero no puede ser nulo");
+            }
+            Moneda origen = dinero.getMonedaCanonica();
+            if (origen != destino && tasas[origen.ordinal()] == null) {
+                try {
+                    if (matriz == null) {
+                        matriz = obtenerTasas();
+                    }
+                    tasas[origen.ordinal()] = TasaCambio.de(origen, destino, tasaEntre(matriz, origen, destino));
+                } catch (Exception e) {
+                    throw errorDeTasa(e);
+                }
+            }
+        }
+        
+        Dinero[] convertidos = new Dinero[originales.length];
+        IntStream indices = IntStream.range(0, originales.length);
+        if (originales.length >= UMBRAL_LOTE_PARALELO) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> {
+            Dinero dinero = originales[i];
+            TasaCambio tasa = tasas[dinero.getMonedaCanonica().ordinal()];
+            convertidos[i] = tasa == null ? dinero : tasa.aplicar(dinero);
+        });
+        
+        Logger.info(() -> String.format("Conversión en lote: %d montos → %s", convertidos.length, destino));
+        return new ConversionLote(destino, Arrays.asList(convertidos), tasas);
     }
     
     @Override
     public boolean estaDisponible() {
         try {
-            obtenerTasas("USD");
+            obtenerTasas();
             return true;
         } catch (Exception e) {
             return false;
@@ -119,97 +316,233 @@ public class ConversorDivisasAPI implements IConversorDivisas {
     }
     
     /**
-     * Obtiene las tasas de cambio desde la API o caché.
+     * Detiene el hilo de refresco en segundo plano.
      */
-    private Map<String, Double> obtenerTasas(String monedaBase) throws Exception {
+    public void cerrar() {
+        refrescador.shutdownNow();
+    }
+    
+    /**
+     * Obtiene la matriz de tasas desde la caché o la API.
+     */
+    private MatrizTasasCambio obtenerTasas() throws Exception {
         // Verificar caché
-        CachedRate cached = cache.get(monedaBase);
+        CachedRate cached = cache.get();
         if (cached != null && !cached.isExpired()) {
-            Logger.info("Usando tasas de cambio desde caché para " + monedaBase);
-            return cached.rates;
+            Logger.info("Usando tasas de cambio desde caché");
+            ACIERTOS_CACHE.increment();
+            cached.accesos.incrementAndGet();
+            return cached.matriz;
         }
         
-        // Obtener desde API
-        Logger.info("Obteniendo tasas de cambio desde API para " + monedaBase);
-        Map<String, Double> rates = fetchRatesFromAPI(monedaBase);
-        
-        // Guardar en caché
-        cache.put(monedaBase, new CachedRate(rates));
+        if (cached != null && cached.puedeServirseObsoleta()) {
+            // Vencida pero dentro de la ventana: se sirve sin esperar a la red
+            Logger.info("Usando tasas de cambio vencidas mientras se refrescan");
+            OBSOLETAS_CACHE.increment();
+            cached.accesos.incrementAndGet();
+            solicitarRefresco(cached);
+            return cached.matriz;
+        }
         
-        return rates;
+        FALLOS_CACHE.increment();
+        try {
+            return consultarAgrupado(cached).get().matriz;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
     }
     
     /**
-     * Realiza la petición HTTP a la API.
+     * Encola un único refresco en segundo plano para la entrada indicada.
      */
-    private Map<String, Double> fetchRatesFromAPI(String monedaBase) throws Exception {
-        String urlString = API_URL + monedaBase;
-        URL url = new URL(urlString);
-        
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("GET");
-        conn.setConnectTimeout(TIMEOUT_MS);
-        conn.setReadTimeout(TIMEOUT_MS);
-        conn.setRequestProperty("Accept", "application/json");
-        
-        int responseCode = conn.getResponseCode();
-        if (responseCode != 200) {
-            throw new RuntimeException(
-                "Error en la API: código de respuesta " + responseCode
-            );
+    private void solicitarRefresco(CachedRate vista) {
+        if (!vista.refrescoSolicitado.compareAndSet(false, true)) {
+            return;
         }
-        
-        BufferedReader in = new BufferedReader(
-            new InputStreamReader(conn.getInputStream())
-        );
-        
-        StringBuilder response = new StringBuilder();
-        String inputLine;
-        
-        while ((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
+        try {
+            refrescador.execute(() -> refrescar(vista));
+        } catch (RuntimeException e) {
+            // Refrescador detenido: el siguiente acceso lo reintentará
+            vista.refrescoSolicitado.set(false);
         }
-        in.close();
-        conn.disconnect();
-        
-        return parseJSON(response.toString());
     }
     
     /**
-     * Parse simple del JSON (sin librerías externas).
-     * Busca el objeto "rates" y extrae los pares clave-valor.
+     * Tarea periódica: renueva las tasas antes de que expiren si se han
+     * consultado desde su último refresco, y descarta las que ya no
+     * pueden servirse.
      */
-    private Map<String, Double> parseJSON(String json) {
-        Map<String, Double> rates = new HashMap<>();
-        
-        // Buscar el objeto "rates"
-        Pattern ratesPattern = Pattern.compile("\"rates\"\\s*:\\s*\\{([^}]+)\\}");
-        Matcher ratesMatcher = ratesPattern.matcher(json);
-        
-        if (!ratesMatcher.find()) {
-            throw new RuntimeException("Formato de respuesta JSON inválido");
+    private void refrescarSiEsPopular() {
+        CachedRate cached = cache.get();
+        if (cached == null) {
+            return;
+        }
+        if (!cached.puedeServirseObsoleta()) {
+            cache.compareAndSet(cached, null);
+        } else if (cached.debeRefrescarse() && cached.accesos.get() > 0) {
+            solicitarRefresco(cached);
+        }
+    }
+    
+    /**
+     * Refresca las tasas sin propagar errores ni bloquear el hilo: si falla,
+     * se conservan las últimas tasas válidas y se reintenta en el siguiente
+     * ciclo.
+     */
+    private void refrescar(CachedRate vista) {
+        consultarAgrupado(vista).whenComplete((nueva, error) -> {
+            if (error != null) {
+                Logger.warning("No se pudieron refrescar las tasas de cambio, "
+                    + "se mantienen las anteriores: " + error.getMessage());
+                vista.refrescoSolicitado.set(false);
+            }
+        });
+    }
+    
+    /**
+     * Consulta las tasas a la API con una sola petición en curso. El
+     * primero en llegar inicia la petición; los que llegan mientras tanto
+     * reciben el mismo futuro y comparten su resultado (o su error).
+     * 
+     * @param vista entrada de caché que motivó la consulta (o null); si al
+     *              registrarse ya hay otra más reciente y vigente, se usa esa
+     */
+    private CompletableFuture<CachedRate> consultarAgrupado(CachedRate vista) {
+        CompletableFuture<CachedRate> propia = new CompletableFuture<>();
+        CompletableFuture<CachedRate> enCurso = consultaEnCurso.compareAndExchange(null, propia);
+        if (enCurso != null) {
+            return enCurso;
         }
         
-        String ratesContent = ratesMatcher.group(1);
-        
-        // Extraer cada par "MONEDA": valor
-        Pattern pairPattern = Pattern.compile("\"([A-Z]{3})\"\\s*:\\s*([0-9.]+)");
-        Matcher pairMatcher = pairPattern.matcher(ratesContent);
-        
-        while (pairMatcher.find()) {
-            String currency = pairMatcher.group(1);
-            double rate = Double.parseDouble(pairMatcher.group(2));
-            rates.put(currency, rate);
+        // Otro hilo pudo completar la consulta justo antes de registrarnos
+        CachedRate cached = cache.get();
+        if (cached != null && cached != vista && !cached.isExpired()) {
+            consultaEnCurso.compareAndSet(propia, null);
+            propia.complete(cached);
+            return propia;
         }
         
-        if (rates.isEmpty()) {
-            throw new RuntimeException("No se pudieron extraer tasas de cambio");
+        Logger.info("Obteniendo tasas de cambio desde API para {}", MONEDA_BASE);
+        EventoConsultaTasas evento = new EventoConsultaTasas();
+        evento.begin();
+        long inicio = System.nanoTime();
+        CompletableFuture<double[]> peticion;
+        try {
+            peticion = clienteTasas.obtenerTasas(MONEDA_BASE);
+        } catch (RuntimeException e) {
+            peticion = CompletableFuture.failedFuture(e);
         }
         
-        return rates;
+        peticion.whenComplete((tasas, error) -> {
+            METRICA_CONSULTA.registrar(System.nanoTime() - inicio, error == null);
+            evento.finalizar(MONEDA_BASE.getCodigo(), contarTasas(tasas),
+                error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            try {
+                if (error != null) {
+                    consultaEnCurso.compareAndSet(propia, null);
+                    propia.completeExceptionally(
+                        error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                    return;
+                }
+                CachedRate nueva = new CachedRate(
+                    MatrizTasasCambio.desdeBase(MONEDA_BASE, tasas), System.currentTimeMillis(), false);
+                cache.set(nueva);
+                consultaEnCurso.compareAndSet(propia, null);
+                propia.complete(nueva);
+                guardarInstantanea(nueva.timestamp, tasas);
+            } catch (Throwable e) {
+                consultaEnCurso.compareAndSet(propia, null);
+                propia.completeExceptionally(e);
+            }
+        });
+        return propia;
+    }
+    
+    private static int contarTasas(double[] tasas) {
+        int cotizadas = 0;
+        if (tasas != null) {
+            for (double tasa : tasas) {
+                if (!Double.isNaN(tasa)) {
+                    cotizadas++;
+                }
+            }
+        }
+        return cotizadas;
+    }
+    
+    private static double tasaEntre(MatrizTasasCambio matriz, Moneda origen, Moneda destino) {
+        if (origen == destino) {
+            return 1.0;
+        }
+        if (!matriz.cotiza(origen)) {
+            throw new IllegalArgumentException("Moneda origen no soportada: " + origen);
+        }
+        if (!matriz.cotiza(destino)) {
+            throw new IllegalArgumentException("Moneda destino no soportada: " + destino);
+        }
+        return matriz.tasa(origen, destino);
+    }
+    
+    private static RuntimeException errorDeTasa(Exception e) {
+        Logger.error("Error obteniendo tasa de cambio: " + e.getMessage());
+        return new RuntimeException(
+            "No se pudo obtener la tasa de cambio. Verifique su conexión a internet.", 
+            e
+        );
+    }
+    
+    /**
+     * Carga la última tabla persistida, si existe, y pide refrescarla en
+     * segundo plano cuando ya no está vigente.
+     */
+    private void cargarInstantanea() {
+        if (archivoInstantanea == null) {
+            return;
+        }
+        try {
+            InstantaneaTasas instantanea = InstantaneaTasas.cargar(archivoInstantanea);
+            if (instantanea == null || instantanea.getBase() != MONEDA_BASE) {
+                return;
+            }
+            CachedRate respaldo = new CachedRate(
+                MatrizTasasCambio.desdeBase(MONEDA_BASE, instantanea.getTasasDesdeBase()),
+                instantanea.getTimestamp(), true);
+            if (cache.compareAndSet(null, respaldo)) {
+                Logger.info("Tasas de cambio cargadas desde {}", archivoInstantanea);
+                if (respaldo.debeRefrescarse()) {
+                    solicitarRefresco(respaldo);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Logger.warning("No se pudo cargar la instantánea de tasas: " + e.getMessage());
+        }
     }
     
-    private void validarMoneda(String moneda) {
+    /**
+     * Persiste la tabla recién obtenida. Un fallo solo se registra: la
+     * instantánea es un respaldo y no debe afectar a las conversiones.
+     */
+    private void guardarInstantanea(long timestamp, double[] tasas) {
+        if (archivoInstantanea == null) {
+            return;
+        }
+        try {
+            InstantaneaTasas.guardar(archivoInstantanea, MONEDA_BASE, timestamp, tasas);
+        } catch (IOException | RuntimeException e) {
+            Logger.warning("No se pudo guardar la instantánea de tasas: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Valida el código contra el registro de monedas (búsqueda en tabla).
+     */
+    private Moneda validarMoneda(String moneda) {
+        Moneda registrada = Moneda.buscar(moneda);
+        if (registrada != null) {
+            return registrada;
+        }
+        
         if (moneda == null || moneda.trim().isEmpty()) {
             throw new IllegalArgumentException("La moneda no puede estar vacía");
         }
@@ -220,10 +553,8 @@ public class ConversorDivisasAPI implements IConversorDivisas {
             );
         }
         
-        if (!moneda.matches("[A-Z]{3}")) {
-            throw new IllegalArgumentException(
-                "El código de moneda debe ser 3 letras mayúsculas (ej: USD, EUR, PEN)"
-            );
-        }
+        throw new IllegalArgumentException(
+            "El código de moneda debe ser un código ISO 4217 en mayúsculas (ej: USD, EUR, PEN)"
+        );
     }
 }
@@ -1,5 +1,6 @@
 package com.wallet.infrastructure.services;
 
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
 import com.wallet.application.dtos.CuentaDTO;
 import com.wallet.application.dtos.TransaccionDTO;
 import com.wallet.application.dtos.requests.DepositarDineroRequest;
@@ -33,11 +34,12 @@ public class CuentaService {
     public CuentaService() {
         var usuarioRepo = RepositoryFactory.getUsuarioRepository();
         var cuentaRepo = RepositoryFactory.getCuentaRepository();
-        var transaccionRepo = RepositoryFactory.getTransaccionRepository();
+        var unidadTrabajo = RepositoryFactory.getUnidadTrabajo();
+        var bloqueos = GestorBloqueosCuentas.global();
         
         this.crearCuentaUseCase = new CrearCuentaUseCase(cuentaRepo, usuarioRepo);
-        this.depositarDineroUseCase = new DepositarDineroUseCase(cuentaRepo, transaccionRepo);
-        this.retirarDineroUseCase = new RetirarDineroUseCase(cuentaRepo, transaccionRepo);
+        this.depositarDineroUseCase = new DepositarDineroUseCase(cuentaRepo, unidadTrabajo, bloqueos);
+        this.retirarDineroUseCase = new RetirarDineroUseCase(cuentaRepo, unidadTrabajo, bloqueos);
         this.consultarSaldoUseCase = new ConsultarSaldoUseCase(cuentaRepo);
     }
     
@@ -45,11 +47,11 @@ public class CuentaService {
      * Crea una nueva cuenta para un usuario.
      */
     public CuentaDTO crearCuenta(String usuarioId) {
-        Logger.info("Creando cuenta para usuario: " + usuarioId);
+        Logger.info("Creando cuenta para usuario: {}", usuarioId);
         
         try {
             CuentaDTO cuenta = crearCuentaUseCase.ejecutar(usuarioId);
-            Logger.info("Cuenta creada exitosamente: " + cuenta.getNumeroCuenta());
+            Logger.info("Cuenta creada exitosamente: {}", cuenta.getNumeroCuenta());
             return cuenta;
         } catch (Exception e) {
             Logger.error("Error al crear cuenta", e);
@@ -61,7 +63,7 @@ public class CuentaService {
      * Crea una nueva cuenta buscando usuario por email.
      */
     public CuentaDTO crearCuentaPorEmail(String email) {
-        Logger.info("Creando cuenta para usuario con email: " + email);
+        Logger.info("Creando cuenta para usuario con email: {}", email);
         
         try {
             // Buscar usuario por email
@@ -74,7 +76,7 @@ public class CuentaService {
             
             Usuario usuario = usuarioOpt.get();
             CuentaDTO cuenta = crearCuentaUseCase.ejecutar(usuario.getId());
-            Logger.info("Cuenta creada exitosamente: " + cuenta.getNumeroCuenta());
+            Logger.info("Cuenta creada exitosamente: {}", cuenta.getNumeroCuenta());
             return cuenta;
         } catch (Exception e) {
             Logger.error("Error al crear cuenta", e);
@@ -86,7 +88,7 @@ public class CuentaService {
      * Deposita dinero en una cuenta.
      */
     public TransaccionDTO depositar(DepositarDineroRequest request) {
-        Logger.info("Depositando $" + request.getMonto() + " en cuenta: " + request.getCuentaId());
+        Logger.info("Depositando ${} en cuenta: {}", request.getMonto(), request.getCuentaId());
         
         try {
             TransaccionDTO transaccion = depositarDineroUseCase.ejecutar(request);
@@ -102,7 +104,7 @@ public class CuentaService {
      * Deposita dinero en una cuenta usando el número de cuenta.
      */
     public TransaccionDTO depositarPorNumero(String numeroCuenta, BigDecimal monto, String descripcion) {
-        Logger.info("Depositando $" + monto + " en cuenta: " + numeroCuenta);
+        Logger.info("Depositando ${} en cuenta: {}", monto, numeroCuenta);
         
         try {
             // Buscar cuenta por número para obtener el ID
@@ -133,7 +135,7 @@ public class CuentaService {
      * Retira dinero de una cuenta.
      */
     public TransaccionDTO retirar(RetirarDineroRequest request) {
-        Logger.info("Retirando $" + request.getMonto() + " de cuenta: " + request.getCuentaId());
+        Logger.info("Retirando ${} de cuenta: {}", request.getMonto(), request.getCuentaId());
         
         try {
             TransaccionDTO transaccion = retirarDineroUseCase.ejecutar(request);
@@ -149,7 +151,7 @@ public class CuentaService {
      * Retira dinero de una cuenta usando el número de cuenta.
      */
     public TransaccionDTO retirarPorNumero(String numeroCuenta, BigDecimal monto, String descripcion) {
-        Logger.info("Retirando $" + monto + " de cuenta: " + numeroCuenta);
+        Logger.info("Retirando ${} de cuenta: {}", monto, numeroCuenta);
         
         try {
             // Buscar cuenta por número para obtener el ID
@@ -180,7 +182,7 @@ public class CuentaService {
      * Consulta el saldo de una cuenta.
      */
     public CuentaDTO consultarSaldo(String numeroCuenta) {
-        Logger.debug("Consultando saldo de cuenta: " + numeroCuenta);
+        Logger.debug("Consultando saldo de cuenta: {}", numeroCuenta);
         
         return consultarSaldoUseCase.ejecutarPorNumero(numeroCuenta);
     }
@@ -189,7 +191,7 @@ public class CuentaService {
      * Busca una cuenta por número.
      */
     public Optional<CuentaDTO> buscarPorNumeroCuenta(String numeroCuenta) {
-        Logger.debug("Buscando cuenta: " + numeroCuenta);
+        Logger.debug("Buscando cuenta: {}", numeroCuenta);
         
         Optional<Cuenta> cuenta = RepositoryFactory.getCuentaRepository()
             .buscarPorNumeroCuenta(numeroCuenta);
@@ -200,7 +202,7 @@ public class CuentaService {
      * Busca cuentas por usuario.
      */
     public List<CuentaDTO> buscarPorUsuario(String usuarioId) {
-        Logger.debug("Buscando cuentas del usuario: " + usuarioId);
+        Logger.debug("Buscando cuentas del usuario: {}", usuarioId);
         
         return RepositoryFactory.getCuentaRepository()
             .buscarPorUsuarioId(usuarioId)
@@ -213,7 +215,7 @@ public class CuentaService {
      * Obtiene todas las cuentas activas de un usuario.
      */
     public List<CuentaDTO> obtenerCuentasActivas(String usuarioId) {
-        Logger.debug("Obteniendo cuentas activas del usuario: " + usuarioId);
+        Logger.debug("Obteniendo cuentas activas del usuario: {}", usuarioId);
         
         return RepositoryFactory.getCuentaRepository()
             .obtenerActivasPorUsuario(usuarioId)
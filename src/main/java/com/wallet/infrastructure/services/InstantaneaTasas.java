@@ -0,0 +1,168 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.domain.valueobjects.Moneda;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Instantánea persistente de la última tabla de tasas válida.
+ *
+ * Formato binario (big-endian):
+ * <pre>
+ *   int    magia "WTAS"
+ *   short  versión
+ *   byte[3] código de la moneda base
+ *   long   instante de obtención (epoch ms)
+ *   int    cantidad de pares
+ *   n × (byte[3] código, double tasa)
+ * </pre>
+ * Se guardan códigos y no ordinales para que el archivo siga siendo válido
+ * si cambia el registro de monedas. La escritura va a un archivo temporal
+ * que luego se mueve sobre el definitivo, de modo que nunca se lee una
+ * instantánea a medio escribir. La lectura mapea el archivo en memoria.
+ *
+ * Principios aplicados:
+ * - SRP: Solo responsable de persistir y recuperar la tabla de tasas
+ * - Inmutabilidad: La instantánea leída no cambia
+ */
+final class InstantaneaTasas {
+
+    private static final int MAGIA = 0x57544153; // "WTAS"
+    private static final short VERSION = 1;
+    private static final int TAMANO_CABECERA = 4 + 2 + 3 + 8 + 4;
+    private static final int TAMANO_PAR = 3 + 8;
+
+    private final Moneda base;
+    private final long timestamp;
+    private final double[] tasasDesdeBase;
+
+    private InstantaneaTasas(Moneda base, long timestamp, double[] tasasDesdeBase) {
+        this.base = base;
+        this.timestamp = timestamp;
+        this.tasasDesdeBase = tasasDesdeBase;
+    }
+
+    /**
+     * Guarda la tabla de tasas reemplazando la instantánea anterior.
+     *
+     * @param archivo ruta del archivo de instantánea
+     * @param base moneda en la que se expresan las tasas
+     * @param timestamp instante en que se obtuvieron (epoch ms)
+     * @param tasasDesdeBase tasas indexadas por ordinal (NaN si no hay cotización)
+     * @throws IOException si no se puede escribir
+     */
+    static void guardar(Path archivo, Moneda base, long timestamp, double[] tasasDesdeBase) throws IOException {
+        int pares = 0;
+        for (double tasa : tasasDesdeBase) {
+            if (!Double.isNaN(tasa)) {
+                pares++;
+            }
+        }
+
+        ByteBuffer datos = ByteBuffer.allocate(TAMANO_CABECERA + pares * TAMANO_PAR)
+            .order(ByteOrder.BIG_ENDIAN);
+        datos.putInt(MAGIA).putShort(VERSION);
+        datos.put(base.getCodigo().getBytes(StandardCharsets.US_ASCII));
+        datos.putLong(timestamp).putInt(pares);
+        for (int i = 0; i < tasasDesdeBase.length; i++) {
+            if (!Double.isNaN(tasasDesdeBase[i])) {
+                datos.put(Moneda.porOrdinal(i).getCodigo().getBytes(StandardCharsets.US_ASCII));
+                datos.putDouble(tasasDesdeBase[i]);
+            }
+        }
+        datos.flip();
+
+        Path directorio = archivo.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, archivo.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                while (datos.hasRemaining()) {
+                    canal.write(datos);
+                }
+                canal.force(false);
+            }
+            try {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Carga la instantánea mapeando el archivo en memoria.
+     *
+     * @param archivo ruta del archivo de instantánea
+     * @return la instantánea, o null si el archivo no existe
+     * @throws IOException si no se puede leer o el contenido no es válido
+     */
+    static InstantaneaTasas cargar(Path archivo) throws IOException {
+        if (!Files.isRegularFile(archivo)) {
+            return null;
+        }
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano < TAMANO_CABECERA) {
+                throw new IOException("Instantánea de tasas truncada: " + archivo);
+            }
+            MappedByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+            datos.order(ByteOrder.BIG_ENDIAN);
+
+            if (datos.getInt(0) != MAGIA) {
+                throw new IOException("El archivo no es una instantánea de tasas: " + archivo);
+            }
+            short version = datos.getShort(4);
+            if (version != VERSION) {
+                throw new IOException("Versión de instantánea no soportada: " + version);
+            }
+            Moneda base = monedaEn(datos, 6);
+            long timestamp = datos.getLong(9);
+            int pares = datos.getInt(17);
+            if (base == null || pares < 0 || tamano != TAMANO_CABECERA + (long) pares * TAMANO_PAR) {
+                throw new IOException("Instantánea de tasas corrupta: " + archivo);
+            }
+
+            double[] tasas = new double[Moneda.cantidad()];
+            Arrays.fill(tasas, Double.NaN);
+            for (int i = 0, posicion = TAMANO_CABECERA; i < pares; i++, posicion += TAMANO_PAR) {
+                Moneda moneda = monedaEn(datos, posicion);
+                if (moneda != null) {
+                    tasas[moneda.ordinal()] = datos.getDouble(posicion + 3);
+                }
+            }
+            return new InstantaneaTasas(base, timestamp, tasas);
+        }
+    }
+
+    private static Moneda monedaEn(ByteBuffer datos, int posicion) {
+        return Moneda.buscar((char) datos.get(posicion), (char) datos.get(posicion + 1),
+            (char) datos.get(posicion + 2));
+    }
+
+    Moneda getBase() {
+        return base;
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    double[] getTasasDesdeBase() {
+        return tasasDesdeBase.clone();
+    }
+}
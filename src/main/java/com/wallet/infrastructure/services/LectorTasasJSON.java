@@ -0,0 +1,441 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.domain.valueobjects.Moneda;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lector incremental de respuestas JSON de tasas de cambio.
+ *
+ * Recorre los bytes directamente desde el {@link InputStream} con un buffer
+ * propio y llena la tabla de tasas a medida que avanza: no construye la
+ * respuesta completa en memoria, no crea un String por clave ni por número
+ * y no usa expresiones regulares. Los valores que no interesan (incluidos
+ * objetos y arreglos anidados a cualquier profundidad) se saltan sin
+ * interpretarlos.
+ *
+ * Formato esperado: un objeto con una clave "rates" cuyo valor es un objeto
+ * de pares "CÓDIGO": número. Los códigos fuera del registro de
+ * {@link Moneda} y los valores no numéricos se ignoran.
+ *
+ * Principios aplicados:
+ * - SRP: Solo responsable de extraer tasas de un flujo JSON
+ * - Rendimiento: Sin asignaciones por elemento en el camino habitual
+ */
+public final class LectorTasasJSON {
+
+    private static final int TAMANO_BUFFER = 8192;
+    private static final int MAX_TEXTO = 16;
+    private static final byte[] CLAVE_TASAS = {'r', 'a', 't', 'e', 's'};
+
+    /** Potencias de 10 representables exactamente en un double. */
+    private static final double[] POTENCIAS_EXACTAS = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_MANTISA_EXACTA = 1L << 53;
+
+    private final InputStream entrada;
+    private final byte[] buffer = new byte[TAMANO_BUFFER];
+    private int posicion;
+    private int limite;
+    private long leidosAntes;
+
+    // Último texto leído (clave o valor), truncado a MAX_TEXTO bytes
+    private final byte[] texto = new byte[MAX_TEXTO];
+    private int largoTexto;
+
+    // Caracteres del último número, solo para el camino lento de conversión
+    private final StringBuilder numero = new StringBuilder(32);
+
+    private LectorTasasJSON(InputStream entrada) {
+        this.entrada = entrada;
+    }
+
+    /**
+     * Lee la respuesta y deposita cada tasa en la posición del ordinal de
+     * su moneda. Las posiciones sin tasa en la respuesta no se modifican.
+     *
+     * @param entrada flujo con la respuesta JSON (no se cierra)
+     * @param tasas vector de tamaño {@link Moneda#cantidad()}
+     * @return número de tasas extraídas
+     * @throws IOException si falla la lectura del flujo
+     * @throws RuntimeException si el JSON es inválido o no contiene "rates"
+     */
+    public static int leer(InputStream entrada, double[] tasas) throws IOException {
+        if (entrada == null) {
+            throw new IllegalArgumentException("La entrada no puede ser nula");
+        }
+        if (tasas == null || tasas.length != Moneda.cantidad()) {
+            throw new IllegalArgumentException(
+                "El vector de tasas debe tener " + Moneda.cantidad() + " posiciones"
+            );
+        }
+        return new LectorTasasJSON(entrada).leerRespuesta(tasas);
+    }
+
+    private int leerRespuesta(double[] tasas) throws IOException {
+        if (siguienteNoBlanco() != '{') {
+            throw invalido("se esperaba '{'");
+        }
+
+        int extraidas = -1;
+        if (!cierraVacio('}')) {
+            do {
+                leerClave();
+                boolean esTasas = textoEs(CLAVE_TASAS);
+                esperar(':');
+                if (esTasas && extraidas < 0 && asomarNoBlanco() == '{') {
+                    extraidas = leerObjetoTasas(tasas);
+                } else {
+                    saltarValor();
+                }
+            } while (continuaHasta('}'));
+        }
+
+        if (extraidas < 0) {
+            throw new RuntimeException("Formato de respuesta JSON inválido");
+        }
+        return extraidas;
+    }
+
+    private int leerObjetoTasas(double[] tasas) throws IOException {
+        siguienteNoBlanco(); // '{'
+        int extraidas = 0;
+        if (cierraVacio('}')) {
+            return 0;
+        }
+
+        do {
+            leerClave();
+            Moneda moneda = largoTexto == 3
+                ? Moneda.buscar(caracter(0), caracter(1), caracter(2))
+                : null;
+            esperar(':');
+            int c = asomarNoBlanco();
+            if (moneda != null && (c == '-' || esDigito(c))) {
+                tasas[moneda.ordinal()] = leerNumero();
+                extraidas++;
+            } else {
+                saltarValor();
+            }
+        } while (continuaHasta('}'));
+
+        return extraidas;
+    }
+
+    // ==================== Valores ====================
+
+    private void leerClave() throws IOException {
+        if (siguienteNoBlanco() != '"') {
+            throw invalido("se esperaba una clave entre comillas");
+        }
+        leerTexto();
+    }
+
+    /**
+     * Lee un texto cuya comilla de apertura ya se consumió. Conserva los
+     * primeros bytes (para comparar claves) y decodifica los escapes.
+     */
+    private void leerTexto() throws IOException {
+        largoTexto = 0;
+        while (true) {
+            int c = leerByte();
+            if (c == '"') {
+                return;
+            }
+            if (c < 0) {
+                throw invalido("texto sin cerrar");
+            }
+            if (c == '\\') {
+                c = leerEscape();
+            } else if (c < 0x20) {
+                throw invalido("carácter de control en un texto");
+            }
+            if (largoTexto < MAX_TEXTO) {
+                texto[largoTexto] = (byte) c;
+            }
+            largoTexto++;
+        }
+    }
+
+    private int leerEscape() throws IOException {
+        int c = leerByte();
+        switch (c) {
+            case '"': case '\\': case '/':
+                return c;
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u':
+                int valor = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digito = Character.digit(leerByte(), 16);
+                    if (digito < 0) {
+                        throw invalido("escape \\u inválido");
+                    }
+                    valor = valor * 16 + digito;
+                }
+                // Fuera de ASCII no puede formar parte de una clave de interés
+                return valor < 0x80 ? valor : 0xFF;
+            default:
+                throw invalido("escape inválido");
+        }
+    }
+
+    /**
+     * Lee un número JSON. En el caso habitual (hasta 15-16 cifras
+     * significativas y exponente pequeño) el resultado se calcula con una
+     * sola operación exacta; en otro caso se delega en Double.parseDouble.
+     */
+    private double leerNumero() throws IOException {
+        numero.setLength(0);
+        boolean negativo = false;
+        long mantisa = 0;
+        int cifras = 0;
+        int exponente = 0;
+        boolean exacto = true;
+
+        int c = asomar();
+        if (c == '-') {
+            negativo = true;
+            consumir(c);
+            c = asomar();
+        }
+        if (!esDigito(c)) {
+            throw invalido("número inválido");
+        }
+
+        while (esDigito(c)) {
+            if (cifras < 18) {
+                mantisa = mantisa * 10 + (c - '0');
+                if (mantisa != 0) {
+                    cifras++;
+                }
+            } else {
+                exponente++;
+                exacto = false;
+            }
+            consumir(c);
+            c = asomar();
+        }
+
+        if (c == '.') {
+            consumir(c);
+            c = asomar();
+            if (!esDigito(c)) {
+                throw invalido("número inválido");
+            }
+            while (esDigito(c)) {
+                if (cifras < 18) {
+                    mantisa = mantisa * 10 + (c - '0');
+                    if (mantisa != 0) {
+                        cifras++;
+                    }
+                    exponente--;
+                } else {
+                    exacto = false;
+                }
+                consumir(c);
+                c = asomar();
+            }
+        }
+
+        if (c == 'e' || c == 'E') {
+            consumir(c);
+            c = asomar();
+            boolean exponenteNegativo = false;
+            if (c == '+' || c == '-') {
+                exponenteNegativo = c == '-';
+                consumir(c);
+                c = asomar();
+            }
+            if (!esDigito(c)) {
+                throw invalido("exponente inválido");
+            }
+            int valorExponente = 0;
+            while (esDigito(c)) {
+                if (valorExponente < 10000) {
+                    valorExponente = valorExponente * 10 + (c - '0');
+                }
+                consumir(c);
+                c = asomar();
+            }
+            exponente += exponenteNegativo ? -valorExponente : valorExponente;
+        }
+
+        double valor;
+        if (exacto && mantisa <= MAX_MANTISA_EXACTA && Math.abs(exponente) < POTENCIAS_EXACTAS.length) {
+            valor = exponente >= 0
+                ? mantisa * POTENCIAS_EXACTAS[exponente]
+                : mantisa / POTENCIAS_EXACTAS[-exponente];
+            return negativo ? -valor : valor;
+        }
+        return Double.parseDouble(numero.toString());
+    }
+
+    /**
+     * Salta un valor completo de cualquier tipo.
+     */
+    private void saltarValor() throws IOException {
+        int c = asomarNoBlanco();
+        if (c == '{' || c == '[') {
+            saltarCompuesto();
+        } else if (c == '"') {
+            consumir(c);
+            leerTexto();
+        } else if (c == '-' || esDigito(c)) {
+            leerNumero();
+        } else if (c == 't') {
+            esperarLiteral("true");
+        } else if (c == 'f') {
+            esperarLiteral("false");
+        } else if (c == 'n') {
+            esperarLiteral("null");
+        } else {
+            throw invalido("valor inesperado");
+        }
+    }
+
+    /**
+     * Salta un objeto o arreglo contando niveles (sin recursión), de modo
+     * que el anidamiento profundo no agota la pila.
+     */
+    private void saltarCompuesto() throws IOException {
+        int profundidad = 0;
+        do {
+            int c = leerByte();
+            if (c < 0) {
+                throw invalido("estructura sin cerrar");
+            }
+            if (c == '{' || c == '[') {
+                profundidad++;
+            } else if (c == '}' || c == ']') {
+                profundidad--;
+            } else if (c == '"') {
+                leerTexto();
+            }
+        } while (profundidad > 0);
+    }
+
+    private void esperarLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (leerByte() != literal.charAt(i)) {
+                throw invalido("se esperaba " + literal);
+            }
+        }
+    }
+
+    // ==================== Estructura ====================
+
+    private void esperar(char esperado) throws IOException {
+        if (siguienteNoBlanco() != esperado) {
+            throw invalido("se esperaba '" + esperado + "'");
+        }
+    }
+
+    /** Consume el cierre si el contenedor recién abierto está vacío. */
+    private boolean cierraVacio(char cierre) throws IOException {
+        if (asomarNoBlanco() == cierre) {
+            posicion++;
+            return true;
+        }
+        return false;
+    }
+
+    /** Tras un elemento: true si sigue otro (','), false si llega el cierre. */
+    private boolean continuaHasta(char cierre) throws IOException {
+        int c = siguienteNoBlanco();
+        if (c == ',') {
+            return true;
+        }
+        if (c == cierre) {
+            return false;
+        }
+        throw invalido("se esperaba ',' o '" + cierre + "'");
+    }
+
+    private boolean textoEs(byte[] esperado) {
+        if (largoTexto != esperado.length) {
+            return false;
+        }
+        for (int i = 0; i < esperado.length; i++) {
+            if (texto[i] != esperado[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private char caracter(int indice) {
+        return (char) (texto[indice] & 0xFF);
+    }
+
+    // ==================== Buffer ====================
+
+    private int leerByte() throws IOException {
+        if (posicion == limite && !llenar()) {
+            return -1;
+        }
+        return buffer[posicion++] & 0xFF;
+    }
+
+    private int asomar() throws IOException {
+        if (posicion == limite && !llenar()) {
+            return -1;
+        }
+        return buffer[posicion] & 0xFF;
+    }
+
+    /** Consume un carácter ya asomado de un número y lo guarda por si hace falta el camino lento. */
+    private void consumir(int c) {
+        posicion++;
+        numero.append((char) c);
+    }
+
+    private int asomarNoBlanco() throws IOException {
+        int c = asomar();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            posicion++;
+            c = asomar();
+        }
+        if (c < 0) {
+            throw invalido("fin inesperado de la respuesta");
+        }
+        return c;
+    }
+
+    private int siguienteNoBlanco() throws IOException {
+        int c = asomarNoBlanco();
+        posicion++;
+        return c;
+    }
+
+    private boolean llenar() throws IOException {
+        leidosAntes += limite;
+        posicion = 0;
+        limite = 0;
+        int leidos = entrada.read(buffer, 0, buffer.length);
+        while (leidos == 0) {
+            leidos = entrada.read(buffer, 0, buffer.length);
+        }
+        if (leidos < 0) {
+            return false;
+        }
+        limite = leidos;
+        return true;
+    }
+
+    private static boolean esDigito(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private RuntimeException invalido(String detalle) {
+        return new RuntimeException(
+            "JSON de tasas inválido en la posición " + (leidosAntes + posicion) + ": " + detalle
+        );
+    }
+}
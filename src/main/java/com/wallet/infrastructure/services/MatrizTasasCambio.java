@@ -0,0 +1,86 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.domain.valueobjects.Moneda;
+
+/**
+ * Matriz inmutable de tasas de cambio cruzadas, indexada por el ordinal
+ * de {@link Moneda}.
+ *
+ * Se construye a partir de una única tabla de tasas respecto a una moneda
+ * base: la tasa de A a B se deriva como tasa(base→B) / tasa(base→A). Las
+ * consultas son lecturas de un arreglo primitivo, sin boxing ni mapas.
+ * Las monedas sin cotización quedan con tasa NaN.
+ *
+ * Principios aplicados:
+ * - Inmutabilidad: Una instantánea compartible entre hilos sin sincronización
+ * - SRP: Solo responsable del cálculo y consulta de tasas cruzadas
+ */
+final class MatrizTasasCambio {
+
+    private final Moneda base;
+    private final double[][] tasas;
+
+    private MatrizTasasCambio(Moneda base, double[][] tasas) {
+        this.base = base;
+        this.tasas = tasas;
+    }
+
+    /**
+     * Deriva la matriz completa de tasas cruzadas.
+     *
+     * @param base moneda en la que están expresadas las tasas
+     * @param tasasDesdeBase unidades de cada moneda por una unidad de la base,
+     *                       indexadas por ordinal (NaN si no hay cotización)
+     * @return la matriz de tasas cruzadas
+     * @throws IllegalArgumentException si el vector no cubre el registro de monedas
+     */
+    static MatrizTasasCambio desdeBase(Moneda base, double[] tasasDesdeBase) {
+        int n = Moneda.cantidad();
+        if (tasasDesdeBase.length != n) {
+            throw new IllegalArgumentException(
+                "Se esperaban " + n + " tasas, se recibieron " + tasasDesdeBase.length
+            );
+        }
+
+        double[] vector = tasasDesdeBase.clone();
+        for (int i = 0; i < n; i++) {
+            if (!(vector[i] > 0) || Double.isInfinite(vector[i])) {
+                vector[i] = Double.NaN;
+            }
+        }
+        vector[base.ordinal()] = 1.0;
+
+        double[][] tasas = new double[n][n];
+        for (int origen = 0; origen < n; origen++) {
+            double porOrigen = vector[origen];
+            double[] fila = tasas[origen];
+            for (int destino = 0; destino < n; destino++) {
+                fila[destino] = vector[destino] / porOrigen;
+            }
+            if (!Double.isNaN(porOrigen)) {
+                fila[origen] = 1.0;
+            }
+        }
+        return new MatrizTasasCambio(base, tasas);
+    }
+
+    /**
+     * Tasa para convertir una unidad de origen a destino.
+     *
+     * @return la tasa, o NaN si alguna de las monedas no tiene cotización
+     */
+    double tasa(Moneda origen, Moneda destino) {
+        return tasas[origen.ordinal()][destino.ordinal()];
+    }
+
+    /**
+     * Indica si la moneda tiene cotización en esta matriz.
+     */
+    boolean cotiza(Moneda moneda) {
+        return !Double.isNaN(tasas[base.ordinal()][moneda.ordinal()]);
+    }
+
+    Moneda getBase() {
+        return base;
+    }
+}
@@ -1,5 +1,6 @@
 package com.wallet.infrastructure.services;
 
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
 import com.wallet.application.dtos.TransaccionDTO;
 import com.wallet.application.dtos.requests.TransferirDineroRequest;
 import com.wallet.application.mappers.TransaccionMapper;
@@ -29,7 +30,8 @@ public class TransaccionService {
         var cuentaRepo = RepositoryFactory.getCuentaRepository();
         var transaccionRepo = RepositoryFactory.getTransaccionRepository();
         
-        this.transferirDineroUseCase = new TransferirDineroUseCase(cuentaRepo, transaccionRepo);
+        this.transferirDineroUseCase = new TransferirDineroUseCase(cuentaRepo,
+            RepositoryFactory.getUnidadTrabajo(), GestorBloqueosCuentas.global());
         this.consultarHistorialUseCase = new ConsultarHistorialUseCase(cuentaRepo, transaccionRepo);
     }
     
@@ -38,9 +40,8 @@ public class TransaccionService {
      * Retorna la transacción de TRANSFERENCIA_SALIDA.
      */
     public List<TransaccionDTO> transferir(TransferirDineroRequest request) {
-        Logger.info("Transfiriendo $" + request.getMonto() + 
-                   " de " + request.getCuentaOrigenId() + 
-                   " a " + request.getCuentaDestinoId());
+        Logger.info("Transfiriendo ${} de {} a {}",
+                    request.getMonto(), request.getCuentaOrigenId(), request.getCuentaDestinoId());
         
         try {
             List<TransaccionDTO> transacciones = transferirDineroUseCase.ejecutar(request);
@@ -56,7 +57,7 @@ public class TransaccionService {
      * Consulta el historial completo de una cuenta.
      */
     public List<TransaccionDTO> consultarHistorial(String numeroCuenta) {
-        Logger.debug("Consultando historial de cuenta: " + numeroCuenta);
+        Logger.debug("Consultando historial de cuenta: {}", numeroCuenta);
         
         // Buscar cuenta por número
         var cuenta = RepositoryFactory.getCuentaRepository()
@@ -70,12 +71,11 @@ public class TransaccionService {
      * Consulta las últimas N transacciones de una cuenta.
      */
     public List<TransaccionDTO> consultarUltimas(String cuentaId, int limite) {
-        Logger.debug("Consultando últimas " + limite + " transacciones de cuenta: " + cuentaId);
+        Logger.debug("Consultando últimas {} transacciones de cuenta: {}", limite, cuentaId);
         
         return RepositoryFactory.getTransaccionRepository()
-            .buscarPorCuentaId(cuentaId)
+            .obtenerUltimasPorCuenta(cuentaId, limite)
             .stream()
-            .limit(limite)
             .map(TransaccionMapper::toDTO)
             .collect(Collectors.toList());
     }
@@ -84,7 +84,7 @@ public class TransaccionService {
      * Consulta transacciones por tipo.
      */
     public List<TransaccionDTO> consultarPorTipo(String numeroCuenta, TipoTransaccion tipo) {
-        Logger.debug("Consultando transacciones de tipo " + tipo + " para cuenta: " + numeroCuenta);
+        Logger.debug("Consultando transacciones de tipo {} para cuenta: {}", tipo, numeroCuenta);
         
         // Primero buscar la cuenta por número
         var cuenta = RepositoryFactory.getCuentaRepository()
@@ -104,7 +104,7 @@ public class TransaccionService {
     public List<TransaccionDTO> consultarPorFechas(String cuentaId, 
                                                     LocalDateTime fechaInicio, 
                                                     LocalDateTime fechaFin) {
-        Logger.debug("Consultando transacciones entre " + fechaInicio + " y " + fechaFin);
+        Logger.debug("Consultando transacciones entre {} y {}", fechaInicio, fechaFin);
         
         return RepositoryFactory.getTransaccionRepository()
             .obtenerPorCuentaYFechas(cuentaId, fechaInicio, fechaFin)
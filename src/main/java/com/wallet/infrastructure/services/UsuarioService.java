@@ -38,11 +38,11 @@ public class UsuarioService {
      * Crea un nuevo usuario.
      */
     public UsuarioDTO crearUsuario(CrearUsuarioRequest request) {
-        Logger.info("Creando usuario: " + request.getEmail());
+        Logger.info("Creando usuario: {}", request.getEmail());
         
         try {
             UsuarioDTO usuario = crearUsuarioUseCase.ejecutar(request);
-            Logger.info("Usuario creado exitosamente: " + usuario.getId());
+            Logger.info("Usuario creado exitosamente: {}", usuario.getId());
             return usuario;
         } catch (Exception e) {
             Logger.error("Error al crear usuario", e);
@@ -54,7 +54,7 @@ public class UsuarioService {
      * Busca un usuario por ID.
      */
     public Optional<UsuarioDTO> buscarPorId(String usuarioId) {
-        Logger.debug("Buscando usuario por ID: " + usuarioId);
+        Logger.debug("Buscando usuario por ID: {}", usuarioId);
         
         UsuarioDTO usuario = buscarUsuarioUseCase.ejecutarPorId(usuarioId);
         return Optional.ofNullable(usuario);
@@ -64,7 +64,7 @@ public class UsuarioService {
      * Busca un usuario por email.
      */
     public Optional<UsuarioDTO> buscarPorEmail(String email) {
-        Logger.debug("Buscando usuario por email: " + email);
+        Logger.debug("Buscando usuario por email: {}", email);
         
         UsuarioDTO usuario = buscarUsuarioUseCase.ejecutarPorEmail(email);
         return Optional.ofNullable(usuario);
@@ -0,0 +1,128 @@
+package com.wallet.presentation.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parámetros de una prueba de carga, leídos de la línea de comandos.
+ */
+final class ConfiguracionCarga {
+    
+    static final String USO = String.join(System.lineSeparator(),
+        "Uso: java -jar wallet.jar carga [opciones]",
+        "  --usuarios N        usuarios (y cuentas) a crear (por defecto 1000)",
+        "  --hilos N           hilos generadores (por defecto 8)",
+        "  --virtuales         usar hilos virtuales en lugar de hilos de plataforma",
+        "  --tasa N            operaciones por segundo objetivo, en total (por defecto 5000)",
+        "  --duracion S        segundos de medición (por defecto 30)",
+        "  --calentamiento S   segundos de calentamiento sin medir (por defecto 5)",
+        "  --zipf S            exponente de popularidad de cuentas (por defecto 0.99)",
+        "  --mezcla L          pesos por operación (por defecto",
+        "                      deposito=25,retiro=20,transferencia=25,historial=15,saldo=15)",
+        "  --semilla N         semilla aleatoria (por defecto 42)");
+    
+    int usuarios = 1000;
+    int hilos = 8;
+    boolean virtuales;
+    double tasa = 5000;
+    double duracionSegundos = 30;
+    double calentamientoSegundos = 5;
+    double zipf = 0.99;
+    long semilla = 42;
+    final Map<TipoOperacion, Integer> mezcla = new EnumMap<>(TipoOperacion.class);
+    
+    ConfiguracionCarga() {
+        mezcla.put(TipoOperacion.DEPOSITO, 25);
+        mezcla.put(TipoOperacion.RETIRO, 20);
+        mezcla.put(TipoOperacion.TRANSFERENCIA, 25);
+        mezcla.put(TipoOperacion.HISTORIAL, 15);
+        mezcla.put(TipoOperacion.SALDO, 15);
+    }
+    
+    /**
+     * Lee la configuración de los argumentos.
+     * 
+     * @throws IllegalArgumentException si un argumento no es válido
+     */
+    static ConfiguracionCarga desdeArgumentos(String[] args) {
+        ConfiguracionCarga config = new ConfiguracionCarga();
+        for (int i = 0; i < args.length; i++) {
+            String opcion = args[i];
+            if ("--virtuales".equals(opcion)) {
+                config.virtuales = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + opcion);
+            }
+            String valor = args[++i];
+            try {
+                switch (opcion) {
+                    case "--usuarios":
+                        config.usuarios = Integer.parseInt(valor);
+                        break;
+                    case "--hilos":
+                        config.hilos = Integer.parseInt(valor);
+                        break;
+                    case "--tasa":
+                        config.tasa = Double.parseDouble(valor);
+                        break;
+                    case "--duracion":
+                        config.duracionSegundos = Double.parseDouble(valor);
+                        break;
+                    case "--calentamiento":
+                        config.calentamientoSegundos = Double.parseDouble(valor);
+                        break;
+                    case "--zipf":
+                        config.zipf = Double.parseDouble(valor);
+                        break;
+                    case "--semilla":
+                        config.semilla = Long.parseLong(valor);
+                        break;
+                    case "--mezcla":
+                        config.leerMezcla(valor);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + opcion);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor no numérico para " + opcion + ": " + valor);
+            }
+        }
+        config.validar();
+        return config;
+    }
+    
+    private void leerMezcla(String valor) {
+        mezcla.clear();
+        for (String par : valor.split(",")) {
+            String[] partes = par.split("=");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Mezcla inválida, se espera operacion=peso: " + par);
+            }
+            int peso = Integer.parseInt(partes[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("El peso de " + partes[0] + " no puede ser negativo");
+            }
+            mezcla.put(TipoOperacion.porClave(partes[0]), peso);
+        }
+    }
+    
+    private void validar() {
+        if (usuarios < 2) {
+            throw new IllegalArgumentException("Se necesitan al menos 2 usuarios para transferir");
+        }
+        if (hilos <= 0) {
+            throw new IllegalArgumentException("El número de hilos debe ser positivo");
+        }
+        if (!(tasa > 0)) {
+            throw new IllegalArgumentException("La tasa objetivo debe ser positiva");
+        }
+        if (!(duracionSegundos > 0) || calentamientoSegundos < 0) {
+            throw new IllegalArgumentException("La duración debe ser positiva y el calentamiento no negativo");
+        }
+        if (mezcla.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("La mezcla debe tener al menos una operación con peso");
+        }
+    }
+}
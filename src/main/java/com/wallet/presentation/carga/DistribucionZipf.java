@@ -0,0 +1,63 @@
+package com.wallet.presentation.carga;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribución de Zipf sobre los rangos 0..n-1: el rango k se elige con
+ * probabilidad proporcional a 1/(k+1)^s. Con s≈1 unas pocas cuentas
+ * concentran buena parte del tráfico, como en producción; con s=0 la
+ * distribución es uniforme.
+ * 
+ * La función de distribución acumulada se precalcula una vez y cada
+ * muestra es una búsqueda binaria, sin asignaciones. La instancia es
+ * inmutable y se puede compartir entre hilos (cada hilo usa su propio
+ * generador aleatorio).
+ */
+final class DistribucionZipf {
+    
+    private final double[] acumulada;
+    
+    /**
+     * @param elementos cantidad de rangos
+     * @param exponente exponente s (0 = uniforme)
+     * @throws IllegalArgumentException si los parámetros no son válidos
+     */
+    DistribucionZipf(int elementos, double exponente) {
+        if (elementos <= 0) {
+            throw new IllegalArgumentException("La distribución necesita al menos un elemento");
+        }
+        if (!(exponente >= 0) || Double.isInfinite(exponente)) {
+            throw new IllegalArgumentException("El exponente de Zipf debe ser un número no negativo");
+        }
+        this.acumulada = new double[elementos];
+        double suma = 0;
+        for (int k = 0; k < elementos; k++) {
+            suma += 1.0 / Math.pow(k + 1, exponente);
+            acumulada[k] = suma;
+        }
+        for (int k = 0; k < elementos; k++) {
+            acumulada[k] /= suma;
+        }
+        acumulada[elementos - 1] = 1.0;
+    }
+    
+    /**
+     * Devuelve un rango aleatorio según la distribución.
+     */
+    int muestra(RandomGenerator random) {
+        int indice = Arrays.binarySearch(acumulada, random.nextDouble());
+        return indice >= 0 ? indice : -indice - 1;
+    }
+    
+    /**
+     * Probabilidad del rango indicado.
+     */
+    double probabilidad(int rango) {
+        return rango == 0 ? acumulada[0] : acumulada[rango] - acumulada[rango - 1];
+    }
+    
+    int getElementos() {
+        return acumulada.length;
+    }
+}
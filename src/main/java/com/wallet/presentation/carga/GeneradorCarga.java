@@ -0,0 +1,374 @@
+package com.wallet.presentation.carga;
+
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
+import com.wallet.application.dtos.requests.CrearUsuarioRequest;
+import com.wallet.application.dtos.requests.DepositarDineroRequest;
+import com.wallet.application.dtos.requests.RetirarDineroRequest;
+import com.wallet.application.dtos.requests.TransferirDineroRequest;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
+import com.wallet.application.metricas.ResumenOperacion;
+import com.wallet.application.usecases.ConsultarHistorialUseCase;
+import com.wallet.application.usecases.ConsultarSaldoUseCase;
+import com.wallet.application.usecases.CrearCuentaUseCase;
+import com.wallet.application.usecases.CrearUsuarioUseCase;
+import com.wallet.application.usecases.DepositarDineroUseCase;
+import com.wallet.application.usecases.RetirarDineroUseCase;
+import com.wallet.application.usecases.TransferirDineroUseCase;
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.entities.Usuario;
+import com.wallet.domain.repositories.ICuentaRepository;
+import com.wallet.domain.repositories.ITransaccionRepository;
+import com.wallet.domain.repositories.IUnidadTrabajo;
+import com.wallet.domain.repositories.IUsuarioRepository;
+import com.wallet.domain.valueobjects.Email;
+import com.wallet.infrastructure.factories.RepositoryFactory;
+import com.wallet.infrastructure.logging.Logger;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga sintética para reproducir tráfico de producción sin
+ * el menú interactivo.
+ * 
+ * Crea los usuarios y cuentas con los casos de uso reales sobre los
+ * repositorios de {@link RepositoryFactory} y luego lanza una mezcla
+ * configurable de depósitos, retiros, transferencias y consultas desde
+ * varios hilos (de plataforma o virtuales). La cuenta de cada operación
+ * se elige con una distribución de Zipf, de modo que unas pocas cuentas
+ * reciben la mayor parte del tráfico.
+ * 
+ * Carga de lazo abierto: cada hilo tiene un calendario fijo de
+ * operaciones según la tasa objetivo, y la latencia se mide desde el
+ * instante en que la operación debía empezar, no desde que empezó. Si el
+ * sistema se atrasa, la espera acumulada cuenta en los percentiles en
+ * lugar de ocultarse (corrección de la omisión coordinada). También se
+ * informa el tiempo de servicio puro para comparar.
+ * 
+ * Uso: java -jar wallet.jar carga --usuarios 10000 --hilos 64 --virtuales --tasa 20000
+ */
+public final class GeneradorCarga {
+    
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("100000.00");
+    private static final String DESCRIPCION = "Carga sintética";
+    private static final String SUFIJO_SERVICIO = ".servicio";
+    
+    private final ConfiguracionCarga config;
+    private final IUsuarioRepository usuarioRepository;
+    private final ICuentaRepository cuentaRepository;
+    private final CrearUsuarioUseCase crearUsuario;
+    private final CrearCuentaUseCase crearCuenta;
+    private final DepositarDineroUseCase depositar;
+    private final RetirarDineroUseCase retirar;
+    private final TransferirDineroUseCase transferir;
+    private final ConsultarHistorialUseCase consultarHistorial;
+    private final ConsultarSaldoUseCase consultarSaldo;
+    
+    private final TipoOperacion[] operaciones;
+    private final int[] pesosAcumulados;
+    private final RegistroMetricas registro = new RegistroMetricas();
+    private final MetricaOperacion[] respuesta = new MetricaOperacion[TipoOperacion.values().length];
+    private final MetricaOperacion[] servicio = new MetricaOperacion[TipoOperacion.values().length];
+    private final LongAdder noEjecutadas = new LongAdder();
+    
+    private DistribucionZipf popularidad;
+    /** Cuenta asignada a cada rango de popularidad. */
+    private String[] cuentaPorRango;
+    
+    GeneradorCarga(ConfiguracionCarga config) {
+        this.config = config;
+        this.usuarioRepository = RepositoryFactory.getUsuarioRepository();
+        this.cuentaRepository = RepositoryFactory.getCuentaRepository();
+        ITransaccionRepository transaccionRepository = RepositoryFactory.getTransaccionRepository();
+        this.crearUsuario = new CrearUsuarioUseCase(usuarioRepository);
+        this.crearCuenta = new CrearCuentaUseCase(cuentaRepository, usuarioRepository);
+        IUnidadTrabajo unidadTrabajo = RepositoryFactory.getUnidadTrabajo();
+        GestorBloqueosCuentas bloqueos = GestorBloqueosCuentas.global();
+        this.depositar = new DepositarDineroUseCase(cuentaRepository, unidadTrabajo, bloqueos);
+        this.retirar = new RetirarDineroUseCase(cuentaRepository, unidadTrabajo, bloqueos);
+        this.transferir = new TransferirDineroUseCase(cuentaRepository, unidadTrabajo, bloqueos);
+        this.consultarHistorial = new ConsultarHistorialUseCase(cuentaRepository, transaccionRepository);
+        this.consultarSaldo = new ConsultarSaldoUseCase(cuentaRepository);
+        
+        List<TipoOperacion> tipos = new ArrayList<>();
+        List<Integer> acumulados = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<TipoOperacion, Integer> entrada : config.mezcla.entrySet()) {
+            if (entrada.getValue() > 0) {
+                total += entrada.getValue();
+                tipos.add(entrada.getKey());
+                acumulados.add(total);
+            }
+        }
+        this.operaciones = tipos.toArray(new TipoOperacion[0]);
+        this.pesosAcumulados = acumulados.stream().mapToInt(Integer::intValue).toArray();
+        for (TipoOperacion tipo : TipoOperacion.values()) {
+            respuesta[tipo.ordinal()] = registro.operacion(tipo.getClave());
+            servicio[tipo.ordinal()] = registro.operacion(tipo.getClave() + SUFIJO_SERVICIO);
+        }
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        ConfiguracionCarga config;
+        try {
+            config = ConfiguracionCarga.desdeArgumentos(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(ConfiguracionCarga.USO);
+            System.exit(2);
+            return;
+        }
+        Logger.setNivelMinimo(Logger.Nivel.WARNING);
+        
+        GeneradorCarga generador = new GeneradorCarga(config);
+        System.out.printf("Creando %d usuarios y cuentas...%n", config.usuarios);
+        long inicio = System.nanoTime();
+        generador.preparar();
+        System.out.printf("Preparación completada en %.1f s%n", (System.nanoTime() - inicio) / 1e9);
+        System.out.printf("Generando %.0f ops/s con %d hilos %s durante %.0f s (+%.0f s de calentamiento)...%n",
+            config.tasa, config.hilos, config.virtuales ? "virtuales" : "de plataforma",
+            config.duracionSegundos, config.calentamientoSegundos);
+        generador.ejecutar().imprimir();
+    }
+    
+    /**
+     * Crea los usuarios, sus cuentas y un depósito inicial en cada una.
+     * Con repositorios persistentes los usuarios y cuentas de una corrida
+     * anterior siguen ahí: se reutilizan en lugar de volver a crearlos.
+     */
+    void preparar() {
+        String[] cuentas = new String[config.usuarios];
+        for (int i = 0; i < config.usuarios; i++) {
+            int numero = i;
+            String email = "carga" + numero + "@wallet.test";
+            String usuarioId = usuarioRepository.buscarPorEmail(new Email(email))
+                .map(Usuario::getId)
+                .orElseGet(() -> crearUsuario.ejecutar(new CrearUsuarioRequest(
+                    "Carga", "Sintetica", email, "DNI", String.format("%08d", numero))).getId());
+            String cuentaId = cuentaRepository.obtenerActivasPorUsuario(usuarioId).stream()
+                .findFirst()
+                .map(Cuenta::getId)
+                .orElseGet(() -> crearCuenta.ejecutar(usuarioId).getId());
+            depositar.ejecutar(new DepositarDineroRequest(cuentaId, SALDO_INICIAL, "Saldo inicial"));
+            cuentas[i] = cuentaId;
+        }
+        
+        // Las cuentas más populares se reparten al azar, no por orden de creación
+        SplittableRandom random = new SplittableRandom(config.semilla);
+        for (int i = cuentas.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String temporal = cuentas[i];
+            cuentas[i] = cuentas[j];
+            cuentas[j] = temporal;
+        }
+        this.cuentaPorRango = cuentas;
+        this.popularidad = new DistribucionZipf(cuentas.length, config.zipf);
+    }
+    
+    /**
+     * Ejecuta el calentamiento y la medición y devuelve los resultados.
+     */
+    ResultadoCarga ejecutar() throws InterruptedException {
+        if (cuentaPorRango == null) {
+            throw new IllegalStateException("Se debe llamar a preparar() antes de ejecutar()");
+        }
+        registro.reiniciar();
+        noEjecutadas.reset();
+        
+        long nanosCalentamiento = (long) (config.calentamientoSegundos * 1e9);
+        long nanosMedicion = (long) (config.duracionSegundos * 1e9);
+        long inicio = System.nanoTime() + 10_000_000L; // margen para arrancar los hilos
+        long inicioMedicion = inicio + nanosCalentamiento;
+        long fin = inicioMedicion + nanosMedicion;
+        // Si el sistema no sostiene la tasa, no se espera indefinidamente a vaciar el atraso
+        long limite = fin + Math.max(1_000_000_000L, nanosMedicion / 10);
+        
+        Thread.Builder constructor = config.virtuales
+            ? Thread.ofVirtual().name("carga-", 0)
+            : Thread.ofPlatform().name("carga-", 0).daemon(true);
+        List<Thread> hilos = new ArrayList<>(config.hilos);
+        for (int i = 0; i < config.hilos; i++) {
+            int trabajador = i;
+            hilos.add(constructor.start(() -> generar(trabajador, inicio, inicioMedicion, fin, limite)));
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        double segundosMedidos = Math.max(System.nanoTime() - inicioMedicion, 1L) / 1e9;
+        
+        Map<String, ResumenOperacion> porOperacion = new TreeMap<>();
+        for (ResumenOperacion resumen : registro.resumenOperaciones()) {
+            porOperacion.put(resumen.getNombre(), resumen);
+        }
+        return new ResultadoCarga(porOperacion, segundosMedidos, noEjecutadas.sum());
+    }
+    
+    /**
+     * Bucle de un hilo generador: una operación cada intervalo, según su
+     * calendario, hasta el fin de la prueba.
+     */
+    private void generar(int trabajador, long inicio, long inicioMedicion, long fin, long limite) {
+        SplittableRandom random = new SplittableRandom(config.semilla * 31 + trabajador);
+        long intervalo = Math.max(1L, (long) (config.hilos * 1e9 / config.tasa));
+        // Calendarios escalonados para que los hilos no disparen a la vez
+        long programada = inicio + intervalo * trabajador / config.hilos;
+        
+        while (programada < fin) {
+            long ahora = System.nanoTime();
+            while (ahora < programada) {
+                LockSupport.parkNanos(programada - ahora);
+                ahora = System.nanoTime();
+            }
+            if (ahora >= limite) {
+                noEjecutadas.add((fin - programada + intervalo - 1) / intervalo);
+                return;
+            }
+            
+            TipoOperacion tipo = elegirOperacion(random);
+            boolean exito = ejecutarOperacion(tipo, random);
+            long terminada = System.nanoTime();
+            if (programada >= inicioMedicion) {
+                respuesta[tipo.ordinal()].registrar(terminada - programada, exito);
+                servicio[tipo.ordinal()].registrar(terminada - ahora, exito);
+            }
+            programada += intervalo;
+        }
+    }
+    
+    private TipoOperacion elegirOperacion(SplittableRandom random) {
+        int valor = random.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (valor < pesosAcumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+    
+    /**
+     * Ejecuta una operación sobre cuentas elegidas por popularidad.
+     * 
+     * @return false si el caso de uso rechazó la operación
+     */
+    private boolean ejecutarOperacion(TipoOperacion tipo, SplittableRandom random) {
+        int rango = popularidad.muestra(random);
+        String cuentaId = cuentaPorRango[rango];
+        try {
+            switch (tipo) {
+                case DEPOSITO:
+                    depositar.ejecutar(new DepositarDineroRequest(cuentaId, monto(random), DESCRIPCION));
+                    break;
+                case RETIRO:
+                    retirar.ejecutar(new RetirarDineroRequest(cuentaId, monto(random), DESCRIPCION));
+                    break;
+                case TRANSFERENCIA:
+                    int destino = popularidad.muestra(random);
+                    if (destino == rango) {
+                        destino = (rango + 1) % cuentaPorRango.length;
+                    }
+                    transferir.ejecutar(new TransferirDineroRequest(
+                        cuentaId, cuentaPorRango[destino], monto(random), DESCRIPCION));
+                    break;
+                case HISTORIAL:
+                    consultarHistorial.ejecutar(cuentaId);
+                    break;
+                case SALDO:
+                    consultarSaldo.ejecutar(cuentaId);
+                    break;
+                default:
+                    throw new IllegalStateException("Operación no soportada: " + tipo);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Monto entre 1.00 y 100.00.
+     */
+    private static BigDecimal monto(SplittableRandom random) {
+        return BigDecimal.valueOf(100 + random.nextInt(9_901), 2);
+    }
+    
+    /**
+     * Resultados de una ejecución.
+     */
+    static final class ResultadoCarga {
+        
+        private final Map<String, ResumenOperacion> porOperacion;
+        private final double segundosMedidos;
+        private final long noEjecutadas;
+        
+        ResultadoCarga(Map<String, ResumenOperacion> porOperacion, double segundosMedidos, long noEjecutadas) {
+            this.porOperacion = porOperacion;
+            this.segundosMedidos = segundosMedidos;
+            this.noEjecutadas = noEjecutadas;
+        }
+        
+        /**
+         * Latencia de respuesta (desde el instante programado) de una operación.
+         */
+        ResumenOperacion respuesta(TipoOperacion tipo) {
+            return porOperacion.get(tipo.getClave());
+        }
+        
+        /**
+         * Tiempo de servicio (desde el inicio real) de una operación.
+         */
+        ResumenOperacion servicio(TipoOperacion tipo) {
+            return porOperacion.get(tipo.getClave() + SUFIJO_SERVICIO);
+        }
+        
+        double getSegundosMedidos() {
+            return segundosMedidos;
+        }
+        
+        long getNoEjecutadas() {
+            return noEjecutadas;
+        }
+        
+        long getTotalEjecutadas() {
+            long total = 0;
+            for (TipoOperacion tipo : TipoOperacion.values()) {
+                total += respuesta(tipo).getEjecuciones();
+            }
+            return total;
+        }
+        
+        void imprimir() {
+            System.out.println();
+            System.out.printf("%-14s %10s %8s %10s %10s %10s %10s %10s %12s%n",
+                "Operacion", "Ejecuc.", "Fallos", "ops/s", "p50", "p99", "p999", "Max", "p99 servicio");
+            for (TipoOperacion tipo : TipoOperacion.values()) {
+                ResumenOperacion resumen = respuesta(tipo);
+                if (resumen.getEjecuciones() == 0) {
+                    continue;
+                }
+                System.out.printf("%-14s %10d %8d %10.0f %10s %10s %10s %10s %12s%n",
+                    tipo.getClave(), resumen.getEjecuciones(), resumen.getFallos(),
+                    resumen.getEjecuciones() / segundosMedidos,
+                    ResumenOperacion.formatearDuracion(resumen.getP50Nanos()),
+                    ResumenOperacion.formatearDuracion(resumen.getP99Nanos()),
+                    ResumenOperacion.formatearDuracion(resumen.getP999Nanos()),
+                    ResumenOperacion.formatearDuracion(resumen.getMaximoNanos()),
+                    ResumenOperacion.formatearDuracion(servicio(tipo).getP99Nanos()));
+            }
+            System.out.printf("%nTotal: %d operaciones en %.1f s (%.0f ops/s)%n",
+                getTotalEjecutadas(), segundosMedidos, getTotalEjecutadas() / segundosMedidos);
+            if (noEjecutadas > 0) {
+                System.out.printf("Atención: %d operaciones programadas no llegaron a ejecutarse; "
+                    + "el sistema no sostiene la tasa objetivo%n", noEjecutadas);
+            }
+            System.out.println("Latencias medidas desde el instante programado "
+                + "(corregidas por omisión coordinada)");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.wallet.presentation.carga;
+
+/**
+ * Operaciones que puede generar la prueba de carga.
+ */
+enum TipoOperacion {
+    DEPOSITO("deposito"),
+    RETIRO("retiro"),
+    TRANSFERENCIA("transferencia"),
+    HISTORIAL("historial"),
+    SALDO("saldo");
+    
+    private final String clave;
+    
+    TipoOperacion(String clave) {
+        this.clave = clave;
+    }
+    
+    String getClave() {
+        return clave;
+    }
+    
+    /**
+     * Busca la operación por su clave en la línea de comandos.
+     * 
+     * @throws IllegalArgumentException si la clave no existe
+     */
+    static TipoOperacion porClave(String clave) {
+        for (TipoOperacion tipo : values()) {
+            if (tipo.clave.equalsIgnoreCase(clave.trim())) {
+                return tipo;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + clave);
+    }
+}
@@ -1,5 +1,7 @@
 package com.wallet.presentation.menus;
 
+import com.wallet.application.metricas.RegistroMetricas;
+import com.wallet.application.metricas.ResumenOperacion;
 import com.wallet.presentation.controllers.*;
 import com.wallet.presentation.utils.ConsoleUtils;
 import com.wallet.infrastructure.services.*;
@@ -76,12 +78,13 @@ public class MenuPrincipal {
         System.out.println("3. Transacciones");
         System.out.println("4. Consultas");
         System.out.println("5. Conversor de Divisas");
+        System.out.println("6. Estadisticas");
         System.out.println("0. Salir");
         ConsoleUtils.printLine();
     }
     
     private void procesarOpcion() {
-        int opcion = ConsoleUtils.readIntInRange("Seleccione una opcion: ", 0, 5);
+        int opcion = ConsoleUtils.readIntInRange("Seleccione una opcion: ", 0, 6);
         ConsoleUtils.printLine();
         
         switch (opcion) {
@@ -100,6 +103,10 @@ public class MenuPrincipal {
             case 5:
                 menuDivisas.mostrar();
                 break;
+            case 6:
+                mostrarEstadisticas();
+                ConsoleUtils.pause();
+                break;
             case 0:
                 salir = true;
                 break;
@@ -154,6 +161,35 @@ public class MenuPrincipal {
         }
     }
     
+    /**
+     * Muestra las latencias de cada caso de uso y los contadores registrados.
+     */
+    private void mostrarEstadisticas() {
+        ConsoleUtils.clearScreen();
+        ConsoleUtils.printHeader("ESTADISTICAS");
+        
+        RegistroMetricas registro = RegistroMetricas.global();
+        System.out.printf("%-22s %9s %7s %10s %10s %10s %10s %10s%n",
+            "Operacion", "Ejecuc.", "Fallos", "Media", "p50", "p99", "p999", "Max");
+        for (ResumenOperacion resumen : registro.resumenOperaciones()) {
+            if (resumen.getEjecuciones() == 0) {
+                continue;
+            }
+            System.out.printf("%-22s %9d %7d %10s %10s %10s %10s %10s%n",
+                resumen.getNombre(), resumen.getEjecuciones(), resumen.getFallos(),
+                ResumenOperacion.formatearDuracion((long) resumen.getMediaNanos()),
+                ResumenOperacion.formatearDuracion(resumen.getP50Nanos()),
+                ResumenOperacion.formatearDuracion(resumen.getP99Nanos()),
+                ResumenOperacion.formatearDuracion(resumen.getP999Nanos()),
+                ResumenOperacion.formatearDuracion(resumen.getMaximoNanos()));
+        }
+        
+        ConsoleUtils.printLine();
+        registro.valoresContadores().forEach((nombre, valor) ->
+            System.out.printf("%-32s %d%n", nombre, valor));
+        ConsoleUtils.printLine();
+    }
+    
     private void mostrarDespedida() {
         ConsoleUtils.clearScreen();
         ConsoleUtils.printSeparator();
@@ -0,0 +1,77 @@
+package com.wallet.application.concurrencia;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para GestorBloqueosCuentas.
+ */
+@DisplayName("GestorBloqueosCuentas Tests")
+class GestorBloqueosCuentasTest {
+    
+    @Test
+    @DisplayName("Debe redondear el número de franjas a potencia de dos")
+    void debeRedondearFranjas() {
+        assertEquals(1, new GestorBloqueosCuentas(1).getNumeroFranjas());
+        assertEquals(8, new GestorBloqueosCuentas(5).getNumeroFranjas());
+        assertEquals(16, new GestorBloqueosCuentas(16).getNumeroFranjas());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar un número de franjas no positivo")
+    void debeRechazarFranjasInvalidas() {
+        assertThrows(IllegalArgumentException.class, () -> new GestorBloqueosCuentas(0));
+    }
+    
+    @Test
+    @DisplayName("Debe ejecutar con dos cuentas de la misma franja sin bloquearse")
+    void debeEjecutarConMismaFranja() {
+        GestorBloqueosCuentas gestor = new GestorBloqueosCuentas(1);
+        
+        String resultado = gestor.ejecutar("a", "b", () -> "ok");
+        
+        assertEquals("ok", resultado);
+    }
+    
+    @Test
+    @DisplayName("No debe producir deadlock con bloqueos cruzados en orden inverso")
+    void noDebeProducirDeadlock() throws InterruptedException {
+        GestorBloqueosCuentas gestor = new GestorBloqueosCuentas(64);
+        String[] cuentas = {"cuenta-1", "cuenta-2", "cuenta-3", "cuenta-4"};
+        int hilos = 8;
+        int iteraciones = 20_000;
+        long[] contador = {0};
+        CountDownLatch fin = new CountDownLatch(hilos);
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        
+        for (int h = 0; h < hilos; h++) {
+            int desplazamiento = h;
+            executor.submit(() -> {
+                for (int i = 0; i < iteraciones; i++) {
+                    String a = cuentas[(i + desplazamiento) % cuentas.length];
+                    String b = cuentas[(i + desplazamiento + 1) % cuentas.length];
+                    // Todas las cuentas comparten el contador: solo es seguro
+                    // si ambas franjas quedan bloqueadas a la vez
+                    gestor.ejecutar(a, b, () -> {
+                        synchronized (contador) {
+                            contador[0]++;
+                        }
+                        return null;
+                    });
+                }
+                fin.countDown();
+            });
+        }
+        
+        assertTrue(fin.await(30, TimeUnit.SECONDS), "Posible deadlock");
+        executor.shutdown();
+        assertEquals((long) hilos * iteraciones, contador[0]);
+    }
+}
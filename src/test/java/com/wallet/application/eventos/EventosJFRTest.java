@@ -0,0 +1,101 @@
+package com.wallet.application.eventos;
+
+import com.wallet.application.dtos.requests.DepositarDineroRequest;
+import com.wallet.application.dtos.requests.TransferirDineroRequest;
+import com.wallet.application.usecases.ConsultarHistorialUseCase;
+import com.wallet.application.usecases.DepositarDineroUseCase;
+import com.wallet.application.usecases.TransferirDineroUseCase;
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.repositories.ICuentaRepository;
+import com.wallet.domain.repositories.ITransaccionRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de los eventos JFR emitidos por los casos de uso.
+ */
+@DisplayName("Eventos JFR Tests")
+class EventosJFRTest {
+    
+    @TempDir
+    Path directorio;
+    
+    private ICuentaRepository cuentaRepository;
+    private ITransaccionRepository transaccionRepository;
+    private Cuenta cuenta;
+    
+    @BeforeEach
+    void setUp() {
+        cuentaRepository = mock(ICuentaRepository.class);
+        transaccionRepository = mock(ITransaccionRepository.class);
+        cuenta = new Cuenta("usuario-1");
+        when(cuentaRepository.buscarPorId(cuenta.getId())).thenReturn(Optional.of(cuenta));
+        when(cuentaRepository.guardar(any(Cuenta.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transaccionRepository.guardar(any(Transaccion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+    
+    @Test
+    @DisplayName("Debe registrar depósitos, transferencias y consultas con sus datos")
+    void debeRegistrarEventos() throws Exception {
+        // Arrange
+        DepositarDineroUseCase depositar = new DepositarDineroUseCase(cuentaRepository, transaccionRepository);
+        TransferirDineroUseCase transferir = new TransferirDineroUseCase(cuentaRepository, transaccionRepository);
+        ConsultarHistorialUseCase historial = new ConsultarHistorialUseCase(cuentaRepository, transaccionRepository);
+        Path archivo = directorio.resolve("wallet.jfr");
+        
+        // Act
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable("com.wallet.Deposito");
+            grabacion.enable("com.wallet.Transferencia");
+            grabacion.enable("com.wallet.ConsultaHistorial");
+            grabacion.start();
+            
+            depositar.ejecutar(new DepositarDineroRequest(cuenta.getId(), new BigDecimal("250.50"), "Prueba"));
+            assertThrows(RuntimeException.class, () -> transferir.ejecutar(
+                new TransferirDineroRequest(cuenta.getId(), cuenta.getId(), BigDecimal.TEN, "Misma")));
+            historial.ejecutar(cuenta.getId());
+            
+            grabacion.stop();
+            grabacion.dump(archivo);
+        }
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(archivo);
+        
+        // Assert
+        RecordedEvent deposito = buscar(eventos, "com.wallet.Deposito");
+        assertEquals(cuenta.getId(), deposito.getString("cuentaId"));
+        assertEquals(250.50, deposito.getDouble("monto"), 0.001);
+        assertEquals("PEN", deposito.getString("moneda"));
+        assertTrue(deposito.getBoolean("exito"));
+        assertFalse(deposito.getDuration().isNegative());
+        
+        RecordedEvent transferencia = buscar(eventos, "com.wallet.Transferencia");
+        assertFalse(transferencia.getBoolean("exito"));
+        assertEquals(cuenta.getId(), transferencia.getString("cuentaDestinoId"));
+        assertTrue(transferencia.getString("error").contains("misma cuenta"));
+        
+        RecordedEvent consulta = buscar(eventos, "com.wallet.ConsultaHistorial");
+        assertEquals(0, consulta.getInt("transacciones"));
+        assertTrue(consulta.getBoolean("exito"));
+    }
+    
+    private static RecordedEvent buscar(List<RecordedEvent> eventos, String nombre) {
+        return eventos.stream()
+            .filter(evento -> evento.getEventType().getName().equals(nombre))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No se registró " + nombre));
+    }
+}
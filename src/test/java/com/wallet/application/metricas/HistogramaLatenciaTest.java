@@ -0,0 +1,123 @@
+package com.wallet.application.metricas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para HistogramaLatencia.
+ */
+@DisplayName("HistogramaLatencia Tests")
+class HistogramaLatenciaTest {
+    
+    @Test
+    @DisplayName("Debe asignar cubetas contiguas cuyo límite contiene al valor")
+    void debeAsignarCubetasContiguas() {
+        int anterior = -1;
+        for (long valor = 0; valor < 100_000; valor++) {
+            int indice = HistogramaLatencia.indice(valor);
+            assertTrue(indice == anterior || indice == anterior + 1, "Salto en " + valor);
+            assertTrue(valor <= HistogramaLatencia.limiteSuperior(indice));
+            anterior = indice;
+        }
+        assertEquals(HistogramaLatencia.CUBETAS - 1,
+            HistogramaLatencia.indice(HistogramaLatencia.VALOR_MAXIMO));
+    }
+    
+    @Test
+    @DisplayName("Debe calcular percentiles con error relativo acotado")
+    void debeCalcularPercentiles() {
+        // Arrange
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        
+        // Act: 1..10000 µs, distribución uniforme
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histograma.registrar(micros * 1_000);
+        }
+        HistogramaLatencia.Instantanea instantanea = histograma.instantanea();
+        
+        // Assert
+        assertEquals(10_000, instantanea.getTotal());
+        assertEquals(10_000_000, instantanea.getMaximo());
+        assertEquals(5_000_500.0, instantanea.getMedia(), 0.001);
+        assertCercano(5_000_000, instantanea.percentil(0.50));
+        assertCercano(9_900_000, instantanea.percentil(0.99));
+        assertCercano(9_990_000, instantanea.percentil(0.999));
+        assertEquals(10_000_000, instantanea.percentil(1.0));
+    }
+    
+    @Test
+    @DisplayName("Debe devolver cero sin registros y acotar valores fuera de rango")
+    void debeManejarCasosLimite() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        assertEquals(0, histograma.instantanea().percentil(0.99));
+        
+        histograma.registrar(-5);
+        histograma.registrar(Long.MAX_VALUE);
+        HistogramaLatencia.Instantanea instantanea = histograma.instantanea();
+        
+        assertEquals(2, instantanea.getTotal());
+        assertEquals(0, instantanea.percentil(0.5));
+        assertEquals(HistogramaLatencia.VALOR_MAXIMO, instantanea.getMaximo());
+        assertThrows(IllegalArgumentException.class, () -> instantanea.percentil(1.5));
+    }
+    
+    @Test
+    @DisplayName("No debe perder registros concurrentes")
+    void noDebePerderRegistrosConcurrentes() throws Exception {
+        // Arrange
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < 8; h++) {
+            hilos.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histograma.registrar(1_000);
+                }
+            }));
+        }
+        
+        // Act
+        hilos.forEach(Thread::start);
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        
+        // Assert
+        assertEquals(80_000, histograma.instantanea().getTotal());
+        histograma.reiniciar();
+        assertEquals(0, histograma.instantanea().getTotal());
+    }
+    
+    @Test
+    @DisplayName("No debe asignar memoria al registrar")
+    void noDebeAsignarMemoriaAlRegistrar() {
+        // Arrange
+        com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 0; i < 10_000; i++) {
+            histograma.registrar(i);
+        }
+        long hilo = Thread.currentThread().threadId();
+        
+        // Act
+        long antes = hilos.getThreadAllocatedBytes(hilo);
+        for (int i = 0; i < 100_000; i++) {
+            histograma.registrar(i * 37L);
+        }
+        long asignados = hilos.getThreadAllocatedBytes(hilo) - antes;
+        
+        // Assert: margen para la propia medición, no para 100.000 registros
+        assertTrue(asignados < 10_000, "Se asignaron " + asignados + " bytes");
+    }
+    
+    private static void assertCercano(long esperado, long obtenido) {
+        assertTrue(Math.abs(obtenido - esperado) <= esperado / 16,
+            "Esperado ~" + esperado + " pero fue " + obtenido);
+    }
+}
@@ -0,0 +1,89 @@
+package com.wallet.application.metricas;
+
+import com.wallet.application.usecases.ConsultarHistorialUseCase;
+import com.wallet.domain.repositories.ICuentaRepository;
+import com.wallet.domain.repositories.ITransaccionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests para RegistroMetricas.
+ */
+@DisplayName("RegistroMetricas Tests")
+class RegistroMetricasTest {
+    
+    @Test
+    @DisplayName("Debe devolver la misma métrica para el mismo nombre")
+    void debeReutilizarMetricas() {
+        RegistroMetricas registro = new RegistroMetricas();
+        
+        assertSame(registro.operacion("a"), registro.operacion("a"));
+        assertSame(registro.contador("c"), registro.contador("c"));
+        assertThrows(IllegalArgumentException.class, () -> registro.operacion(" "));
+    }
+    
+    @Test
+    @DisplayName("Debe resumir operaciones y contadores ordenados por nombre")
+    void debeResumirOperaciones() {
+        // Arrange
+        RegistroMetricas registro = new RegistroMetricas();
+        MetricaOperacion retiro = registro.operacion("retirar");
+        MetricaOperacion deposito = registro.operacion("depositar");
+        
+        // Act
+        deposito.registrar(2_000, true);
+        deposito.registrar(4_000, false);
+        retiro.registrar(1_000, true);
+        registro.contador("z").add(3);
+        registro.contador("a").increment();
+        
+        // Assert
+        List<ResumenOperacion> resumenes = registro.resumenOperaciones();
+        assertEquals("depositar", resumenes.get(0).getNombre());
+        assertEquals(2, resumenes.get(0).getEjecuciones());
+        assertEquals(1, resumenes.get(0).getFallos());
+        assertEquals(3_000.0, resumenes.get(0).getMediaNanos(), 0.001);
+        assertEquals(4_000, resumenes.get(0).getMaximoNanos());
+        assertEquals("retirar", resumenes.get(1).getNombre());
+        assertEquals(List.of("a", "z"), List.copyOf(registro.valoresContadores().keySet()));
+        assertEquals(3L, registro.valoresContadores().get("z"));
+    }
+    
+    @Test
+    @DisplayName("Debe poner a cero las métricas al reiniciar")
+    void debeReiniciar() {
+        RegistroMetricas registro = new RegistroMetricas();
+        registro.operacion("op").registrar(10, false);
+        registro.contador("c").increment();
+        
+        registro.reiniciar();
+        
+        assertEquals(0, registro.resumenOperaciones().get(0).getEjecuciones());
+        assertEquals(0, registro.resumenOperaciones().get(0).getFallos());
+        assertEquals(Map.of("c", 0L), registro.valoresContadores());
+    }
+    
+    @Test
+    @DisplayName("Los casos de uso deben registrar sus ejecuciones en el registro global")
+    void casosDeUsoDebenRegistrar() {
+        // Arrange
+        ConsultarHistorialUseCase useCase = new ConsultarHistorialUseCase(
+            mock(ICuentaRepository.class), mock(ITransaccionRepository.class));
+        MetricaOperacion metrica = RegistroMetricas.global().operacion("ConsultarHistorial");
+        ResumenOperacion antes = metrica.resumen();
+        
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> useCase.ejecutar(""));
+        
+        // Assert
+        ResumenOperacion despues = metrica.resumen();
+        assertEquals(antes.getEjecuciones() + 1, despues.getEjecuciones());
+        assertEquals(antes.getFallos() + 1, despues.getFallos());
+    }
+}
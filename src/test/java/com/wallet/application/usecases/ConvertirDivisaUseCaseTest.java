@@ -0,0 +1,99 @@
+package com.wallet.application.usecases;
+
+import com.wallet.application.dtos.ConversionDivisaDTO;
+import com.wallet.application.dtos.requests.ConvertirDivisaRequest;
+import com.wallet.domain.services.IConversorDivisas;
+import com.wallet.domain.valueobjects.ConversionLote;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TasaCambio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para ConvertirDivisaUseCase.
+ */
+@DisplayName("ConvertirDivisaUseCase Tests")
+class ConvertirDivisaUseCaseTest {
+    
+    private IConversorDivisas conversor;
+    private ConvertirDivisaUseCase useCase;
+    
+    @BeforeEach
+    void setUp() {
+        conversor = mock(IConversorDivisas.class);
+        useCase = new ConvertirDivisaUseCase(conversor);
+        
+        when(conversor.obtenerTasaCambio("USD", "PEN")).thenReturn(3.75);
+        when(conversor.obtenerTasaCambio("EUR", "PEN")).thenReturn(4.0);
+        when(conversor.obtenerTasaCambio("PEN", "USD")).thenReturn(0.25);
+        when(conversor.convertirLoteConTasas(anyList(), anyString())).thenAnswer(invocacion -> {
+            List<Dinero> montos = invocacion.getArgument(0);
+            Moneda destino = Moneda.de(invocacion.getArgument(1));
+            TasaCambio[] tasas = new TasaCambio[Moneda.cantidad()];
+            List<Dinero> convertidos = new ArrayList<>();
+            for (Dinero monto : montos) {
+                Moneda origen = monto.getMonedaCanonica();
+                if (tasas[origen.ordinal()] == null) {
+                    tasas[origen.ordinal()] = TasaCambio.de(origen, destino,
+                        conversor.obtenerTasaCambio(origen.getCodigo(), destino.getCodigo()));
+                }
+                convertidos.add(tasas[origen.ordinal()].aplicar(monto));
+            }
+            return new ConversionLote(destino, convertidos, tasas);
+        });
+    }
+    
+    @Test
+    @DisplayName("Debe convertir un lote agrupando por moneda destino y conservando el orden")
+    void debeConvertirLote() {
+        // Arrange
+        List<ConvertirDivisaRequest> requests = List.of(
+            new ConvertirDivisaRequest(new BigDecimal("10.00"), "USD", "PEN"),
+            new ConvertirDivisaRequest(new BigDecimal("100.00"), "PEN", "USD"),
+            new ConvertirDivisaRequest(new BigDecimal("2.00"), "EUR", "PEN"),
+            new ConvertirDivisaRequest(new BigDecimal("20.00"), "USD", "PEN")
+        );
+        
+        // Act
+        List<ConversionDivisaDTO> resultado = useCase.ejecutarLote(requests);
+        
+        // Assert
+        assertEquals(4, resultado.size());
+        assertEquals(new BigDecimal("37.50"), resultado.get(0).getCantidadConvertida());
+        assertEquals(new BigDecimal("25.00"), resultado.get(1).getCantidadConvertida());
+        assertEquals("USD", resultado.get(1).getMonedaDestino());
+        assertEquals(new BigDecimal("8.00"), resultado.get(2).getCantidadConvertida());
+        assertEquals(new BigDecimal("75.00"), resultado.get(3).getCantidadConvertida());
+        assertEquals(3.75, resultado.get(3).getTasaCambio());
+        verify(conversor, times(1)).convertirLoteConTasas(anyList(), eq("PEN"));
+        verify(conversor, times(1)).convertirLoteConTasas(anyList(), eq("USD"));
+        // Una consulta por par de monedas, hecha por el conversor al convertir
+        verify(conversor, times(1)).obtenerTasaCambio("USD", "PEN");
+        verify(conversor, times(1)).obtenerTasaCambio("EUR", "PEN");
+        verify(conversor, times(1)).obtenerTasaCambio("PEN", "USD");
+        verify(conversor, never()).convertir(any(), anyString());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar un lote nulo o con requests inválidos")
+    void debeRechazarLoteInvalido() {
+        List<ConvertirDivisaRequest> conInvalido = List.of(
+            new ConvertirDivisaRequest(new BigDecimal("10.00"), "USD", "PEN"),
+            new ConvertirDivisaRequest(null, "USD", "PEN")
+        );
+        
+        assertThrows(IllegalArgumentException.class, () -> useCase.ejecutarLote(null));
+        assertThrows(IllegalArgumentException.class, () -> useCase.ejecutarLote(conInvalido));
+        verify(conversor, never()).convertirLoteConTasas(anyList(), anyString());
+    }
+}
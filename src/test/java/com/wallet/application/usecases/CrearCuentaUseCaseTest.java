@@ -12,6 +12,7 @@ import com.wallet.domain.valueobjects.Email;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
 
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -67,6 +68,26 @@ class CrearCuentaUseCaseTest {
         verify(cuentaRepository).guardar(any(Cuenta.class));
     }
     
+    @Test
+    @DisplayName("Debe generar otro número si el generado ya pertenece a una cuenta")
+    void debeGenerarOtroNumeroSiYaExiste() {
+        // Arrange
+        when(usuarioRepository.buscarPorId(anyString())).thenReturn(Optional.of(usuario));
+        when(cuentaRepository.buscarPorUsuarioId(anyString())).thenReturn(Collections.emptyList());
+        when(cuentaRepository.existeNumeroCuenta(anyString())).thenReturn(true, false);
+        when(cuentaRepository.guardar(any(Cuenta.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // Act
+        CuentaDTO resultado = useCase.ejecutar(usuario.getId());
+        
+        // Assert
+        ArgumentCaptor<String> numeros = ArgumentCaptor.forClass(String.class);
+        verify(cuentaRepository, times(2)).existeNumeroCuenta(numeros.capture());
+        assertNotEquals(numeros.getAllValues().get(0), resultado.getNumeroCuenta());
+        assertEquals(numeros.getAllValues().get(1), resultado.getNumeroCuenta());
+        verify(cuentaRepository).guardar(any(Cuenta.class));
+    }
+    
     @Test
     @DisplayName("Debe lanzar excepción si usuario no existe")
     void debeLanzarExcepcionSiUsuarioNoExiste() {
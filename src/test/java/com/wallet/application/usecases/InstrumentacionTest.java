@@ -0,0 +1,58 @@
+package com.wallet.application.usecases;
+
+import com.wallet.application.eventos.EventoDeposito;
+import com.wallet.application.metricas.MetricaOperacion;
+import com.wallet.application.metricas.RegistroMetricas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para Instrumentacion.
+ */
+@DisplayName("Instrumentacion Tests")
+class InstrumentacionTest {
+    
+    @Test
+    @DisplayName("Debe registrar la métrica y cerrar el evento con el resultado o el error")
+    void debeRegistrarMetricaYCerrarEvento() {
+        // Arrange
+        MetricaOperacion metrica = new RegistroMetricas().operacion("Prueba");
+        List<Object> cierres = new ArrayList<>();
+        IllegalStateException fallo = new IllegalStateException("fallo");
+        
+        // Act
+        String resultado = Instrumentacion.medir(metrica, new EventoDeposito(), () -> "ok",
+            (evento, valor, error) -> cierres.add(valor));
+        IllegalStateException lanzada = assertThrows(IllegalStateException.class,
+            () -> Instrumentacion.medir(metrica, new EventoDeposito(), () -> { throw fallo; },
+                (evento, valor, error) -> cierres.add(error)));
+        
+        // Assert
+        assertEquals("ok", resultado);
+        assertSame(fallo, lanzada);
+        assertEquals(List.of("ok", fallo), cierres);
+        assertEquals(2, metrica.resumen().getEjecuciones());
+        assertEquals(1, metrica.resumen().getFallos());
+    }
+    
+    @Test
+    @DisplayName("Debe contar como fallo una operación sin evento que lanza excepción")
+    void debeContarFalloSinEvento() {
+        // Arrange
+        MetricaOperacion metrica = new RegistroMetricas().operacion("Prueba");
+        
+        // Act
+        Instrumentacion.medir(metrica, () -> 1);
+        assertThrows(IllegalArgumentException.class,
+            () -> Instrumentacion.medir(metrica, () -> { throw new IllegalArgumentException(); }));
+        
+        // Assert
+        assertEquals(2, metrica.resumen().getEjecuciones());
+        assertEquals(1, metrica.resumen().getFallos());
+    }
+}
@@ -0,0 +1,162 @@
+package com.wallet.application.usecases;
+
+import com.wallet.application.concurrencia.GestorBloqueosCuentas;
+import com.wallet.application.dtos.TransaccionDTO;
+import com.wallet.application.dtos.requests.DepositarDineroRequest;
+import com.wallet.application.dtos.requests.TransferirDineroRequest;
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.exceptions.OperacionNoValidaException;
+import com.wallet.domain.repositories.IUnidadTrabajo;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.infrastructure.repositories.CuentaRepositoryInMemory;
+import com.wallet.infrastructure.repositories.TransaccionRepositoryInMemory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para TransferirDineroUseCase.
+ */
+@DisplayName("TransferirDineroUseCase Tests")
+class TransferirDineroUseCaseTest {
+    
+    private CuentaRepositoryInMemory cuentaRepository;
+    private TransaccionRepositoryInMemory transaccionRepository;
+    private GestorBloqueosCuentas gestorBloqueos;
+    private TransferirDineroUseCase useCase;
+    
+    @BeforeEach
+    void setUp() {
+        cuentaRepository = new CuentaRepositoryInMemory();
+        transaccionRepository = new TransaccionRepositoryInMemory();
+        gestorBloqueos = new GestorBloqueosCuentas(16);
+        useCase = new TransferirDineroUseCase(cuentaRepository, transaccionRepository, gestorBloqueos);
+    }
+    
+    @Test
+    @DisplayName("Debe transferir exitosamente")
+    void debeTransferirExitosamente() {
+        // Arrange
+        Cuenta origen = crearCuenta("500.00");
+        Cuenta destino = crearCuenta("0.00");
+        
+        // Act
+        List<TransaccionDTO> resultado = useCase.ejecutar(new TransferirDineroRequest(
+            origen.getId(), destino.getId(), new BigDecimal("200.00"), "Prueba"));
+        
+        // Assert
+        assertEquals(2, resultado.size());
+        assertEquals(new BigDecimal("300.00"), origen.getSaldo().getCantidad());
+        assertEquals(new BigDecimal("200.00"), destino.getSaldo().getCantidad());
+    }
+    
+    @Test
+    @DisplayName("Debe guardar ambas cuentas y ambas transacciones en una sola unidad de trabajo")
+    void debeGuardarEnUnaUnidadDeTrabajo() {
+        // Arrange
+        Cuenta origen = crearCuenta("500.00");
+        Cuenta destino = crearCuenta("0.00");
+        IUnidadTrabajo unidad = mock(IUnidadTrabajo.class);
+        TransferirDineroUseCase conUnidad = new TransferirDineroUseCase(cuentaRepository, unidad, gestorBloqueos);
+        
+        // Act
+        List<TransaccionDTO> resultado = conUnidad.ejecutar(new TransferirDineroRequest(
+            origen.getId(), destino.getId(), new BigDecimal("200.00"), "Prueba"));
+        
+        // Assert
+        ArgumentCaptor<Cuenta> cuentaOrigen = ArgumentCaptor.forClass(Cuenta.class);
+        ArgumentCaptor<Cuenta> cuentaDestino = ArgumentCaptor.forClass(Cuenta.class);
+        ArgumentCaptor<Transaccion> enviada = ArgumentCaptor.forClass(Transaccion.class);
+        ArgumentCaptor<Transaccion> recibida = ArgumentCaptor.forClass(Transaccion.class);
+        verify(unidad).guardarTransferencia(cuentaOrigen.capture(), cuentaDestino.capture(),
+            enviada.capture(), recibida.capture());
+        verifyNoMoreInteractions(unidad);
+        assertEquals(new BigDecimal("300.00"), cuentaOrigen.getValue().getSaldo().getCantidad());
+        assertEquals(new BigDecimal("200.00"), cuentaDestino.getValue().getSaldo().getCantidad());
+        assertEquals(resultado.get(0).getId(), enviada.getValue().getId());
+        assertEquals(resultado.get(1).getId(), recibida.getValue().getId());
+        assertTrue(transaccionRepository.obtenerTodas().isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar transferencia a la misma cuenta")
+    void debeRechazarMismaCuenta() {
+        Cuenta cuenta = crearCuenta("100.00");
+        
+        assertThrows(OperacionNoValidaException.class, () -> useCase.ejecutar(
+            new TransferirDineroRequest(cuenta.getId(), cuenta.getId(), BigDecimal.TEN, "Prueba")));
+    }
+    
+    @Test
+    @DisplayName("Debe conservar el saldo total con transferencias y depósitos concurrentes")
+    void debeConservarSaldoTotalConcurrente() throws InterruptedException {
+        // Arrange
+        int numeroCuentas = 8;
+        List<Cuenta> cuentas = new ArrayList<>();
+        for (int i = 0; i < numeroCuentas; i++) {
+            cuentas.add(crearCuenta("1000.00"));
+        }
+        DepositarDineroUseCase depositar = new DepositarDineroUseCase(
+            cuentaRepository, transaccionRepository, gestorBloqueos);
+        int hilos = 8;
+        int operacionesPorHilo = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        
+        // Act
+        for (int h = 0; h < hilos; h++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operacionesPorHilo; i++) {
+                    Cuenta origen = cuentas.get(random.nextInt(numeroCuentas));
+                    Cuenta destino = cuentas.get(random.nextInt(numeroCuentas));
+                    if (origen == destino) {
+                        depositar.ejecutar(new DepositarDineroRequest(
+                            origen.getId(), new BigDecimal("1.00"), "Deposito"));
+                        continue;
+                    }
+                    try {
+                        useCase.ejecutar(new TransferirDineroRequest(
+                            origen.getId(), destino.getId(), new BigDecimal("7.50"), "Prueba"));
+                    } catch (IllegalStateException saldoInsuficiente) {
+                        // Aceptable: el saldo total no debe verse afectado
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        
+        // Assert: total = inicial + depósitos registrados
+        long depositos = transaccionRepository.obtenerTodas().stream()
+            .filter(t -> t.getDescripcion().equals("Deposito"))
+            .count();
+        BigDecimal esperado = new BigDecimal("1000.00").multiply(BigDecimal.valueOf(numeroCuentas))
+            .add(BigDecimal.valueOf(depositos));
+        BigDecimal total = cuentas.stream()
+            .map(c -> c.getSaldo().getCantidad())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, esperado.compareTo(total));
+    }
+    
+    private Cuenta crearCuenta(String saldoInicial) {
+        Cuenta cuenta = new Cuenta("usuario-test");
+        Dinero saldo = Dinero.de(saldoInicial);
+        if (saldo.esPositivo()) {
+            cuenta.depositar(saldo);
+        }
+        return cuentaRepository.guardar(cuenta);
+    }
+}
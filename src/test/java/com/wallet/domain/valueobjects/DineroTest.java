@@ -201,4 +201,55 @@ class DineroTest {
         assertTrue(cero.esCero());
         assertEquals("PEN", cero.getMoneda());
     }
+    
+    @Test
+    void deberiaSumarSinPerderPrecisionAlDesbordarLong() {
+        // Arrange: Long.MAX_VALUE centavos
+        Dinero maximo = new Dinero(new BigDecimal("92233720368547758.07"));
+        
+        // Act
+        Dinero resultado = maximo.sumar(Dinero.de("0.01"));
+        
+        // Assert
+        assertEquals(new BigDecimal("92233720368547758.08"), resultado.getCantidad());
+        assertTrue(resultado.esMayorQue(maximo));
+    }
+    
+    @Test
+    void deberiaVolverARepresentacionCompactaTrasDesbordar() {
+        // Arrange
+        Dinero grande = new Dinero(new BigDecimal("92233720368547758.08"));
+        
+        // Act
+        Dinero resultado = grande.restar(Dinero.de("0.01"));
+        Dinero esperado = new Dinero(new BigDecimal("92233720368547758.07"));
+        
+        // Assert
+        assertEquals(esperado, resultado);
+        assertEquals(esperado.hashCode(), resultado.hashCode());
+    }
+    
+    @Test
+    void deberiaSerIgualTrasAritmeticaYConstruccion() {
+        // Arrange
+        Dinero calculado = Dinero.de("10.25").sumar(Dinero.de("5.50")).restar(Dinero.de("0.75"));
+        Dinero construido = new Dinero(new BigDecimal("15.000"));
+        
+        // Act & Assert
+        assertEquals(construido, calculado);
+        assertEquals(construido.hashCode(), calculado.hashCode());
+        assertEquals(2, calculado.getCantidad().scale());
+        assertEquals("PEN 15.00", calculado.toString());
+    }
+    
+    @Test
+    void deberiaCompararCantidadesNegativas() {
+        // Arrange
+        Dinero negativo = Dinero.de("0").restar(Dinero.de("20.00"));
+        
+        // Act & Assert
+        assertTrue(negativo.esNegativo());
+        assertTrue(negativo.esMenorQue(Dinero.CERO));
+        assertEquals(new BigDecimal("-20.00"), negativo.getCantidad());
+    }
 }
@@ -0,0 +1,66 @@
+package com.wallet.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para la clase Moneda.
+ */
+class MonedaTest {
+    
+    @Test
+    void deberiaRetornarLaMismaInstanciaParaElMismoCodigo() {
+        // Act & Assert
+        assertSame(Moneda.de("USD"), Moneda.de("USD"));
+        assertSame(Moneda.de("usd"), Moneda.USD);
+        assertSame(Moneda.buscar("PEN"), Moneda.PEN);
+    }
+    
+    @Test
+    void deberiaExponerDecimalesIso4217() {
+        // Act & Assert
+        assertEquals(2, Moneda.de("PEN").getDecimales());
+        assertEquals(0, Moneda.de("JPY").getDecimales());
+        assertEquals(3, Moneda.de("KWD").getDecimales());
+    }
+    
+    @Test
+    void deberiaIndexarPorOrdinal() {
+        // Act & Assert
+        for (int i = 0; i < Moneda.cantidad(); i++) {
+            assertEquals(i, Moneda.porOrdinal(i).ordinal());
+        }
+        assertSame(Moneda.EUR, Moneda.porOrdinal(Moneda.EUR.ordinal()));
+    }
+    
+    @Test
+    void deberiaRechazarCodigosInvalidos() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> Moneda.de(null));
+        assertThrows(IllegalArgumentException.class, () -> Moneda.de(""));
+        assertThrows(IllegalArgumentException.class, () -> Moneda.de("US"));
+        assertThrows(IllegalArgumentException.class, () -> Moneda.de("XYZ"));
+        assertNull(Moneda.buscar("usd"));
+    }
+    
+    @Test
+    void deberiaBuscarPorLetrasSinConstruirTexto() {
+        // Act & Assert
+        assertSame(Moneda.PEN, Moneda.buscar('P', 'E', 'N'));
+        assertSame(Moneda.porOrdinal(0), Moneda.buscar('A', 'E', 'D'));
+        assertNull(Moneda.buscar('X', 'Y', 'Z'));
+        assertNull(Moneda.buscar('u', 's', 'd'));
+        assertNull(Moneda.buscar('U', 'S', '\u00c9'));
+    }
+    
+    @Test
+    void dineroDeberiaUsarLaMonedaCanonica() {
+        // Arrange
+        Dinero dinero = new Dinero(BigDecimal.TEN, "eur");
+        
+        // Act & Assert
+        assertSame(Moneda.EUR, dinero.getMonedaCanonica());
+        assertEquals("EUR", dinero.getMoneda());
+    }
+}
@@ -0,0 +1,84 @@
+package com.wallet.domain.valueobjects;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para TasaCambio.
+ */
+@DisplayName("TasaCambio Tests")
+class TasaCambioTest {
+    
+    private static BigDecimal referencia(BigDecimal cantidad, double tasa) {
+        return cantidad.multiply(BigDecimal.valueOf(tasa)).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    @Test
+    @DisplayName("Debe convertir a la moneda destino con redondeo HALF_UP")
+    void debeConvertirConRedondeo() {
+        // Arrange
+        TasaCambio tasa = TasaCambio.de(Moneda.USD, Moneda.PEN, 3.745);
+        
+        // Act
+        Dinero convertido = tasa.aplicar(new Dinero(new BigDecimal("10.10"), Moneda.USD));
+        Dinero negativo = tasa.aplicar(new Dinero(new BigDecimal("-10.10"), Moneda.USD));
+        
+        // Assert: 10.10 × 3.745 = 37.8245
+        assertEquals(new BigDecimal("37.82"), convertido.getCantidad());
+        assertSame(Moneda.PEN, convertido.getMonedaCanonica());
+        assertEquals(new BigDecimal("-37.82"), negativo.getCantidad());
+        assertEquals(new BigDecimal("0.01"),
+            TasaCambio.de(Moneda.USD, Moneda.PEN, 0.5).aplicar(new Dinero(new BigDecimal("0.01"), Moneda.USD)).getCantidad());
+    }
+    
+    @Test
+    @DisplayName("Debe coincidir con la aritmética BigDecimal para montos y tasas variados")
+    void debeCoincidirConBigDecimal() {
+        // Arrange
+        Random random = new Random(7);
+        
+        for (int i = 0; i < 20000; i++) {
+            double valorTasa = Math.exp(random.nextGaussian() * 4);
+            BigDecimal cantidad = BigDecimal.valueOf(random.nextLong() % 100_000_000_000L, 2);
+            TasaCambio tasa = TasaCambio.de(Moneda.EUR, Moneda.USD, valorTasa);
+            
+            // Act
+            Dinero convertido = tasa.aplicar(new Dinero(cantidad, Moneda.EUR));
+            
+            // Assert
+            assertEquals(referencia(cantidad, valorTasa), convertido.getCantidad(),
+                cantidad + " × " + valorTasa);
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe recurrir a BigDecimal cuando el producto no cabe en un long")
+    void debeConvertirMontosGrandes() {
+        // Arrange
+        BigDecimal enorme = new BigDecimal("92233720368547758.07");
+        BigDecimal fueraDeLong = new BigDecimal("123456789012345678901234.56");
+        TasaCambio tasa = TasaCambio.de(Moneda.USD, Moneda.PEN, 3.7512);
+        
+        // Act & Assert
+        assertEquals(referencia(enorme, 3.7512), tasa.aplicar(new Dinero(enorme, Moneda.USD)).getCantidad());
+        assertEquals(referencia(fueraDeLong, 3.7512), tasa.aplicar(new Dinero(fueraDeLong, Moneda.USD)).getCantidad());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar montos en otra moneda y tasas inválidas")
+    void debeRechazarDatosInvalidos() {
+        TasaCambio tasa = TasaCambio.de(Moneda.USD, Moneda.PEN, 3.75);
+        
+        assertThrows(IllegalArgumentException.class, () -> tasa.aplicar(Dinero.de("10.00")));
+        assertThrows(IllegalArgumentException.class, () -> tasa.aplicar(null));
+        assertThrows(IllegalArgumentException.class, () -> TasaCambio.de(Moneda.USD, Moneda.PEN, 0));
+        assertThrows(IllegalArgumentException.class, () -> TasaCambio.de(Moneda.USD, Moneda.PEN, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> TasaCambio.de(null, Moneda.PEN, 1));
+    }
+}
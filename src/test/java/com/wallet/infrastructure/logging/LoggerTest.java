@@ -0,0 +1,317 @@
+package com.wallet.infrastructure.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para Logger (modos síncrono y asíncrono).
+ */
+@DisplayName("Logger Tests")
+class LoggerTest {
+    
+    private PrintStream salidaOriginal;
+    private ByteArrayOutputStream capturada;
+    
+    @BeforeEach
+    void setUp() {
+        salidaOriginal = System.out;
+        capturada = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(capturada, true, StandardCharsets.UTF_8));
+        Logger.setEnabled(true);
+        Logger.setNivelMinimo(Logger.Nivel.DEBUG);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        Logger.desactivarAsincrono();
+        Logger.setNivelMinimo(Logger.Nivel.INFO);
+        System.setOut(salidaOriginal);
+    }
+    
+    private List<String> lineas() {
+        String texto = capturada.toString(StandardCharsets.UTF_8);
+        return texto.isEmpty() ? List.of() : List.of(texto.split(System.lineSeparator()));
+    }
+    
+    @Test
+    @DisplayName("Debe escribir en el hilo que registra en modo síncrono")
+    void debeEscribirEnModoSincrono() {
+        // Act
+        Logger.warning("saldo bajo");
+        
+        // Assert
+        List<String> lineas = lineas();
+        assertEquals(1, lineas.size());
+        assertTrue(lineas.get(0).matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2} \\[WARNING\\] saldo bajo"),
+            lineas.get(0));
+    }
+    
+    @Test
+    @DisplayName("Debe omitir los mensajes por debajo del nivel mínimo")
+    void debeFiltrarPorNivelMinimo() {
+        // Arrange
+        Logger.setNivelMinimo(Logger.Nivel.WARNING);
+        
+        // Act
+        Logger.debug("detalle");
+        Logger.info("informativo");
+        Logger.warning("advertencia");
+        Logger.error("falla");
+        
+        // Assert
+        List<String> lineas = lineas();
+        assertEquals(2, lineas.size());
+        assertTrue(lineas.get(0).endsWith("[WARNING] advertencia"));
+        assertTrue(lineas.get(1).endsWith("[ERROR  ] falla"));
+        assertFalse(Logger.isEnabled(Logger.Nivel.INFO));
+        assertTrue(Logger.isEnabled(Logger.Nivel.ERROR));
+    }
+    
+    @Test
+    @DisplayName("No debe construir el mensaje si el nivel está deshabilitado")
+    void noDebeEvaluarSupplierDeshabilitado() {
+        // Arrange
+        Logger.setNivelMinimo(Logger.Nivel.INFO);
+        AtomicInteger evaluaciones = new AtomicInteger();
+        
+        // Act
+        Logger.debug(() -> "debug " + evaluaciones.incrementAndGet());
+        Logger.info(() -> "info " + evaluaciones.incrementAndGet());
+        Logger.setEnabled(false);
+        Logger.error(() -> "error " + evaluaciones.incrementAndGet());
+        Logger.setEnabled(true);
+        
+        // Assert
+        assertEquals(1, evaluaciones.get());
+        List<String> lineas = lineas();
+        assertEquals(1, lineas.size());
+        assertTrue(lineas.get(0).endsWith("info 1"));
+    }
+    
+    @Test
+    @DisplayName("Debe sustituir los marcadores de la plantilla por los argumentos")
+    void debeSustituirPlantilla() {
+        // Act
+        Logger.info("Transfiriendo ${} de {} a {}", 100, "A", "B");
+        Logger.debug("{} y {} y {} y {}", 1, 2, 3, 4);
+        Logger.warning("sin argumento {} ni {}", "uno");
+        
+        // Assert
+        List<String> lineas = lineas();
+        assertTrue(lineas.get(0).endsWith("Transfiriendo $100 de A a B"));
+        assertTrue(lineas.get(1).endsWith("1 y 2 y 3 y 4"));
+        assertTrue(lineas.get(2).endsWith("sin argumento uno ni {}"));
+        assertEquals("nulo: null", Logger.sustituir("nulo: {}", (Object) null));
+    }
+    
+    @Test
+    @DisplayName("Debe escribir todos los mensajes de varios hilos en orden por hilo")
+    void debeEscribirMensajesConcurrentesEnOrden() throws Exception {
+        // Arrange
+        Logger.activarAsincrono(64, Logger.PoliticaDesborde.BLOQUEAR);
+        int hilos = 4;
+        int mensajesPorHilo = 2000;
+        List<Thread> productores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            productores.add(new Thread(() -> {
+                for (int i = 0; i < mensajesPorHilo; i++) {
+                    Logger.info("h" + hilo + " m" + i);
+                }
+            }));
+        }
+        
+        // Act
+        productores.forEach(Thread::start);
+        for (Thread productor : productores) {
+            productor.join();
+        }
+        Logger.vaciar();
+        
+        // Assert
+        List<String> lineas = lineas();
+        assertEquals(hilos * mensajesPorHilo, lineas.size());
+        int[] siguiente = new int[hilos];
+        for (String linea : lineas) {
+            String[] partes = linea.substring(linea.indexOf("] ") + 2).split(" ");
+            int hilo = Integer.parseInt(partes[0].substring(1));
+            assertEquals("m" + siguiente[hilo]++, partes[1]);
+        }
+        assertEquals(0, Logger.getMensajesDescartados());
+    }
+    
+    @Test
+    @DisplayName("Debe descartar y contabilizar mensajes si el buffer se llena con DESCARTAR")
+    void debeDescartarConBufferLleno() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        usarSalidaBloqueada(liberar);
+        Logger.activarAsincrono(8, Logger.PoliticaDesborde.DESCARTAR);
+        
+        // Act
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            Logger.info("mensaje " + i);
+        }
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        liberar.countDown();
+        Logger.vaciar();
+        
+        // Assert
+        assertTrue(duracionMs < 1000, "Los productores esperaron " + duracionMs + " ms");
+        assertTrue(Logger.getMensajesDescartados() > 0);
+        assertTrue(capturada.toString(StandardCharsets.UTF_8).contains("mensaje 0"));
+    }
+    
+    @Test
+    @DisplayName("Debe descartar primero los DEBUG y conservar los demás niveles")
+    void debeDescartarDebugPrimero() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        usarSalidaBloqueada(liberar);
+        Logger.activarAsincrono(16, Logger.PoliticaDesborde.DESCARTAR_DEBUG_PRIMERO);
+        Logger.info("primero");
+        Thread.sleep(100); // El consumidor queda bloqueado escribiendo "primero"
+        
+        // Act
+        for (int i = 0; i < 50; i++) {
+            Logger.debug("detalle " + i);
+        }
+        Thread errores = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                Logger.error("error " + i);
+            }
+        });
+        errores.start();
+        Thread.sleep(100);
+        liberar.countDown();
+        errores.join();
+        Logger.vaciar();
+        
+        // Assert
+        String texto = capturada.toString(StandardCharsets.UTF_8);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(texto.contains("error " + i + System.lineSeparator()), "Falta error " + i);
+        }
+        assertTrue(Logger.getMensajesDescartados() >= 50 - 12);
+        assertTrue(texto.contains("mensajes de log descartados"));
+    }
+    
+    @Test
+    @DisplayName("Debe escribir los pendientes al desactivar el modo asíncrono")
+    void debeVaciarAlDesactivar() {
+        // Arrange
+        Logger.activarAsincrono(1024, Logger.PoliticaDesborde.BLOQUEAR);
+        for (int i = 0; i < 500; i++) {
+            Logger.info("pendiente " + i);
+        }
+        
+        // Act
+        Logger.desactivarAsincrono();
+        Logger.info("sincrono");
+        
+        // Assert
+        List<String> lineas = lineas();
+        assertEquals(501, lineas.size());
+        assertTrue(lineas.get(500).endsWith("sincrono"));
+        assertFalse(Logger.isAsincrono());
+    }
+    
+    @Test
+    @DisplayName("Debe escribir todo mensaje aceptado aunque se publique mientras se detiene")
+    void debeEscribirMensajesAceptadosDuranteDetener() throws InterruptedException {
+        // Arrange
+        EscritorAsincrono escritor = new EscritorAsincrono(64, Logger.PoliticaDesborde.BLOQUEAR);
+        AtomicInteger aceptados = new AtomicInteger();
+        CountDownLatch publicando = new CountDownLatch(4);
+        List<Thread> productores = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            productores.add(Thread.ofPlatform().start(() -> {
+                publicando.countDown();
+                while (escritor.publicar(Logger.Nivel.INFO, System.currentTimeMillis(), "m")) {
+                    aceptados.incrementAndGet();
+                }
+            }));
+        }
+        publicando.await();
+        
+        // Act
+        escritor.detener();
+        for (Thread productor : productores) {
+            productor.join();
+        }
+        
+        // Assert
+        assertTrue(aceptados.get() > 0);
+        assertEquals(aceptados.get(), lineas().size());
+    }
+    
+    @Test
+    @DisplayName("Debe usar el valor por defecto y avisar si una propiedad es inválida")
+    void debeUsarValorPorDefectoSiPropiedadInvalida() {
+        // Arrange
+        PrintStream errorOriginal = System.err;
+        ByteArrayOutputStream errores = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(errores, true, StandardCharsets.UTF_8));
+        System.setProperty("wallet.test.nivel", "warnng");
+        System.setProperty("wallet.test.desborde", " descartar ");
+        
+        // Act
+        Logger.Nivel nivel;
+        Logger.PoliticaDesborde politica;
+        try {
+            nivel = Logger.leerPropiedad("wallet.test.nivel", Logger.Nivel.class, Logger.Nivel.INFO);
+            politica = Logger.leerPropiedad("wallet.test.desborde", Logger.PoliticaDesborde.class,
+                Logger.PoliticaDesborde.BLOQUEAR);
+        } finally {
+            System.setErr(errorOriginal);
+            System.clearProperty("wallet.test.nivel");
+            System.clearProperty("wallet.test.desborde");
+        }
+        
+        // Assert
+        assertEquals(Logger.Nivel.INFO, nivel);
+        assertEquals(Logger.PoliticaDesborde.DESCARTAR, politica);
+        assertTrue(errores.toString(StandardCharsets.UTF_8).contains("wallet.test.nivel"));
+        assertEquals(Logger.Nivel.ERROR, Logger.leerPropiedad("wallet.test.ausente", Logger.Nivel.class,
+            Logger.Nivel.ERROR));
+    }
+    
+    /**
+     * Redirige la consola a un flujo que bloquea la primera escritura hasta
+     * que se libere el latch, simulando una consola lenta.
+     */
+    private void usarSalidaBloqueada(CountDownLatch liberar) {
+        OutputStream bloqueada = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+            
+            @Override
+            public void write(byte[] b, int off, int len) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                capturada.write(b, off, len);
+            }
+        };
+        System.setOut(new PrintStream(bloqueada, true, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,445 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.entities.Usuario;
+import com.wallet.domain.exceptions.OperacionNoValidaException;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.DocumentoIdentidad;
+import com.wallet.domain.valueobjects.Email;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para AlmacenPersistente y sus repositorios.
+ */
+@DisplayName("AlmacenPersistente Tests")
+class AlmacenPersistenteTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_789);
+    
+    @TempDir
+    Path directorio;
+    
+    @Test
+    @DisplayName("Debe recuperar usuarios, cuentas y transacciones al reabrir")
+    void debeRecuperarEstadoAlReabrir() throws IOException {
+        // Arrange
+        Usuario usuario = new Usuario("Ana", "Pérez", new Email("ana@wallet.test"),
+            new DocumentoIdentidad("12345678", DocumentoIdentidad.TipoDocumento.DNI));
+        Cuenta cuenta = new Cuenta(usuario.getId());
+        Transaccion deposito = Transaccion.deposito(Dinero.de("150.25"), cuenta.getId(), "Depósito inicial",
+            Dinero.CERO, Dinero.de("150.25"));
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            almacen.getUsuarioRepository().guardar(usuario);
+            almacen.getCuentaRepository().guardar(cuenta);
+            cuenta.depositar(Dinero.de("150.25"));
+            almacen.getCuentaRepository().guardar(cuenta);
+            almacen.getTransaccionRepository().guardar(deposito);
+        }
+        
+        // Act
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            
+            // Assert
+            Usuario recuperado = almacen.getUsuarioRepository()
+                .buscarPorEmail(new Email("ana@wallet.test")).orElseThrow();
+            assertEquals(usuario.getId(), recuperado.getId());
+            assertEquals("Pérez", recuperado.getApellido());
+            assertTrue(almacen.getUsuarioRepository().existePorDocumento(usuario.getDocumentoIdentidad()));
+            
+            Cuenta cuentaRecuperada = almacen.getCuentaRepository()
+                .buscarPorNumeroCuenta(cuenta.getNumeroCuenta()).orElseThrow();
+            assertEquals(Dinero.de("150.25"), cuentaRecuperada.getSaldo());
+            assertEquals(cuenta.getFechaActualizacion(), cuentaRecuperada.getFechaActualizacion());
+            assertEquals(1, almacen.getCuentaRepository().buscarPorUsuarioId(usuario.getId()).size());
+            
+            List<Transaccion> historial = almacen.getTransaccionRepository().buscarPorCuentaId(cuenta.getId());
+            assertEquals(List.of(deposito), historial);
+            assertEquals("Depósito inicial", historial.get(0).getDescripcion());
+            assertEquals(deposito.getFecha(), historial.get(0).getFecha());
+            assertNull(historial.get(0).getCuentaDestinoId());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe conservar montos grandes, fechas exactas y monedas distintas de PEN")
+    void debeConservarValoresExactos() throws IOException {
+        // Arrange
+        Dinero enorme = new Dinero(new BigDecimal("123456789012345678901234.56"), Moneda.USD);
+        Dinero negativo = new Dinero(new BigDecimal("-10.50"), Moneda.EUR);
+        Transaccion transferencia = new Transaccion("t1", TipoTransaccion.TRANSFERENCIA_ENVIADA, enorme,
+            "c1", "c2", null, BASE, negativo, enorme);
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            almacen.getTransaccionRepository().guardar(transferencia);
+        }
+        
+        // Act
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            Transaccion recuperada = almacen.getTransaccionRepository().buscarPorId("t1").orElseThrow();
+            
+            // Assert
+            assertEquals(enorme, recuperada.getMonto());
+            assertEquals(negativo, recuperada.getSaldoAnterior());
+            assertEquals(BASE, recuperada.getFecha());
+            assertNull(recuperada.getDescripcion());
+            assertEquals(List.of(recuperada), almacen.getTransaccionRepository().buscarPorCuentaId("c2"));
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe registrar una transferencia en una sola entrada del diario con un fsync")
+    void debeRegistrarTransferenciaEnUnaEntrada() throws IOException {
+        // Arrange
+        Cuenta origen = new Cuenta("c1", "0000000001", "u1", Dinero.de("100.00"), BASE, BASE, true);
+        Cuenta destino = new Cuenta("c2", "0000000002", "u2", Dinero.CERO, BASE, BASE, true);
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            almacen.getCuentaRepository().guardar(origen);
+            almacen.getCuentaRepository().guardar(destino);
+            long registros = almacen.getRegistrosEscritos();
+            long sincronizaciones = almacen.getSincronizaciones();
+            
+            // Act
+            transferir(almacen.getUnidadTrabajo(), origen, destino, "40.00");
+            
+            // Assert
+            assertEquals(registros + 1, almacen.getRegistrosEscritos());
+            assertEquals(sincronizaciones + 1, almacen.getSincronizaciones());
+            assertEquals(Dinero.de("60.00"), almacen.getCuentaRepository().buscarPorId("c1").orElseThrow().getSaldo());
+            assertEquals(2, almacen.getTransaccionRepository().buscarPorCuentaId("c2").size());
+        }
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            assertEquals(Dinero.de("60.00"), almacen.getCuentaRepository().buscarPorId("c1").orElseThrow().getSaldo());
+            assertEquals(Dinero.de("40.00"), almacen.getCuentaRepository().buscarPorId("c2").orElseThrow().getSaldo());
+            assertEquals(2, almacen.getTransaccionRepository().contar());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe descartar completa una transferencia a medio escribir en el diario")
+    void debeDescartarTransferenciaIncompleta() throws IOException {
+        // Arrange
+        Cuenta origen = new Cuenta("c1", "0000000001", "u1", Dinero.de("100.00"), BASE, BASE, true);
+        Cuenta destino = new Cuenta("c2", "0000000002", "u2", Dinero.CERO, BASE, BASE, true);
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            almacen.getCuentaRepository().guardar(origen);
+            almacen.getCuentaRepository().guardar(destino);
+        }
+        // La caída llega antes de que la entrada sea durable, así que nada más la aplicó
+        Path segmento = archivoDiario();
+        Dinero monto = Dinero.de("40.00");
+        Transaccion enviada = Transaccion.transferenciaEnviada(monto, "c1", "c2", "Prueba",
+            origen.getSaldo(), Dinero.de("60.00"));
+        Transaccion recibida = Transaccion.transferenciaRecibida(monto, "c2", "c1", "Prueba",
+            destino.getSaldo(), monto);
+        origen.retirar(monto);
+        destino.depositar(monto);
+        try (DiarioEscritura diario = DiarioEscritura.abrir(segmento, ModoSincronizacion.GRUPO, registro -> { })) {
+            diario.esperarDurable(diario.agregarUnidad(
+                CodificadorRegistros.cuentaGuardada(origen),
+                CodificadorRegistros.cuentaGuardada(destino),
+                CodificadorRegistros.transaccionGuardada(enviada),
+                CodificadorRegistros.transaccionGuardada(recibida)));
+        }
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3);
+        }
+        
+        // Act
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            
+            // Assert
+            assertEquals(Dinero.de("100.00"), almacen.getCuentaRepository().buscarPorId("c1").orElseThrow().getSaldo());
+            assertEquals(Dinero.CERO, almacen.getCuentaRepository().buscarPorId("c2").orElseThrow().getSaldo());
+            assertEquals(0, almacen.getTransaccionRepository().contar());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe persistir las eliminaciones")
+    void debePersistirEliminaciones() throws IOException {
+        // Arrange
+        Cuenta cuenta = new Cuenta("c1", "0000000001", "u1", Dinero.CERO, BASE, BASE, true);
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            almacen.getCuentaRepository().guardar(cuenta);
+            
+            // Act
+            assertTrue(almacen.getCuentaRepository().eliminar("c1"));
+            assertFalse(almacen.getCuentaRepository().eliminar("c1"));
+        }
+        
+        // Assert
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            assertTrue(almacen.getCuentaRepository().buscarPorId("c1").isEmpty());
+            assertFalse(almacen.getCuentaRepository().existeNumeroCuenta("0000000001"));
+        }
+    }
+    
+    @Test
+    @DisplayName("No debe exponer el saldo de una cuenta cuyo registro en el diario falló")
+    void noDebeExponerSaldoNoRegistrado() throws IOException {
+        // Arrange
+        Cuenta cuenta = new Cuenta("c1", "0000000001", "u1", Dinero.de("10.00"), BASE, BASE, true);
+        AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO);
+        CuentaRepositoryPersistente repositorio = almacen.getCuentaRepository();
+        repositorio.guardar(cuenta);
+        Cuenta leida = repositorio.buscarPorId("c1").orElseThrow();
+        almacen.close();
+        
+        // Act
+        leida.depositar(Dinero.de("5.00"));
+        assertThrows(IllegalStateException.class, () -> repositorio.guardar(leida));
+        
+        // Assert
+        assertEquals(Dinero.de("10.00"), repositorio.buscarPorId("c1").orElseThrow().getSaldo());
+        assertEquals(Dinero.de("10.00"), repositorio.obtenerTodas().get(0).getSaldo());
+        assertNotSame(repositorio.buscarPorId("c1").orElseThrow(), repositorio.buscarPorId("c1").orElseThrow());
+    }
+    
+    @Test
+    @DisplayName("No debe registrar un usuario rechazado por email duplicado")
+    void noDebeRegistrarUsuarioRechazado() throws IOException {
+        // Arrange
+        Usuario ana = new Usuario("Ana", "Pérez", new Email("ana@wallet.test"),
+            new DocumentoIdentidad("12345678", DocumentoIdentidad.TipoDocumento.DNI));
+        Usuario copia = new Usuario("Otra", "Ana", new Email("ana@wallet.test"),
+            new DocumentoIdentidad("87654321", DocumentoIdentidad.TipoDocumento.DNI));
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            almacen.getUsuarioRepository().guardar(ana);
+            
+            // Act & Assert
+            assertThrows(OperacionNoValidaException.class, () -> almacen.getUsuarioRepository().guardar(copia));
+            assertEquals(1, almacen.getRegistrosEscritos());
+        }
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            assertEquals(List.of(ana), almacen.getUsuarioRepository().obtenerTodos());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe restaurar el usuario anterior si el diario no registra el cambio")
+    void debeRestaurarUsuarioSiFallaElDiario() throws IOException {
+        // Arrange
+        Usuario ana = new Usuario("Ana", "Pérez", new Email("ana@wallet.test"),
+            new DocumentoIdentidad("12345678", DocumentoIdentidad.TipoDocumento.DNI));
+        Usuario beto = new Usuario("Beto", "Díaz", new Email("beto@wallet.test"),
+            new DocumentoIdentidad("87654321", DocumentoIdentidad.TipoDocumento.DNI));
+        AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO);
+        UsuarioRepositoryPersistente repositorio = almacen.getUsuarioRepository();
+        repositorio.guardar(ana);
+        almacen.close();
+        
+        // Act
+        assertThrows(IllegalStateException.class, () -> repositorio.guardar(beto));
+        assertThrows(IllegalStateException.class, () -> repositorio.eliminar(ana.getId()));
+        
+        // Assert
+        assertEquals(List.of(ana), repositorio.obtenerTodos());
+        assertFalse(repositorio.existePorEmail(beto.getEmail()));
+        assertEquals(ana, repositorio.buscarPorEmail(ana.getEmail()).orElseThrow());
+        assertTrue(repositorio.existePorDocumento(ana.getDocumentoIdentidad()));
+    }
+    
+    @Test
+    @DisplayName("Debe borrar los datos en disco al limpiar")
+    void debeLimpiarDatosEnDisco() throws IOException {
+        // Arrange
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.POR_OPERACION)) {
+            almacen.getCuentaRepository().guardar(new Cuenta("u1"));
+            
+            // Act
+            almacen.limpiar();
+            almacen.getCuentaRepository().guardar(new Cuenta("c2", "0000000002", "u2", Dinero.CERO, BASE, BASE, true));
+        }
+        
+        // Assert
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO)) {
+            assertEquals(1, almacen.getCuentaRepository().contar());
+            assertTrue(almacen.getCuentaRepository().buscarPorId("c2").isPresent());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe recuperar desde la instantánea reproduciendo solo la cola del diario")
+    void debeRecuperarDesdeInstantanea() throws IOException {
+        // Arrange
+        Cuenta cuenta = new Cuenta("c1", "0000000001", "u1", Dinero.CERO, BASE, BASE, true);
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO, 0)) {
+            for (int i = 0; i < 50; i++) {
+                depositar(almacen, cuenta, "t" + i);
+            }
+            almacen.tomarInstantanea();
+            depositar(almacen, cuenta, "cola");
+        }
+        
+        // Act
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO, 0)) {
+            
+            // Assert
+            assertEquals(2, almacen.getRegistrosCola());
+            // La instantánea solo tiene la cuenta: el historial no se reconstruye
+            assertEquals(3, almacen.getRegistrosRecuperados());
+            assertEquals(Dinero.de("51.00"), almacen.getCuentaRepository().buscarPorId("c1").orElseThrow().getSaldo());
+            assertEquals(51, almacen.getTransaccionRepository().contar());
+            assertTrue(almacen.getTransaccionRepository().buscarPorId("cola").isPresent());
+        }
+        assertEquals(List.of(".snap", ".wal"), extensionesEnDirectorio());
+    }
+    
+    @Test
+    @DisplayName("Debe reconstruir desde el diario las transacciones que le faltan al historial")
+    void debeReconstruirHistorialDesdeDiario() throws IOException {
+        // Arrange
+        Cuenta cuenta = new Cuenta("c1", "0000000001", "u1", Dinero.CERO, BASE, BASE, true);
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO, 0)) {
+            for (int i = 0; i < 5; i++) {
+                depositar(almacen, cuenta, "t" + i);
+            }
+        }
+        borrar(directorio.resolve("historial"));
+        
+        // Act
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO, 0)) {
+            
+            // Assert
+            assertEquals(5, almacen.getTransaccionRepository().contar());
+            assertEquals(5, almacen.getTransaccionRepository().buscarPorCuentaId("c1").size());
+        }
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO, 0)) {
+            assertEquals(5, almacen.getTransaccionRepository().contar());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar un historial con menos transacciones que las cubiertas por la instantánea")
+    void debeRechazarHistorialIncompleto() throws IOException {
+        // Arrange
+        Cuenta cuenta = new Cuenta("c1", "0000000001", "u1", Dinero.CERO, BASE, BASE, true);
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO, 0)) {
+            depositar(almacen, cuenta, "t0");
+            almacen.tomarInstantanea();
+        }
+        borrar(directorio.resolve("historial"));
+        
+        // Act & Assert
+        assertThrows(IOException.class,
+            () -> AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO, 0).close());
+    }
+    
+    @Test
+    @DisplayName("No debe perder escrituras concurrentes mientras se toman instantáneas")
+    void noDebePerderEscriturasDuranteInstantanea() throws Exception {
+        // Arrange
+        int hilos = 4;
+        int porHilo = 500;
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.DIFERIDO, 0)) {
+            List<Thread> escritores = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                escritores.add(Thread.ofVirtual().start(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        almacen.getTransaccionRepository().guardar(new Transaccion(hilo + "-" + i,
+                            TipoTransaccion.DEPOSITO, Dinero.de("1.00"),
+                            "c" + hilo, null, null, BASE.plusSeconds(i), Dinero.CERO, Dinero.de("1.00")));
+                    }
+                }));
+            }
+            
+            // Act
+            for (int i = 0; i < 3; i++) {
+                almacen.tomarInstantanea();
+            }
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+        }
+        
+        // Assert
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.GRUPO, 0)) {
+            assertEquals(hilos * porHilo, almacen.getTransaccionRepository().contar());
+            assertEquals(porHilo, almacen.getTransaccionRepository().buscarPorCuentaId("c3").size());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe tomar una instantánea automática al superar el umbral de registros")
+    void debeTomarInstantaneaAutomatica() throws Exception {
+        Cuenta cuenta = new Cuenta("c1", "0000000001", "u1", Dinero.CERO, BASE, BASE, true);
+        try (AlmacenPersistente almacen = AlmacenPersistente.abrir(directorio, ModoSincronizacion.DIFERIDO, 10)) {
+            for (int i = 0; i < 10; i++) {
+                depositar(almacen, cuenta, "t" + i);
+            }
+            
+            long limite = System.nanoTime() + 10_000_000_000L;
+            while (almacen.getRegistrosDesdeInstantanea() >= 10 && System.nanoTime() < limite) {
+                Thread.sleep(20);
+            }
+            
+            assertTrue(almacen.getRegistrosDesdeInstantanea() < 10);
+            assertTrue(extensionesEnDirectorio().contains(".snap"));
+        }
+    }
+    
+    private static void depositar(AlmacenPersistente almacen, Cuenta cuenta, String transaccionId) {
+        Dinero anterior = cuenta.getSaldo();
+        cuenta.depositar(Dinero.de("1.00"));
+        almacen.getCuentaRepository().guardar(cuenta);
+        almacen.getTransaccionRepository().guardar(new Transaccion(transaccionId,
+            TipoTransaccion.DEPOSITO, Dinero.de("1.00"),
+            cuenta.getId(), null, null, BASE, anterior, cuenta.getSaldo()));
+    }
+    
+    private static void transferir(UnidadTrabajoPersistente unidad, Cuenta origen, Cuenta destino, String monto) {
+        Dinero cantidad = Dinero.de(monto);
+        Dinero anteriorOrigen = origen.getSaldo();
+        Dinero anteriorDestino = destino.getSaldo();
+        origen.retirar(cantidad);
+        destino.depositar(cantidad);
+        unidad.guardarTransferencia(origen, destino,
+            Transaccion.transferenciaEnviada(cantidad, origen.getId(), destino.getId(), "Prueba",
+                anteriorOrigen, origen.getSaldo()),
+            Transaccion.transferenciaRecibida(cantidad, destino.getId(), origen.getId(), "Prueba",
+                anteriorDestino, destino.getSaldo()));
+    }
+    
+    private Path archivoDiario() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.filter(p -> p.getFileName().toString().endsWith(".wal")).findFirst().orElseThrow();
+        }
+    }
+    
+    private static void borrar(Path raiz) throws IOException {
+        try (Stream<Path> archivos = Files.walk(raiz)) {
+            for (Path archivo : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(archivo);
+            }
+        }
+    }
+    
+    private List<String> extensionesEnDirectorio() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.filter(Files::isRegularFile)
+                .map(p -> p.getFileName().toString())
+                .map(nombre -> nombre.substring(nombre.lastIndexOf('.')))
+                .sorted()
+                .toList();
+        }
+    }
+}
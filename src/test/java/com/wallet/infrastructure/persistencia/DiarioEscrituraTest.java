@@ -0,0 +1,239 @@
+package com.wallet.infrastructure.persistencia;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para DiarioEscritura.
+ */
+@DisplayName("DiarioEscritura Tests")
+class DiarioEscrituraTest {
+    
+    @TempDir
+    Path directorio;
+    
+    @Test
+    @DisplayName("Debe reproducir los registros en el orden en que se escribieron")
+    void debeReproducirRegistros() throws IOException {
+        // Arrange
+        Path archivo = directorio.resolve("diario.wal");
+        try (DiarioEscritura diario = DiarioEscritura.abrir(archivo, ModoSincronizacion.GRUPO, r -> { })) {
+            diario.escribir(bytes("uno"));
+            diario.escribir(bytes("dos"));
+            diario.escribir(bytes("tres"));
+        }
+        
+        // Act
+        List<String> leidos = reproducir(archivo);
+        
+        // Assert
+        assertEquals(List.of("uno", "dos", "tres"), leidos);
+    }
+    
+    @Test
+    @DisplayName("Debe descartar un registro a medio escribir y seguir agregando tras él")
+    void debeTruncarRegistroIncompleto() throws IOException {
+        // Arrange
+        Path archivo = directorio.resolve("diario.wal");
+        try (DiarioEscritura diario = DiarioEscritura.abrir(archivo, ModoSincronizacion.GRUPO, r -> { })) {
+            diario.escribir(bytes("completo"));
+            diario.escribir(bytes("incompleto"));
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3);
+        }
+        
+        // Act
+        try (DiarioEscritura diario = DiarioEscritura.abrir(archivo, ModoSincronizacion.GRUPO, r -> { })) {
+            diario.escribir(bytes("nuevo"));
+        }
+        
+        // Assert
+        assertEquals(List.of("completo", "nuevo"), reproducir(archivo));
+    }
+    
+    @Test
+    @DisplayName("Debe detener la reproducción en un registro con checksum inválido")
+    void debeDetenerseEnChecksumInvalido() throws IOException {
+        // Arrange
+        Path archivo = directorio.resolve("diario.wal");
+        try (DiarioEscritura diario = DiarioEscritura.abrir(archivo, ModoSincronizacion.GRUPO, r -> { })) {
+            diario.escribir(bytes("bueno"));
+            diario.escribir(bytes("malo"));
+        }
+        byte[] contenido = Files.readAllBytes(archivo);
+        contenido[contenido.length - 1] ^= 0x01;
+        Files.write(archivo, contenido);
+        
+        // Act & Assert
+        assertEquals(List.of("bueno"), reproducir(archivo));
+    }
+    
+    @Test
+    @DisplayName("Debe continuar en un segmento nuevo al rotar")
+    void debeRotarSegmento() throws IOException {
+        // Arrange
+        Path primero = directorio.resolve("1.wal");
+        Path segundo = directorio.resolve("2.wal");
+        
+        // Act
+        try (DiarioEscritura diario = DiarioEscritura.abrir(primero, ModoSincronizacion.GRUPO, r -> { })) {
+            diario.escribir(bytes("antes"));
+            diario.rotar(segundo);
+            diario.escribir(bytes("despues"));
+            assertEquals(segundo, diario.getArchivo());
+        }
+        
+        // Assert
+        List<String> leidos = new ArrayList<>();
+        DiarioEscritura.reproducirSegmento(primero, r -> leidos.add(texto(r)));
+        assertEquals(List.of("antes"), leidos);
+        assertEquals(List.of("despues"), reproducir(segundo));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar un segmento cerrado con la cola dañada")
+    void debeRechazarSegmentoCerradoDanado() throws IOException {
+        Path archivo = directorio.resolve("1.wal");
+        try (DiarioEscritura diario = DiarioEscritura.abrir(archivo, ModoSincronizacion.GRUPO, r -> { })) {
+            diario.escribir(bytes("registro"));
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 1);
+        }
+        
+        assertThrows(IOException.class, () -> DiarioEscritura.reproducirSegmento(archivo, r -> { }));
+    }
+    
+    @Test
+    @DisplayName("Debe leer registros mayores que el bloque de lectura")
+    void debeLeerRegistrosGrandes() throws IOException {
+        // Arrange
+        Path archivo = directorio.resolve("diario.wal");
+        String grande = "x".repeat(3 * 1024 * 1024);
+        try (DiarioEscritura diario = DiarioEscritura.abrir(archivo, ModoSincronizacion.GRUPO, r -> { })) {
+            diario.escribir(bytes("corto"));
+            diario.escribir(bytes(grande));
+            diario.escribir(bytes("final"));
+        }
+        
+        // Act & Assert
+        assertEquals(List.of("corto", grande, "final"), reproducir(archivo));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar un archivo que no es un diario")
+    void debeRechazarArchivoAjeno() throws IOException {
+        Path archivo = directorio.resolve("otro.wal");
+        Files.write(archivo, bytes("esto no es un diario"));
+        
+        assertThrows(IOException.class,
+            () -> DiarioEscritura.abrir(archivo, ModoSincronizacion.GRUPO, r -> { }));
+    }
+    
+    @Test
+    @DisplayName("Debe hacer durables las escrituras concurrentes agrupándolas en lotes")
+    void debeAgruparEscriturasConcurrentes() throws Exception {
+        // Arrange
+        Path archivo = directorio.resolve("diario.wal");
+        int hilos = 8;
+        int porHilo = 200;
+        DiarioEscritura diario = DiarioEscritura.abrir(archivo, ModoSincronizacion.GRUPO, r -> { });
+        
+        // Act
+        List<Thread> escritores = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            escritores.add(Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < porHilo; i++) {
+                    diario.escribir(bytes(hilo + "-" + i));
+                }
+            }));
+        }
+        for (Thread escritor : escritores) {
+            escritor.join();
+        }
+        long sincronizaciones = diario.getSincronizaciones();
+        diario.close();
+        
+        // Assert
+        assertEquals(hilos * porHilo, diario.getRegistrosEscritos());
+        assertTrue(sincronizaciones <= hilos * porHilo);
+        Set<String> leidos = new HashSet<>(reproducir(archivo));
+        assertEquals(hilos * porHilo, leidos.size());
+        assertTrue(leidos.contains("7-199"));
+    }
+    
+    @Test
+    @DisplayName("Debe cubrir con un fsync los registros agregados antes de esperar")
+    void debeCubrirRegistrosAgregadosConUnFsync() throws IOException {
+        try (DiarioEscritura diario = DiarioEscritura.abrir(
+                directorio.resolve("diario.wal"), ModoSincronizacion.GRUPO, r -> { })) {
+            long primero = diario.agregar(bytes("a"));
+            diario.agregar(bytes("b"));
+            long ultimo = diario.agregar(bytes("c"));
+            
+            diario.esperarDurable(ultimo);
+            diario.esperarDurable(primero);
+            
+            assertEquals(1, diario.getSincronizaciones());
+            assertEquals(3, diario.getRegistrosEscritos());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe hacer un fsync por registro en modo por operación")
+    void debeSincronizarCadaRegistro() throws IOException {
+        try (DiarioEscritura diario = DiarioEscritura.abrir(
+                directorio.resolve("diario.wal"), ModoSincronizacion.POR_OPERACION, r -> { })) {
+            for (int i = 0; i < 5; i++) {
+                diario.escribir(bytes("r" + i));
+            }
+            
+            assertEquals(5, diario.getSincronizaciones());
+            assertEquals(5, diario.getRegistrosEscritos());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar escrituras después de cerrar")
+    void debeRechazarEscriturasTrasCerrar() throws IOException {
+        DiarioEscritura diario = DiarioEscritura.abrir(directorio.resolve("diario.wal"), ModoSincronizacion.GRUPO, r -> { });
+        diario.close();
+        
+        assertThrows(IllegalStateException.class, () -> diario.escribir(bytes("tarde")));
+    }
+    
+    private static List<String> reproducir(Path archivo) throws IOException {
+        List<String> leidos = new ArrayList<>();
+        try (DiarioEscritura diario = DiarioEscritura.abrir(archivo, ModoSincronizacion.GRUPO,
+                registro -> leidos.add(texto(registro)))) {
+            return leidos;
+        }
+    }
+    
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String texto(ByteBuffer registro) {
+        byte[] contenido = new byte[registro.remaining()];
+        registro.get(contenido);
+        return new String(contenido, StandardCharsets.UTF_8);
+    }
+}
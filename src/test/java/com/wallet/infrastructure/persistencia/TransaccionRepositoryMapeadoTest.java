@@ -0,0 +1,321 @@
+package com.wallet.infrastructure.persistencia;
+
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para TransaccionRepositoryMapeado.
+ */
+@DisplayName("TransaccionRepositoryMapeado Tests")
+class TransaccionRepositoryMapeadoTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_789);
+    
+    @TempDir
+    Path directorio;
+    
+    private static Transaccion deposito(String id, String cuentaId, int minutos) {
+        return new Transaccion(id, TipoTransaccion.DEPOSITO, Dinero.de("10.00"), cuentaId, null,
+            "Depósito " + id, BASE.plusMinutes(minutos), Dinero.de("5.00"), Dinero.de("15.00"));
+    }
+    
+    private static List<String> ids(List<Transaccion> transacciones) {
+        return transacciones.stream().map(Transaccion::getId).toList();
+    }
+    
+    @Test
+    @DisplayName("Debe conservar todos los campos y admitir IDs UUID y de texto")
+    void debeConservarTodosLosCampos() throws IOException {
+        // Arrange
+        Dinero enorme = new Dinero(new BigDecimal("123456789012345678901234.56"), Moneda.USD);
+        Dinero negativo = new Dinero(new BigDecimal("-10.50"), Moneda.EUR);
+        Transaccion transferencia = new Transaccion("t1", TipoTransaccion.TRANSFERENCIA_ENVIADA, enorme,
+            "c1", "c2", null, BASE, negativo, null);
+        Transaccion generada = Transaccion.deposito(Dinero.de("150.25"), "c1", "Depósito con tildes: ñandú",
+            Dinero.CERO, Dinero.de("150.25"));
+        
+        // Act
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.GRUPO)) {
+            repositorio.guardar(transferencia);
+            repositorio.guardar(generada);
+        }
+        
+        // Assert
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.GRUPO)) {
+            Transaccion leida = repositorio.buscarPorId("t1").orElseThrow();
+            assertEquals(TipoTransaccion.TRANSFERENCIA_ENVIADA, leida.getTipo());
+            assertEquals(enorme, leida.getMonto());
+            assertEquals(negativo, leida.getSaldoAnterior());
+            assertNull(leida.getSaldoNuevo());
+            assertNull(leida.getDescripcion());
+            assertEquals(BASE, leida.getFecha());
+            assertEquals("c2", leida.getCuentaDestinoId());
+            
+            Transaccion leidaGenerada = repositorio.buscarPorId(generada.getId()).orElseThrow();
+            assertEquals("Depósito con tildes: ñandú", leidaGenerada.getDescripcion());
+            assertEquals(generada.getFecha(), leidaGenerada.getFecha());
+            assertEquals(Dinero.de("150.25"), leidaGenerada.getSaldoNuevo());
+            assertNull(leidaGenerada.getCuentaDestinoId());
+            assertTrue(repositorio.buscarPorId("no-existe").isEmpty());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe indexar ambos lados y ordenar el historial a través de segmentos")
+    void debeRecorrerHistorialEntreSegmentos() throws IOException {
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.DIFERIDO, 4)) {
+            // Arrange: fechas fuera de orden y una transferencia c1 → c2
+            repositorio.guardar(deposito("d3", "c1", 30));
+            repositorio.guardar(deposito("d1", "c1", 10));
+            repositorio.guardar(deposito("x1", "c2", 5));
+            repositorio.guardar(new Transaccion("tr", TipoTransaccion.TRANSFERENCIA_ENVIADA, Dinero.de("1.00"),
+                "c1", "c2", "Pago", BASE.plusMinutes(20), Dinero.de("1.00"), Dinero.CERO));
+            for (int i = 0; i < 9; i++) {
+                repositorio.guardar(deposito("otra-" + i, "c3", i));
+            }
+            repositorio.guardar(deposito("d2", "c1", 10));
+            
+            // Act
+            List<Transaccion> historial = repositorio.buscarPorCuentaId("c1");
+            
+            // Assert
+            assertTrue(repositorio.getSegmentos() >= 4);
+            assertEquals(14, repositorio.contar());
+            assertEquals(List.of("d3", "tr", "d1", "d2"), ids(historial));
+            assertEquals(List.of("tr", "x1"), ids(repositorio.buscarPorCuentaId("c2")));
+            assertEquals(9, repositorio.buscarPorCuentaId("c3").size());
+            assertTrue(repositorio.buscarPorCuentaId("desconocida").isEmpty());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe filtrar por tipo, rango de fechas y últimas N como el repositorio en memoria")
+    void debeFiltrarComoElRepositorioEnMemoria() throws IOException {
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.DIFERIDO, 3)) {
+            // Arrange
+            for (int i = 0; i < 10; i++) {
+                TipoTransaccion tipo = i % 2 == 0 ? TipoTransaccion.DEPOSITO : TipoTransaccion.RETIRO;
+                repositorio.guardar(new Transaccion("m" + i, tipo, Dinero.de("1.00"), "c1", null, "Mov",
+                    BASE.plusMinutes(i), Dinero.CERO, Dinero.de("1.00")));
+            }
+            // Dos con la misma fecha: desempata el ID
+            repositorio.guardar(new Transaccion("empate-b", TipoTransaccion.RETIRO, Dinero.de("1.00"), "c1",
+                null, "Mov", BASE.plusMinutes(9), Dinero.CERO, Dinero.CERO));
+            
+            // Act
+            List<Transaccion> retiros = repositorio.buscarPorCuentaIdYTipo("c1", TipoTransaccion.RETIRO);
+            List<Transaccion> rango = repositorio.obtenerPorCuentaYFechas("c1", BASE.plusMinutes(3),
+                BASE.plusMinutes(5));
+            List<Transaccion> ultimas = repositorio.obtenerUltimasPorCuenta("c1", 2);
+            
+            // Assert
+            assertEquals(List.of("empate-b", "m9", "m7", "m5", "m3", "m1"), ids(retiros));
+            assertEquals(List.of("m5", "m4", "m3"), ids(rango));
+            assertEquals(List.of("empate-b", "m9"), ids(ultimas));
+            assertEquals(11, repositorio.obtenerUltimasPorCuenta("c1", 50).size());
+            assertTrue(repositorio.obtenerPorCuentaYFechas("c1", BASE.plusMinutes(5), BASE).isEmpty());
+            assertEquals(11, repositorio.obtenerTodas().size());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe descartar un registro a medio escribir en el segmento activo")
+    void debeDescartarRegistroIncompleto() throws IOException {
+        // Arrange
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.POR_OPERACION, 8)) {
+            repositorio.guardar(deposito("a", "c1", 1));
+            repositorio.guardar(deposito("b", "c1", 2));
+            repositorio.guardar(deposito("c", "c1", 3));
+        }
+        Path segmento;
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            segmento = archivos.filter(p -> p.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            // Daña la fecha del tercer registro
+            long posicion = SegmentoHistorial.TAMANO_CABECERA + 2L * SegmentoHistorial.TAMANO_REGISTRO + 32;
+            canal.write(ByteBuffer.wrap(new byte[] {0x7F}), posicion);
+        }
+        
+        // Act
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.POR_OPERACION, 8)) {
+            
+            // Assert
+            assertEquals(List.of("b", "a"), ids(repositorio.buscarPorCuentaId("c1")));
+            repositorio.guardar(deposito("d", "c1", 4));
+        }
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.POR_OPERACION, 8)) {
+            assertEquals(List.of("d", "b", "a"), ids(repositorio.buscarPorCuentaId("c1")));
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe arrancar desde los índices de los segmentos sellados")
+    void debeArrancarDesdeIndices() throws IOException {
+        // Arrange
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.DIFERIDO, 2)) {
+            for (int i = 0; i < 7; i++) {
+                repositorio.guardar(deposito("t" + i, "c" + (i % 2), i));
+            }
+        }
+        long indices;
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            indices = archivos.filter(p -> p.toString().endsWith(".idx")).count();
+        }
+        
+        // Act
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.DIFERIDO, 2)) {
+            
+            // Assert
+            assertEquals(3, indices);
+            assertEquals(7, repositorio.contar());
+            assertEquals(List.of("t6", "t4", "t2", "t0"), ids(repositorio.buscarPorCuentaId("c0")));
+            assertEquals(List.of("t5", "t3", "t1"), ids(repositorio.buscarPorCuentaId("c1")));
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe aceptar escrituras y consultas concurrentes en modo grupo")
+    void debeAceptarEscriturasConcurrentes() throws Exception {
+        // Arrange
+        int hilos = 8;
+        int porHilo = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.GRUPO, 64)) {
+            
+            // Act
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                String cuentaId = "c" + h;
+                tareas.add(executor.submit(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        repositorio.guardar(deposito(cuentaId + "-" + i, cuentaId, i));
+                        assertEquals(Math.min(i + 1, 5), repositorio.obtenerUltimasPorCuenta(cuentaId, 5).size());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+            
+            // Assert
+            assertEquals((long) hilos * porHilo, repositorio.contar());
+            for (int h = 0; h < hilos; h++) {
+                List<Transaccion> historial = repositorio.buscarPorCuentaId("c" + h);
+                assertEquals(porHilo, historial.size());
+                assertEquals("c" + h + "-" + (porHilo - 1), historial.get(0).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    @DisplayName("No debe confirmar como durables los registros de un forzado que falló")
+    void noDebeConfirmarRegistrosSiFallaElForzado() throws Exception {
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.GRUPO)) {
+            // Arrange: el líder queda forzando hasta que el seguidor espera su lote
+            CountDownLatch forzando = new CountDownLatch(1);
+            CountDownLatch liberar = new CountDownLatch(1);
+            repositorio.setForzador(segmento -> {
+                forzando.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new UncheckedIOException(new IOException("Disco lleno"));
+            });
+            ExecutorService ejecutor = Executors.newFixedThreadPool(2);
+            try {
+                Future<?> lider = ejecutor.submit(() -> repositorio.guardar(deposito("t1", "c1", 0)));
+                forzando.await();
+                AtomicReference<Thread> hiloSeguidor = new AtomicReference<>();
+                Future<?> seguidor = ejecutor.submit(() -> {
+                    hiloSeguidor.set(Thread.currentThread());
+                    return repositorio.guardar(deposito("t2", "c1", 1));
+                });
+                while (hiloSeguidor.get() == null || hiloSeguidor.get().getState() != Thread.State.WAITING) {
+                    Thread.onSpinWait();
+                }
+                
+                // Act
+                liberar.countDown();
+                
+                // Assert
+                ExecutionException errorLider = assertThrows(ExecutionException.class, lider::get);
+                ExecutionException errorSeguidor = assertThrows(ExecutionException.class, seguidor::get);
+                assertInstanceOf(UncheckedIOException.class, errorLider.getCause());
+                assertInstanceOf(UncheckedIOException.class, errorSeguidor.getCause());
+            } finally {
+                ejecutor.shutdown();
+            }
+            repositorio.setForzador(SegmentoHistorial::forzar);
+            assertThrows(UncheckedIOException.class, () -> repositorio.guardar(deposito("t3", "c1", 2)));
+            assertThrows(UncheckedIOException.class, repositorio::sincronizar);
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe borrar todo al limpiar")
+    void debeBorrarAlLimpiar() throws IOException {
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.DIFERIDO, 2)) {
+            // Arrange
+            for (int i = 0; i < 5; i++) {
+                repositorio.guardar(deposito("t" + i, "c1", i));
+            }
+            
+            // Act
+            repositorio.limpiar();
+            repositorio.guardar(deposito("nueva", "c2", 0));
+            
+            // Assert
+            assertTrue(repositorio.buscarPorCuentaId("c1").isEmpty());
+            assertEquals(1, repositorio.contar());
+        }
+        try (TransaccionRepositoryMapeado repositorio = TransaccionRepositoryMapeado.abrir(directorio,
+                ModoSincronizacion.DIFERIDO, 2)) {
+            assertEquals(List.of("nueva"), ids(repositorio.buscarPorCuentaId("c2")));
+            assertTrue(repositorio.buscarPorCuentaId("c1").isEmpty());
+        }
+    }
+}
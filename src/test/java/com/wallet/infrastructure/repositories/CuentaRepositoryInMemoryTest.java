@@ -2,6 +2,7 @@ package com.wallet.infrastructure.repositories;
 
 import com.wallet.domain.entities.Cuenta;
 import com.wallet.domain.entities.Usuario;
+import com.wallet.domain.valueobjects.Dinero;
 import com.wallet.domain.valueobjects.DocumentoIdentidad;
 import com.wallet.domain.valueobjects.Email;
 import org.junit.jupiter.api.BeforeEach;
@@ -138,4 +139,100 @@ class CuentaRepositoryInMemoryTest {
         // Assert
         assertEquals(2, todas.size());
     }
+    
+    @Test
+    @DisplayName("Debe quitar del índice por número al eliminar la cuenta")
+    void debeQuitarNumeroAlEliminar() {
+        // Arrange
+        repository.guardar(cuenta);
+        
+        // Act
+        boolean eliminada = repository.eliminar(cuenta.getId());
+        
+        // Assert
+        assertTrue(eliminada);
+        assertFalse(repository.buscarPorNumeroCuenta(cuenta.getNumeroCuenta()).isPresent());
+        assertFalse(repository.existeNumeroCuenta(cuenta.getNumeroCuenta()));
+    }
+    
+    @Test
+    @DisplayName("Debe reflejar la versión actualizada al buscar por número")
+    void debeReflejarCuentaActualizadaPorNumero() {
+        // Arrange
+        repository.guardar(cuenta);
+        Cuenta actualizada = new Cuenta(
+            cuenta.getId(), cuenta.getNumeroCuenta(), cuenta.getUsuarioId(),
+            Dinero.de("150.00"), cuenta.getFechaCreacion(), cuenta.getFechaActualizacion(), true
+        );
+        
+        // Act
+        repository.guardar(actualizada);
+        
+        // Assert
+        Optional<Cuenta> encontrada = repository.buscarPorNumeroCuenta(cuenta.getNumeroCuenta());
+        assertTrue(encontrada.isPresent());
+        assertSame(actualizada, encontrada.get());
+        assertEquals(1, repository.contar());
+    }
+    
+    @Test
+    @DisplayName("Debe limpiar también el índice por número")
+    void debeLimpiarIndicePorNumero() {
+        // Arrange
+        repository.guardar(cuenta);
+        
+        // Act
+        repository.limpiar();
+        
+        // Assert
+        assertFalse(repository.existeNumeroCuenta(cuenta.getNumeroCuenta()));
+    }
+    
+    @Test
+    @DisplayName("Debe listar solo las cuentas del usuario indicado")
+    void debeListarSoloCuentasDelUsuario() {
+        // Arrange
+        Cuenta segunda = new Cuenta(usuario.getId());
+        Cuenta ajena = new Cuenta("otro-usuario");
+        repository.guardar(cuenta);
+        repository.guardar(segunda);
+        repository.guardar(ajena);
+        
+        // Act
+        List<Cuenta> cuentas = repository.buscarPorUsuarioId(usuario.getId());
+        
+        // Assert
+        assertEquals(2, cuentas.size());
+        assertTrue(cuentas.contains(cuenta));
+        assertTrue(cuentas.contains(segunda));
+    }
+    
+    @Test
+    @DisplayName("Debe reflejar desactivar y activar en las cuentas activas del usuario")
+    void debeReflejarCambioDeEstadoEnActivas() {
+        // Arrange
+        repository.guardar(cuenta);
+        
+        // Act & Assert
+        cuenta.desactivar();
+        assertTrue(repository.obtenerActivasPorUsuario(usuario.getId()).isEmpty());
+        assertEquals(1, repository.buscarPorUsuarioId(usuario.getId()).size());
+        
+        cuenta.activar();
+        assertEquals(1, repository.obtenerActivasPorUsuario(usuario.getId()).size());
+    }
+    
+    @Test
+    @DisplayName("Debe quitar la cuenta del índice del usuario al eliminarla")
+    void debeQuitarCuentaDelUsuarioAlEliminar() {
+        // Arrange
+        repository.guardar(cuenta);
+        
+        // Act
+        repository.eliminar(cuenta.getId());
+        
+        // Assert
+        assertTrue(repository.buscarPorUsuarioId(usuario.getId()).isEmpty());
+        assertTrue(repository.obtenerActivasPorUsuario(usuario.getId()).isEmpty());
+    }
 }
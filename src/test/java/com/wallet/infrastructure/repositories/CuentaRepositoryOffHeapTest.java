@@ -0,0 +1,217 @@
+package com.wallet.infrastructure.repositories;
+
+import com.wallet.domain.entities.Cuenta;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para CuentaRepositoryOffHeap.
+ */
+@DisplayName("CuentaRepositoryOffHeap Tests")
+class CuentaRepositoryOffHeapTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_789);
+    
+    private CuentaRepositoryOffHeap repository;
+    private String usuarioId;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new CuentaRepositoryOffHeap();
+        usuarioId = UUID.randomUUID().toString();
+    }
+    
+    @Test
+    @DisplayName("Debe materializar la cuenta con los mismos valores que se guardaron")
+    void debeMaterializarLosMismosValores() {
+        // Arrange
+        Cuenta original = new Cuenta(UUID.randomUUID().toString(), "0000012345", usuarioId,
+            new Dinero(new BigDecimal("-12.34"), Moneda.USD), BASE, BASE.plusDays(1), false);
+        repository.guardar(original);
+        
+        // Act
+        Cuenta leida = repository.buscarPorId(original.getId()).orElseThrow();
+        
+        // Assert
+        assertNotSame(original, leida);
+        assertEquals(original, leida);
+        assertEquals("0000012345", leida.getNumeroCuenta());
+        assertEquals(usuarioId, leida.getUsuarioId());
+        assertEquals(original.getSaldo(), leida.getSaldo());
+        assertEquals(BASE, leida.getFechaCreacion());
+        assertEquals(BASE.plusDays(1), leida.getFechaActualizacion());
+        assertFalse(leida.isActiva());
+        assertEquals(leida, repository.buscarPorNumeroCuenta("0000012345").orElseThrow());
+        assertTrue(repository.buscarPorNumeroCuenta("12345").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe reflejar los cambios solo al guardar la cuenta")
+    void debeReflejarCambiosAlGuardar() {
+        // Arrange
+        Cuenta cuenta = new Cuenta(usuarioId);
+        repository.guardar(cuenta);
+        Cuenta leida = repository.buscarPorId(cuenta.getId()).orElseThrow();
+        leida.depositar(Dinero.de("50.00"));
+        
+        // Act
+        Dinero antesDeGuardar = repository.buscarPorId(cuenta.getId()).orElseThrow().getSaldo();
+        repository.guardar(leida);
+        leida.desactivar();
+        repository.guardar(leida);
+        
+        // Assert
+        assertEquals(Dinero.CERO, antesDeGuardar);
+        assertEquals(Dinero.de("50.00"), repository.buscarPorId(cuenta.getId()).orElseThrow().getSaldo());
+        assertEquals(1, repository.buscarPorUsuarioId(usuarioId).size());
+        assertTrue(repository.obtenerActivasPorUsuario(usuarioId).isEmpty());
+        assertEquals(1, repository.contar());
+    }
+    
+    @Test
+    @DisplayName("Debe conservar aparte las cuentas que no caben en una ranura")
+    void debeConservarCuentasExcepcionales() {
+        // Arrange
+        Cuenta textoId = new Cuenta("cuenta-1", "0000000001", usuarioId, Dinero.CERO, BASE, BASE, true);
+        Cuenta mayusculas = new Cuenta(UUID.randomUUID().toString().toUpperCase(), "0000000002", usuarioId,
+            Dinero.CERO, BASE, BASE, true);
+        Cuenta numeroTexto = new Cuenta(UUID.randomUUID().toString(), "ABC-1", usuarioId, Dinero.CERO,
+            BASE, BASE, true);
+        Cuenta normal = new Cuenta(UUID.randomUUID().toString(), "0000000003", usuarioId, Dinero.CERO,
+            BASE, BASE, true);
+        repository.guardar(textoId);
+        repository.guardar(mayusculas);
+        repository.guardar(numeroTexto);
+        repository.guardar(normal);
+        
+        // Act: el saldo crece hasta no caber en un long de centavos y vuelve
+        Dinero enorme = new Dinero(new BigDecimal("123456789012345678901234.56"), Moneda.PEN);
+        repository.guardar(new Cuenta(normal.getId(), normal.getNumeroCuenta(), usuarioId, enorme,
+            BASE, BASE, true));
+        Cuenta grande = repository.buscarPorId(normal.getId()).orElseThrow();
+        int cuentasConSaldoEnorme = repository.contar();
+        repository.guardar(normal);
+        
+        // Assert
+        assertSame(textoId, repository.buscarPorId("cuenta-1").orElseThrow());
+        assertSame(mayusculas, repository.buscarPorId(mayusculas.getId()).orElseThrow());
+        assertSame(numeroTexto, repository.buscarPorNumeroCuenta("ABC-1").orElseThrow());
+        assertEquals(enorme, grande.getSaldo());
+        assertEquals(4, cuentasConSaldoEnorme);
+        assertEquals(Dinero.CERO, repository.buscarPorId(normal.getId()).orElseThrow().getSaldo());
+        assertEquals(Set.of(textoId, mayusculas, numeroTexto, normal),
+            new HashSet<>(repository.buscarPorUsuarioId(usuarioId)));
+        assertEquals(4, repository.obtenerTodas().size());
+        assertTrue(repository.eliminar("cuenta-1"));
+        assertFalse(repository.existeNumeroCuenta("0000000001"));
+    }
+    
+    @Test
+    @DisplayName("Debe eliminar la cuenta de todos los índices y reutilizar su ranura")
+    void debeEliminarYReutilizarRanura() {
+        // Arrange
+        Cuenta primera = new Cuenta(usuarioId);
+        Cuenta segunda = new Cuenta(usuarioId);
+        repository.guardar(primera);
+        repository.guardar(segunda);
+        
+        // Act
+        boolean eliminada = repository.eliminar(primera.getId());
+        Cuenta tercera = new Cuenta(usuarioId);
+        repository.guardar(tercera);
+        
+        // Assert
+        assertTrue(eliminada);
+        assertFalse(repository.eliminar(primera.getId()));
+        assertTrue(repository.buscarPorId(primera.getId()).isEmpty());
+        assertFalse(repository.existeNumeroCuenta(primera.getNumeroCuenta()));
+        assertEquals(Set.of(segunda, tercera), new HashSet<>(repository.buscarPorUsuarioId(usuarioId)));
+        assertEquals(tercera, repository.buscarPorNumeroCuenta(tercera.getNumeroCuenta()).orElseThrow());
+        assertEquals(2, repository.contar());
+    }
+    
+    @Test
+    @DisplayName("Debe coincidir con el repositorio en memoria tras altas, cambios y bajas")
+    void debeCoincidirConRepositorioEnMemoria() {
+        // Arrange: más cuentas que un bloque, con bajas que dejan huecos en los índices
+        CuentaRepositoryInMemory enMemoria = new CuentaRepositoryInMemory();
+        Random random = new Random(42);
+        String[] usuarios = new String[CuentaRepositoryOffHeap.RANURAS_POR_BLOQUE / 4];
+        for (int u = 0; u < usuarios.length; u++) {
+            usuarios[u] = UUID.randomUUID().toString();
+        }
+        List<Cuenta> cuentas = new ArrayList<>();
+        for (int i = 0; i < CuentaRepositoryOffHeap.RANURAS_POR_BLOQUE + 1000; i++) {
+            Cuenta cuenta = new Cuenta(UUID.randomUUID().toString(), String.format("%010d", i),
+                usuarios[random.nextInt(usuarios.length)], new Dinero(BigDecimal.valueOf(i, 2)),
+                BASE.plusSeconds(i), BASE.plusSeconds(i), i % 3 != 0);
+            cuentas.add(cuenta);
+            repository.guardar(cuenta);
+            enMemoria.guardar(cuenta);
+        }
+        
+        // Act
+        for (int i = 0; i < cuentas.size(); i += 2) {
+            Cuenta cuenta = cuentas.get(i);
+            if (i % 4 == 0) {
+                assertTrue(repository.eliminar(cuenta.getId()));
+                enMemoria.eliminar(cuenta.getId());
+            } else {
+                Cuenta cambiada = new Cuenta(cuenta.getId(), cuenta.getNumeroCuenta(),
+                    usuarios[random.nextInt(usuarios.length)], Dinero.de("7.00"), BASE, BASE.plusDays(1), true);
+                repository.guardar(cambiada);
+                enMemoria.guardar(cambiada);
+            }
+        }
+        
+        // Assert
+        assertEquals(enMemoria.contar(), repository.contar());
+        for (Cuenta cuenta : cuentas) {
+            Optional<Cuenta> esperada = enMemoria.buscarPorId(cuenta.getId());
+            Optional<Cuenta> obtenida = repository.buscarPorId(cuenta.getId());
+            assertEquals(esperada, obtenida);
+            esperada.ifPresent(e -> {
+                assertEquals(e.getSaldo(), obtenida.get().getSaldo());
+                assertEquals(e.getUsuarioId(), obtenida.get().getUsuarioId());
+            });
+            assertEquals(enMemoria.existeNumeroCuenta(cuenta.getNumeroCuenta()),
+                repository.existeNumeroCuenta(cuenta.getNumeroCuenta()));
+        }
+        for (String usuario : usuarios) {
+            assertEquals(new HashSet<>(enMemoria.buscarPorUsuarioId(usuario)),
+                new HashSet<>(repository.buscarPorUsuarioId(usuario)));
+            assertEquals(new HashSet<>(enMemoria.obtenerActivasPorUsuario(usuario)),
+                new HashSet<>(repository.obtenerActivasPorUsuario(usuario)));
+        }
+        assertEquals(new HashSet<>(enMemoria.obtenerTodas()), new HashSet<>(repository.obtenerTodas()));
+    }
+    
+    @Test
+    @DisplayName("Debe retornar vacío para claves inválidas y vaciarse al limpiar")
+    void debeRetornarVacioYLimpiar() {
+        // Arrange
+        Cuenta cuenta = new Cuenta(usuarioId);
+        repository.guardar(cuenta);
+        
+        // Act
+        repository.limpiar();
+        
+        // Assert
+        assertEquals(0, repository.contar());
+        assertTrue(repository.buscarPorId(cuenta.getId()).isEmpty());
+        assertTrue(repository.buscarPorUsuarioId(usuarioId).isEmpty());
+        assertFalse(repository.existeNumeroCuenta(cuenta.getNumeroCuenta()));
+        assertTrue(repository.buscarPorId(" ").isEmpty());
+        assertTrue(repository.buscarPorNumeroCuenta(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repository.guardar(null));
+    }
+}
@@ -0,0 +1,153 @@
+package com.wallet.infrastructure.repositories;
+
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para TransaccionRepositoryColumnar.
+ */
+@DisplayName("TransaccionRepositoryColumnar Tests")
+class TransaccionRepositoryColumnarTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_789);
+    
+    private TransaccionRepositoryColumnar repository;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new TransaccionRepositoryColumnar();
+    }
+    
+    @Test
+    @DisplayName("Debe materializar la transacción con los mismos valores que se guardaron")
+    void debeMaterializarLosMismosValores() {
+        // Arrange
+        Transaccion original = new Transaccion(UUID.randomUUID().toString(), TipoTransaccion.TRANSFERENCIA_ENVIADA,
+            new Dinero(new BigDecimal("-12.34"), Moneda.USD), "c1", "c2", "Pago de alquiler", BASE,
+            new Dinero(new BigDecimal("100.00"), Moneda.USD), new Dinero(new BigDecimal("87.66"), Moneda.USD));
+        repository.guardar(original);
+        
+        // Act
+        Transaccion leida = repository.buscarPorId(original.getId()).orElseThrow();
+        
+        // Assert
+        assertNotSame(original, leida);
+        assertEquals(original.getId(), leida.getId());
+        assertEquals(original.getTipo(), leida.getTipo());
+        assertEquals(original.getMonto(), leida.getMonto());
+        assertEquals(original.getSaldoAnterior(), leida.getSaldoAnterior());
+        assertEquals(original.getSaldoNuevo(), leida.getSaldoNuevo());
+        assertEquals("c1", leida.getCuentaOrigenId());
+        assertEquals("c2", leida.getCuentaDestinoId());
+        assertEquals("Pago de alquiler", leida.getDescripcion());
+        assertEquals(BASE, leida.getFecha());
+        assertEquals(List.of(leida), repository.buscarPorCuentaId("c2"));
+    }
+    
+    @Test
+    @DisplayName("Debe conservar las filas que no caben en las columnas")
+    void debeConservarFilasExcepcionales() {
+        // Arrange
+        Dinero enorme = new Dinero(new BigDecimal("123456789012345678901234.56"), Moneda.EUR);
+        Transaccion textoId = transaccion("t1", TipoTransaccion.DEPOSITO, "c1", null, BASE);
+        Transaccion grande = new Transaccion(UUID.randomUUID().toString(), TipoTransaccion.DEPOSITO, enorme,
+            "c1", null, null, BASE.plusMinutes(1), null, enorme);
+        repository.guardar(textoId);
+        repository.guardar(grande);
+        
+        // Act
+        List<Transaccion> historial = repository.buscarPorCuentaId("c1");
+        
+        // Assert
+        assertEquals(List.of(grande, textoId), historial);
+        assertSame(grande, repository.buscarPorId(grande.getId()).orElseThrow());
+        assertSame(textoId, repository.buscarPorId("t1").orElseThrow());
+        assertTrue(repository.buscarPorId(UUID.randomUUID().toString()).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe ordenar, filtrar y cortar igual que el repositorio en memoria")
+    void debeCoincidirConRepositorioEnMemoria() {
+        // Arrange: más filas que un bloque, fechas desordenadas y empates
+        TransaccionRepositoryInMemory enMemoria = new TransaccionRepositoryInMemory();
+        int total = TransaccionRepositoryColumnar.FILAS_POR_BLOQUE + 500;
+        for (int i = 0; i < total; i++) {
+            TipoTransaccion tipo = i % 3 == 0 ? TipoTransaccion.RETIRO : TipoTransaccion.DEPOSITO;
+            String destino = i % 7 == 0 ? "c" + ((i + 1) % 5) : null;
+            Transaccion t = transaccion(UUID.randomUUID().toString(), tipo, "c" + (i % 5), destino,
+                BASE.plusMinutes((i * 37L) % 1000));
+            repository.guardar(t);
+            enMemoria.guardar(t);
+        }
+        LocalDateTime desde = BASE.plusMinutes(100);
+        LocalDateTime hasta = BASE.plusMinutes(200);
+        
+        // Act & Assert
+        assertEquals(total, repository.contar());
+        for (int c = 0; c < 5; c++) {
+            String cuenta = "c" + c;
+            assertEquals(enMemoria.buscarPorCuentaId(cuenta), repository.buscarPorCuentaId(cuenta));
+            assertEquals(enMemoria.buscarPorCuentaIdYTipo(cuenta, TipoTransaccion.RETIRO),
+                repository.buscarPorCuentaIdYTipo(cuenta, TipoTransaccion.RETIRO));
+            assertEquals(enMemoria.obtenerPorCuentaYFechas(cuenta, desde, hasta),
+                repository.obtenerPorCuentaYFechas(cuenta, desde, hasta));
+            assertEquals(enMemoria.obtenerUltimasPorCuenta(cuenta, 25),
+                repository.obtenerUltimasPorCuenta(cuenta, 25));
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe sumar montos por tipo, moneda y rango recorriendo las columnas")
+    void debeSumarMontos() {
+        // Arrange
+        repository.guardar(transaccion(UUID.randomUUID().toString(), TipoTransaccion.DEPOSITO, "c1", null, BASE));
+        repository.guardar(transaccion(UUID.randomUUID().toString(), TipoTransaccion.DEPOSITO, "c2", null,
+            BASE.plusHours(1)));
+        repository.guardar(transaccion(UUID.randomUUID().toString(), TipoTransaccion.RETIRO, "c1", null, BASE));
+        repository.guardar(transaccion("fuera", TipoTransaccion.DEPOSITO, "c1", null, BASE.plusDays(2)));
+        repository.guardar(transaccion("texto", TipoTransaccion.DEPOSITO, "c3", null, BASE.plusMinutes(5)));
+        
+        // Act
+        Dinero suma = repository.sumarMontos(TipoTransaccion.DEPOSITO, Moneda.PEN, BASE, BASE.plusDays(1));
+        
+        // Assert
+        assertEquals(Dinero.de("30.00"), suma);
+        assertEquals(new Dinero(BigDecimal.ZERO, Moneda.USD),
+            repository.sumarMontos(TipoTransaccion.DEPOSITO, Moneda.USD, BASE, BASE.plusDays(1)));
+    }
+    
+    @Test
+    @DisplayName("Debe retornar lista vacía para cuenta sin transacciones y vaciarse al limpiar")
+    void debeRetornarVacioSinTransacciones() {
+        // Arrange
+        repository.guardar(transaccion("t1", TipoTransaccion.DEPOSITO, "c1", null, BASE));
+        
+        // Act
+        repository.limpiar();
+        
+        // Assert
+        assertEquals(0, repository.contar());
+        assertTrue(repository.buscarPorCuentaId("c1").isEmpty());
+        assertTrue(repository.obtenerUltimasPorCuenta("inexistente", 5).isEmpty());
+        assertTrue(repository.obtenerPorCuentaYFechas("inexistente", BASE, BASE.plusDays(1)).isEmpty());
+        assertTrue(repository.buscarPorId("t1").isEmpty());
+    }
+    
+    private Transaccion transaccion(String id, TipoTransaccion tipo, String origen, String destino,
+                                    LocalDateTime fecha) {
+        Dinero monto = Dinero.de("10.00");
+        return new Transaccion(id, tipo, monto, origen, destino, "Test", fecha, Dinero.CERO, monto);
+    }
+}
@@ -0,0 +1,139 @@
+package com.wallet.infrastructure.repositories;
+
+import com.wallet.domain.entities.Transaccion;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.TipoTransaccion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para TransaccionRepositoryInMemory.
+ */
+@DisplayName("TransaccionRepositoryInMemory Tests")
+class TransaccionRepositoryInMemoryTest {
+    
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 10, 0);
+    
+    private TransaccionRepositoryInMemory repository;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new TransaccionRepositoryInMemory();
+        repository.limpiar();
+    }
+    
+    @Test
+    @DisplayName("Debe retornar el historial de la cuenta ordenado por fecha descendente")
+    void debeRetornarHistorialOrdenado() {
+        // Arrange
+        Transaccion t1 = transaccion("t1", TipoTransaccion.DEPOSITO, "c1", null, BASE);
+        Transaccion t3 = transaccion("t3", TipoTransaccion.RETIRO, "c1", null, BASE.plusMinutes(2));
+        Transaccion t2 = transaccion("t2", TipoTransaccion.DEPOSITO, "c1", null, BASE.plusMinutes(1));
+        repository.guardar(t1);
+        repository.guardar(t3);
+        repository.guardar(t2);
+        repository.guardar(transaccion("otra", TipoTransaccion.DEPOSITO, "c2", null, BASE));
+        
+        // Act
+        List<Transaccion> historial = repository.buscarPorCuentaId("c1");
+        
+        // Assert
+        assertEquals(List.of(t3, t2, t1), historial);
+    }
+    
+    @Test
+    @DisplayName("Debe indexar la transferencia en la cuenta origen y en la destino")
+    void debeIndexarAmbosLadosDeTransferencia() {
+        // Arrange
+        Transaccion enviada = transaccion("e", TipoTransaccion.TRANSFERENCIA_ENVIADA, "c1", "c2", BASE);
+        repository.guardar(enviada);
+        
+        // Act & Assert
+        assertEquals(List.of(enviada), repository.buscarPorCuentaId("c1"));
+        assertEquals(List.of(enviada), repository.buscarPorCuentaId("c2"));
+    }
+    
+    @Test
+    @DisplayName("Debe filtrar por tipo manteniendo el orden")
+    void debeFiltrarPorTipo() {
+        // Arrange
+        Transaccion deposito = transaccion("d", TipoTransaccion.DEPOSITO, "c1", null, BASE);
+        Transaccion retiro = transaccion("r", TipoTransaccion.RETIRO, "c1", null, BASE.plusMinutes(1));
+        repository.guardar(deposito);
+        repository.guardar(retiro);
+        
+        // Act
+        List<Transaccion> retiros = repository.buscarPorCuentaIdYTipo("c1", TipoTransaccion.RETIRO);
+        
+        // Assert
+        assertEquals(List.of(retiro), retiros);
+    }
+    
+    @Test
+    @DisplayName("Debe retornar el rango de fechas con extremos inclusivos")
+    void debeRetornarRangoDeFechasInclusivo() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            repository.guardar(transaccion("t" + i, TipoTransaccion.DEPOSITO, "c1", null, BASE.plusHours(i)));
+        }
+        
+        // Act
+        List<Transaccion> rango = repository.obtenerPorCuentaYFechas("c1", BASE.plusHours(1), BASE.plusHours(3));
+        
+        // Assert
+        assertEquals(3, rango.size());
+        assertEquals("t3", rango.get(0).getId());
+        assertEquals("t1", rango.get(2).getId());
+    }
+    
+    @Test
+    @DisplayName("Debe incluir transacciones con la misma fecha que los extremos")
+    void debeIncluirMismaFechaEnExtremos() {
+        // Arrange
+        repository.guardar(transaccion("a", TipoTransaccion.DEPOSITO, "c1", null, BASE));
+        repository.guardar(transaccion("b", TipoTransaccion.DEPOSITO, "c1", null, BASE));
+        
+        // Act
+        List<Transaccion> rango = repository.obtenerPorCuentaYFechas("c1", BASE, BASE);
+        
+        // Assert
+        assertEquals(2, rango.size());
+    }
+    
+    @Test
+    @DisplayName("Debe retornar las últimas N transacciones")
+    void debeRetornarUltimasN() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            repository.guardar(transaccion("t" + i, TipoTransaccion.DEPOSITO, "c1", null, BASE.plusMinutes(i)));
+        }
+        
+        // Act
+        List<Transaccion> ultimas = repository.obtenerUltimasPorCuenta("c1", 3);
+        
+        // Assert
+        assertEquals(3, ultimas.size());
+        assertEquals("t9", ultimas.get(0).getId());
+        assertEquals("t7", ultimas.get(2).getId());
+    }
+    
+    @Test
+    @DisplayName("Debe retornar lista vacía para cuenta sin transacciones")
+    void debeRetornarVacioSinTransacciones() {
+        assertTrue(repository.buscarPorCuentaId("inexistente").isEmpty());
+        assertTrue(repository.obtenerUltimasPorCuenta("inexistente", 5).isEmpty());
+        assertTrue(repository.obtenerPorCuentaYFechas("inexistente", BASE, BASE.plusDays(1)).isEmpty());
+    }
+    
+    private Transaccion transaccion(String id, TipoTransaccion tipo, String origen, String destino,
+                                    LocalDateTime fecha) {
+        Dinero monto = Dinero.de("10.00");
+        return new Transaccion(id, tipo, monto, origen, destino, "Test", fecha, Dinero.CERO, monto);
+    }
+}
@@ -1,6 +1,7 @@
 package com.wallet.infrastructure.repositories;
 
 import com.wallet.domain.entities.Usuario;
+import com.wallet.domain.exceptions.OperacionNoValidaException;
 import com.wallet.domain.valueobjects.DocumentoIdentidad;
 import com.wallet.domain.valueobjects.Email;
 import org.junit.jupiter.api.BeforeEach;
@@ -153,4 +154,99 @@ class UsuarioRepositoryInMemoryTest {
         // Assert
         assertEquals(0, repository.contar());
     }
+    
+    @Test
+    @DisplayName("Debe reindexar el email cuando el usuario lo actualiza")
+    void debeReindexarEmailActualizado() {
+        // Arrange
+        repository.guardar(usuario);
+        Email emailAnterior = usuario.getEmail();
+        Email emailNuevo = new Email("juan.nuevo@email.com");
+        
+        // Act
+        usuario.actualizar("Juan", "Perez", emailNuevo);
+        repository.guardar(usuario);
+        
+        // Assert
+        assertFalse(repository.existePorEmail(emailAnterior));
+        assertTrue(repository.existePorEmail(emailNuevo));
+        assertEquals(usuario.getId(), repository.buscarPorEmail(emailNuevo).get().getId());
+    }
+    
+    @Test
+    @DisplayName("No debe encontrar por email anterior un usuario modificado sin guardar")
+    void noDebeEncontrarEmailAnteriorSinGuardar() {
+        // Arrange
+        repository.guardar(usuario);
+        Email emailAnterior = usuario.getEmail();
+        
+        // Act
+        usuario.actualizar("Juan", "Perez", new Email("otro@email.com"));
+        
+        // Assert
+        assertFalse(repository.buscarPorEmail(emailAnterior).isPresent());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar otro usuario con el mismo email")
+    void debeRechazarEmailDuplicado() {
+        // Arrange
+        repository.guardar(usuario);
+        Usuario duplicado = new Usuario(
+            "Pedro",
+            "Lopez",
+            new Email("JUAN@email.com"),
+            new DocumentoIdentidad("99999999", DocumentoIdentidad.TipoDocumento.DNI)
+        );
+        
+        // Act & Assert
+        assertThrows(OperacionNoValidaException.class, () -> repository.guardar(duplicado));
+        assertEquals(1, repository.contar());
+        assertFalse(repository.buscarPorDocumento("99999999").isPresent());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar otro usuario con el mismo documento sin reservar su email")
+    void debeRechazarDocumentoDuplicado() {
+        // Arrange
+        repository.guardar(usuario);
+        Usuario duplicado = new Usuario(
+            "Pedro",
+            "Lopez",
+            new Email("pedro@email.com"),
+            new DocumentoIdentidad("12345678", DocumentoIdentidad.TipoDocumento.DNI)
+        );
+        
+        // Act & Assert
+        assertThrows(OperacionNoValidaException.class, () -> repository.guardar(duplicado));
+        assertFalse(repository.existePorEmail(duplicado.getEmail()));
+    }
+    
+    @Test
+    @DisplayName("Debe buscar usuario por número de documento")
+    void debeBuscarPorDocumento() {
+        // Arrange
+        repository.guardar(usuario);
+        
+        // Act
+        Optional<Usuario> encontrado = repository.buscarPorDocumento("12345678");
+        
+        // Assert
+        assertTrue(encontrado.isPresent());
+        assertEquals(usuario.getId(), encontrado.get().getId());
+    }
+    
+    @Test
+    @DisplayName("Debe quitar de los índices al eliminar el usuario")
+    void debeQuitarDeIndicesAlEliminar() {
+        // Arrange
+        repository.guardar(usuario);
+        
+        // Act
+        repository.eliminar(usuario.getId());
+        
+        // Assert
+        assertFalse(repository.existePorEmail(usuario.getEmail()));
+        assertFalse(repository.existePorDocumento(usuario.getDocumentoIdentidad()));
+    }
 }
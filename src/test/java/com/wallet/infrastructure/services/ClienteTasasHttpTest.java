@@ -0,0 +1,119 @@
+package com.wallet.infrastructure.services;
+
+import com.sun.net.httpserver.HttpServer;
+import com.wallet.domain.valueobjects.Moneda;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para ClienteTasasHttp contra un servidor HTTP local.
+ */
+@DisplayName("ClienteTasasHttp Tests")
+class ClienteTasasHttpTest {
+    
+    private HttpServer servidor;
+    private List<String> rutas;
+    private Set<Integer> puertosCliente;
+    private volatile int codigoRespuesta;
+    private ClienteTasasHttp cliente;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        rutas = new CopyOnWriteArrayList<>();
+        puertosCliente = ConcurrentHashMap.newKeySet();
+        codigoRespuesta = 200;
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/latest/", intercambio -> {
+            String ruta = intercambio.getRequestURI().getPath();
+            rutas.add(ruta);
+            puertosCliente.add(intercambio.getRemoteAddress().getPort());
+            String base = ruta.substring(ruta.lastIndexOf('/') + 1);
+            byte[] cuerpo = ("{\"result\":\"success\",\"base_code\":\"" + base + "\","
+                + "\"rates\":{\"" + base + "\":1,\"PEN\":3.75,\"EUR\":0.92}}")
+                .getBytes(StandardCharsets.UTF_8);
+            intercambio.sendResponseHeaders(codigoRespuesta, cuerpo.length);
+            try (OutputStream out = intercambio.getResponseBody()) {
+                out.write(cuerpo);
+            }
+        });
+        servidor.setExecutor(Executors.newCachedThreadPool());
+        servidor.start();
+        cliente = new ClienteTasasHttp("http://127.0.0.1:" + servidor.getAddress().getPort() + "/latest/");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        servidor.stop(0);
+    }
+    
+    @Test
+    @DisplayName("Debe obtener las tasas de la moneda base pedida")
+    void debeObtenerTasas() throws Exception {
+        // Act
+        double[] tasas = cliente.obtenerTasas(Moneda.USD).get(5, TimeUnit.SECONDS);
+        
+        // Assert
+        assertEquals(List.of("/latest/USD"), rutas);
+        assertEquals(1.0, tasas[Moneda.USD.ordinal()]);
+        assertEquals(3.75, tasas[Moneda.PEN.ordinal()]);
+        assertTrue(Double.isNaN(tasas[Moneda.de("JPY").ordinal()]));
+    }
+    
+    @Test
+    @DisplayName("Debe consultar varias monedas base en paralelo reutilizando la conexión")
+    void debeConsultarVariasBasesReutilizandoConexion() throws Exception {
+        // Arrange
+        cliente.obtenerTasas(Moneda.USD).get(5, TimeUnit.SECONDS);
+        
+        // Act
+        for (Moneda base : List.of(Moneda.EUR, Moneda.PEN, Moneda.USD)) {
+            cliente.obtenerTasas(base).get(5, TimeUnit.SECONDS);
+        }
+        CompletableFuture<?>[] paralelas = {
+            cliente.obtenerTasas(Moneda.USD), cliente.obtenerTasas(Moneda.EUR)
+        };
+        CompletableFuture.allOf(paralelas).get(5, TimeUnit.SECONDS);
+        
+        // Assert
+        assertEquals(6, rutas.size());
+        assertTrue(puertosCliente.size() <= 2,
+            "Se abrieron " + puertosCliente.size() + " conexiones para 6 peticiones");
+    }
+    
+    @Test
+    @DisplayName("Debe completar con error si la API responde con un código distinto de 200")
+    void debeFallarConCodigoDeError() {
+        // Arrange
+        codigoRespuesta = 503;
+        
+        // Act
+        CompletableFuture<double[]> futuro = cliente.obtenerTasas(Moneda.USD);
+        
+        // Assert
+        ExecutionException e = assertThrows(ExecutionException.class, () -> futuro.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause().getMessage().contains("503"));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar una URL base vacía")
+    void debeRechazarUrlVacia() {
+        assertThrows(IllegalArgumentException.class, () -> new ClienteTasasHttp(" "));
+        assertThrows(IllegalArgumentException.class, () -> new ClienteTasasHttp(null));
+    }
+}
@@ -0,0 +1,365 @@
+package com.wallet.infrastructure.services;
+
+import com.sun.net.httpserver.HttpServer;
+import com.wallet.domain.valueobjects.ConversionLote;
+import com.wallet.domain.valueobjects.Dinero;
+import com.wallet.domain.valueobjects.Moneda;
+import com.wallet.infrastructure.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para ConversorDivisasAPI contra un servidor HTTP local.
+ */
+@DisplayName("ConversorDivisasAPI Tests")
+class ConversorDivisasAPITest {
+    
+    private static final String RESPUESTA_USD =
+        "{\"result\":\"success\",\"base_code\":\"USD\"," +
+        "\"rates\":{\"USD\":1,\"PEN\":3.75,\"EUR\":0.92}}";
+    
+    private HttpServer servidor;
+    private AtomicInteger llamadas;
+    private volatile int retardoMs;
+    private volatile int codigoRespuesta;
+    private ConversorDivisasAPI conversor;
+    private String url;
+    
+    @TempDir
+    Path directorio;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        Logger.setEnabled(false);
+        llamadas = new AtomicInteger();
+        retardoMs = 0;
+        codigoRespuesta = 200;
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/v6/latest/", intercambio -> {
+            llamadas.incrementAndGet();
+            try {
+                Thread.sleep(retardoMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] cuerpo = RESPUESTA_USD.getBytes(StandardCharsets.UTF_8);
+            intercambio.sendResponseHeaders(codigoRespuesta, cuerpo.length);
+            try (OutputStream out = intercambio.getResponseBody()) {
+                out.write(cuerpo);
+            }
+        });
+        servidor.setExecutor(Executors.newCachedThreadPool());
+        servidor.start();
+        url = "http://127.0.0.1:" + servidor.getAddress().getPort() + "/v6/latest/";
+        conversor = new ConversorDivisasAPI(url);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        conversor.cerrar();
+        servidor.stop(0);
+        Logger.setEnabled(true);
+    }
+    
+    @Test
+    @DisplayName("Debe convertir usando las tasas del servidor")
+    void debeConvertir() {
+        Dinero resultado = conversor.convertir(new Dinero(new BigDecimal("100.00"), "USD"), "PEN");
+        
+        assertEquals(new BigDecimal("375.00"), resultado.getCantidad());
+        assertEquals("PEN", resultado.getMoneda());
+    }
+    
+    @Test
+    @DisplayName("Debe reutilizar la caché en conversiones sucesivas")
+    void debeReutilizarCache() {
+        conversor.obtenerTasaCambio("USD", "PEN");
+        conversor.obtenerTasaCambio("USD", "EUR");
+        
+        assertEquals(1, llamadas.get());
+    }
+    
+    @Test
+    @DisplayName("Debe derivar tasas cruzadas de una sola consulta a la moneda base")
+    void debeDerivarTasasCruzadas() {
+        // Act
+        double penAEur = conversor.obtenerTasaCambio("PEN", "EUR");
+        double eurAUsd = conversor.obtenerTasaCambio("EUR", "USD");
+        double usdAPen = conversor.obtenerTasaCambio("USD", "PEN");
+        
+        // Assert
+        assertEquals(0.92 / 3.75, penAEur, 1e-12);
+        assertEquals(1 / 0.92, eurAUsd, 1e-12);
+        assertEquals(3.75, usdAPen, 1e-12);
+        assertEquals(1, llamadas.get());
+    }
+    
+    @Test
+    @DisplayName("Debe fallar si la moneda no tiene cotización")
+    void debeFallarSinCotizacion() {
+        assertThrows(RuntimeException.class, () -> conversor.obtenerTasaCambio("PEN", "JPY"));
+        assertThrows(RuntimeException.class, () -> conversor.obtenerTasaCambio("JPY", "PEN"));
+    }
+    
+    @Test
+    @DisplayName("Debe convertir un lote igual que conversión por conversión")
+    void debeConvertirLoteIgualQueIndividual() {
+        // Arrange
+        List<Dinero> montos = new ArrayList<>();
+        String[] monedas = {"USD", "EUR", "PEN"};
+        for (int i = 0; i < 60000; i++) {
+            montos.add(new Dinero(BigDecimal.valueOf(i * 37L + 1, 2), monedas[i % monedas.length]));
+        }
+        
+        // Act
+        List<Dinero> lote = conversor.convertirLote(montos, "EUR");
+        
+        // Assert
+        assertEquals(montos.size(), lote.size());
+        for (int i = 0; i < montos.size(); i += 997) {
+            assertEquals(conversor.convertir(montos.get(i), "EUR"), lote.get(i));
+        }
+        assertSame(montos.get(1), lote.get(1));
+        assertEquals(1, llamadas.get());
+    }
+    
+    @Test
+    @DisplayName("Debe retornar con el lote la tasa aplicada a cada moneda origen")
+    void debeRetornarTasasAplicadasEnLote() {
+        // Arrange
+        List<Dinero> montos = List.of(Dinero.de("10.00"), new Dinero(BigDecimal.TEN, "USD"),
+            new Dinero(BigDecimal.ONE, "EUR"));
+        
+        // Act
+        ConversionLote lote = conversor.convertirLoteConTasas(montos, "EUR");
+        
+        // Assert
+        assertEquals(conversor.obtenerTasaCambio("PEN", "EUR"), lote.getValorTasa(Moneda.PEN));
+        assertEquals(conversor.obtenerTasaCambio("USD", "EUR"), lote.getValorTasa(Moneda.USD));
+        assertEquals(1.0, lote.getValorTasa(Moneda.EUR));
+        assertEquals(lote.getTasa(Moneda.USD).aplicar(montos.get(1)), lote.getMontos().get(1));
+        assertEquals(1, llamadas.get());
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar lotes con montos nulos o monedas sin cotización")
+    void debeRechazarLotesInvalidos() {
+        List<Dinero> conNulo = new ArrayList<>();
+        conNulo.add(Dinero.de("1.00"));
+        conNulo.add(null);
+        
+        assertThrows(IllegalArgumentException.class, () -> conversor.convertirLote(null, "USD"));
+        assertThrows(IllegalArgumentException.class, () -> conversor.convertirLote(conNulo, "USD"));
+        assertThrows(RuntimeException.class,
+            () -> conversor.convertirLote(List.of(new Dinero(BigDecimal.ONE, "JPY")), "USD"));
+        assertTrue(conversor.convertirLote(List.of(), "USD").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Debe agrupar 100 conversiones concurrentes en una sola petición")
+    void debeAgruparConsultasConcurrentes() throws Exception {
+        // Arrange
+        retardoMs = 300;
+        int convertidores = 100;
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(convertidores);
+        List<Future<Dinero>> resultados = new ArrayList<>();
+        
+        // Act
+        for (int i = 0; i < convertidores; i++) {
+            resultados.add(executor.submit(() -> {
+                salida.await();
+                return conversor.convertir(new Dinero(BigDecimal.TEN, "USD"), "PEN");
+            }));
+        }
+        salida.countDown();
+        for (Future<Dinero> resultado : resultados) {
+            assertEquals(new BigDecimal("37.50"), resultado.get(10, TimeUnit.SECONDS).getCantidad());
+        }
+        executor.shutdown();
+        
+        // Assert
+        assertEquals(1, llamadas.get());
+    }
+    
+    @Test
+    @DisplayName("Debe propagar el error a todos los que esperan la misma consulta")
+    void debePropagarErrorCompartido() throws Exception {
+        // Arrange
+        retardoMs = 200;
+        codigoRespuesta = 500;
+        int convertidores = 20;
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(convertidores);
+        List<Future<Double>> resultados = new ArrayList<>();
+        
+        // Act
+        for (int i = 0; i < convertidores; i++) {
+            resultados.add(executor.submit(() -> {
+                salida.await();
+                return conversor.obtenerTasaCambio("USD", "PEN");
+            }));
+        }
+        salida.countDown();
+        
+        // Assert
+        for (Future<Double> resultado : resultados) {
+            ExecutionException e = assertThrows(ExecutionException.class,
+                () -> resultado.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(RuntimeException.class, e.getCause());
+        }
+        executor.shutdown();
+        assertTrue(llamadas.get() < convertidores);
+    }
+    
+    @Test
+    @DisplayName("Debe refrescar en segundo plano las monedas consultadas antes de que expiren")
+    void debeRefrescarAnticipadamente() throws Exception {
+        // Arrange
+        conversor.cerrar();
+        conversor = new ConversorDivisasAPI(url, 500, 5000);
+        conversor.obtenerTasaCambio("USD", "PEN");
+        conversor.obtenerTasaCambio("USD", "EUR");
+        
+        // Act
+        long limite = System.currentTimeMillis() + 5000;
+        while (llamadas.get() < 2 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        
+        // Assert
+        assertEquals(2, llamadas.get());
+    }
+    
+    @Test
+    @DisplayName("No debe incluir tiempo de red en conversiones con tasas vencidas")
+    void noDebeEsperarRedConTasasVencidas() throws Exception {
+        // Arrange
+        conversor.cerrar();
+        conversor = new ConversorDivisasAPI(url, 100, 60000);
+        conversor.obtenerTasaCambio("USD", "PEN");
+        retardoMs = 2000;
+        Thread.sleep(200);
+        
+        // Act
+        long inicio = System.nanoTime();
+        Dinero resultado = conversor.convertir(new Dinero(BigDecimal.TEN, "USD"), "PEN");
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        
+        // Assert
+        assertEquals(new BigDecimal("37.50"), resultado.getCantidad());
+        assertTrue(duracionMs < 1000, "La conversión esperó " + duracionMs + " ms");
+    }
+    
+    @Test
+    @DisplayName("Debe servir las últimas tasas válidas si el refresco falla")
+    void debeServirTasasObsoletasSiFallaRefresco() throws Exception {
+        // Arrange
+        conversor.cerrar();
+        conversor = new ConversorDivisasAPI(url, 100, 60000);
+        conversor.obtenerTasaCambio("USD", "PEN");
+        codigoRespuesta = 500;
+        Thread.sleep(200);
+        
+        // Act
+        double primera = conversor.obtenerTasaCambio("USD", "PEN");
+        Thread.sleep(200);
+        double segunda = conversor.obtenerTasaCambio("USD", "PEN");
+        
+        // Assert
+        assertEquals(3.75, primera);
+        assertEquals(3.75, segunda);
+        assertTrue(llamadas.get() > 1);
+    }
+    
+    @Test
+    @DisplayName("Debe fallar cuando las tasas superan la ventana de obsolescencia")
+    void debeFallarFueraDeVentanaObsoleta() throws Exception {
+        // Arrange
+        conversor.cerrar();
+        conversor = new ConversorDivisasAPI(url, 100, 100);
+        conversor.obtenerTasaCambio("USD", "PEN");
+        codigoRespuesta = 500;
+        Thread.sleep(400);
+        
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> conversor.obtenerTasaCambio("USD", "PEN"));
+    }
+    
+    @Test
+    @DisplayName("Debe servir tasas de la instantánea persistida aunque no haya red")
+    void debeServirInstantaneaSinRed() throws Exception {
+        // Arrange
+        Path archivo = directorio.resolve("tasas.bin");
+        conversor.cerrar();
+        conversor = new ConversorDivisasAPI(new ClienteTasasHttp(url), 60000, 0, archivo);
+        conversor.obtenerTasaCambio("USD", "PEN");
+        long limite = System.currentTimeMillis() + 5000;
+        while (!Files.exists(archivo) && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        conversor.cerrar();
+        servidor.stop(0);
+        
+        // Act
+        conversor = new ConversorDivisasAPI(new ClienteTasasHttp(url), 60000, 0, archivo);
+        double tasa = conversor.obtenerTasaCambio("PEN", "EUR");
+        
+        // Assert
+        assertEquals(0.92 / 3.75, tasa, 1e-12);
+        assertTrue(conversor.estaDisponible());
+        assertEquals(1, llamadas.get());
+    }
+    
+    @Test
+    @DisplayName("Debe servir al instante una instantánea antigua y refrescarla en segundo plano")
+    void debeRefrescarInstantaneaAntigua() throws Exception {
+        // Arrange
+        Path archivo = directorio.resolve("tasas.bin");
+        double[] tasas = new double[Moneda.cantidad()];
+        Arrays.fill(tasas, Double.NaN);
+        tasas[Moneda.PEN.ordinal()] = 3.50;
+        InstantaneaTasas.guardar(archivo, Moneda.USD,
+            System.currentTimeMillis() - 86400000L, tasas);
+        retardoMs = 500;
+        conversor.cerrar();
+        
+        // Act
+        conversor = new ConversorDivisasAPI(new ClienteTasasHttp(url), 60000, 0, archivo);
+        long inicio = System.nanoTime();
+        double inicial = conversor.obtenerTasaCambio("USD", "PEN");
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        long limite = System.currentTimeMillis() + 5000;
+        while (conversor.obtenerTasaCambio("USD", "PEN") != 3.75 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        // La instantánea se reescribe después de publicar las tasas nuevas
+        while (InstantaneaTasas.cargar(archivo).getTasasDesdeBase()[Moneda.PEN.ordinal()] != 3.75
+                && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        
+        // Assert
+        assertEquals(3.50, inicial);
+        assertTrue(duracionMs < 400, "La primera conversión esperó " + duracionMs + " ms");
+        assertEquals(3.75, conversor.obtenerTasaCambio("USD", "PEN"));
+        assertEquals(1, llamadas.get());
+    }
+}
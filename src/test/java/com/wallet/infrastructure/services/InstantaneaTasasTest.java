@@ -0,0 +1,93 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.domain.valueobjects.Moneda;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para InstantaneaTasas.
+ */
+@DisplayName("InstantaneaTasas Tests")
+class InstantaneaTasasTest {
+    
+    @TempDir
+    Path directorio;
+    
+    private static double[] tasasDePrueba() {
+        double[] tasas = new double[Moneda.cantidad()];
+        Arrays.fill(tasas, Double.NaN);
+        tasas[Moneda.USD.ordinal()] = 1.0;
+        tasas[Moneda.PEN.ordinal()] = 3.75;
+        tasas[Moneda.EUR.ordinal()] = 0.92;
+        return tasas;
+    }
+    
+    @Test
+    @DisplayName("Debe recuperar exactamente la tabla guardada")
+    void debeRecuperarTablaGuardada() throws IOException {
+        // Arrange
+        Path archivo = directorio.resolve("sub/tasas.bin");
+        double[] tasas = tasasDePrueba();
+        
+        // Act
+        InstantaneaTasas.guardar(archivo, Moneda.USD, 1700000000000L, tasas);
+        InstantaneaTasas leida = InstantaneaTasas.cargar(archivo);
+        
+        // Assert
+        assertSame(Moneda.USD, leida.getBase());
+        assertEquals(1700000000000L, leida.getTimestamp());
+        assertArrayEquals(tasas, leida.getTasasDesdeBase());
+        assertEquals(4 + 2 + 3 + 8 + 4 + 3 * 11, Files.size(archivo));
+    }
+    
+    @Test
+    @DisplayName("Debe reemplazar la instantánea anterior sin dejar temporales")
+    void debeReemplazarInstantanea() throws IOException {
+        // Arrange
+        Path archivo = directorio.resolve("tasas.bin");
+        InstantaneaTasas.guardar(archivo, Moneda.USD, 1L, tasasDePrueba());
+        double[] nuevas = tasasDePrueba();
+        nuevas[Moneda.PEN.ordinal()] = 3.80;
+        
+        // Act
+        InstantaneaTasas.guardar(archivo, Moneda.USD, 2L, nuevas);
+        
+        // Assert
+        InstantaneaTasas leida = InstantaneaTasas.cargar(archivo);
+        assertEquals(2L, leida.getTimestamp());
+        assertEquals(3.80, leida.getTasasDesdeBase()[Moneda.PEN.ordinal()]);
+        try (var archivos = Files.list(directorio)) {
+            assertEquals(1, archivos.count());
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe devolver null si no existe la instantánea")
+    void debeDevolverNullSiNoExiste() throws IOException {
+        assertNull(InstantaneaTasas.cargar(directorio.resolve("no-existe.bin")));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar archivos ajenos o truncados")
+    void debeRechazarArchivosInvalidos() throws IOException {
+        // Arrange
+        Path ajeno = directorio.resolve("ajeno.bin");
+        Files.write(ajeno, "no es una instantánea de tasas".getBytes());
+        Path truncado = directorio.resolve("truncado.bin");
+        InstantaneaTasas.guardar(truncado, Moneda.USD, 1L, tasasDePrueba());
+        byte[] bytes = Files.readAllBytes(truncado);
+        Files.write(truncado, Arrays.copyOf(bytes, bytes.length - 5));
+        
+        // Act & Assert
+        assertThrows(IOException.class, () -> InstantaneaTasas.cargar(ajeno));
+        assertThrows(IOException.class, () -> InstantaneaTasas.cargar(truncado));
+    }
+}
@@ -0,0 +1,137 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.domain.valueobjects.Moneda;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para LectorTasasJSON.
+ */
+@DisplayName("LectorTasasJSON Tests")
+class LectorTasasJSONTest {
+    
+    private static double[] vectorVacio() {
+        double[] tasas = new double[Moneda.cantidad()];
+        Arrays.fill(tasas, Double.NaN);
+        return tasas;
+    }
+    
+    private static InputStream flujo(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static double tasa(double[] tasas, String codigo) {
+        return tasas[Moneda.de(codigo).ordinal()];
+    }
+    
+    @Test
+    @DisplayName("Debe leer las tasas de una respuesta típica")
+    void debeLeerRespuestaTipica() throws IOException {
+        // Arrange
+        String json = "{\"result\":\"success\",\"base_code\":\"USD\",\"time_last_update_unix\":1700000000,"
+            + "\"rates\":{\"USD\":1,\"PEN\":3.7512,\"EUR\":0.9213,\"JPY\":149.5}}";
+        double[] tasas = vectorVacio();
+        
+        // Act
+        int extraidas = LectorTasasJSON.leer(flujo(json), tasas);
+        
+        // Assert
+        assertEquals(4, extraidas);
+        assertEquals(1.0, tasa(tasas, "USD"));
+        assertEquals(3.7512, tasa(tasas, "PEN"));
+        assertEquals(0.9213, tasa(tasas, "EUR"));
+        assertEquals(149.5, tasa(tasas, "JPY"));
+        assertTrue(Double.isNaN(tasa(tasas, "GBP")));
+    }
+    
+    @Test
+    @DisplayName("Debe tolerar objetos anidados dentro y fuera de rates")
+    void debeTolerarObjetosAnidados() throws IOException {
+        // Arrange
+        String json = "{\"meta\":{\"a\":[1,{\"rates\":{\"PEN\":9}}],\"b\":\"}\"},"
+            + "\"rates\":{\"PEN\":3.75,\"XAU\":{\"bid\":1,\"ask\":2},\"EUR\":0.92,\"OTRO\":[1,2]}}";
+        double[] tasas = vectorVacio();
+        
+        // Act
+        int extraidas = LectorTasasJSON.leer(flujo(json), tasas);
+        
+        // Assert
+        assertEquals(2, extraidas);
+        assertEquals(3.75, tasa(tasas, "PEN"));
+        assertEquals(0.92, tasa(tasas, "EUR"));
+    }
+    
+    @Test
+    @DisplayName("Debe convertir números igual que Double.parseDouble")
+    void debeConvertirNumerosConPrecision() throws IOException {
+        // Arrange
+        String[] numeros = {"0.1", "3.7512", "1e3", "2.5E-4", "123456789012.3456789",
+            "0.000000000000000000000000012", "-1.5", "17976931348623157e292", "0"};
+        StringBuilder json = new StringBuilder("{\"rates\":{");
+        for (int i = 0; i < numeros.length; i++) {
+            json.append(i == 0 ? "" : ",").append('"').append(Moneda.porOrdinal(i).getCodigo())
+                .append("\": ").append(numeros[i]);
+        }
+        json.append("}}");
+        double[] tasas = vectorVacio();
+        
+        // Act
+        LectorTasasJSON.leer(flujo(json.toString()), tasas);
+        
+        // Assert
+        for (int i = 0; i < numeros.length; i++) {
+            assertEquals(Double.parseDouble(numeros[i]), tasas[i], numeros[i]);
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe leer correctamente aunque el flujo entregue un byte por vez")
+    void debeLeerFlujoFragmentado() throws IOException {
+        // Arrange
+        byte[] bytes = "{ \"rates\" : { \"P\\u0045N\" : 3.75 , \"EUR\" : 0.92 } }"
+            .getBytes(StandardCharsets.UTF_8);
+        InputStream fragmentado = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+        double[] tasas = vectorVacio();
+        
+        // Act
+        int extraidas = LectorTasasJSON.leer(fragmentado, tasas);
+        
+        // Assert
+        assertEquals(2, extraidas);
+        assertEquals(3.75, tasa(tasas, "PEN"));
+    }
+    
+    @Test
+    @DisplayName("Debe fallar si la respuesta no contiene rates")
+    void debeFallarSinRates() {
+        String json = "{\"result\":\"error\",\"error-type\":\"unsupported-code\"}";
+        
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> LectorTasasJSON.leer(flujo(json), vectorVacio()));
+        assertEquals("Formato de respuesta JSON inválido", e.getMessage());
+    }
+    
+    @Test
+    @DisplayName("Debe fallar ante JSON mal formado")
+    void debeFallarConJSONMalFormado() {
+        assertThrows(RuntimeException.class,
+            () -> LectorTasasJSON.leer(flujo("{\"rates\":{\"PEN\":3.75"), vectorVacio()));
+        assertThrows(RuntimeException.class,
+            () -> LectorTasasJSON.leer(flujo("{\"rates\":{\"PEN\" 3.75}}"), vectorVacio()));
+        assertThrows(RuntimeException.class,
+            () -> LectorTasasJSON.leer(flujo("[1,2]"), vectorVacio()));
+    }
+}
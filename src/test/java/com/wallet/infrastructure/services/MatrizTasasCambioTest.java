@@ -0,0 +1,62 @@
+package com.wallet.infrastructure.services;
+
+import com.wallet.domain.valueobjects.Moneda;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para MatrizTasasCambio.
+ */
+@DisplayName("MatrizTasasCambio Tests")
+class MatrizTasasCambioTest {
+    
+    private MatrizTasasCambio matriz;
+    
+    @BeforeEach
+    void setUp() {
+        double[] tasas = new double[Moneda.cantidad()];
+        Arrays.fill(tasas, Double.NaN);
+        tasas[Moneda.PEN.ordinal()] = 3.75;
+        tasas[Moneda.EUR.ordinal()] = 0.92;
+        matriz = MatrizTasasCambio.desdeBase(Moneda.USD, tasas);
+    }
+    
+    @Test
+    @DisplayName("Debe derivar la tasa cruzada entre dos monedas no base")
+    void debeDerivarTasaCruzada() {
+        assertEquals(0.92 / 3.75, matriz.tasa(Moneda.PEN, Moneda.EUR), 1e-12);
+        assertEquals(3.75 / 0.92, matriz.tasa(Moneda.EUR, Moneda.PEN), 1e-12);
+    }
+    
+    @Test
+    @DisplayName("Debe usar tasa 1 para la base y para una moneda consigo misma")
+    void debeUsarTasaUnitaria() {
+        assertEquals(1.0, matriz.tasa(Moneda.USD, Moneda.USD));
+        assertEquals(1.0, matriz.tasa(Moneda.PEN, Moneda.PEN));
+        assertEquals(3.75, matriz.tasa(Moneda.USD, Moneda.PEN));
+    }
+    
+    @Test
+    @DisplayName("Debe devolver NaN para monedas sin cotización")
+    void debeDevolverNaNSinCotizacion() {
+        Moneda jpy = Moneda.de("JPY");
+        
+        assertFalse(matriz.cotiza(jpy));
+        assertTrue(matriz.cotiza(Moneda.PEN));
+        assertTrue(Double.isNaN(matriz.tasa(jpy, Moneda.PEN)));
+        assertTrue(Double.isNaN(matriz.tasa(Moneda.PEN, jpy)));
+        assertTrue(Double.isNaN(matriz.tasa(jpy, jpy)));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar un vector que no cubre el registro de monedas")
+    void debeRechazarVectorIncompleto() {
+        assertThrows(IllegalArgumentException.class,
+            () -> MatrizTasasCambio.desdeBase(Moneda.USD, new double[3]));
+    }
+}
@@ -0,0 +1,57 @@
+package com.wallet.presentation.carga;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para DistribucionZipf.
+ */
+@DisplayName("DistribucionZipf Tests")
+class DistribucionZipfTest {
+    
+    @Test
+    @DisplayName("Debe concentrar las muestras en los primeros rangos")
+    void debeConcentrarMuestras() {
+        // Arrange
+        DistribucionZipf zipf = new DistribucionZipf(1000, 1.0);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] frecuencias = new int[1000];
+        
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            frecuencias[zipf.muestra(random)]++;
+        }
+        
+        // Assert
+        assertTrue(frecuencias[0] > frecuencias[1]);
+        assertTrue(frecuencias[1] > frecuencias[10]);
+        assertEquals(zipf.probabilidad(0), frecuencias[0] / 200_000.0, 0.01);
+        int primeros10 = 0;
+        for (int i = 0; i < 10; i++) {
+            primeros10 += frecuencias[i];
+        }
+        assertTrue(primeros10 > 200_000 * 0.35, "Los 10 primeros deben recibir más de un tercio");
+    }
+    
+    @Test
+    @DisplayName("Debe ser uniforme con exponente cero")
+    void debeSerUniformeConExponenteCero() {
+        DistribucionZipf zipf = new DistribucionZipf(4, 0.0);
+        
+        for (int k = 0; k < 4; k++) {
+            assertEquals(0.25, zipf.probabilidad(k), 1e-12);
+        }
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar parámetros inválidos")
+    void debeRechazarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new DistribucionZipf(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new DistribucionZipf(10, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> new DistribucionZipf(10, Double.NaN));
+    }
+}
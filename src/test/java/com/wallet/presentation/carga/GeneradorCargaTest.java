@@ -0,0 +1,112 @@
+package com.wallet.presentation.carga;
+
+import com.wallet.application.metricas.ResumenOperacion;
+import com.wallet.infrastructure.factories.RepositoryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para GeneradorCarga y ConfiguracionCarga.
+ */
+@DisplayName("GeneradorCarga Tests")
+class GeneradorCargaTest {
+    
+    @BeforeEach
+    void setUp() {
+        RepositoryFactory.limpiarTodos();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        RepositoryFactory.limpiarTodos();
+    }
+    
+    @Test
+    @DisplayName("Debe leer la configuración de los argumentos")
+    void debeLeerArgumentos() {
+        // Act
+        ConfiguracionCarga config = ConfiguracionCarga.desdeArgumentos(new String[] {
+            "--usuarios", "50", "--hilos", "4", "--virtuales", "--tasa", "200",
+            "--duracion", "2", "--zipf", "0", "--mezcla", "deposito=1,saldo=3"
+        });
+        
+        // Assert
+        assertEquals(50, config.usuarios);
+        assertEquals(4, config.hilos);
+        assertTrue(config.virtuales);
+        assertEquals(200.0, config.tasa);
+        assertEquals(2.0, config.duracionSegundos);
+        assertEquals(0.0, config.zipf);
+        assertEquals(1, config.mezcla.get(TipoOperacion.DEPOSITO));
+        assertEquals(3, config.mezcla.get(TipoOperacion.SALDO));
+        assertFalse(config.mezcla.containsKey(TipoOperacion.RETIRO));
+    }
+    
+    @Test
+    @DisplayName("Debe rechazar argumentos inválidos")
+    void debeRechazarArgumentosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+            () -> ConfiguracionCarga.desdeArgumentos(new String[] {"--desconocida", "1"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> ConfiguracionCarga.desdeArgumentos(new String[] {"--hilos"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> ConfiguracionCarga.desdeArgumentos(new String[] {"--tasa", "rapido"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> ConfiguracionCarga.desdeArgumentos(new String[] {"--usuarios", "1"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> ConfiguracionCarga.desdeArgumentos(new String[] {"--mezcla", "prestamo=1"}));
+    }
+    
+    @Test
+    @DisplayName("Debe ejecutar la mezcla de operaciones con hilos virtuales")
+    void debeEjecutarMezclaConHilosVirtuales() throws InterruptedException {
+        // Arrange
+        ConfiguracionCarga config = ConfiguracionCarga.desdeArgumentos(new String[] {
+            "--usuarios", "50", "--hilos", "4", "--virtuales", "--tasa", "500",
+            "--duracion", "1", "--calentamiento", "0.2"
+        });
+        GeneradorCarga generador = new GeneradorCarga(config);
+        generador.preparar();
+        
+        // Act
+        GeneradorCarga.ResultadoCarga resultado = generador.ejecutar();
+        
+        // Assert
+        assertEquals(50, RepositoryFactory.getCuentaRepository().obtenerTodas().size());
+        for (TipoOperacion tipo : TipoOperacion.values()) {
+            ResumenOperacion respuesta = resultado.respuesta(tipo);
+            assertTrue(respuesta.getEjecuciones() > 0, "Sin ejecuciones de " + tipo);
+            assertEquals(0, respuesta.getFallos(), "Fallos en " + tipo);
+            // La latencia de respuesta incluye la del servicio
+            assertTrue(respuesta.getMaximoNanos() >= resultado.servicio(tipo).getMaximoNanos());
+        }
+        assertEquals(500, resultado.getTotalEjecutadas() + resultado.getNoEjecutadas());
+    }
+    
+    @Test
+    @DisplayName("Debe reutilizar los usuarios y cuentas de una preparación anterior")
+    void debeReutilizarUsuariosYCuentas() {
+        // Arrange
+        ConfiguracionCarga config = ConfiguracionCarga.desdeArgumentos(new String[] {"--usuarios", "20"});
+        new GeneradorCarga(config).preparar();
+        
+        // Act
+        assertDoesNotThrow(() -> new GeneradorCarga(config).preparar());
+        
+        // Assert
+        assertEquals(20, RepositoryFactory.getUsuarioRepository().obtenerTodos().size());
+        assertEquals(20, RepositoryFactory.getCuentaRepository().obtenerTodas().size());
+    }
+    
+    @Test
+    @DisplayName("Debe exigir preparar antes de ejecutar")
+    void debeExigirPreparar() {
+        GeneradorCarga generador = new GeneradorCarga(new ConfiguracionCarga());
+        
+        assertThrows(IllegalStateException.class, generador::ejecutar);
+    }
+}